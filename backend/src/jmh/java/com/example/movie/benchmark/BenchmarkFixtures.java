@@ -0,0 +1,137 @@
+package com.example.movie.benchmark;
+
+import com.example.movie.model.Auditorium;
+import com.example.movie.model.Booking;
+import com.example.movie.model.Movie;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Seat;
+import com.example.movie.model.Ticket;
+import com.example.movie.model.User;
+import com.example.movie.testutil.DataSeeder;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * In-memory data for the benchmarks, built with the {@link DataSeeder} builders and with ids
+ * assigned by hand. Seeded so every run (and every commit) measures the same data.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Repository stub answering each method by name with a fixed value. Lighter than a Mockito
+     * mock, which would add its own allocations to the {@code -prof gc} numbers.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            };
+        });
+    }
+
+    public static Auditorium auditorium(long id) {
+        Auditorium auditorium = new Auditorium();
+        auditorium.setId(id);
+        auditorium.setName("Hall " + id);
+        auditorium.setCapacity(400);
+        return auditorium;
+    }
+
+    public static Movie movie(long id) {
+        Movie movie = DataSeeder.newMovie("Benchmark Movie " + id);
+        movie.setId(id);
+        return movie;
+    }
+
+    public static Screening screening(long id, Movie movie, Auditorium auditorium) {
+        Screening screening = DataSeeder.newScreening(movie, auditorium);
+        screening.setId(id);
+        return screening;
+    }
+
+    public static List<Seat> seats(Auditorium auditorium, int count) {
+        List<Seat> seats = DataSeeder.newSeats(auditorium, count);
+        for (int i = 0; i < seats.size(); i++) {
+            seats.get(i).setId(auditorium.getId() * 10_000 + i + 1);
+        }
+        return seats;
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("bench" + id);
+        user.setEmail("bench" + id + "@example.com");
+        user.setRole(User.UserRole.CUSTOMER);
+        user.setIsActive(true);
+        return user;
+    }
+
+    public static Ticket ticket(long id, Screening screening, Seat seat, Ticket.Status status) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTicketCode("T" + id);
+        ticket.setStatus(status);
+        ticket.setMovie(screening.getMovie());
+        ticket.setAuditorium(screening.getAuditorium());
+        ticket.setScreening(screening);
+        ticket.setSeat(seat);
+        return ticket;
+    }
+
+    /**
+     * {@code count} bookings spread over {@code movies} movies and {@code users} users, created
+     * within the last 30 days; roughly two thirds are PAID.
+     */
+    public static List<Booking> bookings(int count, int movies, int users, int seatsPerBooking) {
+        Random random = new Random(42);
+        Auditorium auditorium = auditorium(1);
+        List<Seat> seats = seats(auditorium, seatsPerBooking);
+        List<Screening> screenings = new ArrayList<>(movies);
+        for (int i = 1; i <= movies; i++) {
+            screenings.add(screening(i, movie(i), auditorium));
+        }
+        List<User> userList = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            userList.add(user(i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(count);
+        long ticketId = 1;
+        for (int i = 1; i <= count; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setBookingCode(String.format("BK-BENCH-%06d", i));
+            booking.setCreatedOn(now.minusMinutes(random.nextInt(30 * 24 * 60)));
+            booking.setBookingStatus(random.nextInt(3) == 0 ? Booking.BookingStatus.PENDING : Booking.BookingStatus.PAID);
+            booking.setTotalPrice(75_000f * seatsPerBooking);
+            booking.setUser(userList.get(random.nextInt(users)));
+            booking.setScreening(screenings.get(random.nextInt(movies)));
+            List<Ticket> tickets = new ArrayList<>(seatsPerBooking);
+            for (Seat seat : seats) {
+                Ticket ticket = ticket(ticketId++, booking.getScreening(), seat, Ticket.Status.BOOKED);
+                ticket.setBooking(booking);
+                tickets.add(ticket);
+            }
+            booking.setTickets(tickets);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.movie.benchmark;
+
+import com.example.movie.dto.booking.BookingResponse;
+import com.example.movie.mapper.BookingMapper;
+import com.example.movie.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingMapper#toResponse} for one booking, as returned by create/get booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    @Param({"1", "4", "10"})
+    private int ticketCount;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        booking = BenchmarkFixtures.bookings(1, 1, 1, ticketCount).get(0);
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return bookingMapper.toResponse(booking);
+    }
+}
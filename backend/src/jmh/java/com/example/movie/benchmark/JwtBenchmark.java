@@ -0,0 +1,70 @@
+package com.example.movie.benchmark;
+
+import com.example.movie.model.User;
+import com.example.movie.security.JwtConfig;
+import com.example.movie.security.SecurityUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS512 access/refresh token encoding in {@link SecurityUtil} and decoding with the
+ * {@link JwtDecoder} used by every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    // Cùng độ dài khóa với app.jwt.base64-secretkey (64 byte cho HS512)
+    private static final String SECRET_KEY =
+            "g5rhnoLF2O4S/p5wPKY9ojbK3X2g6ifB6cG9lkaLUg9quMDtO1PSI4J6biyJHZ5uAnyTbuTyaWRpHy+BADU7NQ==";
+
+    private SecurityUtil securityUtil;
+    private JwtDecoder jwtDecoder;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "jwtKey", SECRET_KEY);
+        jwtDecoder = jwtConfig.jwtDecoder();
+        securityUtil = new SecurityUtil(jwtConfig.jwtEncoder(), jwtDecoder);
+        ReflectionTestUtils.setField(securityUtil, "jwtAccessExpiration", 3600L);
+        ReflectionTestUtils.setField(securityUtil, "jwtAdminAccessExpiration", 28800L);
+        ReflectionTestUtils.setField(securityUtil, "jwtRefreshExpiration", 2592000L);
+
+        user = BenchmarkFixtures.user(1);
+        accessToken = securityUtil.createAccessToken(user, "session-1");
+    }
+
+    @Benchmark
+    public String encodeAccessToken() {
+        return securityUtil.createAccessToken(user, "session-1");
+    }
+
+    @Benchmark
+    public String encodeRefreshToken() {
+        return securityUtil.createRefreshToken(user.getUsername(), "session-1", 3);
+    }
+
+    @Benchmark
+    public Jwt decodeAccessToken() {
+        return jwtDecoder.decode(accessToken);
+    }
+}
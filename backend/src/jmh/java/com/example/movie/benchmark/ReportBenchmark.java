@@ -0,0 +1,76 @@
+package com.example.movie.benchmark;
+
+import com.example.movie.dto.report.DashboardStatsResponse;
+import com.example.movie.dto.report.RevenueTrendResponse;
+import com.example.movie.dto.report.TopMovieResponse;
+import com.example.movie.dto.report.TopUserResponse;
+import com.example.movie.model.Booking;
+import com.example.movie.repository.BookingRepository;
+import com.example.movie.repository.MovieRepository;
+import com.example.movie.repository.UserRepository;
+import com.example.movie.service.impl.ReportServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report aggregation in {@link ReportServiceImpl} over bookings held in memory. The service
+ * aggregates in Java after {@code findAll()}, so this is the CPU part of the admin dashboard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+    private static final int MOVIES = 50;
+    private static final int USERS = 500;
+
+    @Param({"1000", "10000"})
+    private int bookingCount;
+
+    private ReportServiceImpl reportService;
+
+    @Setup
+    public void setUp() {
+        List<Booking> bookings = BenchmarkFixtures.bookings(bookingCount, MOVIES, USERS, 2);
+        BookingRepository bookingRepository = BenchmarkFixtures.stub(BookingRepository.class,
+                Map.of("findAll", bookings, "count", (long) bookings.size()));
+        MovieRepository movieRepository = BenchmarkFixtures.stub(MovieRepository.class, Map.of("count", (long) MOVIES));
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class, Map.of("count", (long) USERS));
+        reportService = new ReportServiceImpl(bookingRepository, movieRepository, userRepository);
+    }
+
+    @Benchmark
+    public DashboardStatsResponse dashboardStats() {
+        return reportService.getDashboardStats();
+    }
+
+    @Benchmark
+    public RevenueTrendResponse revenueTrendWeek() {
+        return reportService.getRevenueTrend("week");
+    }
+
+    @Benchmark
+    public List<TopMovieResponse> topMovies() {
+        return reportService.getTopMovies(10);
+    }
+
+    @Benchmark
+    public List<TopUserResponse> topUsers() {
+        return reportService.getTopUsers(10);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.movie.benchmark;
+
+import com.example.movie.dto.seat.SeatResponse;
+import com.example.movie.ledger.LedgerFixtures;
+import com.example.movie.mapper.SeatMapper;
+import com.example.movie.model.Auditorium;
+import com.example.movie.model.Seat;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.SeatLedgerEntryRepository;
+import com.example.movie.repository.SeatRepository;
+import com.example.movie.repository.TicketRepository;
+import com.example.movie.service.impl.SeatServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat map assembly ({@link SeatServiceImpl#getSeatsByScreeningId}) with the repositories
+ * answering from memory, so only the mapping and the seat ledger lookup are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatMapBenchmark {
+    private static final long SCREENING_ID = 1L;
+
+    @Param({"100", "400"})
+    private int seatCount;
+
+    // Tỉ lệ ghế đã có vé (BOOKED/ISSUED) trong suất chiếu
+    @Param({"0.5"})
+    private double bookedRatio;
+
+    private SeatServiceImpl seatService;
+
+    @Setup
+    public void setUp() {
+        Auditorium auditorium = BenchmarkFixtures.auditorium(1);
+        List<Seat> seats = BenchmarkFixtures.seats(auditorium, seatCount);
+        Map<Long, Ticket.Status> statuses = new HashMap<>();
+        int booked = (int) (seatCount * bookedRatio);
+        for (int i = 0; i < booked; i++) {
+            Ticket.Status status = i % 2 == 0 ? Ticket.Status.BOOKED : Ticket.Status.ISSUED;
+            statuses.put(seats.get(i * seatCount / booked).getId(), status);
+        }
+
+        SeatRepository seatRepository = BenchmarkFixtures.stub(SeatRepository.class,
+                Map.of("findByAuditoriumId", seats));
+        TicketRepository ticketRepository = BenchmarkFixtures.stub(TicketRepository.class,
+                Map.of("findAuditoriumIdByScreeningId", auditorium.getId(),
+                        "countStatusesByScreeningIdAndStatusNot", LedgerFixtures.statusCounts(statuses)));
+        SeatLedgerEntryRepository seatLedgerEntryRepository = BenchmarkFixtures.stub(SeatLedgerEntryRepository.class,
+                Map.of("findTail", List.of()));
+        seatService = new SeatServiceImpl(seatRepository, ticketRepository, new SeatMapper(),
+                LedgerFixtures.seatLedger(SCREENING_ID, statuses, seatLedgerEntryRepository, ticketRepository),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<SeatResponse> seatMap() {
+        return seatService.getSeatsByScreeningId(SCREENING_ID);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.movie.ledger;
+
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.SeatLedgerEntryRepository;
+import com.example.movie.repository.TicketRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SeatLedger} for benchmarks, holding one screening already in memory. The repositories are
+ * stubs: the tail read returns nothing and the ticket counts must match {@code seats}.
+ */
+public final class LedgerFixtures {
+
+    private LedgerFixtures() {
+    }
+
+    public static SeatLedger seatLedger(Long screeningId, Map<Long, Ticket.Status> seats,
+                                        SeatLedgerEntryRepository seatLedgerEntryRepository,
+                                        TicketRepository ticketRepository) {
+        SeatLedger seatLedger = new SeatLedger(null, seatLedgerEntryRepository, null, ticketRepository, null, null);
+        seatLedger.install(ScreeningSeatState.of(screeningId, 0, 0, seats));
+        return seatLedger;
+    }
+
+    /**
+     * Rows of {@code TicketRepository.countStatusesByScreeningIdAndStatusNot(id, AVAILABLE)} for {@code seats}.
+     */
+    public static List<Object[]> statusCounts(Map<Long, Ticket.Status> seats) {
+        return seats.values().stream()
+                .filter(status -> status != Ticket.Status.AVAILABLE)
+                .collect(Collectors.groupingBy(status -> status, Collectors.counting()))
+                .entrySet().stream()
+                .map(count -> new Object[]{count.getKey(), count.getValue()})
+                .toList();
+    }
+}
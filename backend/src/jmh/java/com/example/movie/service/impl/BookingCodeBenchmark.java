@@ -0,0 +1,46 @@
+package com.example.movie.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking and ticket code generation of {@link BookingServiceImpl}, without the repository
+ * lookups. Same package as the service to reach the package-private helpers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingCodeBenchmark {
+    private final Random random = new Random(42);
+    private long sequence;
+
+    @Benchmark
+    public String bookingCode() {
+        return BookingServiceImpl.bookingCode(LocalDateTime.now(), ++sequence);
+    }
+
+    @Benchmark
+    public String ticketCode() {
+        return BookingServiceImpl.randomTicketCode(random);
+    }
+
+    // generateTicketCode tạo Random mới mỗi lần gọi
+    @Benchmark
+    public String ticketCodeWithNewRandom() {
+        return BookingServiceImpl.randomTicketCode(new Random());
+    }
+}
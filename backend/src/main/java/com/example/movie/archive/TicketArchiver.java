@@ -0,0 +1,156 @@
+package com.example.movie.archive;
+
+import com.example.movie.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves tickets, bookings and payments of finished screenings older than
+ * {@code app.archive.retention-days} into {@code ticket_archive}, {@code booking_archive} and
+ * {@code payment_archive}. Each batch of screenings is copied and deleted in its own transaction,
+ * with a pause between batches so a large backlog does not hold locks on the live tables.
+ *
+ * Archive tables rather than MySQL range partitions: partitioned InnoDB tables cannot have
+ * foreign keys, and ticket/booking/payment rely on them.
+ */
+@Slf4j
+@Component
+public class TicketArchiver {
+    private final ScreeningRepository screeningRepository;
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final PaymentRepository paymentRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+    private final UserBookingViewRepository userBookingViewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatches;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public record Result(int screenings, int bookings, int tickets, int payments) {
+        static final Result EMPTY = new Result(0, 0, 0, 0);
+
+        Result plus(Result other) {
+            return new Result(screenings + other.screenings, bookings + other.bookings,
+                    tickets + other.tickets, payments + other.payments);
+        }
+    }
+
+    public TicketArchiver(ScreeningRepository screeningRepository,
+                          BookingRepository bookingRepository,
+                          TicketRepository ticketRepository,
+                          PaymentRepository paymentRepository,
+                          ArchivedBookingRepository archivedBookingRepository,
+                          ArchivedTicketRepository archivedTicketRepository,
+                          ArchivedPaymentRepository archivedPaymentRepository,
+                          UserBookingViewRepository userBookingViewRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.archive.enabled:true}") boolean enabled,
+                          @Value("${app.archive.retention-days:30}") int retentionDays,
+                          @Value("${app.archive.batch-size:50}") int batchSize,
+                          @Value("${app.archive.pause-ms:200}") long pauseMillis,
+                          @Value("${app.archive.max-batches:100}") int maxBatches) {
+        this.screeningRepository = screeningRepository;
+        this.bookingRepository = bookingRepository;
+        this.ticketRepository = ticketRepository;
+        this.paymentRepository = paymentRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.archivedPaymentRepository = archivedPaymentRepository;
+        this.userBookingViewRepository = userBookingViewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        Result result = archive(LocalDateTime.now());
+        if (result.screenings() > 0) {
+            log.info("Archived {} screenings: {} bookings, {} tickets, {} payments",
+                    result.screenings(), result.bookings(), result.tickets(), result.payments());
+        }
+    }
+
+    /**
+     * Marks screenings that ended before {@code now} as FINISHED, then archives up to
+     * {@code max-batches} batches of those ended more than {@code retention-days} ago.
+     */
+    public Result archive(LocalDateTime now) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Archive run skipped, previous run still in progress");
+            return Result.EMPTY;
+        }
+        try {
+            // Không có chỗ nào khác chuyển suất chiếu sang FINISHED; lịch sử booking (user_booking_view) đổi theo.
+            // Dòng lịch sử được giữ nguyên khi booking chuyển sang bảng archive
+            transactionTemplate.executeWithoutResult(status -> {
+                screeningRepository.finishEndedBefore(now);
+                userBookingViewRepository.finishEndedBefore(now);
+            });
+
+            LocalDateTime cutoff = now.minusDays(retentionDays);
+            Result total = Result.EMPTY;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<Long> screeningIds = screeningRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+                if (screeningIds.isEmpty()) {
+                    break;
+                }
+                total = total.plus(transactionTemplate.execute(status -> archiveBatch(screeningIds, now)));
+                if (screeningIds.size() < batchSize || !pause()) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Result archiveBatch(List<Long> screeningIds, LocalDateTime archivedAt) {
+        int bookings = archivedBookingRepository.copyFromBookings(screeningIds, archivedAt);
+        int tickets = archivedTicketRepository.copyFromTickets(screeningIds, archivedAt);
+        int payments = archivedPaymentRepository.copyFromPayments(screeningIds, archivedAt);
+
+        // Xoá ngược chiều FK: payment -> ticket -> booking
+        paymentRepository.deleteByScreeningIds(screeningIds);
+        ticketRepository.deleteByScreeningIds(screeningIds);
+        bookingRepository.deleteByScreeningIds(screeningIds);
+        screeningRepository.markArchived(screeningIds, archivedAt);
+        return new Result(screeningIds.size(), bookings, tickets, payments);
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
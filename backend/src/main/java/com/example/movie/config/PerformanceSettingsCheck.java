@@ -0,0 +1,103 @@
+package com.example.movie.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Warns at startup about settings known to slow the app down under load (statement logging,
+ * DEBUG logging of the request path, MySQL driver without statement caching or batch rewriting).
+ * See {@code application-prod.properties} for the tuned values.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PerformanceSettingsCheck {
+    private static final String LOGGING_LEVEL = "logging.level.";
+    private static final String DATA_SOURCE_PROPERTIES = "spring.datasource.hikari.data-source-properties.";
+
+    private final ConfigurableEnvironment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        List<String> findings = findSlowSettings();
+        if (findings.isEmpty()) {
+            return;
+        }
+        log.warn("Active profiles {} contain {} slow setting(s):\n  - {}",
+                Arrays.toString(environment.getActiveProfiles()), findings.size(), String.join("\n  - ", findings));
+    }
+
+    List<String> findSlowSettings() {
+        List<String> findings = new ArrayList<>();
+        if (isTrue("spring.jpa.show-sql")) {
+            findings.add("spring.jpa.show-sql=true writes every SQL statement to stdout");
+        }
+        if (isTrue("spring.jpa.properties.hibernate.format_sql")) {
+            findings.add("hibernate.format_sql=true reformats every logged statement");
+        }
+        if (isTrue("spring.jpa.properties.hibernate.generate_statistics")) {
+            findings.add("hibernate.generate_statistics=true collects statistics on every session");
+        }
+        Integer batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class);
+        if (batchSize == null || batchSize <= 1) {
+            findings.add("hibernate.jdbc.batch_size is not set, updates are sent one statement at a time");
+        }
+        if (isTrue("app.diagnostics.query-count.headers")) {
+            findings.add("app.diagnostics.query-count.headers=true buffers every response body");
+        }
+
+        for (String key : loggingLevelKeys()) {
+            String level = environment.getProperty(key, "").trim().toUpperCase(Locale.ROOT);
+            if (level.equals("DEBUG") || level.equals("TRACE")) {
+                findings.add(key + "=" + level + " logs on every request");
+            }
+        }
+
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:mysql:")) {
+            for (String option : List.of("cachePrepStmts", "useServerPrepStmts", "rewriteBatchedStatements")) {
+                if (!driverOptionEnabled(url, option)) {
+                    findings.add("MySQL driver option " + option + " is not enabled");
+                }
+            }
+        }
+        return findings;
+    }
+
+    private boolean isTrue(String key) {
+        return environment.getProperty(key, Boolean.class, false);
+    }
+
+    private boolean driverOptionEnabled(String url, String option) {
+        if (isTrue(DATA_SOURCE_PROPERTIES + option)) {
+            return true;
+        }
+        return url.toLowerCase(Locale.ROOT).contains(option.toLowerCase(Locale.ROOT) + "=true");
+    }
+
+    private TreeSet<String> loggingLevelKeys() {
+        TreeSet<String> keys = new TreeSet<>();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    if (name.startsWith(LOGGING_LEVEL)) {
+                        keys.add(name);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+}
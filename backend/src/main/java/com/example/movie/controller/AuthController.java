@@ -6,13 +6,17 @@ import com.example.movie.dto.auth.RegisterRequest;
 import com.example.movie.dto.auth.RefreshTokenRequest;
 import com.example.movie.dto.response.ApiResponse;
 import com.example.movie.dto.user.UserResponse;
+import com.example.movie.security.LoginRateLimiter;
 import com.example.movie.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -23,6 +27,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 @RestController
 public class AuthController {
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<UserResponse>> register(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -36,7 +41,10 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                           HttpServletRequest request) {
+        // Chặn trước khi băm mật khẩu; dùng địa chỉ kết nối, không tin X-Forwarded-For
+        loginRateLimiter.acquire(loginRequest.getUsername(), request.getRemoteAddr());
         AuthResponse created = authService.login(loginRequest);
         ApiResponse<AuthResponse> result = new ApiResponse<>(
                 HttpStatus.OK,
@@ -46,6 +54,31 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        authService.logout(authHeader);
+        ApiResponse<Void> result = new ApiResponse<>(
+                HttpStatus.OK,
+                null,
+                "logout successfully",
+                null);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    // Đăng xuất khỏi mọi thiết bị: đóng tất cả phiên refresh của user
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponse<Integer>> logoutAll(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        int sessions = authService.logoutAll(authHeader);
+        ApiResponse<Integer> result = new ApiResponse<>(
+                HttpStatus.OK,
+                sessions,
+                "logged out of all sessions",
+                null);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(
             @RequestBody RefreshTokenRequest refreshTokenRequest) {
@@ -5,6 +5,7 @@ import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
 import com.example.movie.dto.booking.PatchBooking;
 import com.example.movie.dto.response.ApiResponse;
+import com.example.movie.dto.response.CursorPageResponse;
 
 import com.example.movie.service.BookingService;
 import java.util.List;
@@ -57,14 +58,23 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    @GetMapping(params = "userId")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingResponse>>> getBookingsByUser(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<BookingResponse> bookings = bookingService.getBookingsByUserId(userId, cursor, size);
+        ApiResponse<CursorPageResponse<BookingResponse>> result = new ApiResponse<>(
+                HttpStatus.OK,
+                bookings,
+                "get bookings success",
+                null);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BookingResponse>>> getBookings(@RequestParam(required = false) Long userId) {
-        List<BookingResponse> bookings;
-        if (userId != null) {
-            bookings = bookingService.getBookingsByUserId(userId);
-        } else {
-            bookings = bookingService.getAllBookings();
-        }
+    public ResponseEntity<ApiResponse<List<BookingResponse>>> getBookings() {
+        List<BookingResponse> bookings = bookingService.getAllBookings();
         ApiResponse<List<BookingResponse>> result = new ApiResponse<>(
                 HttpStatus.OK,
                 bookings,
@@ -1,9 +1,11 @@
 package com.example.movie.controller;
 
 
+import com.example.movie.dto.movie.MovieFacetedSearchResponse;
 import com.example.movie.dto.movie.MovieRequest;
 import com.example.movie.dto.movie.MovieResponse;
 import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.movie.MovieSuggestionResponse;
 import com.example.movie.dto.movie.PatchMovie;
 import com.example.movie.dto.response.ApiResponse;
 import com.example.movie.dto.response.PageResponse;
@@ -18,6 +20,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/movies")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -63,6 +67,20 @@ public class MovieController {
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<MovieSuggestionResponse>>> suggestMovies(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<MovieSuggestionResponse> suggestions = movieService.suggestMovies(prefix, limit);
+        ApiResponse<List<MovieSuggestionResponse>> result = new ApiResponse<>(
+                HttpStatus.OK,
+                suggestions,
+                "suggest success",
+                null
+        );
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<MovieResponse>> getMovieById(@PathVariable Long id){
         MovieResponse getMovie = movieService.getMovieById(id);
@@ -84,7 +102,8 @@ public class MovieController {
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) Integer yearFrom,
             @RequestParam(required = false) Integer yearTo,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String language
     ) {
         // Build search request
         MovieSearchRequest searchRequest = MovieSearchRequest.builder()
@@ -93,22 +112,10 @@ public class MovieController {
                 .yearFrom(yearFrom)
                 .yearTo(yearTo)
                 .status(status)
+                .language(language)
                 .build();
-        
-        // Build pageable with sorting
-        Pageable pageable;
-        if (sort != null && !sort.isBlank()) {
-            // expect format field,ASC|DESC
-            String[] parts = sort.split(",");
-            String field = parts[0];
-            Sort.Direction direction = (parts.length > 1 && parts[1].equalsIgnoreCase("DESC"))
-                    ? Sort.Direction.DESC : Sort.Direction.ASC;
-            pageable = PageRequest.of(page, size, Sort.by(direction, field));
-        } else {
-            pageable = PageRequest.of(page, size);
-        }
-        
-        PageResponse<MovieResponse> movies = movieService.searchAndFilterMovies(searchRequest, pageable);
+
+        PageResponse<MovieResponse> movies = movieService.searchAndFilterMovies(searchRequest, buildPageable(page, size, sort));
         ApiResponse<PageResponse<MovieResponse>> result = new ApiResponse<>(
                 HttpStatus.OK,
                 movies,
@@ -118,4 +125,48 @@ public class MovieController {
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    // Kết quả + số lượng theo genre/status/year/language trong một lần gọi
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<MovieFacetedSearchResponse>> searchMoviesWithFacets(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String language
+    ) {
+        MovieSearchRequest searchRequest = MovieSearchRequest.builder()
+                .searchQuery(search)
+                .genre(genre)
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .status(status)
+                .language(language)
+                .build();
+
+        MovieFacetedSearchResponse movies = movieService.searchMoviesWithFacets(searchRequest, buildPageable(page, size, sort));
+        ApiResponse<MovieFacetedSearchResponse> result = new ApiResponse<>(
+                HttpStatus.OK,
+                movies,
+                "search success",
+                null
+        );
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    // Build pageable with sorting, expect sort format field,ASC|DESC
+    private Pageable buildPageable(int page, int size, String sort) {
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            String field = parts[0];
+            Sort.Direction direction = (parts.length > 1 && parts[1].equalsIgnoreCase("DESC"))
+                    ? Sort.Direction.DESC : Sort.Direction.ASC;
+            return PageRequest.of(page, size, Sort.by(direction, field));
+        }
+        return PageRequest.of(page, size);
+    }
+
 }
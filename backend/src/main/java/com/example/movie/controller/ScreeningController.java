@@ -2,18 +2,30 @@ package com.example.movie.controller;
 
 
 import com.example.movie.dto.response.ApiResponse;
+import com.example.movie.dto.screening.FreeSlotResponse;
+import com.example.movie.dto.screening.MovieShowtimesResponse;
 import com.example.movie.dto.screening.PatchScreening;
+import com.example.movie.dto.screening.ScreeningImportResponse;
 import com.example.movie.dto.screening.ScreeningRequest;
 import com.example.movie.dto.screening.ScreeningResponse;
+import com.example.movie.dto.screening.ShowtimeResponse;
 import com.example.movie.model.Screening;
+import com.example.movie.service.ScreeningImportService;
 import com.example.movie.service.ScreeningService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,6 +33,7 @@ import java.util.List;
 @RequestMapping("api/v1/screenings")
 public class ScreeningController {
     private final ScreeningService screeningService;
+    private final ScreeningImportService screeningImportService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ScreeningResponse>> createScreening (@Valid @RequestBody ScreeningRequest screeningRequest) {
@@ -34,6 +47,28 @@ public class ScreeningController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    // Nhập lịch chiếu hàng loạt: cả lô hợp lệ mới được lưu, nếu không trả về lỗi từng dòng
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ScreeningImportResponse>> importScreenings(@RequestBody List<ScreeningRequest> rows) {
+        return importResult(screeningImportService.importScreenings(rows));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ScreeningImportResponse>> importScreeningsCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        return importResult(screeningImportService.importScreeningsCsv(file.getInputStream()));
+    }
+
+    private ResponseEntity<ApiResponse<ScreeningImportResponse>> importResult(ScreeningImportResponse imported) {
+        HttpStatus status = imported.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        ApiResponse<ScreeningImportResponse> result = new ApiResponse<>(
+                status,
+                imported,
+                imported.getErrors().isEmpty() ? "import success" : "import failed",
+                imported.getErrors().isEmpty() ? null : "INVALID_SCREENING_IMPORT"
+        );
+        return ResponseEntity.status(status).body(result);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<ScreeningResponse>> getScreening (@RequestParam long id) {
         ScreeningResponse getScreening = screeningService.getScreening(id);
@@ -71,6 +106,53 @@ public class ScreeningController {
         );
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
+
+    // Lịch chiếu hôm nay, đọc từ timetable trong bộ nhớ
+    @GetMapping("/today")
+    public ResponseEntity<ApiResponse<List<MovieShowtimesResponse>>> getTodayShowtimes() {
+        List<MovieShowtimesResponse> showtimes = screeningService.getTodayShowtimes();
+        ApiResponse<List<MovieShowtimesResponse>> result = new ApiResponse<>(
+                HttpStatus.OK,
+                showtimes,
+                "get today showtimes success",
+                null
+        );
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @GetMapping("/timetable")
+    public ResponseEntity<ApiResponse<List<ShowtimeResponse>>> getTimetable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long movieId,
+            @RequestParam(required = false) Long auditoriumId) {
+        List<ShowtimeResponse> showtimes = screeningService.getTimetable(date, movieId, auditoriumId);
+        ApiResponse<List<ShowtimeResponse>> result = new ApiResponse<>(
+                HttpStatus.OK,
+                showtimes,
+                "get timetable success",
+                null
+        );
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    // Khoảng trống trong lịch các phòng cho một phim dài durationMinutes phút (mặc định 7 ngày tới), chỉ ADMIN
+    @GetMapping("/free-slots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<FreeSlotResponse>>> findFreeSlots(
+            @RequestParam @Min(1) @Max(600) int durationMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") @Min(1) @Max(31) int days,
+            @RequestParam(required = false) Long auditoriumId) {
+        List<FreeSlotResponse> slots = screeningService.findFreeSlots(
+                durationMinutes, from != null ? from : LocalDate.now(), days, auditoriumId);
+        ApiResponse<List<FreeSlotResponse>> result = new ApiResponse<>(
+                HttpStatus.OK,
+                slots,
+                "find free slots success",
+                null
+        );
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
     @PatchMapping
     public ResponseEntity<ApiResponse<ScreeningResponse>>  updateScreening (Long id,@Valid @RequestBody PatchScreening patchScreening) {
         ScreeningResponse updated = screeningService.updateScreening(id, patchScreening);
@@ -0,0 +1,56 @@
+package com.example.movie.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who committed a write in the last {@code app.datasource.replica.read-your-writes-ms}.
+ * Their read-only transactions stay on the primary so they see their own booking even if the
+ * replica has not caught up. The window is per instance: behind a load balancer without sticky
+ * sessions a read on another instance can still hit the replica.
+ */
+public class ReadYourWrites {
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String username) {
+        pinnedUntil.put(username, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isPinned(String username) {
+        Long until = pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(username, until);
+        return false;
+    }
+
+    // User hết hạn mà không đọc lại thì không bị xoá trong isPinned
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.movie.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the replica for its replication delay. Reads fall back to the primary while the replica
+ * is more than {@code max-lag-seconds} behind, has replication stopped, or cannot be reached.
+ * Starts unhealthy so nothing reads from the replica before the first check.
+ *
+ * The lag query must return a {@code Seconds_Behind_Source} column (MySQL {@code SHOW REPLICA STATUS});
+ * no row means the database is not a replica and is treated as up to date.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+
+    private volatile boolean healthy;
+    // -1 khi không đo được (replication dừng hoặc không kết nối được)
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagSeconds, String lagQuery) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long lagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasHealthy = healthy;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                lagSeconds = 0;
+                healthy = true;
+            } else {
+                long lag = rs.getLong(LAG_COLUMN);
+                boolean stopped = rs.wasNull();
+                lagSeconds = stopped ? -1 : lag;
+                healthy = !stopped && lag <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            lagSeconds = -1;
+            healthy = false;
+            if (wasHealthy) {
+                log.warn("Replica lag check failed: {}", e.getMessage());
+            }
+        }
+
+        if (wasHealthy && !healthy) {
+            log.warn("Replica unavailable or lagging (lag {}s, max {}s), reads go to the primary", lagSeconds, maxLagSeconds);
+        } else if (!wasHealthy && healthy) {
+            log.info("Replica caught up (lag {}s), read-only transactions use it again", lagSeconds);
+        }
+    }
+}
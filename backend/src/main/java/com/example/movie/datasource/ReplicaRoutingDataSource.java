@@ -0,0 +1,76 @@
+package com.example.movie.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} work to the replica and everything
+ * else to the primary. A read stays on the primary when the current user committed a write within
+ * the read-your-writes window, inside {@link #onPrimary}, or when the replica is lagging.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the read-only flag is visible here.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_HINT = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWrites readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code work} with its read-only transactions on the primary. For internal reads that must see
+     * a write committed just before by another thread or user, e.g. index rebuilds triggered by that write;
+     * they carry no user, so read-your-writes cannot pin them.
+     */
+    public static void onPrimary(Runnable work) {
+        boolean nested = PRIMARY_HINT.get() != null;
+        PRIMARY_HINT.set(Boolean.TRUE);
+        try {
+            work.run();
+        } finally {
+            if (!nested) {
+                PRIMARY_HINT.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        String username = ReadYourWrites.currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Ghim user vào primary sau khi commit, không tính transaction bị rollback
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(username);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        if (PRIMARY_HINT.get() != null || username != null && readYourWrites.isPinned(username)) {
+            return Route.PRIMARY;
+        }
+        return lagMonitor.isHealthy() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
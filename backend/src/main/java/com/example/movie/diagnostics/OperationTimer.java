@@ -0,0 +1,40 @@
+package com.example.movie.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records one call into the timer {@code name} tagged with its {@code outcome}. Transactional
+ * operations pass a {@code TransactionTemplate.execute(...)} as the body, so the time and the
+ * outcome include the commit: a commit that fails is counted as a failure, not a success.
+ */
+public final class OperationTimer {
+    public static final Function<RuntimeException, String> ERROR = e -> "error";
+
+    private OperationTimer() {
+    }
+
+    public static <T> T record(MeterRegistry meterRegistry, String name, Supplier<T> operation) {
+        return record(meterRegistry, name, Tags.empty(), ERROR, operation);
+    }
+
+    public static <T> T record(MeterRegistry meterRegistry, String name, Tags tags,
+                               Function<RuntimeException, String> failureOutcome, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = operation.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            outcome = failureOutcome.apply(e);
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(name, tags.and("outcome", outcome)));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.movie.diagnostics;
+
+import com.example.movie.logging.LogSampler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements, entity loads and collection initializations of each request,
+ * records them per endpoint in {@link QueryStats} and logs a warning when one statement repeats
+ * often enough to look like an N+1. With {@code app.diagnostics.query-count.headers=true} the
+ * counts are also returned as {@code X-Query-*} headers (off by default).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String HEADER_STATEMENTS = "X-Query-Count";
+    public static final String HEADER_ENTITIES = "X-Query-Entities";
+    public static final String HEADER_COLLECTIONS = "X-Query-Collections";
+    public static final String HEADER_REPEATED = "X-Query-Repeated";
+
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private final QueryStats queryStats;
+    private final boolean enabled;
+    private final boolean headers;
+    private final int nPlusOneThreshold;
+
+    public QueryCountFilter(QueryStats queryStats,
+                            @Value("${app.diagnostics.query-count.enabled:true}") boolean enabled,
+                            @Value("${app.diagnostics.query-count.headers:false}") boolean headers,
+                            @Value("${app.diagnostics.query-count.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.queryStats = queryStats;
+        this.enabled = enabled;
+        this.headers = headers;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "websocket".equalsIgnoreCase(request.getHeader("Upgrade"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Header phải ghi trước khi body được gửi đi nên cần giữ body lại tới cuối request
+        ContentCachingResponseWrapper wrapper = headers ? new ContentCachingResponseWrapper(response) : null;
+        QueryCounter.Stats stats;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            stats = scope.stats();
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        }
+
+        String endpoint = endpoint(request);
+        boolean suspect = stats.maxRepeats() >= nPlusOneThreshold;
+        queryStats.record(endpoint, stats, suspect);
+        if (suspect && LogSampler.sample("query")) {
+            log.atWarn().setMessage("query.n-plus-one")
+                    .addKeyValue("endpoint", endpoint)
+                    .addKeyValue("statements", stats.statements())
+                    .addKeyValue("repeats", stats.maxRepeats())
+                    .addKeyValue("sql", abbreviate(stats.mostRepeated()))
+                    .log();
+        }
+
+        if (wrapper != null) {
+            wrapper.setHeader(HEADER_STATEMENTS, String.valueOf(stats.statements()));
+            wrapper.setHeader(HEADER_ENTITIES, String.valueOf(stats.entities()));
+            wrapper.setHeader(HEADER_COLLECTIONS, String.valueOf(stats.collections()));
+            if (suspect) {
+                wrapper.setHeader(HEADER_REPEATED, String.valueOf(stats.maxRepeats()));
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // Gom theo pattern ("/api/v1/movies/{id}") chứ không theo URL để số endpoint không tăng vô hạn
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null || sql.length() <= MAX_LOGGED_SQL) {
+            return sql;
+        }
+        return sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.movie.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread count of SQL statements, entities loaded and collections initialized by Hibernate.
+ * Counting only happens inside an open {@link Scope}: one per HTTP request
+ * ({@link QueryCountFilter}) or around a block of test code.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope.stats);
+        return scope;
+    }
+
+    static void statementPrepared(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+    }
+
+    static void entityLoaded() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entities++;
+        }
+    }
+
+    static void collectionInitialized() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collections++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Stats previous;
+        private final Stats stats = new Stats();
+
+        private Scope(Stats previous) {
+            this.previous = previous;
+        }
+
+        public Stats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                previous.merge(stats);
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Counts of one scope. {@link #maxRepeats()} is how often the most frequent statement ran;
+     * the same SELECT running once per row is the usual sign of an N+1.
+     */
+    public static final class Stats {
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int statements;
+        private int entities;
+        private int collections;
+        private int maxRepeats;
+        private String mostRepeated;
+
+        private void statement(String sql) {
+            statements++;
+            int count = bySql.merge(sql, 1, Integer::sum);
+            if (count > maxRepeats) {
+                maxRepeats = count;
+                mostRepeated = sql;
+            }
+        }
+
+        private void merge(Stats other) {
+            other.bySql.forEach((sql, count) -> {
+                int total = bySql.merge(sql, count, Integer::sum);
+                if (total > maxRepeats) {
+                    maxRepeats = total;
+                    mostRepeated = sql;
+                }
+            });
+            statements += other.statements;
+            entities += other.entities;
+            collections += other.collections;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public int entities() {
+            return entities;
+        }
+
+        public int collections() {
+            return collections;
+        }
+
+        public int maxRepeats() {
+            return maxRepeats;
+        }
+
+        public String mostRepeated() {
+            return mostRepeated;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + entities + " entities, " + collections + " collections"
+                    + (maxRepeats > 1 ? ", repeated " + maxRepeats + "x: " + mostRepeated : "");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.movie.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Query counts per endpoint, exposed at {@code /actuator/querystats} with the endpoints that run
+ * the most statements per request first. {@code DELETE /actuator/querystats} starts over.
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStats {
+    private final ConcurrentHashMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final int top;
+
+    public QueryStats(@Value("${app.diagnostics.query-count.top:20}") int top) {
+        this.top = top;
+    }
+
+    void record(String endpoint, QueryCounter.Stats request, boolean nPlusOneSuspect) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        endpointStats.requests.increment();
+        endpointStats.statements.add(request.statements());
+        endpointStats.entities.add(request.entities());
+        endpointStats.collections.add(request.collections());
+        endpointStats.maxStatements.accumulate(request.statements());
+        if (nPlusOneSuspect) {
+            endpointStats.nPlusOneSuspects.increment();
+            endpointStats.lastRepeatedSql = request.mostRepeated();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> endpoints = stats.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, EndpointStats> e) -> e.getValue().average())
+                        .reversed())
+                .limit(top)
+                .map(e -> {
+                    EndpointStats value = e.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("endpoint", e.getKey());
+                    row.put("requests", value.requests.sum());
+                    row.put("avgStatements", value.average());
+                    row.put("maxStatements", value.maxStatements.get());
+                    row.put("entitiesLoaded", value.entities.sum());
+                    row.put("collectionsInitialized", value.collections.sum());
+                    row.put("nPlusOneSuspects", value.nPlusOneSuspects.sum());
+                    if (value.lastRepeatedSql != null) {
+                        row.put("lastRepeatedSql", value.lastRepeatedSql);
+                    }
+                    return row;
+                })
+                .toList();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("trackedEndpoints", stats.size());
+        report.put("worstEndpoints", endpoints);
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.clear();
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder collections = new LongAdder();
+        private final LongAdder nPlusOneSuspects = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private volatile String lastRepeatedSql;
+
+        private double average() {
+            long count = requests.sum();
+            return count == 0 ? 0.0 : (double) statements.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.movie.dto.movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class FacetCount {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,22 @@
+package com.example.movie.dto.movie;
+
+import com.example.movie.dto.response.PageResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class MovieFacetedSearchResponse {
+    private PageResponse<MovieResponse> results;
+    // Số lượng theo từng giá trị, tính trên kết quả đã áp dụng các bộ lọc khác
+    private List<FacetCount> genres;
+    private List<FacetCount> statuses;
+    private List<FacetCount> years;
+    private List<FacetCount> languages;
+}
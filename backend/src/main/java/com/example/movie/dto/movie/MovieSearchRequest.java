@@ -15,5 +15,6 @@ public class MovieSearchRequest {
     private Integer yearFrom;
     private Integer yearTo;
     private String status;
+    private String language;
 }
 
@@ -0,0 +1,23 @@
+package com.example.movie.dto.movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class MovieSuggestionResponse {
+    private String text;
+    private SuggestionType type;
+    private Long movieId; // chỉ có với TITLE
+    private long popularity;
+
+    public enum SuggestionType {
+        TITLE,
+        DIRECTOR,
+        ACTOR
+    }
+}
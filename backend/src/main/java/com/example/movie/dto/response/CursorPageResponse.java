@@ -0,0 +1,22 @@
+package com.example.movie.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset page: pass {@code nextCursor} back as {@code cursor} to get the following page.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int pageSize;
+}
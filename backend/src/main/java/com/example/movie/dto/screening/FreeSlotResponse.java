@@ -0,0 +1,20 @@
+package com.example.movie.dto.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Khoảng trống trong lịch phòng: suất chiếu mới có thể bắt đầu bất kỳ lúc nào trong [earliestStart, latestStart]
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class FreeSlotResponse {
+    private Long auditoriumId;
+    private String auditoriumName;
+    private LocalDateTime earliestStart;
+    private LocalDateTime latestStart;
+}
@@ -0,0 +1,19 @@
+package com.example.movie.dto.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Các suất chiếu trong ngày của một phim
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MovieShowtimesResponse {
+    private Long movieId;
+    private String movieTitle;
+    private List<ShowtimeResponse> showtimes;
+}
@@ -0,0 +1,16 @@
+package com.example.movie.dto.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lỗi của một dòng trong file import (row bắt đầu từ 1, không tính dòng tiêu đề)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ScreeningImportError {
+    private int row;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.example.movie.dto.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ScreeningImportResponse {
+    private int totalRows;
+    private int importedRows;
+    private long ticketsCreated;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<Long> screeningIds;
+    private List<ScreeningImportError> errors;
+}
@@ -0,0 +1,25 @@
+package com.example.movie.dto.screening;
+
+import com.example.movie.model.Screening;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ShowtimeResponse {
+    private Long screeningId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Screening.Format format;
+    private Long movieId;
+    private String movieTitle;
+    private Long auditoriumId;
+    private String auditoriumName;
+    private int remainingSeats;
+}
@@ -0,0 +1,29 @@
+package com.example.movie.dto.seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seat changes of one committed transaction, sent on {@code /topic/screening/{id}/seats}.
+ * {@code fromSeq..toSeq} are ledger sequence numbers; a client that sees a gap reloads the seat map.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatDeltaMessage {
+    private Long screeningId;
+    private long fromSeq;
+    private long toSeq;
+    private List<SeatChange> seats;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatChange {
+        private Long seatId;
+        private String status;
+    }
+}
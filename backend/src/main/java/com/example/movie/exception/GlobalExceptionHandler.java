@@ -2,10 +2,16 @@ package com.example.movie.exception;
 
 
 import com.example.movie.dto.response.ApiResponse;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -119,6 +125,103 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ScreeningConflictException.class)
+    private ResponseEntity<ApiResponse<Void>> handleScreeningConflictException (ScreeningConflictException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.CONFLICT,
+                null,
+                ex.getMessage(),
+                "SCREENING_CONFLICT"
+        );
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidScreeningTimeException.class)
+    private ResponseEntity<ApiResponse<Void>> handleInvalidScreeningTimeException (InvalidScreeningTimeException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST,
+                null,
+                ex.getMessage(),
+                "INVALID_SCREENING_TIME"
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ScreeningImportException.class)
+    private ResponseEntity<ApiResponse<Void>> handleScreeningImportException (ScreeningImportException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST,
+                null,
+                ex.getMessage(),
+                "INVALID_SCREENING_IMPORT"
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    // @Min/@Max... trên @RequestParam
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    private ResponseEntity<ApiResponse<Void>> handleHandlerMethodValidationException (HandlerMethodValidationException ex) {
+        String message = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining("; "));
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST,
+                null,
+                message,
+                "INVALID_PARAMETER"
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    private ResponseEntity<ApiResponse<Void>> handleInvalidCursorException (InvalidCursorException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST,
+                null,
+                ex.getMessage(),
+                "INVALID_CURSOR"
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    private ResponseEntity<ApiResponse<Void>> handleInvalidRefreshTokenException (InvalidRefreshTokenException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.UNAUTHORIZED,
+                null,
+                ex.getMessage(),
+                "INVALID_REFRESH_TOKEN"
+        );
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    private ResponseEntity<ApiResponse<Void>> handleLoginThrottledException (LoginThrottledException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.TOO_MANY_REQUESTS,
+                null,
+                ex.getMessage(),
+                "LOGIN_THROTTLED"
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    // Pool kết nối đã cạn (hikari connection-timeout), client nên thử lại
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    private ResponseEntity<ApiResponse<Void>> handleCannotCreateTransactionException (CannotCreateTransactionException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                null,
+                "Server is busy, please retry",
+                "DATABASE_BUSY"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     private ResponseEntity<ApiResponse<Void>> handleRuntimeException (RuntimeException ex) {
         ApiResponse<Void> response = new ApiResponse<>(
@@ -2,6 +2,6 @@ package com.example.movie.exception;
 
 public class InvalidCredentialException extends RuntimeException{
     public  InvalidCredentialException(){
-        super("SAI MẬT KHẨU");
+        super("SAI TÊN ĐĂNG NHẬP HOẶC MẬT KHẨU");
     }
 }
@@ -0,0 +1,7 @@
+package com.example.movie.exception;
+
+public class InvalidScreeningTimeException extends RuntimeException {
+    public InvalidScreeningTimeException(String message) {
+        super(message);
+    }
+}
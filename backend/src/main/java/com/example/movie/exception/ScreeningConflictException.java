@@ -0,0 +1,7 @@
+package com.example.movie.exception;
+
+public class ScreeningConflictException extends RuntimeException {
+    public ScreeningConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.movie.exception;
+
+public class ScreeningImportException extends RuntimeException {
+    public ScreeningImportException(String message) {
+        super(message);
+    }
+}
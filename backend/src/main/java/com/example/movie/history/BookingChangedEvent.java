@@ -0,0 +1,8 @@
+package com.example.movie.history;
+
+/**
+ * Published when a booking, its tickets or its payment change state so the booking history row
+ * ({@code user_booking_view}) is rewritten in the same transaction.
+ */
+public record BookingChangedEvent(Long bookingId) {
+}
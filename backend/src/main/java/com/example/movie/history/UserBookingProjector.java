@@ -0,0 +1,94 @@
+package com.example.movie.history;
+
+import com.example.movie.mapper.UserBookingViewMapper;
+import com.example.movie.model.ArchivedBooking;
+import com.example.movie.model.Booking;
+import com.example.movie.model.Movie;
+import com.example.movie.model.Screening;
+import com.example.movie.repository.*;
+import com.example.movie.schedule.ScreeningChangedEvent;
+import com.example.movie.search.MovieCatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps {@code user_booking_view} in step with bookings. Listeners run before commit, inside the
+ * transaction that changed the booking, so the history row never disagrees with a committed booking.
+ * Screening and movie edits are copied into the rows with one UPDATE each.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBookingProjector {
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TicketRepository ticketRepository;
+    private final ScreeningRepository screeningRepository;
+    private final MovieRepository movieRepository;
+    private final UserBookingViewRepository userBookingViewRepository;
+    private final UserBookingViewMapper userBookingViewMapper;
+    // @TransactionalEventListener không được gắn @Transactional; template tham gia transaction đang chạy,
+    // hoặc mở transaction mới khi sự kiện được publish ngoài transaction (fallbackExecution)
+    private final TransactionTemplate transactionTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> project(event.bookingId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        // null: import nhiều suất chiếu mới, chưa có booking nào
+        if (event.screeningId() == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> screeningRepository.findById(event.screeningId())
+                .ifPresent(this::refreshScreening));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieCatalogChangedEvent event) {
+        // Phim bị xoá thì lịch sử giữ tên cũ
+        transactionTemplate.executeWithoutResult(status -> movieRepository.findById(event.movieId())
+                .ifPresent(this::refreshMovie));
+    }
+
+    /**
+     * Rewrites the history row of one booking from the live tables, or from the archive when
+     * the booking was already moved there. Removes the row when the booking no longer exists.
+     */
+    public void project(Long bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Booking> live = bookingRepository.findById(bookingId);
+        if (live.isPresent()) {
+            // Truy vấn (không dùng booking.getTickets()) để thấy vé vừa được trả về kho trong cùng transaction
+            userBookingViewRepository.save(
+                    userBookingViewMapper.toView(live.get(), ticketRepository.findByBookingId(bookingId), now));
+            return;
+        }
+        Optional<Booking> archived = archivedBookingRepository.findByIdWithDetails(bookingId).map(ArchivedBooking::toBooking);
+        if (archived.isPresent()) {
+            userBookingViewRepository.save(userBookingViewMapper.toView(archived.get(), archived.get().getTickets(), now));
+        } else {
+            userBookingViewRepository.deleteByBookingId(bookingId);
+        }
+    }
+
+    private void refreshScreening(Screening screening) {
+        Movie movie = screening.getMovie();
+        userBookingViewRepository.refreshScreening(screening.getId(), screening.getStartTime(), screening.getEndTime(),
+                screening.getFormat(), screening.getStatus(), movie.getId(), movie.getTitle(), movie.getDuration(),
+                movie.getRated(), movie.getGenres(), screening.getAuditorium().getId(),
+                screening.getAuditorium().getName(), LocalDateTime.now());
+    }
+
+    private void refreshMovie(Movie movie) {
+        userBookingViewRepository.refreshMovie(movie.getId(), movie.getTitle(), movie.getDuration(),
+                movie.getRated(), movie.getGenres(), LocalDateTime.now());
+    }
+}
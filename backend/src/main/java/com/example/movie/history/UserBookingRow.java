@@ -0,0 +1,35 @@
+package com.example.movie.history;
+
+import com.example.movie.model.Booking;
+import com.example.movie.model.Screening;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of one {@code user_booking_view} row, read with a constructor expression so a history
+ * page never loads entities into the persistence context.
+ */
+public record UserBookingRow(Long bookingId,
+                             String bookingCode,
+                             Booking.BookingStatus bookingStatus,
+                             LocalDateTime createdOn,
+                             float totalPrice,
+                             String username,
+                             Long screeningId,
+                             LocalDateTime screeningStartTime,
+                             LocalDateTime screeningEndTime,
+                             Screening.Format screeningFormat,
+                             Screening.Status screeningStatus,
+                             Long movieId,
+                             String movieTitle,
+                             String movieDuration,
+                             String movieRated,
+                             String movieGenres,
+                             Long auditoriumId,
+                             String auditoriumName,
+                             String ticketsJson) {
+
+    public BookingCursor cursor() {
+        return new BookingCursor(createdOn, bookingId);
+    }
+}
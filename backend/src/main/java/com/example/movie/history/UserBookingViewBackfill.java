@@ -0,0 +1,57 @@
+package com.example.movie.history;
+
+import com.example.movie.repository.UserBookingViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Writes history rows for bookings that have none: bookings made before {@code user_booking_view}
+ * existed, the data.sql seed and rows written with bulk SQL. Bookings saved through the services
+ * get their row from {@link UserBookingProjector}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserBookingViewBackfill {
+    private static final int BATCH_SIZE = 500;
+
+    private final UserBookingViewRepository userBookingViewRepository;
+    private final UserBookingProjector userBookingProjector;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int live = backfill(userBookingViewRepository::findLiveBookingIdsWithoutView);
+        int archived = backfill(userBookingViewRepository::findArchivedBookingIdsWithoutView);
+        if (live > 0 || archived > 0) {
+            log.info("Backfilled booking history for {} live and {} archived bookings", live, archived);
+        }
+    }
+
+    private int backfill(BiFunction<Long, PageRequest, List<Long>> missingIds) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            // Theo id tăng dần nên booking lỗi không bị lấy lại mãi
+            List<Long> ids = missingIds.apply(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                return total;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> ids.forEach(userBookingProjector::project));
+                total += ids.size();
+            } catch (RuntimeException e) {
+                log.warn("Booking history backfill failed for bookings {}..{}", ids.get(0), ids.get(ids.size() - 1), e);
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+}
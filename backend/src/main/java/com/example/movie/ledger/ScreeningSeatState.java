@@ -0,0 +1,159 @@
+package com.example.movie.ledger;
+
+import com.example.movie.model.SeatLedgerEntry;
+import com.example.movie.model.Ticket;
+
+import java.io.ByteArrayOutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Seat states of one screening as of ledger entry {@link #lastSeq()}. Only seats that are not
+ * AVAILABLE are kept, so a seat without an entry is free.
+ */
+public class ScreeningSeatState {
+    private static final Ticket.Status[] STATUSES = Ticket.Status.values();
+    // 3 bit thấp của mỗi varint là ordinal của Ticket.Status
+    private static final int STATUS_BITS = 3;
+
+    private final Long screeningId;
+    private final TreeMap<Long, Ticket.Status> seats = new TreeMap<>();
+    private long lastSeq;
+    // -1: chưa có snapshot trong DB
+    private long snapshotSeq;
+    // System.nanoTime() của lần đối chiếu với vé gần nhất
+    private boolean verified;
+    private long verifiedAt;
+
+    ScreeningSeatState(Long screeningId, long lastSeq, long snapshotSeq) {
+        this.screeningId = screeningId;
+        this.lastSeq = lastSeq;
+        this.snapshotSeq = snapshotSeq;
+    }
+
+    public record Encoded(long lastSeq, int seatCount, byte[] state) {
+    }
+
+    public record View(Long screeningId, long lastSeq, Map<Long, Ticket.Status> seats) {
+    }
+
+    static ScreeningSeatState of(Long screeningId, long lastSeq, long snapshotSeq, Map<Long, Ticket.Status> seats) {
+        ScreeningSeatState state = new ScreeningSeatState(screeningId, lastSeq, snapshotSeq);
+        seats.forEach(state::set);
+        return state;
+    }
+
+    public Long screeningId() {
+        return screeningId;
+    }
+
+    public synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    public synchronized Ticket.Status status(Long seatId) {
+        return seats.getOrDefault(seatId, Ticket.Status.AVAILABLE);
+    }
+
+    public synchronized Map<Long, Ticket.Status> seats() {
+        return Map.copyOf(seats);
+    }
+
+    public synchronized View view() {
+        return new View(screeningId, lastSeq, Map.copyOf(seats));
+    }
+
+    /**
+     * Applies the next entry. Entries already covered are ignored; returns false when {@code entry}
+     * is not the next one, i.e. the caller missed entries and must read the tail first.
+     */
+    synchronized boolean apply(SeatLedgerEntry entry) {
+        if (entry.getSeq() <= lastSeq) {
+            return true;
+        }
+        if (entry.getSeq() != lastSeq + 1) {
+            return false;
+        }
+        set(entry.getSeatId(), entry.getType().getStatus());
+        lastSeq = entry.getSeq();
+        return true;
+    }
+
+    synchronized void set(Long seatId, Ticket.Status status) {
+        if (status == Ticket.Status.AVAILABLE) {
+            seats.remove(seatId);
+        } else {
+            seats.put(seatId, status);
+        }
+    }
+
+    /**
+     * Number of seats per status, to compare with the tickets of the screening.
+     */
+    synchronized Map<Ticket.Status, Long> statusCounts() {
+        Map<Ticket.Status, Long> counts = new EnumMap<>(Ticket.Status.class);
+        for (Ticket.Status status : seats.values()) {
+            counts.merge(status, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    synchronized boolean verifyDue(long intervalNanos, long now) {
+        return !verified || now - verifiedAt >= intervalNanos;
+    }
+
+    synchronized void verified(long now) {
+        verified = true;
+        verifiedAt = now;
+    }
+
+    synchronized boolean snapshotDue(int every) {
+        return snapshotSeq < 0 || lastSeq - snapshotSeq >= every;
+    }
+
+    synchronized void snapshotted(long seq) {
+        snapshotSeq = Math.max(snapshotSeq, seq);
+    }
+
+    /**
+     * Seats in id order, each as one varint of {@code (idDelta << 3) | status}: ghế liền nhau
+     * chiếm một byte.
+     */
+    public synchronized Encoded encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(seats.size() + 8);
+        long previous = 0;
+        for (Map.Entry<Long, Ticket.Status> seat : seats.entrySet()) {
+            writeVarLong(out, (seat.getKey() - previous) << STATUS_BITS | seat.getValue().ordinal());
+            previous = seat.getKey();
+        }
+        return new Encoded(lastSeq, seats.size(), out.toByteArray());
+    }
+
+    static ScreeningSeatState decode(Long screeningId, long lastSeq, byte[] state) {
+        ScreeningSeatState decoded = new ScreeningSeatState(screeningId, lastSeq, lastSeq);
+        long seatId = 0;
+        int position = 0;
+        while (position < state.length) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = state[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            seatId += value >>> STATUS_BITS;
+            decoded.seats.put(seatId, STATUSES[(int) (value & ((1 << STATUS_BITS) - 1))]);
+        }
+        return decoded;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
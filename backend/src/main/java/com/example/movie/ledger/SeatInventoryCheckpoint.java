@@ -0,0 +1,129 @@
+package com.example.movie.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the seat states held by {@link SeatLedger} to a memory-mapped file every
+ * {@code write-interval-ms} and on shutdown, and maps it back on startup, before the web server
+ * accepts requests. A restored screening is trusted only if its version (ledger seq) is not ahead
+ * of {@code seat_ledger_head}; states that are behind are served at once and brought up to the head
+ * in the background.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.inventory.file.enabled", havingValue = "true")
+public class SeatInventoryCheckpoint implements SmartLifecycle {
+    private final SeatLedger seatLedger;
+    private final SeatLedgerStore seatLedgerStore;
+
+    @Value("${app.inventory.file.path}")
+    private Path path;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        List<ScreeningSeatState> behind = restore();
+        running = true;
+        if (!behind.isEmpty()) {
+            Thread.ofVirtual().name("seat-inventory-reconcile").start(() -> reconcile(behind));
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Web server đã dừng (phase cao hơn dừng trước), ghi lần cuối
+        write();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Trước web server (DEFAULT_PHASE - 2048) để request đầu tiên đã có trạng thái ghế
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // synchronized: lần ghi theo lịch và lần ghi trong stop() dùng chung file .tmp
+    @Scheduled(initialDelayString = "${app.inventory.file.write-interval-ms:30000}",
+            fixedDelayString = "${app.inventory.file.write-interval-ms:30000}")
+    public synchronized void write() {
+        long started = System.nanoTime();
+        try {
+            int screenings = SeatInventoryFile.write(path, seatLedger.views(), System.currentTimeMillis());
+            log.debug("Wrote seat inventory of {} screenings to {} in {} ms", screenings, path,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write seat inventory to {}", path, e);
+        }
+    }
+
+    /**
+     * Installs the states of the file whose version the database confirms; returns those behind the head.
+     */
+    List<ScreeningSeatState> restore() {
+        long started = System.nanoTime();
+        List<SeatInventoryFile.Restored> restored;
+        try {
+            restored = SeatInventoryFile.read(path).orElse(List.of());
+        } catch (IOException e) {
+            log.warn("Could not read seat inventory from {}", path, e);
+            return List.of();
+        }
+        if (restored.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> screeningIds = restored.stream().map(SeatInventoryFile.Restored::screeningId).toList();
+        Map<Long, Long> heads = seatLedgerStore.heads(screeningIds);
+        Map<Long, Long> snapshotSeqs = seatLedgerStore.snapshotSeqs(screeningIds);
+        List<ScreeningSeatState> behind = new ArrayList<>();
+        int installed = 0;
+        for (SeatInventoryFile.Restored screening : restored) {
+            // Suất chưa có entry nào có head 0; file mới hơn DB (DB được khôi phục, DB khác): bỏ, dựng lại khi cần
+            long head = heads.getOrDefault(screening.screeningId(), 0L);
+            if (screening.version() > head) {
+                continue;
+            }
+            // Chưa có snapshot trong DB thì -1 để maintain() ghi
+            ScreeningSeatState state = ScreeningSeatState.of(screening.screeningId(), screening.version(),
+                    snapshotSeqs.getOrDefault(screening.screeningId(), -1L), screening.seats());
+            seatLedger.install(state);
+            installed++;
+            if (screening.version() < head) {
+                behind.add(state);
+            }
+        }
+        log.info("Restored seat inventory of {}/{} screenings from {} ({} behind the ledger) in {} ms",
+                installed, restored.size(), path, behind.size(), (System.nanoTime() - started) / 1_000_000);
+        return behind;
+    }
+
+    void reconcile(List<ScreeningSeatState> behind) {
+        for (ScreeningSeatState state : behind) {
+            try {
+                seatLedger.catchUp(state);
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile seat inventory of screening {}", state.screeningId(), e);
+            }
+        }
+        log.debug("Reconciled seat inventory of {} screenings", behind.size());
+    }
+}
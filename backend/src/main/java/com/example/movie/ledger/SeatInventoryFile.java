@@ -0,0 +1,184 @@
+package com.example.movie.ledger;
+
+import com.example.movie.model.Ticket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped file of seat states. Layout (big-endian):
+ * <pre>
+ * header, 64 bytes: magic "SEAT", format, writtenAt (epoch ms), screening count, body length, CRC32C of body
+ * per screening:    screeningId, version (ledger seq), firstSeatId, span (int),
+ *                   then 3 bitmaps of span bits each (bit k of the status ordinal of seat firstSeatId + i)
+ * </pre>
+ * Only seats that are not AVAILABLE set bits; ghế của một phòng có id liền nhau nên span nhỏ.
+ */
+final class SeatInventoryFile {
+    static final int MAGIC = 0x53454154;
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 64;
+    private static final int RECORD_HEADER_BYTES = 8 + 8 + 8 + 4;
+    private static final int STATUS_PLANES = 3;
+    // Bỏ qua suất chiếu có id ghế trải quá rộng, nó sẽ được dựng lại từ DB
+    static final int MAX_SPAN = 1 << 20;
+    private static final Ticket.Status[] STATUSES = Ticket.Status.values();
+
+    private SeatInventoryFile() {
+    }
+
+    record Restored(Long screeningId, long version, Map<Long, Ticket.Status> seats) {
+    }
+
+    /**
+     * Writes the states to {@code path.tmp} through a mapping, forces it to disk and moves it over
+     * {@code path}, so a reader never sees a half-written file. Returns the number of screenings written.
+     */
+    static int write(Path path, Collection<ScreeningSeatState.View> views, long writtenAt) throws IOException {
+        List<ScreeningSeatState.View> written = new ArrayList<>(views.size());
+        long size = HEADER_BYTES;
+        for (ScreeningSeatState.View view : views) {
+            int span = span(view);
+            if (span <= MAX_SPAN) {
+                written.add(view);
+                size += RECORD_HEADER_BYTES + (long) STATUS_PLANES * words(span) * Long.BYTES;
+            }
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Seat inventory of " + size + " bytes does not fit one mapping");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.position(HEADER_BYTES);
+            for (ScreeningSeatState.View view : written) {
+                putRecord(buffer, view);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_BYTES, (int) size - HEADER_BYTES));
+            buffer.putInt(0, MAGIC)
+                    .putInt(4, FORMAT)
+                    .putLong(8, writtenAt)
+                    .putInt(16, written.size())
+                    .putLong(20, size - HEADER_BYTES)
+                    .putLong(28, crc.getValue());
+            buffer.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written.size();
+    }
+
+    /**
+     * Maps and parses the file. Empty when it is missing, from another format or fails the checksum.
+     */
+    static Optional<List<Restored>> read(Path path) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_BYTES) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT || buffer.getLong(20) != size - HEADER_BYTES) {
+                return Optional.empty();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_BYTES, (int) size - HEADER_BYTES));
+            if (crc.getValue() != buffer.getLong(28)) {
+                return Optional.empty();
+            }
+
+            int count = buffer.getInt(16);
+            List<Restored> restored = new ArrayList<>(count);
+            buffer.position(HEADER_BYTES);
+            for (int i = 0; i < count; i++) {
+                restored.add(getRecord(buffer));
+            }
+            return Optional.of(restored);
+        }
+    }
+
+    private static void putRecord(ByteBuffer buffer, ScreeningSeatState.View view) {
+        long firstSeatId = view.seats().keySet().stream().mapToLong(Long::longValue).min().orElse(0);
+        int span = span(view);
+        long[][] planes = new long[STATUS_PLANES][words(span)];
+        view.seats().forEach((seatId, status) -> {
+            int bit = (int) (seatId - firstSeatId);
+            for (int plane = 0; plane < STATUS_PLANES; plane++) {
+                if ((status.ordinal() >> plane & 1) != 0) {
+                    planes[plane][bit >> 6] |= 1L << (bit & 63);
+                }
+            }
+        });
+        buffer.putLong(view.screeningId()).putLong(view.lastSeq()).putLong(firstSeatId).putInt(span);
+        for (long[] plane : planes) {
+            for (long word : plane) {
+                buffer.putLong(word);
+            }
+        }
+    }
+
+    private static Restored getRecord(ByteBuffer buffer) {
+        long screeningId = buffer.getLong();
+        long version = buffer.getLong();
+        long firstSeatId = buffer.getLong();
+        int span = buffer.getInt();
+        int words = words(span);
+        long[][] planes = new long[STATUS_PLANES][words];
+        for (long[] plane : planes) {
+            for (int w = 0; w < words; w++) {
+                plane[w] = buffer.getLong();
+            }
+        }
+        Map<Long, Ticket.Status> seats = new HashMap<>();
+        for (int bit = 0; bit < span; bit++) {
+            int ordinal = 0;
+            for (int plane = 0; plane < STATUS_PLANES; plane++) {
+                ordinal |= (int) (planes[plane][bit >> 6] >>> (bit & 63) & 1) << plane;
+            }
+            if (ordinal != 0) {
+                seats.put(firstSeatId + bit, STATUSES[ordinal]);
+            }
+        }
+        return new Restored(screeningId, version, seats);
+    }
+
+    private static int span(ScreeningSeatState.View view) {
+        if (view.seats().isEmpty()) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Long seatId : view.seats().keySet()) {
+            min = Math.min(min, seatId);
+            max = Math.max(max, seatId);
+        }
+        long span = max - min + 1;
+        return span > MAX_SPAN ? MAX_SPAN + 1 : (int) span;
+    }
+
+    private static int words(int span) {
+        return (span + 63) >>> 6;
+    }
+}
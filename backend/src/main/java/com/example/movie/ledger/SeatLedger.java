@@ -0,0 +1,215 @@
+package com.example.movie.ledger;
+
+import com.example.movie.model.SeatLedgerEntry;
+import com.example.movie.model.SeatLedgerSnapshot;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.SeatLedgerEntryRepository;
+import com.example.movie.repository.SeatLedgerSnapshotRepository;
+import com.example.movie.repository.TicketRepository;
+import com.example.movie.schedule.ShowtimeTimetable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory seat states of screenings, rebuilt from the latest {@code seat_ledger_snapshot} plus the
+ * ledger entries after it. A screening without a snapshot is read once from its tickets; recovery only
+ * reads, so it can run inside the caller's read-only transaction. Snapshots are written by {@link #maintain()}.
+ * <p>
+ * Ticket writes are expected to go through {@link SeatLedgerRecorder}. Writes that bypass it (SQL fixes,
+ * check-in setting USED, {@code TicketArchiver} deleting tickets, the data generator) are not in the ledger;
+ * {@link #current(Long)} compares the per-status ticket counts with the state every
+ * {@code app.ledger.verify-interval-ms} and rebuilds the state from the tickets when they differ.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatLedger {
+    private final SeatLedgerStore seatLedgerStore;
+    private final SeatLedgerEntryRepository seatLedgerEntryRepository;
+    private final SeatLedgerSnapshotRepository seatLedgerSnapshotRepository;
+    private final TicketRepository ticketRepository;
+    private final ShowtimeTimetable showtimeTimetable;
+    private final TransactionTemplate transactionTemplate;
+
+    // Snapshot lại khi có từng này entry mới kể từ snapshot trước
+    @Value("${app.ledger.snapshot-every:200}")
+    private int snapshotEvery;
+
+    @Value("${app.ledger.warm-screenings:50}")
+    private int warmScreenings;
+
+    // Đối chiếu số vé theo trạng thái với state tối đa một lần mỗi khoảng này cho mỗi suất chiếu
+    @Value("${app.ledger.verify-interval-ms:5000}")
+    private long verifyIntervalMs;
+
+    private final ConcurrentHashMap<Long, ScreeningSeatState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Seat states of a screening as known to this node, recovered from the database on first use.
+     */
+    public ScreeningSeatState state(Long screeningId) {
+        ScreeningSeatState state = states.get(screeningId);
+        if (state != null) {
+            return state;
+        }
+        ScreeningSeatState recovered = recover(screeningId);
+        state = states.putIfAbsent(screeningId, recovered);
+        return state != null ? state : recovered;
+    }
+
+    /**
+     * {@link #state(Long)} brought up to the ledger head, picking up entries committed by other nodes.
+     * Một câu đọc theo index (screening_id, seq), thường không trả dòng nào; cộng thêm một câu đếm vé
+     * (chỉ đọc index) khi tới hạn đối chiếu.
+     */
+    public ScreeningSeatState current(Long screeningId) {
+        ScreeningSeatState state = state(screeningId);
+        catchUp(state);
+        long now = System.nanoTime();
+        if (state.verifyDue(TimeUnit.MILLISECONDS.toNanos(verifyIntervalMs), now)) {
+            state = verify(state, now);
+        }
+        return state;
+    }
+
+    /**
+     * Rebuilds the state from the tickets when the per-status counts differ, i.e. a ticket was written
+     * without going through {@link SeatLedgerRecorder}.
+     */
+    private ScreeningSeatState verify(ScreeningSeatState state, long now) {
+        Map<Ticket.Status, Long> tickets = new EnumMap<>(Ticket.Status.class);
+        for (Object[] row : ticketRepository.countStatusesByScreeningIdAndStatusNot(state.screeningId(), Ticket.Status.AVAILABLE)) {
+            tickets.put((Ticket.Status) row[0], (Long) row[1]);
+        }
+        Map<Ticket.Status, Long> known = state.statusCounts();
+        known.remove(Ticket.Status.AVAILABLE);
+        if (known.equals(tickets)) {
+            state.verified(now);
+            return state;
+        }
+        log.warn("Seat ledger of screening {} differs from its tickets ({} vs {}), rebuilding from tickets",
+                state.screeningId(), known, tickets);
+        ScreeningSeatState rebuilt = genesis(state.screeningId());
+        catchUp(rebuilt);
+        rebuilt.verified(now);
+        // snapshotSeq -1: maintain() ghi đè snapshot cũ
+        states.put(state.screeningId(), rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Applies committed entries (in sequence order) to screenings already in memory. A gap means
+     * another transaction or node committed in between; the tail is then read from the database.
+     */
+    void apply(Long screeningId, List<SeatLedgerEntry> entries) {
+        ScreeningSeatState state = states.get(screeningId);
+        if (state == null) {
+            return;
+        }
+        for (SeatLedgerEntry entry : entries) {
+            if (!state.apply(entry)) {
+                catchUp(state);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a state restored outside the database (see {@link SeatInventoryCheckpoint}) unless the
+     * screening is already in memory.
+     */
+    void install(ScreeningSeatState state) {
+        states.putIfAbsent(state.screeningId(), state);
+    }
+
+    List<ScreeningSeatState.View> views() {
+        return states.values().stream().map(ScreeningSeatState::view).toList();
+    }
+
+    ScreeningSeatState recover(Long screeningId) {
+        ScreeningSeatState state = seatLedgerSnapshotRepository.findById(screeningId)
+                .map(snapshot -> ScreeningSeatState.decode(screeningId, snapshot.getLastSeq(), snapshot.getState()))
+                .orElseGet(() -> genesis(screeningId));
+        catchUp(state);
+        return state;
+    }
+
+    private ScreeningSeatState genesis(Long screeningId) {
+        // Đọc head trước rồi mới đọc vé: vé có thể đã chứa vài entry sau head, catchUp áp lại các entry đó
+        // (mỗi entry ghi trạng thái tuyệt đối) nên kết quả vẫn đúng mà không cần khoá
+        long lastSeq = seatLedgerStore.head(screeningId);
+        ScreeningSeatState state = new ScreeningSeatState(screeningId, lastSeq, -1);
+        for (Object[] row : ticketRepository.findSeatStatusesByScreeningIdAndStatusNot(screeningId, Ticket.Status.AVAILABLE)) {
+            state.set((Long) row[0], (Ticket.Status) row[1]);
+        }
+        log.debug("Seat ledger genesis for screening {} at seq {}", screeningId, lastSeq);
+        return state;
+    }
+
+    void catchUp(ScreeningSeatState state) {
+        for (SeatLedgerEntry entry : seatLedgerEntryRepository.findTail(state.screeningId(), state.lastSeq())) {
+            state.apply(entry);
+        }
+    }
+
+    /**
+     * Loads the next screenings of the timetable, snapshots states that never had one or have enough
+     * new entries, and drops states of screenings that left the timetable.
+     */
+    @Scheduled(initialDelayString = "${app.ledger.warmup-delay-ms:10000}",
+            fixedDelayString = "${app.ledger.snapshot-interval-ms:60000}")
+    public void maintain() {
+        Set<Long> upcoming = new HashSet<>(showtimeTimetable.upcomingScreeningIds(warmScreenings));
+        for (Long screeningId : upcoming) {
+            try {
+                state(screeningId);
+            } catch (RuntimeException e) {
+                log.warn("Could not recover seat ledger of screening {}", screeningId, e);
+            }
+        }
+        for (ScreeningSeatState state : states.values()) {
+            if (state.snapshotDue(snapshotEvery) || !upcoming.contains(state.screeningId())) {
+                transactionTemplate.executeWithoutResult(status -> save(state));
+            }
+        }
+        states.keySet().retainAll(upcoming);
+    }
+
+    private void save(ScreeningSeatState state) {
+        ScreeningSeatState.Encoded encoded = state.encode();
+        SeatLedgerSnapshot snapshot = seatLedgerSnapshotRepository.findById(state.screeningId())
+                .orElseGet(SeatLedgerSnapshot::new);
+        // Node khác có thể đã ghi snapshot mới hơn; cùng seq thì ghi đè (state dựng lại sau khi đối chiếu với vé)
+        if (snapshot.getScreeningId() == null || snapshot.getLastSeq() <= encoded.lastSeq()) {
+            snapshot.setScreeningId(state.screeningId());
+            snapshot.setLastSeq(encoded.lastSeq());
+            snapshot.setSeatCount(encoded.seatCount());
+            snapshot.setState(encoded.state());
+            snapshot.setCreatedAt(LocalDateTime.now());
+            seatLedgerSnapshotRepository.save(snapshot);
+        }
+        state.snapshotted(encoded.lastSeq());
+    }
+
+    // Giả lập khởi động lại trong test
+    void clear() {
+        states.clear();
+    }
+
+    int size() {
+        return states.size();
+    }
+}
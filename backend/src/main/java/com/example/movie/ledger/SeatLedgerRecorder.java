@@ -0,0 +1,95 @@
+package com.example.movie.ledger;
+
+import com.example.movie.dto.seat.SeatDeltaMessage;
+import com.example.movie.model.SeatLedgerEntry;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Appends seat changes to {@code seat_ledger}. Entries are buffered for the current transaction and
+ * written as one batch per screening just before commit; after commit they are applied to
+ * {@link SeatLedger} and sent to {@code /topic/screening/{id}/seats}.
+ * <p>
+ * Every code path that changes a ticket's status should record it here; changes made elsewhere only
+ * show up in the seat map after {@link SeatLedger#current(Long)} compares the state with the tickets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatLedgerRecorder {
+    private final SeatLedgerStore seatLedgerStore;
+    private final SeatLedger seatLedger;
+    private final TicketRepository ticketRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Records that {@code ticket} moved to the status of {@code type}. {@code bookingId} is passed
+     * explicitly because a released ticket no longer references its booking.
+     */
+    public void record(Ticket ticket, Long bookingId, SeatLedgerEntry.Type type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seat ledger entries must be recorded inside a transaction");
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.add(new SeatLedgerEntry(null, ticket.getScreening().getId(), 0, ticket.getSeat().getId(),
+                ticket.getId(), bookingId, type, LocalDateTime.now()));
+    }
+
+    private class Batch implements TransactionSynchronization {
+        // Sắp theo screeningId để các transaction khoá dòng head theo cùng thứ tự
+        private final Map<Long, List<SeatLedgerEntry>> byScreening = new TreeMap<>();
+
+        void add(SeatLedgerEntry entry) {
+            byScreening.computeIfAbsent(entry.getScreeningId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush UPDATE vé trước: lock dòng ticket luôn lấy trước lock head, tránh deadlock
+            ticketRepository.flush();
+            byScreening.forEach(seatLedgerStore::append);
+        }
+
+        @Override
+        public void afterCommit() {
+            byScreening.forEach((screeningId, entries) -> {
+                try {
+                    seatLedger.apply(screeningId, entries);
+                } catch (RuntimeException e) {
+                    // Đã commit; state trong bộ nhớ sẽ đọc lại tail ở lần apply sau
+                    log.warn("Could not apply seat ledger entries of screening {}", screeningId, e);
+                }
+                messagingTemplate.convertAndSend("/topic/screening/" + screeningId + "/seats", delta(screeningId, entries));
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SeatLedgerRecorder.this);
+        }
+    }
+
+    private static SeatDeltaMessage delta(Long screeningId, List<SeatLedgerEntry> entries) {
+        List<SeatDeltaMessage.SeatChange> seats = entries.stream()
+                .map(entry -> new SeatDeltaMessage.SeatChange(entry.getSeatId(), entry.getType().getStatus().name()))
+                .toList();
+        return new SeatDeltaMessage(screeningId, entries.get(0).getSeq(), entries.get(entries.size() - 1).getSeq(), seats);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.movie.ledger;
+
+import com.example.movie.model.SeatLedgerEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to {@code seat_ledger} and {@code seat_ledger_head} (plus snapshot seqs). {@link #append} must run inside
+ * the writing transaction: the head row lock it takes is what orders {@code seq} by commit.
+ */
+@Component
+@RequiredArgsConstructor
+class SeatLedgerStore {
+    // SeatLedgerEntry.type lưu dạng ORDINAL
+    private static final String INSERT_ENTRY = "INSERT INTO seat_ledger "
+            + "(screening_id, seq, seat_id, ticket_id, booking_id, type, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ledger.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Numbers the entries of one screening after the current head and inserts them in JDBC batches.
+     */
+    void append(Long screeningId, List<SeatLedgerEntry> entries) {
+        long last = reserve(screeningId, entries.size());
+        long seq = last - entries.size();
+        for (SeatLedgerEntry entry : entries) {
+            entry.setSeq(++seq);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, batchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getScreeningId());
+            ps.setLong(2, entry.getSeq());
+            ps.setLong(3, entry.getSeatId());
+            ps.setLong(4, entry.getTicketId());
+            ps.setObject(5, entry.getBookingId());
+            ps.setInt(6, entry.getType().ordinal());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getOccurredAt()));
+        });
+    }
+
+    /**
+     * Last sequence number handed out for a screening, 0 when nothing was recorded yet.
+     */
+    long head(Long screeningId) {
+        List<Long> last = jdbcTemplate.queryForList(
+                "SELECT last_seq FROM seat_ledger_head WHERE screening_id = ?", Long.class, screeningId);
+        return last.isEmpty() ? 0 : last.get(0);
+    }
+
+    /**
+     * Head sequence numbers of the given screenings; screenings without entries are missing from the map.
+     */
+    Map<Long, Long> heads(Collection<Long> screeningIds) {
+        return lastSeqs("seat_ledger_head", screeningIds);
+    }
+
+    /**
+     * Sequence numbers of the snapshots of the given screenings; screenings without one are missing from the map.
+     */
+    Map<Long, Long> snapshotSeqs(Collection<Long> screeningIds) {
+        return lastSeqs("seat_ledger_snapshot", screeningIds);
+    }
+
+    private Map<Long, Long> lastSeqs(String table, Collection<Long> screeningIds) {
+        Map<Long, Long> lastSeqs = new HashMap<>();
+        List<Long> ids = new ArrayList<>(screeningIds);
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            jdbcTemplate.query("SELECT screening_id, last_seq FROM " + table + " WHERE screening_id IN ("
+                            + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")",
+                    rs -> { lastSeqs.put(rs.getLong(1), rs.getLong(2)); }, batch.toArray());
+        }
+        return lastSeqs;
+    }
+
+    private long reserve(Long screeningId, int count) {
+        int updated = jdbcTemplate.update(
+                "UPDATE seat_ledger_head SET last_seq = last_seq + ? WHERE screening_id = ?", count, screeningId);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO seat_ledger_head (screening_id, last_seq) VALUES (?, ?)",
+                        screeningId, count);
+                return count;
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(
+                        "UPDATE seat_ledger_head SET last_seq = last_seq + ? WHERE screening_id = ?", count, screeningId);
+            }
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT last_seq FROM seat_ledger_head WHERE screening_id = ?", Long.class, screeningId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.movie.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-category sampling for log events on hot paths. Rates come from
+ * {@code app.logging.sample-rates.<category>} (0.0 - 1.0, default 1.0).
+ *
+ * Inside a request the decision is derived from the correlation id, so a sampled request keeps
+ * all of its events for that category instead of a random subset.
+ */
+public final class LogSampler {
+    private static final int SCALE = 10_000;
+
+    private static volatile Map<String, Double> rates = Map.of();
+
+    private LogSampler() {
+    }
+
+    static void configure(Map<String, Double> sampleRates) {
+        rates = Map.copyOf(sampleRates);
+    }
+
+    public static boolean sample(String category) {
+        double rate = rates.getOrDefault(category, 1.0);
+        if (rate >= 1.0) {
+            return true;
+        }
+        if (rate <= 0.0) {
+            return false;
+        }
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        int bucket = correlationId != null
+                ? Math.floorMod((correlationId + category).hashCode(), SCALE)
+                : ThreadLocalRandom.current().nextInt(SCALE);
+        return bucket < rate * SCALE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.movie.logging;
+
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+@Configuration
+public class LoggingConfig {
+
+    public LoggingConfig(Environment environment) {
+        LogSampler.configure(Binder.get(environment)
+                .bind("app.logging.sample-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of()));
+    }
+
+    /**
+     * Carries the MDC (correlation id) into applicationTaskExecutor, so {@code @Async} work logs
+     * under the request that started it.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
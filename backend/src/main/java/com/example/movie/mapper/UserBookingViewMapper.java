@@ -0,0 +1,123 @@
+package com.example.movie.mapper;
+
+import com.example.movie.dto.booking.*;
+import com.example.movie.history.UserBookingRow;
+import com.example.movie.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Booking -> {@code user_booking_view} row on write, row -> {@link BookingResponse} on read.
+ * The response has the same shape as {@link BookingMapper#toResponse(Booking)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBookingViewMapper {
+    private static final TypeReference<List<BookingTicketDTO>> TICKETS = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public UserBookingView toView(Booking booking, List<Ticket> tickets, LocalDateTime updatedAt) {
+        Screening screening = booking.getScreening();
+        Movie movie = screening.getMovie();
+        Auditorium auditorium = screening.getAuditorium();
+
+        UserBookingView view = new UserBookingView();
+        view.setBookingId(booking.getId());
+        view.setUserId(booking.getUser().getId());
+        view.setUsername(booking.getUser().getUsername());
+        view.setBookingCode(booking.getBookingCode());
+        view.setCreatedOn(booking.getCreatedOn());
+        view.setBookingStatus(booking.getBookingStatus());
+        view.setTotalPrice(booking.getTotalPrice());
+        view.setScreeningId(screening.getId());
+        view.setScreeningStartTime(screening.getStartTime());
+        view.setScreeningEndTime(screening.getEndTime());
+        view.setScreeningFormat(screening.getFormat());
+        view.setScreeningStatus(screening.getStatus());
+        view.setMovieId(movie.getId());
+        view.setMovieTitle(movie.getTitle());
+        view.setMovieDuration(movie.getDuration());
+        view.setMovieRated(movie.getRated());
+        view.setMovieGenres(movie.getGenres());
+        view.setAuditoriumId(auditorium.getId());
+        view.setAuditoriumName(auditorium.getName());
+        view.setTicketsJson(write(tickets == null ? List.of() : tickets.stream().map(this::toTicket).toList()));
+        view.setUpdatedAt(updatedAt);
+        return view;
+    }
+
+    public BookingResponse toResponse(UserBookingRow row) {
+        List<BookingTicketDTO> tickets = read(row.ticketsJson());
+        return BookingResponse.builder()
+                .id(row.bookingId())
+                .bookingCode(row.bookingCode())
+                .bookingStatus(row.bookingStatus())
+                .createOn(row.createdOn())
+                .totalPrice(row.totalPrice())
+                .username(row.username())
+                .screening(BookingScreeningDTO.builder()
+                        .id(row.screeningId())
+                        .startTime(row.screeningStartTime())
+                        .endTime(row.screeningEndTime())
+                        .format(row.screeningFormat())
+                        .status(row.screeningStatus())
+                        .movie(MovieSummaryDTO.builder()
+                                .id(row.movieId())
+                                .title(row.movieTitle())
+                                .duration(row.movieDuration())
+                                .rated(row.movieRated())
+                                .genres(row.movieGenres())
+                                .build())
+                        .auditorium(AuditoriumSummaryDTO.builder()
+                                .id(row.auditoriumId())
+                                .name(row.auditoriumName())
+                                .build())
+                        .build())
+                .seats(tickets.stream().map(BookingTicketDTO::getSeat).filter(Objects::nonNull).toList())
+                .tickets(tickets)
+                .build();
+    }
+
+    private BookingTicketDTO toTicket(Ticket ticket) {
+        Seat seat = ticket.getSeat();
+        BookingSeatDTO seatDTO = seat != null
+                ? BookingSeatDTO.builder()
+                        .id(seat.getId())
+                        .rowLabel(seat.getRowLabel())
+                        .number(seat.getNumber())
+                        .seatType(seat.getSeatType() != null ? seat.getSeatType().toString() : "NORMAL")
+                        .build()
+                : null;
+        return BookingTicketDTO.builder()
+                .id(ticket.getId())
+                .ticketCode(ticket.getTicketCode())
+                .status(ticket.getStatus())
+                .seat(seatDTO)
+                .build();
+    }
+
+    private String write(List<BookingTicketDTO> tickets) {
+        try {
+            return objectMapper.writeValueAsString(tickets);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking tickets", e);
+        }
+    }
+
+    private List<BookingTicketDTO> read(String ticketsJson) {
+        try {
+            return objectMapper.readValue(ticketsJson, TICKETS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt tickets_json in user_booking_view", e);
+        }
+    }
+}
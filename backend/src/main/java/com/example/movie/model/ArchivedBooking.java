@@ -0,0 +1,75 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking of a finished screening, moved out of {@code booking} by
+ * {@link com.example.movie.archive.TicketArchiver}. Keeps the original id so booking links stay valid.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "booking_archive", indexes = {
+    @Index(name = "idx_booking_archive_user", columnList = "user_id"),
+    @Index(name = "idx_booking_archive_created_on", columnList = "created_on")
+})
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String bookingCode;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private Booking.BookingStatus bookingStatus;
+
+    @Column(nullable = false)
+    private float totalPrice;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "screening_id", nullable = false)
+    private Screening screening;
+
+    @OneToMany(mappedBy = "booking")
+    private List<ArchivedTicket> tickets = new ArrayList<>();
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Detached {@link Booking} view so the mapper and reports handle archived rows like live ones.
+     * Tickets are copied only when already loaded (fetch join); otherwise they stay null.
+     */
+    public Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setBookingCode(bookingCode);
+        booking.setCreatedOn(createdOn);
+        booking.setBookingStatus(bookingStatus);
+        booking.setTotalPrice(totalPrice);
+        booking.setUser(user);
+        booking.setScreening(screening);
+        if (Hibernate.isInitialized(tickets)) {
+            booking.setTickets(tickets.stream().map(ticket -> ticket.toTicket(booking)).toList());
+        }
+        return booking;
+    }
+}
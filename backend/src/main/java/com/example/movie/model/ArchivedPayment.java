@@ -0,0 +1,38 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payment of an archived booking, moved out of {@code payment}.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(name = "payment_archive")
+public class ArchivedPayment {
+    @Id
+    private Long id;
+
+    private String transactionId;
+    private LocalDateTime paymentDate;
+    private float amount;
+    private String paymentMethod;
+    private String note;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Payment.PaymentStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private ArchivedBooking booking;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,73 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ticket of a finished screening, moved out of {@code ticket}. Same columns as {@link Ticket}
+ * plus {@code archived_at}; ticket codes stay unique across both tables.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "ticket_archive", indexes = {
+    @Index(name = "idx_ticket_archive_screening", columnList = "screening_id"),
+    @Index(name = "idx_ticket_archive_auditorium", columnList = "auditorium_id")
+})
+public class ArchivedTicket {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Ticket.Status status;
+
+    @Column(unique = true, length = 14)
+    private String ticketCode;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "movie_id", nullable = false)
+    private Movie movie;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "auditorium_id", nullable = false)
+    private Auditorium auditorium;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "screening_id", nullable = false)
+    private Screening screening;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_id", nullable = false)
+    private Seat seat;
+
+    // Vé AVAILABLE không có booking
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ArchivedBooking booking;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    Ticket toTicket(Booking owner) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setStatus(status);
+        ticket.setTicketCode(ticketCode);
+        ticket.setMovie(movie);
+        ticket.setAuditorium(auditorium);
+        ticket.setScreening(screening);
+        ticket.setSeat(seat);
+        ticket.setBooking(owner);
+        return ticket;
+    }
+}
@@ -12,6 +12,11 @@ import java.util.List;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_booking_user_created_on", columnList = "user_id, created_on"),
+    @Index(name = "idx_booking_created_on", columnList = "created_on"),
+    @Index(name = "idx_booking_status_created_on", columnList = "booking_status, created_on")
+})
 public class Booking {
 
     @Id
@@ -1,14 +1,18 @@
 package com.example.movie.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.*;
 
 import java.util.Date;
 
 @Entity
-@Table(name = "invalidated_tokens")
+@Table(name = "invalidated_tokens", indexes = {
+        @Index(name = "idx_invalidated_tokens_expiry_time", columnList = "expiry_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +20,8 @@ import java.util.Date;
 @Builder
 public class InvalidatedToken {
     @Id
-    private String id; // Chính là chuỗi Token (ID của token)
+    private String id; // jti của token (token cũ chưa có jti thì dùng hash của token)
 
+    @Column(name = "expiry_time")
     private Date expiryTime; // Thời gian hết hạn của token
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.example.movie.model;
 
+import com.example.movie.search.SearchNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +42,9 @@ public class Movie {
     @Column(nullable = false)
     private String language;
 
+    @Column(name = "language_normalized")
+    private String languageNormalized;
+
     @Column(nullable = false)
     private String rated;
 
@@ -46,4 +54,50 @@ public class Movie {
     @Enumerated(EnumType.STRING)
     @Column
     private MovieStatus status;
+
+    // Khoá tìm kiếm đã chuẩn hoá (bỏ dấu, chữ thường) cho title/director/actors/genres,
+    // mỗi khoá bắt đầu ở một ranh giới từ để truy vấn LIKE 'abc%' dùng được index
+    @ElementCollection
+    @CollectionTable(name = "movie_search_key",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            indexes = @Index(name = "idx_movie_search_key", columnList = "search_key, movie_id"))
+    @Column(name = "search_key", nullable = false, length = SearchNormalizer.MAX_KEY_LENGTH)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> searchKeys = new HashSet<>();
+
+    // Bảng chuẩn hoá phim -> thể loại (tách từ chuỗi genres "Action, Drama")
+    @ElementCollection
+    @CollectionTable(name = "movie_genre",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            indexes = @Index(name = "idx_movie_genre_genre", columnList = "genre, movie_id"))
+    @Column(name = "genre", nullable = false, length = SearchNormalizer.MAX_KEY_LENGTH)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> genreKeys = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchKeys() {
+        languageNormalized = SearchNormalizer.normalize(language);
+
+        Set<String> keys = new HashSet<>();
+        keys.addAll(SearchNormalizer.wordStartKeys(title));
+        keys.addAll(SearchNormalizer.listKeys(director));
+        keys.addAll(SearchNormalizer.listKeys(actors));
+        keys.addAll(SearchNormalizer.listKeys(genres));
+        if (searchKeys == null) {
+            searchKeys = new HashSet<>();
+        }
+        // sửa trực tiếp collection đang được Hibernate quản lý thay vì gán collection mới
+        searchKeys.retainAll(keys);
+        searchKeys.addAll(keys);
+
+        Set<String> genreValues = SearchNormalizer.listValues(genres);
+        if (genreKeys == null) {
+            genreKeys = new HashSet<>();
+        }
+        genreKeys.retainAll(genreValues);
+        genreKeys.addAll(genreValues);
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.movie.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state of one refresh token family. The live copy is kept in memory by
+ * RefreshSessionStore and written here behind the request path.
+ */
+@Entity
+@Table(name = "refresh_sessions", indexes = {
+        @Index(name = "idx_refresh_sessions_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_sessions_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshSession {
+    @Id
+    @Column(name = "family_id", length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Số lần đã xoay vòng, refresh token hợp lệ phải mang đúng số này
+    @Column(name = "rotation_counter", nullable = false)
+    private long rotationCounter;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
@@ -13,6 +13,12 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_screening_movie_status_start", columnList = "movie_id, status, start_time"),
+    @Index(name = "idx_screening_status_start", columnList = "status, start_time"),
+    @Index(name = "idx_screening_status_end", columnList = "status, end_time"),
+    @Index(name = "idx_screening_end_time", columnList = "end_time")
+})
 // xuất chiếu
 public class Screening {
     @Id
@@ -29,6 +35,9 @@ public class Screening {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    // Thời điểm vé/booking của suất chiếu được chuyển sang bảng *_archive (null nếu chưa)
+    private LocalDateTime archivedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", nullable = false)
     private Movie movie;
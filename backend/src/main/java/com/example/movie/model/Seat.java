@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
+@Table(indexes = @Index(name = "idx_seat_auditorium_row_number", columnList = "auditorium_id, row_label, number"))
 public class Seat {
 
     @Id
@@ -0,0 +1,65 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One seat state change of a screening, appended by {@link com.example.movie.ledger.SeatLedgerRecorder}
+ * in the transaction that changed the ticket. {@code seq} is gap-free and ordered by commit within a
+ * screening. Rows are never updated or deleted.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+// Ghi bằng JDBC batch (id IDENTITY làm Hibernate tắt batch insert); không FK để ledger còn lại khi vé bị archive
+@Table(name = "seat_ledger", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"screening_id", "seq"}, name = "uk_seat_ledger_screening_seq")
+})
+public class SeatLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long screeningId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(nullable = false)
+    private Long seatId;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    // Booking giữ ghế; với RELEASE là booking vừa trả ghế
+    private Long bookingId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private Type type;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Getter
+    public enum Type {
+        CLAIM(Ticket.Status.BOOKED),        // Đặt ghế, chờ thanh toán
+        RELEASE(Ticket.Status.AVAILABLE),   // Huỷ / thanh toán lỗi, ghế về kho
+        ISSUE(Ticket.Status.ISSUED),        // Thanh toán thành công
+        USE(Ticket.Status.USED);            // Soát vé
+
+        private final Ticket.Status status;
+
+        Type(Ticket.Status status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last ledger sequence number handed out for a screening. Writers lock the row until commit, so
+ * {@code seq} follows commit order; read and written through JDBC by
+ * {@link com.example.movie.ledger.SeatLedgerStore}, mapped here for the H2 test schema.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "seat_ledger_head")
+public class SeatLedgerHead {
+
+    @Id
+    private Long screeningId;
+
+    @Column(nullable = false)
+    private long lastSeq;
+}
@@ -0,0 +1,36 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seat states of a screening as of ledger entry {@code lastSeq}, encoded by
+ * {@link com.example.movie.ledger.ScreeningSeatState#encode()}. Only the latest snapshot is kept.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "seat_ledger_snapshot")
+public class SeatLedgerSnapshot {
+
+    @Id
+    private Long screeningId;
+
+    @Column(nullable = false)
+    private long lastSeq;
+
+    // Số ghế không còn AVAILABLE (ghế AVAILABLE không lưu)
+    @Column(nullable = false)
+    private int seatCount;
+
+    @Column(nullable = false, length = 65535)
+    private byte[] state;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
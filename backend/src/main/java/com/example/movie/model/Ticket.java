@@ -9,8 +9,12 @@ import lombok.NoArgsConstructor;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
+// Index/ràng buộc do db/migration quản lý; khai báo ở đây để schema H2 trong test giống MySQL
 @Table(uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"movie_id", "auditorium_id", "screening_id", "seat_id"}, name = "uk_movie_auditorium_screening_seat")
+    @UniqueConstraint(columnNames = {"screening_id", "seat_id"}, name = "uk_ticket_screening_seat")
+}, indexes = {
+    @Index(name = "idx_ticket_movie_status", columnList = "movie_id, status"),
+    @Index(name = "idx_ticket_screening_status_seat", columnList = "screening_id, status, seat_id")
 })
 public class Ticket {
 
@@ -39,8 +43,8 @@ public class Ticket {
     @JoinColumn(name = "screening_id", nullable = false)
     private Screening screening;
 
-    // Quan hệ với Seat
-    @OneToOne(fetch = FetchType.LAZY)
+    // Quan hệ với Seat. Một ghế có vé ở nhiều suất chiếu; @OneToOne làm Hibernate tạo unique trên seat_id
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seat_id", nullable = false)
     private Seat seat;
 
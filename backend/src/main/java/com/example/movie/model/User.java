@@ -1,5 +1,6 @@
 package com.example.movie.model;
 
+import com.example.movie.search.SearchNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +15,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Data
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_username_normalized", columnList = "username_normalized"),
+        @Index(name = "idx_users_email_normalized", columnList = "email_normalized"),
+        @Index(name = "idx_users_phone_normalized", columnList = "phone_normalized")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -53,6 +58,25 @@ public class User {
 
     private LocalDate dateOfBirth;
 
+    // Bản chuẩn hoá (bỏ dấu, chữ thường) phục vụ tìm kiếm theo tiền tố
+    @Column(name = "username_normalized")
+    private String usernameNormalized;
+
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
+    // Chỉ giữ chữ số, để "+84 90" khớp cả số lưu có dấu cách/gạch
+    @Column(name = "phone_normalized")
+    private String phoneNormalized;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchKeys() {
+        usernameNormalized = SearchNormalizer.normalize(username);
+        emailNormalized = SearchNormalizer.normalize(email);
+        phoneNormalized = SearchNormalizer.phoneKey(phoneNumber);
+    }
+
     public enum UserRole {
         ADMIN,
 
@@ -0,0 +1,83 @@
+package com.example.movie.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking history read model: one row per booking with the screening, movie, auditorium and tickets
+ * copied in, written by {@link com.example.movie.history.UserBookingProjector}. No foreign keys, so
+ * the row outlives the move of the booking to {@code booking_archive}.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "user_booking_view", indexes = {
+    // InnoDB thêm khoá chính (booking_id) vào cuối index, đủ cho cursor (created_on, booking_id)
+    @Index(name = "idx_user_booking_view_user_created_on", columnList = "user_id, created_on"),
+    @Index(name = "idx_user_booking_view_screening", columnList = "screening_id"),
+    @Index(name = "idx_user_booking_view_movie", columnList = "movie_id"),
+    @Index(name = "idx_user_booking_view_status_end", columnList = "screening_status, screening_end_time")
+})
+public class UserBookingView {
+
+    @Id
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String bookingCode;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private Booking.BookingStatus bookingStatus;
+
+    @Column(nullable = false)
+    private float totalPrice;
+
+    @Column(nullable = false)
+    private Long screeningId;
+
+    private LocalDateTime screeningStartTime;
+
+    private LocalDateTime screeningEndTime;
+
+    @Enumerated(EnumType.STRING)
+    private Screening.Format screeningFormat;
+
+    @Enumerated(EnumType.STRING)
+    private Screening.Status screeningStatus;
+
+    private Long movieId;
+
+    private String movieTitle;
+
+    private String movieDuration;
+
+    private String movieRated;
+
+    private String movieGenres;
+
+    private Long auditoriumId;
+
+    private String auditoriumName;
+
+    // Danh sách vé kèm ghế dựng sẵn (JSON của List<BookingTicketDTO>)
+    @Column(nullable = false, length = 65535)
+    private String ticketsJson;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    /**
+     * Copy bookings of the given screenings into booking_archive, keeping their ids
+     */
+    @Modifying
+    @Query(value = "INSERT INTO booking_archive " +
+                   "(id, booking_code, created_on, booking_status, total_price, user_id, screening_id, archived_at) " +
+                   "SELECT id, booking_code, created_on, booking_status, total_price, user_id, screening_id, :archivedAt " +
+                   "FROM booking WHERE screening_id IN (:screeningIds)", nativeQuery = true)
+    int copyFromBookings(@Param("screeningIds") Collection<Long> screeningIds,
+                         @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query("SELECT DISTINCT b FROM ArchivedBooking b " +
+           "LEFT JOIN FETCH b.screening s " +
+           "LEFT JOIN FETCH s.movie m " +
+           "LEFT JOIN FETCH s.auditorium a " +
+           "LEFT JOIN FETCH b.tickets t " +
+           "LEFT JOIN FETCH t.seat " +
+           "LEFT JOIN FETCH b.user u " +
+           "WHERE b.id = :id")
+    Optional<ArchivedBooking> findByIdWithDetails(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT b FROM ArchivedBooking b " +
+           "LEFT JOIN FETCH b.screening s " +
+           "LEFT JOIN FETCH s.movie m " +
+           "LEFT JOIN FETCH s.auditorium a " +
+           "LEFT JOIN FETCH b.tickets t " +
+           "LEFT JOIN FETCH t.seat " +
+           "LEFT JOIN FETCH b.user u " +
+           "WHERE u.id = :userId " +
+           "ORDER BY b.createdOn DESC")
+    List<ArchivedBooking> findByUserIdWithDetails(@Param("userId") Long userId);
+
+    /**
+     * Archived bookings with what the reports read (user, screening, movie), without tickets
+     */
+    @Query("SELECT b FROM ArchivedBooking b JOIN FETCH b.user JOIN FETCH b.screening s JOIN FETCH s.movie")
+    List<ArchivedBooking> findAllForReports();
+}
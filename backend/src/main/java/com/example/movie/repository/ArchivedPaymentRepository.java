@@ -0,0 +1,28 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.ArchivedPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, Long> {
+
+    /**
+     * Copy payments of bookings of the given screenings into payment_archive, keeping their ids
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_archive " +
+                   "(id, transaction_id, payment_date, amount, payment_method, note, status, booking_id, archived_at) " +
+                   "SELECT p.id, p.transaction_id, p.payment_date, p.amount, p.payment_method, p.note, p.status, p.booking_id, :archivedAt " +
+                   "FROM payment p JOIN booking b ON b.id = p.booking_id WHERE b.screening_id IN (:screeningIds)",
+           nativeQuery = true)
+    int copyFromPayments(@Param("screeningIds") Collection<Long> screeningIds,
+                         @Param("archivedAt") LocalDateTime archivedAt);
+
+    Optional<ArchivedPayment> findByBookingId(Long bookingId);
+}
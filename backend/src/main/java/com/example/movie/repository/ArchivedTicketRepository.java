@@ -0,0 +1,38 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.ArchivedTicket;
+import com.example.movie.model.Ticket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+
+    /**
+     * Copy tickets of the given screenings into ticket_archive, keeping their ids
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ticket_archive " +
+                   "(id, status, ticket_code, movie_id, auditorium_id, screening_id, seat_id, booking_id, archived_at) " +
+                   "SELECT id, status, ticket_code, movie_id, auditorium_id, screening_id, seat_id, booking_id, :archivedAt " +
+                   "FROM ticket WHERE screening_id IN (:screeningIds)", nativeQuery = true)
+    int copyFromTickets(@Param("screeningIds") Collection<Long> screeningIds,
+                        @Param("archivedAt") LocalDateTime archivedAt);
+
+    List<ArchivedTicket> findByScreeningId(Long screeningId);
+
+    long countByAuditoriumId(Long auditoriumId);
+
+    boolean existsByTicketCode(String ticketCode);
+
+    /**
+     * Same rows as {@link TicketRepository#countTicketsByMovie}, [movieId, count]
+     */
+    @Query("SELECT t.movie.id, COUNT(t) FROM ArchivedTicket t WHERE t.status IN :statuses GROUP BY t.movie.id")
+    List<Object[]> countTicketsByMovie(@Param("statuses") Collection<Ticket.Status> statuses);
+}
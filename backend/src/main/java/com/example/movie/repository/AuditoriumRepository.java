@@ -1,11 +1,17 @@
 package com.example.movie.repository;
 
 import com.example.movie.model.Auditorium;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AuditoriumRepository extends JpaRepository<Auditorium, Long> {
@@ -15,4 +21,18 @@ public interface AuditoriumRepository extends JpaRepository<Auditorium, Long> {
     
     @EntityGraph(attributePaths = {"seats"})
     Optional<Auditorium> findById(Long id);
+
+    /**
+     * Id and name of every auditorium, rows are [id, name]
+     */
+    @Query("SELECT a.id, a.name FROM Auditorium a ORDER BY a.id")
+    List<Object[]> findAllIdAndName();
+
+    /**
+     * Locks the auditorium rows (SELECT ... FOR UPDATE) in id order, so writers of screenings in the
+     * same auditorium run one after another
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Auditorium a WHERE a.id IN :ids ORDER BY a.id")
+    List<Auditorium> lockAllById(@Param("ids") Collection<Long> ids);
 }
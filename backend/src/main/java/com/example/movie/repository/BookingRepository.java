@@ -2,9 +2,11 @@ package com.example.movie.repository;
 
 import com.example.movie.model.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -29,4 +31,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "LEFT JOIN FETCH t.seat " +
            "LEFT JOIN FETCH b.user u")
     List<Booking> findAllWithDetails();
+
+    // Xoá sau khi đã chép sang booking_archive; payment và ticket phải xoá trước vì có FK tới booking
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.screening.id IN :screeningIds")
+    int deleteByScreeningIds(@Param("screeningIds") Collection<Long> screeningIds);
 }
@@ -1,9 +1,20 @@
 package com.example.movie.repository;
 
 import com.example.movie.model.InvalidatedToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
-}
\ No newline at end of file
+    List<InvalidatedToken> findByExpiryTimeAfter(Date time);
+
+    // Lấy từng lô id đã hết hạn để xóa, tránh một câu DELETE khóa cả bảng
+    @Query("SELECT t.id FROM InvalidatedToken t WHERE t.expiryTime <= :time ORDER BY t.expiryTime")
+    List<String> findExpiredIds(@Param("time") Date time, Pageable pageable);
+}
@@ -3,8 +3,18 @@ package com.example.movie.repository;
 import com.example.movie.model.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 
 public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
 
+    /**
+     * Movies inserted outside JPA (data.sql, scripts) have no search keys yet, or have search keys
+     * but no movie_genre rows or normalized language (keys written before those existed)
+     */
+    @Query("SELECT m FROM Movie m WHERE m.searchKeys IS EMPTY OR m.languageNormalized IS NULL "
+            + "OR (m.genreKeys IS EMPTY AND m.genres IS NOT NULL AND TRIM(m.genres) <> '')")
+    List<Movie> findAllMissingSearchKeys();
 }
@@ -2,12 +2,20 @@ package com.example.movie.repository;
 
 import com.example.movie.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByBookingId(Long bookingId);
     Optional<Payment> findByTransactionId(String transactionId);
+
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.booking.id IN (SELECT b.id FROM Booking b WHERE b.screening.id IN :screeningIds)")
+    int deleteByScreeningIds(@Param("screeningIds") Collection<Long> screeningIds);
 }
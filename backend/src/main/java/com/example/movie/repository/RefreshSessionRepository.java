@@ -0,0 +1,21 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.RefreshSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+    // Mỗi dòng: [RefreshSession, User]
+    @Query("SELECT s, u FROM RefreshSession s JOIN User u ON u.id = s.userId WHERE s.expiresAt > :now")
+    List<Object[]> findUnexpiredWithUsers(@Param("now") LocalDateTime now);
+
+    @Query("SELECT s.familyId FROM RefreshSession s WHERE s.expiresAt <= :now ORDER BY s.expiresAt")
+    List<String> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
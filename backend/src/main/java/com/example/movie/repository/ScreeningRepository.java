@@ -1,10 +1,14 @@
 package com.example.movie.repository;
 
 import com.example.movie.model.Screening;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ScreeningRepository extends JpaRepository<Screening,Long> {
@@ -18,4 +22,47 @@ public interface ScreeningRepository extends JpaRepository<Screening,Long> {
      * Find all screenings by auditorium ID
      */
     List<Screening> findByAuditoriumId(Long auditoriumId);
+
+    /**
+     * Active screenings starting in [from, to) with movie and auditorium fetched in the same query
+     */
+    @Query("SELECT s FROM Screening s JOIN FETCH s.movie JOIN FETCH s.auditorium " +
+           "WHERE s.status = 'ACTIVE' AND s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime")
+    List<Screening> findActiveWithMovieAndAuditoriumBetween(@Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Time windows of non-cancelled screenings ending after :from, rows are [id, auditoriumId, startTime, endTime]
+     */
+    @Query("SELECT s.id, s.auditorium.id, s.startTime, s.endTime FROM Screening s " +
+           "WHERE s.status <> 'CANCELLED' AND s.endTime > :from")
+    List<Object[]> findScheduleWindowsEndingAfter(@Param("from") LocalDateTime from);
+
+    /**
+     * Non-cancelled screenings of the auditorium whose window intersects (from, to), read from the
+     * database for the check made under the auditorium lock
+     */
+    @Query("SELECT s.id FROM Screening s WHERE s.auditorium.id = :auditoriumId AND s.status <> 'CANCELLED' " +
+           "AND s.startTime < :to AND s.endTime > :from")
+    List<Long> findOverlappingIds(@Param("auditoriumId") Long auditoriumId, @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Marks active screenings that ended before :before as FINISHED
+     */
+    @Modifying
+    @Query("UPDATE Screening s SET s.status = com.example.movie.model.Screening.Status.FINISHED " +
+           "WHERE s.status = com.example.movie.model.Screening.Status.ACTIVE AND s.endTime < :before")
+    int finishEndedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Finished screenings ended before :cutoff whose tickets are still in the live tables, oldest first
+     */
+    @Query("SELECT s.id FROM Screening s WHERE s.status = com.example.movie.model.Screening.Status.FINISHED " +
+           "AND s.endTime < :cutoff AND s.archivedAt IS NULL ORDER BY s.endTime")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Screening s SET s.archivedAt = :archivedAt WHERE s.id IN :ids")
+    int markArchived(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
 }
@@ -0,0 +1,17 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.SeatLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SeatLedgerEntryRepository extends JpaRepository<SeatLedgerEntry, Long> {
+
+    /**
+     * Entries of a screening after the given sequence number, in sequence order (tail after a snapshot)
+     */
+    @Query("SELECT e FROM SeatLedgerEntry e WHERE e.screeningId = :screeningId AND e.seq > :afterSeq ORDER BY e.seq")
+    List<SeatLedgerEntry> findTail(@Param("screeningId") Long screeningId, @Param("afterSeq") long afterSeq);
+}
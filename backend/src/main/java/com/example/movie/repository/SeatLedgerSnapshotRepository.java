@@ -0,0 +1,7 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.SeatLedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SeatLedgerSnapshotRepository extends JpaRepository<SeatLedgerSnapshot, Long> {
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +50,10 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
      * Count seats by type in an auditorium
      */
     long countByAuditoriumIdAndSeatType(Long auditoriumId, Seat.SeatType seatType);
-}
\ No newline at end of file
+
+    /**
+     * Seat ids of several auditoriums at once, rows are [auditoriumId, seatId]
+     */
+    @Query("SELECT s.auditorium.id, s.id FROM Seat s WHERE s.auditorium.id IN :auditoriumIds ORDER BY s.auditorium.id, s.id")
+    List<Object[]> findSeatIdsByAuditoriumIds(@Param("auditoriumIds") Collection<Long> auditoriumIds);
+}
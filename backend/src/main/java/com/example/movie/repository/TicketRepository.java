@@ -2,9 +2,11 @@ package com.example.movie.repository;
 
 import com.example.movie.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -65,4 +67,38 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      * Check if ticket code exists
      */
     boolean existsByTicketCode(String ticketCode);
+
+    /**
+     * Count tickets per movie with the given statuses, rows are [movieId, count]
+     */
+    @Query("SELECT t.movie.id, COUNT(t) FROM Ticket t WHERE t.status IN :statuses GROUP BY t.movie.id")
+    List<Object[]> countTicketsByMovie(@Param("statuses") Collection<Ticket.Status> statuses);
+
+    /**
+     * Count tickets per screening with the given status, rows are [screeningId, count]
+     */
+    @Query("SELECT t.screening.id, COUNT(t) FROM Ticket t WHERE t.screening.id IN :screeningIds AND t.status = :status GROUP BY t.screening.id")
+    List<Object[]> countByScreeningIdsAndStatus(@Param("screeningIds") Collection<Long> screeningIds,
+                                                @Param("status") Ticket.Status status);
+
+    /**
+     * Tickets of a screening per status, other than {@code status}; đọc hết từ idx_ticket_screening_status_seat.
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.screening.id = :screeningId AND t.status <> :status GROUP BY t.status")
+    List<Object[]> countStatusesByScreeningIdAndStatusNot(@Param("screeningId") Long screeningId,
+                                                          @Param("status") Ticket.Status status);
+
+    /**
+     * Seats of a screening whose ticket is not in the given status, rows are [seatId, status]
+     */
+    @Query("SELECT t.seat.id, t.status FROM Ticket t WHERE t.screening.id = :screeningId AND t.status <> :status")
+    List<Object[]> findSeatStatusesByScreeningIdAndStatusNot(@Param("screeningId") Long screeningId,
+                                                             @Param("status") Ticket.Status status);
+
+    /**
+     * Delete every ticket of the given screenings (after they were copied to ticket_archive)
+     */
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.screening.id IN :screeningIds")
+    int deleteByScreeningIds(@Param("screeningIds") Collection<Long> screeningIds);
 }
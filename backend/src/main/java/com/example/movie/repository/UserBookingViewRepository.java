@@ -0,0 +1,96 @@
+package com.example.movie.repository;
+
+import com.example.movie.history.UserBookingRow;
+import com.example.movie.model.Screening;
+import com.example.movie.model.UserBookingView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserBookingViewRepository extends JpaRepository<UserBookingView, Long> {
+    String ROW = "SELECT new com.example.movie.history.UserBookingRow(v.bookingId, v.bookingCode, v.bookingStatus, " +
+            "v.createdOn, v.totalPrice, v.username, v.screeningId, v.screeningStartTime, v.screeningEndTime, " +
+            "v.screeningFormat, v.screeningStatus, v.movieId, v.movieTitle, v.movieDuration, v.movieRated, " +
+            "v.movieGenres, v.auditoriumId, v.auditoriumName, v.ticketsJson) FROM UserBookingView v ";
+
+    /**
+     * Newest bookings of a user, first page of the history
+     */
+    @Query(ROW + "WHERE v.userId = :userId ORDER BY v.createdOn DESC, v.bookingId DESC")
+    List<UserBookingRow> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Bookings of a user strictly after the cursor (createdOn, bookingId) in newest-first order
+     */
+    @Query(ROW + "WHERE v.userId = :userId AND (v.createdOn < :createdOn " +
+           "OR (v.createdOn = :createdOn AND v.bookingId < :bookingId)) " +
+           "ORDER BY v.createdOn DESC, v.bookingId DESC")
+    List<UserBookingRow> findPageAfter(@Param("userId") Long userId,
+                                       @Param("createdOn") LocalDateTime createdOn,
+                                       @Param("bookingId") Long bookingId,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UserBookingView v WHERE v.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    /**
+     * Copy new screening, movie and auditorium details into the history rows of one screening
+     */
+    @Modifying
+    @Query("UPDATE UserBookingView v SET v.screeningStartTime = :startTime, v.screeningEndTime = :endTime, " +
+           "v.screeningFormat = :format, v.screeningStatus = :status, v.movieId = :movieId, " +
+           "v.movieTitle = :movieTitle, v.movieDuration = :movieDuration, v.movieRated = :movieRated, " +
+           "v.movieGenres = :movieGenres, v.auditoriumId = :auditoriumId, v.auditoriumName = :auditoriumName, v.updatedAt = :updatedAt " +
+           "WHERE v.screeningId = :screeningId")
+    int refreshScreening(@Param("screeningId") Long screeningId,
+                         @Param("startTime") LocalDateTime startTime,
+                         @Param("endTime") LocalDateTime endTime,
+                         @Param("format") Screening.Format format,
+                         @Param("status") Screening.Status status,
+                         @Param("movieId") Long movieId,
+                         @Param("movieTitle") String movieTitle,
+                         @Param("movieDuration") String movieDuration,
+                         @Param("movieRated") String movieRated,
+                         @Param("movieGenres") String movieGenres,
+                         @Param("auditoriumId") Long auditoriumId,
+                         @Param("auditoriumName") String auditoriumName,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Copy new movie details into the history rows of every screening of the movie
+     */
+    @Modifying
+    @Query("UPDATE UserBookingView v SET v.movieTitle = :title, v.movieDuration = :duration, v.movieRated = :rated, " +
+           "v.movieGenres = :genres, v.updatedAt = :updatedAt WHERE v.movieId = :movieId")
+    int refreshMovie(@Param("movieId") Long movieId,
+                     @Param("title") String title,
+                     @Param("duration") String duration,
+                     @Param("rated") String rated,
+                     @Param("genres") String genres,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Same rule as ScreeningRepository.finishEndedBefore, run by TicketArchiver in the same transaction
+     */
+    @Modifying
+    @Query("UPDATE UserBookingView v SET v.screeningStatus = com.example.movie.model.Screening.Status.FINISHED " +
+           "WHERE v.screeningStatus = com.example.movie.model.Screening.Status.ACTIVE AND v.screeningEndTime < :before")
+    int finishEndedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Live bookings after :afterId without a history row (written before the view existed or by bulk SQL)
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM UserBookingView v WHERE v.bookingId = b.id) ORDER BY b.id")
+    List<Long> findLiveBookingIdsWithoutView(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id FROM ArchivedBooking b WHERE b.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM UserBookingView v WHERE v.bookingId = b.id) ORDER BY b.id")
+    List<Long> findArchivedBookingIdsWithoutView(@Param("afterId") Long afterId, Pageable pageable);
+}
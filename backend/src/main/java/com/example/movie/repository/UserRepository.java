@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,10 +16,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     
+    /**
+     * Prefix search on the normalized username/email/phone columns.
+     * {@code search} must already be normalized with SearchNormalizer.normalize, {@code phone}
+     * with SearchNormalizer.phoneKey (empty when the input has no digits).
+     */
     @Query("SELECT u FROM User u WHERE " +
            "(:search IS NULL OR :search = '' OR " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "u.phoneNumber LIKE CONCAT('%', :search, '%'))")
-    Page<User> findAllWithSearch(@Param("search") String search, Pageable pageable);
+           "u.usernameNormalized LIKE CONCAT(:search, '%') OR " +
+           "u.emailNormalized LIKE CONCAT(:search, '%') OR " +
+           "(:phone <> '' AND u.phoneNormalized LIKE CONCAT(:phone, '%')))")
+    Page<User> findAllWithSearch(@Param("search") String search, @Param("phone") String phone, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.usernameNormalized IS NULL OR u.phoneNormalized IS NULL")
+    List<User> findAllMissingSearchKeys();
 }
@@ -0,0 +1,257 @@
+package com.example.movie.schedule;
+
+import com.example.movie.datasource.ReplicaRoutingDataSource;
+import com.example.movie.dto.screening.FreeSlotResponse;
+import com.example.movie.exception.ScreeningConflictException;
+import com.example.movie.repository.AuditoriumRepository;
+import com.example.movie.repository.ScreeningRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Per-auditorium interval trees of upcoming screenings, used to reject overlapping
+ * schedules and to look for free slots. Every stored slot is extended by the cleaning
+ * buffer, so "overlap" already means "not enough time to clean the room in between".
+ *
+ * The trees are rebuilt after commit, so they only reject early. Writers lock the auditorium
+ * row and re-check against the database in their transaction ({@link #checkAvailable}, or
+ * {@link #lock} then {@link #findConflictsInDatabase}); two writers for the same auditorium cannot both pass.
+ * Rebuilds run one at a time on a single thread, so trees read earlier never replace newer ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditoriumSchedule {
+    private final ScreeningRepository screeningRepository;
+    private final AuditoriumRepository auditoriumRepository;
+
+    @Value("${app.schedule.cleaning-buffer-minutes:15}")
+    private long cleaningBufferMinutes;
+
+    // HH:mm, giờ đóng cửa nhỏ hơn giờ mở cửa nghĩa là sang ngày hôm sau
+    @Value("${app.schedule.opening-time:09:00}")
+    private String openingTime;
+
+    @Value("${app.schedule.closing-time:23:59}")
+    private String closingTime;
+
+    private volatile Map<Long, ScreeningIntervalTree> trees = Map.of();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("auditorium-schedule-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public Duration cleaningBuffer() {
+        return Duration.ofMinutes(cleaningBufferMinutes);
+    }
+
+    /**
+     * Slot as stored in the tree: the screening window followed by the cleaning buffer.
+     */
+    public ScreeningIntervalTree.Slot slotOf(Long screeningId, LocalDateTime start, LocalDateTime end) {
+        return new ScreeningIntervalTree.Slot(screeningId, start, end.plus(cleaningBuffer()));
+    }
+
+    public ScreeningIntervalTree treeFor(Long auditoriumId) {
+        return trees.getOrDefault(auditoriumId, ScreeningIntervalTree.empty());
+    }
+
+    /**
+     * Screenings in the auditorium that would collide with [start, end), ignoring {@code excludeScreeningId}.
+     */
+    public List<ScreeningIntervalTree.Slot> findConflicts(ScreeningIntervalTree tree, LocalDateTime start,
+                                                          LocalDateTime end, Long excludeScreeningId) {
+        ScreeningIntervalTree.Slot candidate = slotOf(excludeScreeningId, start, end);
+        return tree.overlapping(candidate.start(), candidate.end()).stream()
+                .filter(slot -> excludeScreeningId == null || !Objects.equals(slot.screeningId(), excludeScreeningId))
+                .toList();
+    }
+
+    /**
+     * Rejects [start, end) if it collides with another screening of the auditorium. Must run in the
+     * transaction that writes the screening: the auditorium row stays locked until it ends.
+     */
+    public void checkAvailable(Long auditoriumId, LocalDateTime start, LocalDateTime end, Long excludeScreeningId) {
+        List<ScreeningIntervalTree.Slot> conflicts = findConflicts(treeFor(auditoriumId), start, end, excludeScreeningId);
+        if (!conflicts.isEmpty()) {
+            throw new ScreeningConflictException(conflictMessage(auditoriumId, conflicts));
+        }
+        lock(List.of(auditoriumId));
+        List<Long> committed = findConflictsInDatabase(auditoriumId, start, end, excludeScreeningId);
+        if (!committed.isEmpty()) {
+            throw new ScreeningConflictException(conflictMessageForIds(auditoriumId, committed));
+        }
+    }
+
+    /**
+     * Locks the auditoriums for the rest of the current transaction (in id order, so writers of
+     * several auditoriums cannot deadlock).
+     */
+    public void lock(Collection<Long> auditoriumIds) {
+        auditoriumRepository.lockAllById(new TreeSet<>(auditoriumIds));
+    }
+
+    /**
+     * Committed screenings colliding with [start, end); call after {@link #lock} so none can be added meanwhile.
+     */
+    public List<Long> findConflictsInDatabase(Long auditoriumId, LocalDateTime start, LocalDateTime end,
+                                              Long excludeScreeningId) {
+        // Suất [s, e] trùng khi s < end + buffer và e + buffer > start
+        return screeningRepository.findOverlappingIds(auditoriumId, start.minus(cleaningBuffer()), end.plus(cleaningBuffer()))
+                .stream()
+                .filter(id -> !Objects.equals(id, excludeScreeningId))
+                .toList();
+    }
+
+    public String conflictMessage(Long auditoriumId, List<ScreeningIntervalTree.Slot> conflicts) {
+        return conflictMessageForIds(auditoriumId, conflicts.stream().map(ScreeningIntervalTree.Slot::screeningId).toList());
+    }
+
+    public String conflictMessageForIds(Long auditoriumId, List<Long> screeningIds) {
+        String ids = screeningIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+        return "Auditorium " + auditoriumId + " is not free (cleaning buffer " + cleaningBufferMinutes
+                + " min), overlaps screening(s) " + ids;
+    }
+
+    /**
+     * Gaps long enough for a movie of {@code durationMinutes} within opening hours, for each
+     * day in [from, from + days) and each auditorium (or only {@code auditoriumId}).
+     */
+    public List<FreeSlotResponse> findFreeSlots(int durationMinutes, LocalDate from, int days, Long auditoriumId) {
+        Duration duration = Duration.ofMinutes(durationMinutes);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ScreeningIntervalTree> current = trees;
+        LocalTime opening = LocalTime.parse(openingTime);
+        LocalTime closing = LocalTime.parse(closingTime);
+
+        List<FreeSlotResponse> result = new ArrayList<>();
+        for (Object[] auditorium : auditoriumRepository.findAllIdAndName()) {
+            Long id = (Long) auditorium[0];
+            if (auditoriumId != null && !auditoriumId.equals(id)) {
+                continue;
+            }
+            ScreeningIntervalTree tree = current.getOrDefault(id, ScreeningIntervalTree.empty());
+            for (int day = 0; day < days; day++) {
+                LocalDate date = from.plusDays(day);
+                LocalDateTime open = date.atTime(opening);
+                LocalDateTime close = closing.isAfter(opening)
+                        ? date.atTime(closing)
+                        : date.plusDays(1).atTime(closing);
+                for (LocalDateTime[] gap : gaps(tree, open.isBefore(now) ? now : open, close, duration)) {
+                    result.add(FreeSlotResponse.builder()
+                            .auditoriumId(id)
+                            .auditoriumName((String) auditorium[1])
+                            .earliestStart(gap[0])
+                            .latestStart(gap[1])
+                            .build());
+                }
+            }
+        }
+        return result;
+    }
+
+    // Mỗi phần tử là [earliestStart, latestStart]
+    private List<LocalDateTime[]> gaps(ScreeningIntervalTree tree, LocalDateTime open, LocalDateTime close, Duration duration) {
+        List<LocalDateTime[]> gaps = new ArrayList<>();
+        LocalDateTime lastStart = close.minus(duration);
+        if (lastStart.isBefore(open)) {
+            return gaps;
+        }
+        LocalDateTime cursor = open;
+        // Lấy thêm các suất bắt đầu ngay sau giờ đóng cửa để vẫn chừa thời gian dọn phòng
+        for (ScreeningIntervalTree.Slot slot : tree.overlapping(open, close.plus(cleaningBuffer()))) {
+            LocalDateTime latest = slot.start().minus(duration).minus(cleaningBuffer());
+            if (latest.isAfter(lastStart)) {
+                latest = lastStart;
+            }
+            if (!latest.isBefore(cursor)) {
+                gaps.add(new LocalDateTime[]{cursor, latest});
+            }
+            if (slot.end().isAfter(cursor)) {
+                cursor = slot.end();
+            }
+        }
+        if (!lastStart.isBefore(cursor)) {
+            gaps.add(new LocalDateTime[]{cursor, lastStart});
+        }
+        return gaps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        requestRebuild();
+    }
+
+    // Bỏ các suất đã chiếu xong khỏi cây
+    @Scheduled(initialDelayString = "${app.schedule.timetable.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.schedule.timetable.refresh-interval-ms:300000}")
+    public void onRefresh() {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild on the auditorium schedule thread unless one is already waiting there.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    ReplicaRoutingDataSource.onPrimary(this::rebuild);
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild auditorium schedule", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // synchronized: cây đọc DB sau luôn publish sau
+    public synchronized void rebuild() {
+        LocalDateTime from = LocalDateTime.now().minus(cleaningBuffer());
+        Map<Long, List<ScreeningIntervalTree.Slot>> byAuditorium = new HashMap<>();
+        for (Object[] row : screeningRepository.findScheduleWindowsEndingAfter(from)) {
+            byAuditorium.computeIfAbsent((Long) row[1], id -> new ArrayList<>())
+                    .add(slotOf((Long) row[0], (LocalDateTime) row[2], (LocalDateTime) row[3]));
+        }
+
+        Map<Long, ScreeningIntervalTree> next = new HashMap<>();
+        byAuditorium.forEach((auditoriumId, slots) -> next.put(auditoriumId, ScreeningIntervalTree.of(slots)));
+        trees = next;
+        log.debug("Rebuilt auditorium schedule for {} auditoriums", next.size());
+    }
+}
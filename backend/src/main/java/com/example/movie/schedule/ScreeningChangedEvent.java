@@ -0,0 +1,7 @@
+package com.example.movie.schedule;
+
+/**
+ * Published after a screening is created, updated or deleted so in-memory schedule structures can refresh.
+ */
+public record ScreeningChangedEvent(Long screeningId) {
+}
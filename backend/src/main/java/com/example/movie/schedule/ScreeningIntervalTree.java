@@ -0,0 +1,100 @@
+package com.example.movie.schedule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over the screenings of one auditorium.
+ * Slots are kept sorted by start time in an array; the implicit balanced tree over that
+ * array stores, at each node, the latest end time of its subtree so overlap queries only
+ * descend into subtrees that can still contain a hit: O(log n + k).
+ *
+ * Intervals are half-open, [start, end), so back-to-back slots do not overlap.
+ */
+public final class ScreeningIntervalTree {
+    private static final ScreeningIntervalTree EMPTY = new ScreeningIntervalTree(new Slot[0]);
+
+    private final Slot[] slots;
+    private final LocalDateTime[] maxEnd;
+
+    public record Slot(Long screeningId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private ScreeningIntervalTree(Slot[] sorted) {
+        this.slots = sorted;
+        this.maxEnd = new LocalDateTime[sorted.length];
+        build(0, sorted.length - 1);
+    }
+
+    public static ScreeningIntervalTree empty() {
+        return EMPTY;
+    }
+
+    public static ScreeningIntervalTree of(Collection<Slot> slots) {
+        if (slots.isEmpty()) {
+            return EMPTY;
+        }
+        Slot[] sorted = slots.toArray(new Slot[0]);
+        Arrays.sort(sorted, Comparator.comparing(Slot::start));
+        return new ScreeningIntervalTree(sorted);
+    }
+
+    private LocalDateTime build(int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = slots[mid].end();
+        LocalDateTime left = build(lo, mid - 1);
+        LocalDateTime right = build(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    /**
+     * Slots overlapping [start, end), in start time order.
+     */
+    public List<Slot> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Slot> result = new ArrayList<>();
+        collect(0, slots.length - 1, start, end, result);
+        return result;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime start, LocalDateTime end, List<Slot> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Không slot nào trong cây con kết thúc sau start
+        if (!maxEnd[mid].isAfter(start)) {
+            return;
+        }
+        collect(lo, mid - 1, start, end, result);
+        Slot slot = slots[mid];
+        if (slot.start().isBefore(end)) {
+            if (slot.end().isAfter(start)) {
+                result.add(slot);
+            }
+            // Nhánh phải bắt đầu muộn hơn slot hiện tại nên chỉ cần xét khi slot này còn trước end
+            collect(mid + 1, hi, start, end, result);
+        }
+    }
+
+    public List<Slot> slots() {
+        return List.of(slots);
+    }
+
+    public int size() {
+        return slots.length;
+    }
+}
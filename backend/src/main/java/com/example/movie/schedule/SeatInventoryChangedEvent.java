@@ -0,0 +1,7 @@
+package com.example.movie.schedule;
+
+/**
+ * Published after tickets of a screening are booked or released back to AVAILABLE.
+ */
+public record SeatInventoryChangedEvent(Long screeningId) {
+}
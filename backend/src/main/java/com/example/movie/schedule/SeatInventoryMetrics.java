@@ -0,0 +1,55 @@
+package com.example.movie.schedule;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remaining-seat gauges ({@code seat.inventory.available}, tagged by screening) for the next
+ * {@code max-screenings} screenings of the timetable. Gauges of screenings that have started are
+ * removed, so the number of series never exceeds that cap.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatInventoryMetrics {
+    private final ShowtimeTimetable showtimeTimetable;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.inventory.max-screenings:50}")
+    private int maxScreenings;
+
+    // Chỉ thread của scheduler đụng tới map này
+    private final Map<Long, Gauge> gauges = new HashMap<>();
+
+    @Scheduled(initialDelayString = "${app.metrics.inventory.refresh-interval-ms:60000}",
+            fixedDelayString = "${app.metrics.inventory.refresh-interval-ms:60000}")
+    public void refresh() {
+        Set<Long> upcoming = new HashSet<>(showtimeTimetable.upcomingScreeningIds(maxScreenings));
+        gauges.entrySet().removeIf(entry -> {
+            if (upcoming.contains(entry.getKey())) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue());
+            return true;
+        });
+        for (Long screeningId : upcoming) {
+            gauges.computeIfAbsent(screeningId, id -> Gauge
+                    .builder("seat.inventory.available", showtimeTimetable, timetable -> timetable.remainingSeats(id))
+                    .tag("screening", String.valueOf(id))
+                    .baseUnit("seats")
+                    .register(meterRegistry));
+        }
+    }
+
+    int size() {
+        return gauges.size();
+    }
+}
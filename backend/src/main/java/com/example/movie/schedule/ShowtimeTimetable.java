@@ -0,0 +1,305 @@
+package com.example.movie.schedule;
+
+import com.example.movie.datasource.ReplicaRoutingDataSource;
+import com.example.movie.dto.screening.MovieShowtimesResponse;
+import com.example.movie.dto.screening.ShowtimeResponse;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Denormalized timetable of active screenings for the next few days, indexed by
+ * (date, movie) and (date, auditorium). Built from a single fetch-join query, so requests
+ * inside the window never hit the database; remaining seats are kept per screening and
+ * refreshed when tickets are booked or released.
+ *
+ * Rebuilds run one at a time on a single thread, so an older read never replaces a newer snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShowtimeTimetable {
+    // Giới hạn số id trong một câu IN (...)
+    private static final int COUNT_BATCH_SIZE = 500;
+
+    private final ScreeningRepository screeningRepository;
+    private final TicketRepository ticketRepository;
+
+    @Value("${app.schedule.timetable.days:7}")
+    private int days;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final ConcurrentHashMap<Long, Integer> remainingSeats = new ConcurrentHashMap<>();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("showtime-timetable-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    /**
+     * Showtimes still to start today, grouped by movie in order of their first showtime.
+     */
+    public List<MovieShowtimesResponse> today() {
+        LocalDateTime now = LocalDateTime.now();
+        Day day = day(now.toLocalDate(), showtime -> true);
+        Map<Long, MovieShowtimesResponse> movies = new LinkedHashMap<>();
+        for (Showtime showtime : day.showtimes()) {
+            if (showtime.startTime().isBefore(now)) {
+                continue;
+            }
+            movies.computeIfAbsent(showtime.movieId(), id -> MovieShowtimesResponse.builder()
+                            .movieId(id)
+                            .movieTitle(showtime.movieTitle())
+                            .showtimes(new ArrayList<>())
+                            .build())
+                    .getShowtimes()
+                    .add(day.toResponse(showtime));
+        }
+        return new ArrayList<>(movies.values());
+    }
+
+    /**
+     * Showtimes on {@code date}, optionally narrowed to one movie and/or auditorium.
+     */
+    public List<ShowtimeResponse> showtimes(LocalDate date, Long movieId, Long auditoriumId) {
+        Day day;
+        if (movieId != null) {
+            day = day(date, movieId, true);
+        } else if (auditoriumId != null) {
+            day = day(date, auditoriumId, false);
+        } else {
+            day = day(date, showtime -> true);
+        }
+        return day.showtimes().stream()
+                .filter(showtime -> auditoriumId == null || auditoriumId.equals(showtime.auditoriumId()))
+                .map(day::toResponse)
+                .toList();
+    }
+
+    /**
+     * Ids of the next {@code limit} screenings in the window that have not started yet, in start order.
+     */
+    public List<Long> upcomingScreeningIds(int limit) {
+        Snapshot current = snapshot;
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>();
+        for (LocalDate date = now.toLocalDate(); current.covers(date) && ids.size() < limit; date = date.plusDays(1)) {
+            for (Showtime showtime : current.byDate.getOrDefault(date, List.of())) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                if (!showtime.startTime().isBefore(now)) {
+                    ids.add(showtime.screeningId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    public int remainingSeats(Long screeningId) {
+        return remainingSeats.getOrDefault(screeningId, 0);
+    }
+
+    private Day day(LocalDate date, Predicate<Showtime> filter) {
+        Snapshot current = snapshot;
+        if (!current.covers(date)) {
+            return loadDay(date, filter);
+        }
+        return new Day(current.byDate.getOrDefault(date, List.of()), remainingSeats);
+    }
+
+    private Day day(LocalDate date, Long id, boolean byMovie) {
+        Snapshot current = snapshot;
+        if (!current.covers(date)) {
+            return loadDay(date, showtime -> id.equals(byMovie ? showtime.movieId() : showtime.auditoriumId()));
+        }
+        Map<Long, List<Showtime>> index = (byMovie ? current.byMovie : current.byAuditorium).get(date);
+        return new Day(index == null ? List.of() : index.getOrDefault(id, List.of()), remainingSeats);
+    }
+
+    // Ngày nằm ngoài cửa sổ đã nạp: đọc thẳng từ DB (suất chiếu + đếm ghế trống), không cache và không ghi vào
+    // remainingSeats của cửa sổ
+    private Day loadDay(LocalDate date, Predicate<Showtime> filter) {
+        List<Showtime> showtimes = screeningRepository
+                .findActiveWithMovieAndAuditoriumBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .stream()
+                .map(Showtime::of)
+                .filter(filter)
+                .toList();
+        return new Day(showtimes, countRemainingSeats(showtimes.stream().map(Showtime::screeningId).toList()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatInventoryChanged(SeatInventoryChangedEvent event) {
+        if (snapshot.screeningIds.contains(event.screeningId())) {
+            // Callback thanh toán và job nền không có user, read-your-writes không ghim được vào primary
+            ReplicaRoutingDataSource.onPrimary(() -> {
+                long available = ticketRepository.countByScreeningIdAndStatus(event.screeningId(), Ticket.Status.AVAILABLE);
+                remainingSeats.put(event.screeningId(), (int) available);
+            });
+        }
+    }
+
+    // Làm mới định kỳ để cửa sổ ngày trượt theo thời gian
+    @Scheduled(initialDelayString = "${app.schedule.timetable.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.schedule.timetable.refresh-interval-ms:300000}")
+    public void onRefresh() {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild on the showtime timetable thread unless one is already waiting there.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    ReplicaRoutingDataSource.onPrimary(this::rebuild);
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild showtime timetable", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // synchronized: snapshot đọc DB sau luôn publish sau
+    public synchronized void rebuild() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days);
+        List<Showtime> showtimes = screeningRepository
+                .findActiveWithMovieAndAuditoriumBetween(from.atStartOfDay(), to.atStartOfDay())
+                .stream()
+                .map(Showtime::of)
+                .toList();
+
+        Snapshot next = new Snapshot(from, to, showtimes);
+        remainingSeats.putAll(countRemainingSeats(next.screeningIds));
+        remainingSeats.keySet().retainAll(next.screeningIds);
+        snapshot = next;
+        log.debug("Rebuilt showtime timetable {} - {} with {} screenings", from, to, showtimes.size());
+    }
+
+    private Map<Long, Integer> countRemainingSeats(Collection<Long> screeningIds) {
+        List<Long> ids = new ArrayList<>(screeningIds);
+        Map<Long, Integer> counts = new HashMap<>();
+        ids.forEach(id -> counts.put(id, 0));
+        for (int start = 0; start < ids.size(); start += COUNT_BATCH_SIZE) {
+            List<Long> batch = ids.subList(start, Math.min(start + COUNT_BATCH_SIZE, ids.size()));
+            for (Object[] row : ticketRepository.countByScreeningIdsAndStatus(batch, Ticket.Status.AVAILABLE)) {
+                counts.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Showtimes of one day with the remaining-seat counts to report for them.
+     */
+    private record Day(List<Showtime> showtimes, Map<Long, Integer> remainingSeats) {
+
+        ShowtimeResponse toResponse(Showtime showtime) {
+            return ShowtimeResponse.builder()
+                    .screeningId(showtime.screeningId())
+                    .startTime(showtime.startTime())
+                    .endTime(showtime.endTime())
+                    .format(showtime.format())
+                    .movieId(showtime.movieId())
+                    .movieTitle(showtime.movieTitle())
+                    .auditoriumId(showtime.auditoriumId())
+                    .auditoriumName(showtime.auditoriumName())
+                    .remainingSeats(remainingSeats.getOrDefault(showtime.screeningId(), 0))
+                    .build();
+        }
+    }
+
+    private record Showtime(Long screeningId, LocalDateTime startTime, LocalDateTime endTime, Screening.Format format,
+                            Long movieId, String movieTitle, Long auditoriumId, String auditoriumName) {
+
+        static Showtime of(Screening screening) {
+            return new Showtime(
+                    screening.getId(),
+                    screening.getStartTime(),
+                    screening.getEndTime(),
+                    screening.getFormat(),
+                    screening.getMovie().getId(),
+                    screening.getMovie().getTitle(),
+                    screening.getAuditorium().getId(),
+                    screening.getAuditorium().getName());
+        }
+    }
+
+    /**
+     * Immutable once published. Lists keep the startTime order of the source query.
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(LocalDate.MIN, LocalDate.MIN, List.of());
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Set<Long> screeningIds = new HashSet<>();
+        private final Map<LocalDate, List<Showtime>> byDate = new HashMap<>();
+        private final Map<LocalDate, Map<Long, List<Showtime>>> byMovie = new HashMap<>();
+        private final Map<LocalDate, Map<Long, List<Showtime>>> byAuditorium = new HashMap<>();
+
+        private Snapshot(LocalDate from, LocalDate to, List<Showtime> showtimes) {
+            this.from = from;
+            this.to = to;
+            for (Showtime showtime : showtimes) {
+                LocalDate date = showtime.startTime().toLocalDate();
+                screeningIds.add(showtime.screeningId());
+                byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(showtime);
+                byMovie.computeIfAbsent(date, d -> new HashMap<>())
+                        .computeIfAbsent(showtime.movieId(), id -> new ArrayList<>())
+                        .add(showtime);
+                byAuditorium.computeIfAbsent(date, d -> new HashMap<>())
+                        .computeIfAbsent(showtime.auditoriumId(), id -> new ArrayList<>())
+                        .add(showtime);
+            }
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(from) && date.isBefore(to);
+        }
+    }
+}
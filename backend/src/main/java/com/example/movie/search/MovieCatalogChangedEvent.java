@@ -0,0 +1,7 @@
+package com.example.movie.search;
+
+/**
+ * Published after a movie is created, updated or deleted so in-memory search structures can refresh.
+ */
+public record MovieCatalogChangedEvent(Long movieId) {
+}
@@ -0,0 +1,299 @@
+package com.example.movie.search;
+
+import com.example.movie.datasource.ReplicaRoutingDataSource;
+import com.example.movie.dto.movie.FacetCount;
+import com.example.movie.dto.movie.MovieFacetedSearchResponse;
+import com.example.movie.dto.movie.MovieResponse;
+import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.response.PageResponse;
+import com.example.movie.mapper.MovieMapper;
+import com.example.movie.model.Movie;
+import com.example.movie.model.MovieStatus;
+import com.example.movie.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory facet engine over the movie catalogue.
+ * Every facet value (genre, status, release year, language) and every normalized search key
+ * owns a bitmap of movie ids; a search is a handful of bitmap ANDs, and the counts for one
+ * facet are taken over the candidates filtered by all the other facets.
+ *
+ * Movie ids come from an IDENTITY column so they are dense, which is the case a plain
+ * {@link BitSet} handles as well as a compressed bitmap.
+ *
+ * Rebuilds run one at a time on a single thread, like {@link MovieSuggestionIndex}, so an
+ * older read can never replace a newer snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieFacetIndex {
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("movie-facet-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(MovieCatalogChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild on the index thread unless one is already waiting there.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    ReplicaRoutingDataSource.onPrimary(this::rebuild);
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild movie facet index", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // synchronized: snapshot đọc DB sau luôn publish sau
+    public synchronized void rebuild() {
+        Snapshot next = new Snapshot();
+        for (Movie movie : movieRepository.findAll()) {
+            next.add(movie, movieMapper.toResponse(movie));
+        }
+        snapshot = next;
+        log.debug("Rebuilt movie facet index with {} movies", next.movies.size());
+    }
+
+    public MovieFacetedSearchResponse search(MovieSearchRequest request, Pageable pageable) {
+        Snapshot current = snapshot;
+
+        BitSet keyword = current.keywordFilter(request.getSearchQuery());
+        BitSet genre = current.genres.filter(SearchNormalizer.normalize(request.getGenre()));
+        BitSet status = current.statuses.filter(statusValue(request.getStatus()));
+        BitSet year = current.yearFilter(request.getYearFrom(), request.getYearTo());
+        BitSet language = current.languages.filter(SearchNormalizer.normalize(request.getLanguage()));
+
+        BitSet matched = current.intersect(keyword, genre, status, year, language);
+        return MovieFacetedSearchResponse.builder()
+                .results(current.page(matched, pageable))
+                .genres(current.genres.count(current.intersect(keyword, status, year, language)))
+                .statuses(current.statuses.count(current.intersect(keyword, genre, year, language)))
+                .years(current.years.count(current.intersect(keyword, genre, status, language)))
+                .languages(current.languages.count(current.intersect(keyword, genre, status, year)))
+                .build();
+    }
+
+    // Giống MovieSpecification.filterByStatus: trạng thái không hợp lệ thì bỏ qua bộ lọc
+    private static String statusValue(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return "";
+        }
+        try {
+            return MovieStatus.valueOf(status.trim().toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Immutable once published; queries only read bitmaps and clone before mutating.
+     */
+    private static final class Snapshot {
+        private final BitSet all = new BitSet();
+        private final Map<Integer, MovieResponse> movies = new HashMap<>();
+        private final TreeMap<String, BitSet> searchKeys = new TreeMap<>();
+        private final Facet genres = new Facet();
+        private final Facet statuses = new Facet();
+        private final Facet years = new Facet();
+        private final Facet languages = new Facet();
+
+        private void add(Movie movie, MovieResponse response) {
+            int id = Math.toIntExact(movie.getId());
+            all.set(id);
+            movies.put(id, response);
+
+            List<String> keys = new ArrayList<>(SearchNormalizer.wordStartKeys(movie.getTitle()));
+            keys.addAll(SearchNormalizer.listKeys(movie.getDirector()));
+            keys.addAll(SearchNormalizer.listKeys(movie.getActors()));
+            keys.addAll(SearchNormalizer.listKeys(movie.getGenres()));
+            keys.forEach(key -> searchKeys.computeIfAbsent(key, k -> new BitSet()).set(id));
+
+            if (movie.getGenres() != null) {
+                for (String label : movie.getGenres().split(",")) {
+                    genres.add(SearchNormalizer.normalize(label), label.trim(), id);
+                }
+            }
+            if (movie.getStatus() != null) {
+                statuses.add(movie.getStatus().name(), movie.getStatus().name(), id);
+            }
+            if (movie.getReleaseDate() != null) {
+                String releaseYear = String.valueOf(movie.getReleaseDate().getYear());
+                years.add(releaseYear, releaseYear, id);
+            }
+            if (movie.getLanguage() != null) {
+                languages.add(SearchNormalizer.normalize(movie.getLanguage()), movie.getLanguage().trim(), id);
+            }
+        }
+
+        // null nghĩa là không lọc theo từ khoá
+        private BitSet keywordFilter(String keyword) {
+            String prefix = SearchNormalizer.normalize(keyword);
+            if (prefix.isEmpty()) {
+                return null;
+            }
+            BitSet matched = new BitSet();
+            searchKeys.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                    .values()
+                    .forEach(matched::or);
+            return matched;
+        }
+
+        private BitSet yearFilter(Integer yearFrom, Integer yearTo) {
+            if (yearFrom == null && yearTo == null) {
+                return null;
+            }
+            BitSet matched = new BitSet();
+            years.bitmaps.forEach((value, bitmap) -> {
+                int year = Integer.parseInt(value);
+                if ((yearFrom == null || year >= yearFrom) && (yearTo == null || year <= yearTo)) {
+                    matched.or(bitmap);
+                }
+            });
+            return matched;
+        }
+
+        private BitSet intersect(BitSet... filters) {
+            BitSet result = (BitSet) all.clone();
+            for (BitSet filter : filters) {
+                if (filter != null) {
+                    result.and(filter);
+                }
+            }
+            return result;
+        }
+
+        private PageResponse<MovieResponse> page(BitSet matched, Pageable pageable) {
+            List<MovieResponse> rows = new ArrayList<>(matched.cardinality());
+            matched.stream().forEach(id -> rows.add(movies.get(id)));
+            Comparator<MovieResponse> comparator = comparator(pageable.getSort());
+            if (comparator != null) {
+                rows.sort(comparator);
+            }
+
+            int total = rows.size();
+            if (pageable.isUnpaged()) {
+                return PageResponse.<MovieResponse>builder()
+                        .content(rows)
+                        .totalElements(total)
+                        .totalPages(1)
+                        .currentPage(0)
+                        .pageSize(total)
+                        .hasNext(false)
+                        .hasPrevious(false)
+                        .build();
+            }
+            int size = pageable.getPageSize();
+            int from = (int) Math.min(pageable.getOffset(), total);
+            int to = Math.min(from + size, total);
+            int totalPages = (total + size - 1) / size;
+            return PageResponse.<MovieResponse>builder()
+                    .content(new ArrayList<>(rows.subList(from, to)))
+                    .totalElements(total)
+                    .totalPages(totalPages)
+                    .currentPage(pageable.getPageNumber())
+                    .pageSize(size)
+                    .hasNext(pageable.getPageNumber() + 1 < totalPages)
+                    .hasPrevious(pageable.getPageNumber() > 0)
+                    .build();
+        }
+
+        private static Comparator<MovieResponse> comparator(Sort sort) {
+            Comparator<MovieResponse> result = null;
+            for (Sort.Order order : sort) {
+                Comparator<MovieResponse> next = switch (order.getProperty()) {
+                    case "id" -> Comparator.comparing(MovieResponse::getId);
+                    case "title" -> Comparator.comparing(MovieResponse::getTitle,
+                            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                    case "releaseDate" -> Comparator.comparing(MovieResponse::getReleaseDate,
+                            Comparator.nullsLast(Comparator.naturalOrder()));
+                    default -> null;
+                };
+                if (next == null) {
+                    continue;
+                }
+                next = order.isDescending() ? next.reversed() : next;
+                result = result == null ? next : result.thenComparing(next);
+            }
+            return result;
+        }
+    }
+
+    private static final class Facet {
+        private final Map<String, BitSet> bitmaps = new HashMap<>();
+        private final Map<String, String> labels = new HashMap<>();
+
+        private void add(String value, String label, int id) {
+            if (value.isEmpty()) {
+                return;
+            }
+            bitmaps.computeIfAbsent(value, v -> new BitSet()).set(id);
+            labels.putIfAbsent(value, label);
+        }
+
+        // Giá trị không tồn tại -> tập rỗng (không có kết quả), giá trị rỗng -> không lọc
+        private BitSet filter(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            return bitmaps.getOrDefault(value, new BitSet());
+        }
+
+        private List<FacetCount> count(BitSet candidates) {
+            List<FacetCount> counts = new ArrayList<>();
+            bitmaps.forEach((value, bitmap) -> {
+                BitSet hits = (BitSet) bitmap.clone();
+                hits.and(candidates);
+                int count = hits.cardinality();
+                if (count > 0) {
+                    counts.add(FacetCount.builder().value(labels.get(value)).count(count).build());
+                }
+            });
+            counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                    .thenComparing(FacetCount::getValue));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.movie.search;
+
+import com.example.movie.dto.movie.MovieResponse;
+import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.response.PageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for movie listing queries.
+ * Identical requests (after normalization) share one entry, and concurrent misses on the
+ * same key wait for the single in-flight query instead of each hitting the database.
+ * Every movie write clears the cache; the TTL only bounds staleness of derived data.
+ *
+ * Hit/miss counts are published to Micrometer without the key as a tag (unbounded
+ * cardinality); per-key hit rates are exposed through the {@code moviesearchcache}
+ * actuator endpoint for a bounded number of keys. Per-key stats start over every
+ * {@code stats-window-ms}, so the tracked keys follow the current traffic; the endpoint
+ * reports the running window and the last complete one.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "moviesearchcache")
+public class MovieSearchCache {
+    private static final int TOP_KEYS = 20;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final int maxTrackedKeys;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Key, KeyStats> stats = new ConcurrentHashMap<>();
+    private volatile Map<Key, KeyStats> previousStats = Map.of();
+    private volatile long windowStartedAt = System.currentTimeMillis();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public MovieSearchCache(MeterRegistry meterRegistry,
+                            @Value("${app.search.cache.ttl-ms:5000}") long ttlMs,
+                            @Value("${app.search.cache.max-entries:1000}") int maxEntries,
+                            @Value("${app.search.cache.max-tracked-keys:200}") int maxTrackedKeys) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        Gauge.builder("movie.search.cache.size", entries, Map::size)
+                .description("Cached movie search pages")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("movie.search.cache.requests")
+                .description("Movie search cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached page for this request, or run {@code loader} once for all concurrent callers.
+     */
+    public PageResponse<MovieResponse> get(MovieSearchRequest request, Pageable pageable,
+                                           Supplier<PageResponse<MovieResponse>> loader) {
+        Key key = Key.of(request, pageable);
+        KeyStats keyStats = statsFor(key);
+        long now = System.nanoTime();
+
+        Entry existing = entries.get(key);
+        if (existing != null && existing.isFresh(now)) {
+            return await(existing, keyStats);
+        }
+
+        // Hết chỗ: chạy thẳng query, không cache
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                record(misses, keyStats == null ? null : keyStats.misses);
+                return loader.get();
+            }
+        }
+
+        Entry created = new Entry();
+        Entry winner = entries.compute(key, (k, current) -> current != null && current.isFresh(now) ? current : created);
+        if (winner != created) {
+            return await(winner, keyStats);
+        }
+
+        record(misses, keyStats == null ? null : keyStats.misses);
+        try {
+            PageResponse<MovieResponse> result = loader.get();
+            created.expiresAt = System.nanoTime() + ttlNanos;
+            created.future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private PageResponse<MovieResponse> await(Entry entry, KeyStats keyStats) {
+        if (entry.future.isDone()) {
+            record(hits, keyStats == null ? null : keyStats.hits);
+        } else {
+            record(coalesced, keyStats == null ? null : keyStats.coalesced);
+        }
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void record(Counter counter, LongAdder perKey) {
+        counter.increment();
+        if (perKey != null) {
+            perKey.increment();
+        }
+    }
+
+    // Giới hạn số key được theo dõi trong một cửa sổ để bộ nhớ không tăng theo số truy vấn khác nhau
+    private KeyStats statsFor(Key key) {
+        ConcurrentHashMap<Key, KeyStats> window = stats;
+        KeyStats keyStats = window.get(key);
+        if (keyStats == null && window.size() < maxTrackedKeys) {
+            keyStats = window.computeIfAbsent(key, k -> new KeyStats());
+        }
+        return keyStats;
+    }
+
+    /**
+     * Starts a new stats window; the one that ends stays readable until the next rotation.
+     */
+    @Scheduled(initialDelayString = "${app.search.cache.stats-window-ms:300000}",
+            fixedDelayString = "${app.search.cache.stats-window-ms:300000}")
+    public void rotateStats() {
+        previousStats = stats;
+        stats = new ConcurrentHashMap<>();
+        windowStartedAt = System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(MovieCatalogChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.cache.ttl-ms:5000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> !entry.isFresh(now));
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<Key, KeyStats> current = stats;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("entries", entries.size());
+        report.put("windowStartedAt", windowStartedAt);
+        report.put("trackedKeys", current.size());
+        report.put("topKeys", topKeys(current));
+        report.put("previousWindowTopKeys", topKeys(previousStats));
+        return report;
+    }
+
+    private static List<Map<String, Object>> topKeys(Map<Key, KeyStats> stats) {
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Key, KeyStats> e) -> e.getValue().total()).reversed())
+                .limit(TOP_KEYS)
+                .map(e -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("key", e.getKey().toString());
+                    row.put("hits", e.getValue().hits.sum());
+                    row.put("coalesced", e.getValue().coalesced.sum());
+                    row.put("misses", e.getValue().misses.sum());
+                    row.put("hitRate", e.getValue().hitRate());
+                    return row;
+                })
+                .toList();
+    }
+
+    /**
+     * Normalized request: "  Kế Hoạch" and "ke hoach" share one entry.
+     */
+    record Key(String searchQuery, String genre, Integer yearFrom, Integer yearTo, String status,
+               String language, int page, int size, String sort) {
+
+        static Key of(MovieSearchRequest request, Pageable pageable) {
+            return new Key(
+                    SearchNormalizer.normalize(request.getSearchQuery()),
+                    SearchNormalizer.normalize(request.getGenre()),
+                    request.getYearFrom(),
+                    request.getYearTo(),
+                    request.getStatus() == null ? "" : request.getStatus().trim().toUpperCase(Locale.ROOT),
+                    request.getLanguage() == null ? "" : request.getLanguage().trim().toLowerCase(Locale.ROOT),
+                    pageable.isPaged() ? pageable.getPageNumber() : -1,
+                    pageable.isPaged() ? pageable.getPageSize() : -1,
+                    pageable.getSort().toString());
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<PageResponse<MovieResponse>> future = new CompletableFuture<>();
+        // Chỉ có nghĩa khi future đã xong
+        private volatile long expiresAt;
+
+        private boolean isFresh(long now) {
+            return !future.isDone() || (!future.isCompletedExceptionally() && now - expiresAt < 0);
+        }
+    }
+
+    private static final class KeyStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private long total() {
+            return hits.sum() + coalesced.sum() + misses.sum();
+        }
+
+        private double hitRate() {
+            long total = total();
+            return total == 0 ? 0.0 : (double) (hits.sum() + coalesced.sum()) / total;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.movie.search;
+
+import com.example.movie.datasource.ReplicaRoutingDataSource;
+import com.example.movie.dto.movie.MovieSuggestionResponse;
+import com.example.movie.dto.movie.MovieSuggestionResponse.SuggestionType;
+import com.example.movie.model.Movie;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.ArchivedTicketRepository;
+import com.example.movie.repository.MovieRepository;
+import com.example.movie.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Type-ahead index over movie titles, directors and actors, ranked by tickets sold.
+ * Lookups never touch the database; the trie is rebuilt off the request path and
+ * published with a single volatile write. Rebuilds run one at a time on a single thread, so
+ * the trie published last is always built from the latest read, and requests made while one
+ * is pending collapse into it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieSuggestionIndex {
+    private static final List<Ticket.Status> SOLD_STATUSES = List.of(Ticket.Status.ISSUED, Ticket.Status.USED);
+
+    private final MovieRepository movieRepository;
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+
+    @Value("${app.search.suggest.max-results:10}")
+    private int maxResults;
+
+    private volatile SuggestionTrie<MovieSuggestionResponse> trie = SuggestionTrie.empty();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("movie-suggestion-rebuild").daemon().factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public List<MovieSuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = SearchNormalizer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trie.lookup(normalized, Math.min(limit, maxResults));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(MovieCatalogChangedEvent event) {
+        requestRebuild();
+    }
+
+    // Cập nhật độ phổ biến (số vé bán) định kỳ
+    @Scheduled(initialDelayString = "${app.search.suggest.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.search.suggest.refresh-interval-ms:300000}")
+    public void onRefresh() {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild on the index thread unless one is already waiting there; the waiting one
+     * reads the database after this call, so it sees the change that triggered it.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    // Được gọi ngay sau commit: replica có thể chưa kịp có thay đổi
+                    ReplicaRoutingDataSource.onPrimary(this::rebuild);
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild movie suggestion index", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // synchronized: lần build đọc DB sau luôn publish sau, trie cũ không ghi đè trie mới
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Map<Long, Long> ticketsSold = new HashMap<>();
+        for (Object[] row : ticketRepository.countTicketsByMovie(SOLD_STATUSES)) {
+            ticketsSold.put((Long) row[0], (Long) row[1]);
+        }
+        for (Object[] row : archivedTicketRepository.countTicketsByMovie(SOLD_STATUSES)) {
+            ticketsSold.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+
+        // Gộp đạo diễn/diễn viên trùng tên giữa các phim, cộng dồn độ phổ biến
+        Map<String, MovieSuggestionResponse> suggestions = new LinkedHashMap<>();
+        List<Movie> movies = movieRepository.findAll();
+        for (Movie movie : movies) {
+            long popularity = ticketsSold.getOrDefault(movie.getId(), 0L);
+            suggestions.put(SuggestionType.TITLE + ":" + movie.getId(), MovieSuggestionResponse.builder()
+                    .text(movie.getTitle())
+                    .type(SuggestionType.TITLE)
+                    .movieId(movie.getId())
+                    .popularity(popularity)
+                    .build());
+            addPeople(suggestions, movie.getDirector(), SuggestionType.DIRECTOR, popularity);
+            addPeople(suggestions, movie.getActors(), SuggestionType.ACTOR, popularity);
+        }
+
+        SuggestionTrie.Builder<MovieSuggestionResponse> builder = new SuggestionTrie.Builder<>();
+        suggestions.values().stream()
+                .sorted(Comparator.comparing(MovieSuggestionResponse::getText))
+                .forEach(suggestion -> SearchNormalizer.wordStartKeys(suggestion.getText())
+                        .forEach(key -> builder.add(key, suggestion, suggestion.getPopularity())));
+
+        trie = builder.build(maxResults);
+        log.debug("Rebuilt movie suggestion index: {} entries from {} movies in {} ms",
+                trie.size(), movies.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void addPeople(Map<String, MovieSuggestionResponse> suggestions, String names,
+                           SuggestionType type, long popularity) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names.split(",")) {
+            String normalized = SearchNormalizer.normalize(name);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            MovieSuggestionResponse existing = suggestions.get(type + ":" + normalized);
+            if (existing != null) {
+                existing.setPopularity(existing.getPopularity() + popularity);
+            } else {
+                suggestions.put(type + ":" + normalized, MovieSuggestionResponse.builder()
+                        .text(name.trim())
+                        .type(type)
+                        .popularity(popularity)
+                        .build());
+            }
+        }
+    }
+}
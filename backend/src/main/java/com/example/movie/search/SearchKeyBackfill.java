@@ -0,0 +1,43 @@
+package com.example.movie.search;
+
+import com.example.movie.model.Movie;
+import com.example.movie.model.User;
+import com.example.movie.repository.MovieRepository;
+import com.example.movie.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Populate normalized search keys for rows written without going through JPA
+ * (data.sql seed, bulk SQL scripts), and the movie_genre rows of movies whose keys predate
+ * the genre facet. Entities saved through JPA maintain their own keys.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchKeyBackfill {
+    private final MovieRepository movieRepository;
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        List<Movie> movies = movieRepository.findAllMissingSearchKeys();
+        movies.forEach(Movie::refreshSearchKeys);
+        movieRepository.saveAll(movies);
+
+        List<User> users = userRepository.findAllMissingSearchKeys();
+        users.forEach(User::refreshSearchKeys);
+        userRepository.saveAll(users);
+
+        if (!movies.isEmpty() || !users.isEmpty()) {
+            log.info("Backfilled search keys for {} movies and {} users", movies.size(), users.size());
+        }
+    }
+}
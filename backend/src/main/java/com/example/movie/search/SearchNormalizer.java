@@ -0,0 +1,101 @@
+package com.example.movie.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Chuẩn hoá chuỗi tìm kiếm: bỏ dấu tiếng Việt, chữ thường, gộp khoảng trắng.
+ * "Kế  Hoạch" -> "ke hoach"
+ */
+public final class SearchNormalizer {
+
+    // Độ dài tối đa của một search key (khớp với cột movie_search_key.search_key)
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("[^0-9]+");
+
+    private SearchNormalizer() {
+    }
+
+    /**
+     * Accent-fold, lowercase and collapse whitespace/punctuation into single spaces.
+     * Returns an empty string for null or blank input.
+     */
+    public static String normalize(String input) {
+        if (input == null || input.isBlank()) {
+            return "";
+        }
+        // đ/Đ không phải ký tự tổ hợp nên NFD không tách được
+        String text = input.replace('đ', 'd').replace('Đ', 'D');
+        text = Normalizer.normalize(text, Normalizer.Form.NFD);
+        text = COMBINING_MARKS.matcher(text).replaceAll("");
+        text = NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return text.trim();
+    }
+
+    /**
+     * Digits of a phone number: "+84 90-123" -> "8490123". Returns an empty string when there are none.
+     */
+    public static String phoneKey(String input) {
+        if (input == null) {
+            return "";
+        }
+        return NON_DIGIT.matcher(input).replaceAll("");
+    }
+
+    /**
+     * Build word-start keys for a phrase: "ke hoach bi mat" -> ["ke hoach bi mat", "hoach bi mat", "bi mat", "mat"].
+     * A prefix LIKE on these keys matches any word boundary inside the phrase while still using a B-tree index.
+     */
+    public static Set<String> wordStartKeys(String phrase) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(phrase);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        int start = 0;
+        while (start >= 0) {
+            String key = normalized.substring(start);
+            keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH).trim() : key);
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    /**
+     * Normalized items of a comma separated list: "Action, Sci-Fi" -> ["action", "sci fi"].
+     */
+    public static Set<String> listValues(String commaSeparated) {
+        Set<String> values = new LinkedHashSet<>();
+        if (commaSeparated == null) {
+            return values;
+        }
+        for (String item : commaSeparated.split(",")) {
+            String normalized = normalize(item);
+            if (!normalized.isEmpty()) {
+                values.add(normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Same as {@link #wordStartKeys(String)} for a comma separated list (actors, genres, directors).
+     */
+    public static Set<String> listKeys(String commaSeparated) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (commaSeparated == null) {
+            return keys;
+        }
+        for (String item : commaSeparated.split(",")) {
+            keys.addAll(wordStartKeys(item));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.movie.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable prefix trie where every node keeps its precomputed top-K values.
+ * A lookup is a walk of {@code prefix.length()} nodes plus a copy of at most K values,
+ * so it never depends on how many entries share the prefix.
+ *
+ * Build once with {@link Builder}, then swap the whole instance to publish a new version.
+ */
+public final class SuggestionTrie<T> {
+
+    private final Node root;
+    private final int size;
+
+    private SuggestionTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> SuggestionTrie<T> empty() {
+        return new Builder<T>().build(1);
+    }
+
+    /**
+     * @param prefix already normalized prefix
+     * @param limit  maximum number of values, capped by the K used at build time
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> lookup(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add((T) node.top[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Number of distinct values indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // labels sắp xếp tăng dần để tìm nhị phân, children[i] ứng với labels[i]
+        private final char[] labels;
+        private final Node[] children;
+        private final Object[] top;
+
+        private Node(char[] labels, Node[] children, Object[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    public static final class Builder<T> {
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private final Map<T, Long> scores = new HashMap<>();
+
+        /**
+         * Index {@code value} under {@code key}. A value may be added under many keys;
+         * its score is the one given on the first call.
+         */
+        public Builder<T> add(String key, T value, long score) {
+            if (key == null || key.isEmpty()) {
+                return this;
+            }
+            scores.putIfAbsent(value, score);
+            entries.add(new Entry<>(key, value));
+            return this;
+        }
+
+        public SuggestionTrie<T> build(int topK) {
+            // Chèn theo điểm giảm dần: K giá trị đầu tiên đi qua một node chính là top-K của node đó
+            Comparator<Entry<T>> byScore = Comparator.comparingLong(e -> -scores.get(e.value));
+            List<Entry<T>> sorted = new ArrayList<>(entries);
+            sorted.sort(byScore);
+
+            MutableNode root = new MutableNode();
+            for (Entry<T> entry : sorted) {
+                MutableNode node = root;
+                node.offer(entry.value, topK);
+                for (int i = 0; i < entry.key.length(); i++) {
+                    node = node.children.computeIfAbsent(entry.key.charAt(i), c -> new MutableNode());
+                    node.offer(entry.value, topK);
+                }
+            }
+            return new SuggestionTrie<>(root.freeze(), scores.size());
+        }
+    }
+
+    private record Entry<T>(String key, T value) {
+    }
+
+    private static final class MutableNode {
+        private final Map<Character, MutableNode> children = new HashMap<>();
+        private final List<Object> top = new ArrayList<>(2);
+
+        private void offer(Object value, int topK) {
+            if (top.size() < topK && !top.contains(value)) {
+                top.add(value);
+            }
+        }
+
+        private Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(Node.NO_LABELS, Node.NO_CHILDREN, top.toArray());
+            }
+            char[] labels = new char[children.size()];
+            int i = 0;
+            for (Character c : children.keySet()) {
+                labels[i++] = c;
+            }
+            Arrays.sort(labels);
+            Node[] frozen = new Node[labels.length];
+            for (int j = 0; j < labels.length; j++) {
+                frozen[j] = children.get(labels[j]).freeze();
+            }
+            return new Node(labels, frozen, top.toArray());
+        }
+    }
+}
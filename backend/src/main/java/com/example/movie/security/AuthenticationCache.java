@@ -0,0 +1,115 @@
+package com.example.movie.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of authenticated principals keyed by the SHA-256 of the access token,
+ * so a token is verified and turned into a {@link UserPrincipal} once instead of on every request.
+ *
+ * Entries live until the token expires. Logout removes the token's entry (revocation itself is
+ * tracked by {@link TokenRevocationList}); changing a user's status drops their entries and marks
+ * the user as changed, so tokens issued before that moment are rebuilt from the database instead
+ * of from their (stale) claims.
+ */
+@Component
+public class AuthenticationCache {
+    private final int maxEntries;
+    private final long maxTokenLifetimeSeconds;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // username -> thời điểm trạng thái/role thay đổi
+    private final ConcurrentHashMap<String, Instant> userChangedAt = new ConcurrentHashMap<>();
+
+    private record Entry(UserPrincipal principal, Instant expiresAt) {
+    }
+
+    public AuthenticationCache(@Value("${app.security.auth-cache.max-entries:10000}") int maxEntries,
+                               @Value("${app.jwt.access.admin-expiration-in-seconds}") long maxTokenLifetimeSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxTokenLifetimeSeconds = maxTokenLifetimeSeconds;
+    }
+
+    public static String keyOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached principal, or null when the token is unknown, expired or was evicted.
+     */
+    public UserPrincipal get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expiresAt().isAfter(Instant.now())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public void put(String key, UserPrincipal principal, Instant expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new Entry(principal, expiresAt));
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void invalidateUser(String username) {
+        userChangedAt.put(username, Instant.now());
+        entries.values().removeIf(entry -> entry.principal().getUsername().equals(username));
+    }
+
+    /**
+     * True when the user's status or role changed after the token was issued, so its claims can't be trusted.
+     */
+    public boolean changedSince(String username, Instant issuedAt) {
+        Instant changedAt = userChangedAt.get(username);
+        return changedAt != null && (issuedAt == null || !issuedAt.isAfter(changedAt));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Hết chỗ: bỏ token hết hạn trước, nếu vẫn đầy thì bỏ bớt khoảng 10% bất kỳ
+    private void evict() {
+        purgeExpired();
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.auth-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        Instant oldestLiveToken = now.minusSeconds(maxTokenLifetimeSeconds);
+        userChangedAt.values().removeIf(changedAt -> changedAt.isBefore(oldestLiveToken));
+    }
+}
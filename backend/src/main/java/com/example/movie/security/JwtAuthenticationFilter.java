@@ -1,11 +1,16 @@
 package com.example.movie.security;
 
+import com.example.movie.logging.LogSampler;
+import com.example.movie.model.User;
 import com.example.movie.service.impl.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -15,11 +20,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtDecoder jwtDecoder;
     private final CustomUserDetailsService customUserDetailsService;
+    private final AuthenticationCache authenticationCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshSessionStore refreshSessionStore;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,11 +38,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getServletPath();
 
         // Skip JWT validation for public endpoints
+        // Chỉ GET suất chiếu là công khai (trừ free-slots của ADMIN); POST /bulk... cần token ADMIN
         if (path.startsWith("/api/v1/auth/") || 
-            path.startsWith("/api/v1/screenings/") ||
+            (path.startsWith("/api/v1/screenings/") && "GET".equals(request.getMethod())
+                    && !path.startsWith("/api/v1/screenings/free-slots")) ||
             (path.startsWith("/api/v1/movies") && "GET".equals(request.getMethod())) ||
             (path.startsWith("/api/v1/users") && "POST".equals(request.getMethod()))) {
-            System.out.println("Skipping JWT validation for path: " + path);
+            log.debug("Skipping JWT validation for path: {}", path);
             filterChain.doFilter(request, response);
             return;
         }
@@ -41,28 +53,95 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String result = "rejected";
 
             try {
-                Jwt jwt = jwtDecoder.decode(token);
-                String username = jwt.getSubject();
+                UserPrincipal principal = authenticate(token);
+                if (principal != null && principal.isEnabled()) {
+                    var authentication = new UsernamePasswordAuthenticationToken(
+                            principal,
+                            null,
+                            principal.getAuthorities()
+                    );
 
-                var userDetails = customUserDetailsService.loadUserByUsername(username);
-
-                var authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    result = "authenticated";
+                }
 
             } catch (JwtException e) {
-                System.out.println("Invalid JWT: " + e.getMessage());
+                result = "invalid";
+                // Lấy mẫu: token rác có thể đến trên mọi request
+                if (LogSampler.sample("auth")) {
+                    log.atInfo().setMessage("auth.invalid-token")
+                            .addKeyValue("path", path)
+                            .addKeyValue("reason", e.getMessage())
+                            .log();
+                }
                 // For public endpoints, don't fail the request if JWT is invalid
                 // Just continue without authentication
+            } finally {
+                // Chỉ đo phần xác thực, không tính thời gian xử lý phía sau filter
+                sample.stop(meterRegistry.timer("auth.jwt.verify", "result", result));
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Token đã gặp thì lấy principal từ cache, không verify chữ ký và không query DB lần nữa
+    private UserPrincipal authenticate(String token) {
+        String key = AuthenticationCache.keyOf(token);
+        UserPrincipal cached = authenticationCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jwt jwt = jwtDecoder.decode(token);
+        String tokenId = SecurityUtil.tokenIdOf(jwt, token);
+        String sessionId = jwt.getClaimAsString(SecurityUtil.SESSION_ID_KEY);
+        if (isRevoked(tokenId, sessionId)) {
+            return null;
+        }
+        String username = jwt.getSubject();
+        UserPrincipal principal = fromClaims(jwt);
+        boolean fromDatabase = principal == null || authenticationCache.changedSince(username, jwt.getIssuedAt());
+        if (fromDatabase) {
+            // Token cũ (chưa có claim) hoặc phát hành trước khi user bị đổi trạng thái: đọc lại từ DB
+            principal = (UserPrincipal) customUserDetailsService.loadUserByUsername(username);
+        }
+
+        authenticationCache.put(key, principal, jwt.getExpiresAt());
+        // logout hoặc updateUserStatus có thể chạy xen giữa lúc kiểm tra và lúc put
+        if (isRevoked(tokenId, sessionId)) {
+            authenticationCache.remove(key);
+            return null;
+        }
+        if (!fromDatabase && authenticationCache.changedSince(username, jwt.getIssuedAt())) {
+            authenticationCache.remove(key);
+        }
+        return principal;
+    }
+
+    // Token tự bị thu hồi (logout) hoặc phiên đăng nhập của nó đã bị đóng (logout-all)
+    private boolean isRevoked(String tokenId, String sessionId) {
+        return tokenRevocationList.isRevoked(tokenId)
+                || (sessionId != null && refreshSessionStore.isRevoked(sessionId));
+    }
+
+    private UserPrincipal fromClaims(Jwt jwt) {
+        Object userId = jwt.getClaim(SecurityUtil.USER_ID_KEY);
+        String role = jwt.getClaimAsString(SecurityUtil.ROLE_KEY);
+        Boolean active = jwt.getClaimAsBoolean(SecurityUtil.ACTIVE_KEY);
+        if (!(userId instanceof Number) || role == null || active == null) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(((Number) userId).longValue());
+        user.setUsername(jwt.getSubject());
+        user.setRole(User.UserRole.valueOf(role));
+        user.setIsActive(active);
+        return new UserPrincipal(user);
+    }
 }
@@ -0,0 +1,136 @@
+package com.example.movie.security;
+
+import com.example.movie.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets limiting login attempts per account and per client IP, checked before any
+ * password is hashed. Each bucket holds {@code perMinute} attempts and refills continuously.
+ * <p>
+ * The account bucket is keyed on (account, IP): someone guessing a password from one address cannot
+ * lock the owner out from another. Guesses on one account spread over many addresses are only bounded
+ * by the per-IP limit of each address.
+ * <p>
+ * At most {@code max-tracked-keys} buckets are kept per map; when a map is full, new keys share one
+ * overflow bucket until {@link #purgeIdle()} frees space, so no request scans the map.
+ */
+@Component
+public class LoginRateLimiter {
+    private final boolean enabled;
+    private final int accountPerMinute;
+    private final int ipPerMinute;
+    private final int maxTrackedKeys;
+
+    private final ConcurrentHashMap<String, Bucket> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Bucket> ips = new ConcurrentHashMap<>();
+    private final Bucket accountOverflow;
+    private final Bucket ipOverflow;
+
+    private final Counter accountThrottled;
+    private final Counter ipThrottled;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.security.login.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.security.login.rate-limit.account-per-minute:10}") int accountPerMinute,
+                            @Value("${app.security.login.rate-limit.ip-per-minute:60}") int ipPerMinute,
+                            @Value("${app.security.login.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.enabled = enabled;
+        this.accountPerMinute = accountPerMinute;
+        this.ipPerMinute = ipPerMinute;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.accountOverflow = new Bucket(accountPerMinute);
+        this.ipOverflow = new Bucket(ipPerMinute);
+        this.accountThrottled = counter(meterRegistry, "account");
+        this.ipThrottled = counter(meterRegistry, "ip");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one attempt from both the (account, IP) bucket and the IP's bucket, or throws
+     * {@link LoginThrottledException} when either is empty.
+     */
+    public void acquire(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null && !take(ips, ipOverflow, clientIp, ipPerMinute)) {
+            ipThrottled.increment();
+            throw new LoginThrottledException("Too many login attempts from this address", retryAfter(ipPerMinute));
+        }
+        if (username != null && !take(accounts, accountOverflow, accountKey(username, clientIp), accountPerMinute)) {
+            accountThrottled.increment();
+            throw new LoginThrottledException("Too many login attempts for this account", retryAfter(accountPerMinute));
+        }
+    }
+
+    private static String accountKey(String username, String clientIp) {
+        return username.trim().toLowerCase(Locale.ROOT) + '|' + (clientIp != null ? clientIp : "");
+    }
+
+    private boolean take(ConcurrentHashMap<String, Bucket> buckets, Bucket overflow, String key, int perMinute) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // Map đầy: key mới dùng chung bucket overflow tới lần dọn theo lịch, không quét map trên request
+            bucket = buckets.size() >= maxTrackedKeys
+                    ? overflow
+                    : buckets.computeIfAbsent(key, k -> new Bucket(perMinute));
+        }
+        return bucket.tryTake(perMinute);
+    }
+
+    private static long retryAfter(int perMinute) {
+        return Math.max(1, 60L / Math.max(1, perMinute));
+    }
+
+    // Bucket đã đầy lại thì không còn giới hạn gì, bỏ đi cho map khỏi phình
+    @Scheduled(fixedDelayString = "${app.security.login.rate-limit.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = System.nanoTime();
+        accounts.values().removeIf(bucket -> bucket.isFull(now, accountPerMinute));
+        ips.values().removeIf(bucket -> bucket.isFull(now, ipPerMinute));
+    }
+
+    private static final class Bucket {
+        private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private Bucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryTake(int capacity) {
+            refill(System.nanoTime(), capacity);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isFull(long now, int capacity) {
+            refill(now, capacity);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now, int capacity) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * capacity / NANOS_PER_MINUTE);
+                refilledAt = now;
+            }
+        }
+    }
+}
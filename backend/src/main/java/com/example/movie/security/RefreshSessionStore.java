@@ -0,0 +1,319 @@
+package com.example.movie.security;
+
+import com.example.movie.exception.InvalidRefreshTokenException;
+import com.example.movie.model.RefreshSession;
+import com.example.movie.model.User;
+import com.example.movie.repository.RefreshSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Refresh token sessions ("families"), one per login. Each refresh token carries the family id
+ * and the rotation counter it was issued with; a refresh is accepted only for the current
+ * counter and hands out the next one, so every refresh token works once. Presenting an older
+ * token means it was copied, and the whole family is revoked. The token rotated just before is
+ * still accepted for {@code reuse-grace-ms}, so two tabs refreshing at once do not log the user out.
+ *
+ * The map is the source of truth while the app runs. Rotations are written to
+ * {@code refresh_sessions} in batches by {@link #flush()}; revocations are flushed right away.
+ * Once a revocation is written, the session leaves the map and only its id is kept, until the
+ * access tokens issued for it have expired.
+ */
+@Slf4j
+@Component
+public class RefreshSessionStore {
+    private final RefreshSessionRepository refreshSessionRepository;
+    private final long refreshExpirationSeconds;
+    private final long accessTokenLifetimeMillis;
+    private final long reuseGraceNanos;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    // family đã thu hồi và ghi xuống DB -> thời điểm (epoch ms) access token cuối của nó hết hạn
+    private final ConcurrentHashMap<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    // username -> các family đang mở, để logout mọi phiên trong một lần
+    private final ConcurrentHashMap<String, Set<String>> familiesByUser = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // Không dùng synchronized: saveAll chặn trên JDBC, giữ monitor sẽ ghim virtual thread vào carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public record Issued(String familyId, long counter) {
+    }
+
+    /**
+     * Result of a successful rotation. {@code user} is a snapshot taken at login and replaced by
+     * {@link #updateUser} when the account changes, enough to build the tokens and the response
+     * without reading the users table.
+     */
+    public record Rotation(User user, String familyId, long counter) {
+    }
+
+    public RefreshSessionStore(RefreshSessionRepository refreshSessionRepository,
+                               @Value("${app.jwt.refresh.expiration-in-seconds}") long refreshExpirationSeconds,
+                               @Value("${app.jwt.access.admin-expiration-in-seconds}") long accessTokenLifetimeSeconds,
+                               @Value("${app.security.refresh-session.reuse-grace-ms:10000}") long reuseGraceMs) {
+        this.refreshSessionRepository = refreshSessionRepository;
+        this.refreshExpirationSeconds = refreshExpirationSeconds;
+        this.accessTokenLifetimeMillis = TimeUnit.SECONDS.toMillis(accessTokenLifetimeSeconds);
+        this.reuseGraceNanos = TimeUnit.MILLISECONDS.toNanos(reuseGraceMs);
+    }
+
+    public Issued open(User user) {
+        Session session = new Session(UUID.randomUUID().toString(), snapshot(user),
+                LocalDateTime.now().plusSeconds(refreshExpirationSeconds));
+        sessions.put(session.familyId, session);
+        familiesByUser.computeIfAbsent(user.getUsername(), key -> ConcurrentHashMap.newKeySet()).add(session.familyId);
+        dirty.add(session.familyId);
+        return new Issued(session.familyId, 0);
+    }
+
+    /**
+     * Accepts the refresh token issued with {@code counter} and returns the next counter.
+     * Throws {@link InvalidRefreshTokenException} for unknown, expired, revoked or reused tokens.
+     */
+    public Rotation rotate(String familyId, long counter) {
+        Session session = sessions.get(familyId);
+        if (session == null) {
+            throw new InvalidRefreshTokenException("Refresh session not found");
+        }
+
+        boolean reused;
+        synchronized (session) {
+            if (session.revoked || !session.expiresAt.isAfter(LocalDateTime.now())) {
+                throw new InvalidRefreshTokenException("Refresh session has ended");
+            }
+            // Counter lớn hơn bản đang giữ chỉ xảy ra khi lần ghi cuối chưa kịp flush trước khi restart
+            reused = counter < session.counter;
+            if (!reused) {
+                session.counter = counter + 1;
+                session.rotatedAt = System.nanoTime();
+                session.expiresAt = LocalDateTime.now().plusSeconds(refreshExpirationSeconds);
+                dirty.add(familyId);
+                return new Rotation(snapshot(session.user), familyId, session.counter);
+            }
+            // Hai request refresh song song với cùng token: request sau nhận lại counter hiện tại
+            if (counter == session.counter - 1 && session.rotatedAt != 0
+                    && System.nanoTime() - session.rotatedAt < reuseGraceNanos) {
+                return new Rotation(snapshot(session.user), familyId, session.counter);
+            }
+            session.revoked = true;
+            dirty.add(familyId);
+        }
+
+        log.warn("Refresh token reuse detected for user {}, session {} revoked", session.user.getUsername(), familyId);
+        flush();
+        throw new InvalidRefreshTokenException("Refresh token has already been used");
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (revokedUntil.containsKey(familyId)) {
+            return true;
+        }
+        Session session = sessions.get(familyId);
+        return session != null && session.revoked;
+    }
+
+    public void revoke(String familyId) {
+        Session session = sessions.get(familyId);
+        if (session != null) {
+            markRevoked(session);
+            flush();
+        }
+    }
+
+    /**
+     * Ends every session of the user; their refresh tokens stop working immediately.
+     */
+    public int revokeAll(String username) {
+        Set<String> families = familiesByUser.getOrDefault(username, Set.of());
+        int count = 0;
+        for (String familyId : families) {
+            Session session = sessions.get(familyId);
+            if (session != null && markRevoked(session)) {
+                count++;
+            }
+        }
+        flush();
+        return count;
+    }
+
+    /**
+     * Replaces the user snapshot of every open session, so the next refresh issues access tokens
+     * with the new role and status. Call it wherever the account is changed through the app.
+     */
+    public void updateUser(User user) {
+        User copy = snapshot(user);
+        for (String familyId : familiesByUser.getOrDefault(user.getUsername(), Set.of())) {
+            Session session = sessions.get(familyId);
+            if (session != null) {
+                synchronized (session) {
+                    session.user = copy;
+                }
+            }
+        }
+    }
+
+    private boolean markRevoked(Session session) {
+        synchronized (session) {
+            if (session.revoked) {
+                return false;
+            }
+            session.revoked = true;
+            dirty.add(session.familyId);
+            return true;
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        for (Object[] row : refreshSessionRepository.findUnexpiredWithUsers(LocalDateTime.now())) {
+            RefreshSession entity = (RefreshSession) row[0];
+            if (entity.isRevoked()) {
+                // Không biết thu hồi lúc nào: giữ id đủ lâu cho mọi access token cấp trước đó
+                revokedUntil.put(entity.getFamilyId(), System.currentTimeMillis() + accessTokenLifetimeMillis);
+                continue;
+            }
+            Session session = new Session(entity.getFamilyId(), snapshot((User) row[1]), entity.getExpiresAt());
+            session.counter = entity.getRotationCounter();
+            sessions.put(session.familyId, session);
+            familiesByUser.computeIfAbsent(session.user.getUsername(), key -> ConcurrentHashMap.newKeySet())
+                    .add(session.familyId);
+        }
+        log.info("Loaded {} refresh sessions", sessions.size());
+    }
+
+    /**
+     * Writes every session changed since the last flush in one saveAll.
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-session.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<String> familyIds = new ArrayList<>();
+            List<RefreshSession> batch = new ArrayList<>();
+            for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+                String familyId = it.next();
+                it.remove();
+                Session session = sessions.get(familyId);
+                if (session != null) {
+                    familyIds.add(familyId);
+                    batch.add(session.toEntity());
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                refreshSessionRepository.saveAll(batch);
+            } catch (RuntimeException e) {
+                // Giữ lại để lần sau ghi tiếp
+                dirty.addAll(familyIds);
+                log.warn("Failed to flush {} refresh sessions: {}", batch.size(), e.getMessage());
+                return;
+            }
+            for (RefreshSession saved : batch) {
+                if (saved.isRevoked()) {
+                    forget(saved.getFamilyId());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Thu hồi đã nằm trong DB: bỏ session khỏi bộ nhớ, chỉ giữ id tới khi access token của nó hết hạn
+    private void forget(String familyId) {
+        Session session = sessions.remove(familyId);
+        if (session == null) {
+            return;
+        }
+        revokedUntil.put(familyId, System.currentTimeMillis() + accessTokenLifetimeMillis);
+        familiesByUser.computeIfPresent(session.user.getUsername(), (username, families) -> {
+            families.remove(familyId);
+            return families.isEmpty() ? null : families;
+        });
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        flush();
+    }
+
+    @Scheduled(initialDelayString = "${app.security.refresh-session.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.security.refresh-session.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowMillis = System.currentTimeMillis();
+        revokedUntil.values().removeIf(until -> until <= nowMillis);
+        sessions.values().removeIf(session -> !session.expiresAt.isAfter(now));
+        familiesByUser.values().forEach(families -> families.removeIf(familyId -> !sessions.containsKey(familyId)));
+        familiesByUser.values().removeIf(Set::isEmpty);
+
+        List<String> ids;
+        do {
+            ids = refreshSessionRepository.findExpiredIds(now, PageRequest.of(0, 1000));
+            if (!ids.isEmpty()) {
+                refreshSessionRepository.deleteAllByIdInBatch(ids);
+            }
+        } while (ids.size() == 1000);
+    }
+
+    // Chỉ giữ các field cần cho token và AuthResponse
+    private static User snapshot(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPhoneNumber(user.getPhoneNumber());
+        copy.setAddress(user.getAddress());
+        copy.setRole(user.getRole());
+        copy.setIsActive(user.getIsActive());
+        return copy;
+    }
+
+    private static final class Session {
+        private final String familyId;
+        // Đổi bởi updateUser; username không bao giờ đổi nên các map theo username vẫn đúng
+        private volatile User user;
+        private long counter;
+        // System.nanoTime() của lần xoay gần nhất trên node này, 0 khi chưa xoay
+        private long rotatedAt;
+        private LocalDateTime expiresAt;
+        private boolean revoked;
+
+        private Session(String familyId, User user, LocalDateTime expiresAt) {
+            this.familyId = familyId;
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        private synchronized RefreshSession toEntity() {
+            return RefreshSession.builder()
+                    .familyId(familyId)
+                    .userId(user.getId())
+                    .rotationCounter(counter)
+                    .expiresAt(expiresAt)
+                    .revoked(revoked)
+                    .build();
+        }
+    }
+}
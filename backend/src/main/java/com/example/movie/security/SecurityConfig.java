@@ -2,7 +2,9 @@ package com.example.movie.security;
 
 import com.example.movie.dto.response.CustomAccessDeniedHandler;
 import com.example.movie.dto.response.CustomAuthenticationEntryPoint;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +12,6 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -62,6 +63,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/auditoriums/**").hasRole("ADMIN")
 
                         // SCREENING
+                        // Tìm khung giờ trống duyệt lịch mọi phòng, chỉ dành cho ADMIN
+                        .requestMatchers(HttpMethod.GET, "/api/v1/screenings/free-slots").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/screenings/**").permitAll()
                         // Chỉ ADMIN mới được phép tạo/sửa/xoá suất chiếu
                         .requestMatchers(HttpMethod.POST, "/api/v1/screenings/**").hasRole("ADMIN")
@@ -74,6 +77,10 @@ public class SecurityConfig {
                         // PAYMENT - Require authentication
                         .requestMatchers("/api/v1/payments/**").authenticated()
 
+                        // ACTUATOR - health cho healthcheck của Docker, còn lại (metrics, querystats...) chỉ ADMIN
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated())
                 .exceptionHandling(ex -> ex
                         .accessDeniedHandler(customAccessDeniedHandler)
@@ -84,9 +91,14 @@ public class SecurityConfig {
                 .build();
     }
 
+    // BCrypt chạy trên pool riêng có giới hạn hàng đợi, không chiếm thread của Tomcat
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${app.security.password.hash-threads:2}") int threads,
+                                           @Value("${app.security.password.hash-queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.password.hash-timeout-ms:5000}") long timeoutMs) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeoutMs, meterRegistry);
     }
 
     @Bean
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +30,14 @@ public class SecurityUtil {
     // key dùng để lưu role của user trong payload của JWT
     public static final String ROLE_KEY = "role";
 
+    // id và trạng thái của user, để filter dựng lại principal mà không cần query DB
+    public static final String USER_ID_KEY = "uid";
+    public static final String ACTIVE_KEY = "active";
+
+    // family id của phiên refresh (có trong cả access và refresh token) và số lần đã xoay vòng
+    public static final String SESSION_ID_KEY = "sid";
+    public static final String ROTATION_KEY = "rot";
+
     // có thể dùng làm key phân biệt refresh token (nếu cần).
     public static final String REFRESH_TOKEN = "refresh_token";
 
@@ -37,6 +46,10 @@ public class SecurityUtil {
 
     // sinh token with role-based expiration
     public String createAccessToken(User user) {
+        return createAccessToken(user, null);
+    }
+
+    public String createAccessToken(User user, String sessionId) {
         Instant now = Instant.now();
 
         // Use longer expiration for admin users (8 hours), shorter for regular users (1
@@ -48,26 +61,46 @@ public class SecurityUtil {
         Instant validity = now.plus(expirationSeconds, ChronoUnit.SECONDS);
 
         // xây dựng payload
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder builder = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString()) // jti, dùng làm khóa khi thu hồi token
                 .issuedAt(now) // thời điểm token được phát hành
                 .expiresAt(validity) // thời điểm token hết hạn
                 .subject(user.getUsername())
                 .claim(ROLE_KEY, user.getRole().name())
-                .build();
+                .claim(ACTIVE_KEY, !Boolean.FALSE.equals(user.getIsActive()));
+        if (user.getId() != null) {
+            builder.claim(USER_ID_KEY, user.getId());
+        }
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_KEY, sessionId);
+        }
+        JwtClaimsSet claims = builder.build();
 
         JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
         return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
     }
 
     public String createRefreshToken(String subject) {
+        return createRefreshToken(subject, null, 0);
+    }
+
+    /**
+     * Refresh token bound to a session of {@link RefreshSessionStore}; only valid for {@code counter}.
+     */
+    public String createRefreshToken(String subject, String sessionId, long counter) {
         Instant now = Instant.now();
         Instant validity = now.plus(jwtRefreshExpiration, ChronoUnit.SECONDS);
 
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder builder = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiresAt(validity)
-                .subject(subject)
-                .build();
+                .subject(subject);
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_KEY, sessionId)
+                    .claim(ROTATION_KEY, counter);
+        }
+        JwtClaimsSet claims = builder.build();
 
         JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
         return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
@@ -90,4 +123,27 @@ public class SecurityUtil {
             return new Date();
         }
     }
+
+    /**
+     * Id used to revoke the token: its jti, or a hash of the token for tokens issued without one.
+     */
+    public static String tokenIdOf(Jwt jwt, String token) {
+        return jwt.getId() != null ? jwt.getId() : AuthenticationCache.keyOf(token);
+    }
+
+    public String getTokenId(String token) {
+        try {
+            return tokenIdOf(jwtDecoder.decode(token), token);
+        } catch (JwtException e) {
+            return AuthenticationCache.keyOf(token);
+        }
+    }
+
+    public String getSessionId(String token) {
+        try {
+            return jwtDecoder.decode(token).getClaimAsString(SESSION_ID_KEY);
+        } catch (JwtException e) {
+            return null;
+        }
+    }
 }
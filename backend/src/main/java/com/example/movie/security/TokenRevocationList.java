@@ -0,0 +1,103 @@
+package com.example.movie.security;
+
+import com.example.movie.model.InvalidatedToken;
+import com.example.movie.repository.InvalidatedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the {@code invalidated_tokens} table, keyed by token id (jti).
+ * A Bloom filter answers "definitely not revoked" for almost every request without touching
+ * the exact set; only filter hits are confirmed against the set. Loaded on startup, and
+ * rebuilt when expired tokens are purged so the filter doesn't fill up over time.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final int purgeBatchSize;
+
+    // jti -> thời điểm token hết hạn
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(InvalidatedTokenRepository invalidatedTokenRepository,
+                               @Value("${app.security.revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${app.security.revocation.purge-batch-size:1000}") int purgeBatchSize) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.purgeBatchSize = purgeBatchSize;
+        this.filter = BloomFilter.create(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.put(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        for (InvalidatedToken token : invalidatedTokenRepository.findByExpiryTimeAfter(new Date())) {
+            revoked.put(token.getId(), token.getExpiryTime().toInstant());
+        }
+        rebuildFilter();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * Deletes expired rows in batches of {@code purgeBatchSize}, then drops them from memory.
+     */
+    @Scheduled(initialDelayString = "${app.security.revocation.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Date now = new Date();
+        int deleted = 0;
+        List<String> ids;
+        do {
+            ids = invalidatedTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+            if (!ids.isEmpty()) {
+                invalidatedTokenRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+            }
+        } while (ids.size() == purgeBatchSize);
+
+        Instant cutoff = now.toInstant();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(cutoff));
+        rebuildFilter();
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    // Bloom filter không xóa được phần tử, nên dựng lại từ tập còn hiệu lực
+    private synchronized void rebuildFilter() {
+        BloomFilter next = BloomFilter.create(Math.max(expectedTokens, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(next::put);
+        filter = next;
+    }
+}
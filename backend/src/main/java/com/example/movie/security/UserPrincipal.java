@@ -47,6 +47,6 @@ public class UserPrincipal implements UserDetails {
     }
     @Override
     public boolean isEnabled() {
-        return true; // hoặc map từ user.getActive()
+        return !Boolean.FALSE.equals(user.getIsActive());
     }
 }
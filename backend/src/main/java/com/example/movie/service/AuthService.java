@@ -10,4 +10,5 @@ public interface AuthService {
     AuthResponse login(LoginRequest loginRequest);
     AuthResponse refreshToken(String refreshToken);
     void logout (String authHeader);
+    int logoutAll(String authHeader);
 }
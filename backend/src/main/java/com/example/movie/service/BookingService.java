@@ -4,6 +4,7 @@ import com.example.movie.dto.booking.BookingRequest;
 import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
 import com.example.movie.dto.booking.PatchBooking;
+import com.example.movie.dto.response.CursorPageResponse;
 
 import java.util.List;
 
@@ -13,6 +14,6 @@ public interface BookingService {
     void  deleteBooking(Long id);
     BookingResponse getBooking(Long id);
     BookingResponse cancelBooking(Long id);
-    List<BookingResponse> getBookingsByUserId(Long userId);
+    CursorPageResponse<BookingResponse> getBookingsByUserId(Long userId, String cursor, int size);
     List<BookingResponse> getAllBookings();
 }
@@ -0,0 +1,12 @@
+package com.example.movie.service;
+
+import com.example.movie.dto.screening.ScreeningImportResponse;
+import com.example.movie.dto.screening.ScreeningRequest;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface ScreeningImportService {
+    ScreeningImportResponse importScreenings(List<ScreeningRequest> rows);
+    ScreeningImportResponse importScreeningsCsv(InputStream csv);
+}
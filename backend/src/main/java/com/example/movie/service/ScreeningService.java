@@ -1,9 +1,13 @@
 package com.example.movie.service;
 
+import com.example.movie.dto.screening.FreeSlotResponse;
+import com.example.movie.dto.screening.MovieShowtimesResponse;
 import com.example.movie.dto.screening.PatchScreening;
 import com.example.movie.dto.screening.ScreeningRequest;
 import com.example.movie.dto.screening.ScreeningResponse;
+import com.example.movie.dto.screening.ShowtimeResponse;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ScreeningService {
@@ -13,4 +17,7 @@ public interface ScreeningService {
     ScreeningResponse getScreening(Long id);
     List<ScreeningResponse> getScreeningsByMovieId(Long movieId);
     List<ScreeningResponse> getAllScreenings(int page, int size);
+    List<MovieShowtimesResponse> getTodayShowtimes();
+    List<ShowtimeResponse> getTimetable(LocalDate date, Long movieId, Long auditoriumId);
+    List<FreeSlotResponse> findFreeSlots(int durationMinutes, LocalDate from, int days, Long auditoriumId);
 }
@@ -8,6 +8,7 @@ import com.example.movie.exception.InvalidId;
 import com.example.movie.mapper.AuditoriumMapper;
 import com.example.movie.model.Auditorium;
 import com.example.movie.model.Seat;
+import com.example.movie.repository.ArchivedTicketRepository;
 import com.example.movie.repository.AuditoriumRepository;
 import com.example.movie.repository.ScreeningRepository;
 import com.example.movie.repository.SeatRepository;
@@ -31,6 +32,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
     private final SeatRepository seatRepository;
     private final ScreeningRepository screeningRepository;
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
     private final EntityManager entityManager;
 
     @Override
@@ -106,7 +108,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
                 );
             }
             
-            long ticketCount = ticketRepository.countByAuditoriumId(id);
+            long ticketCount = ticketRepository.countByAuditoriumId(id) + archivedTicketRepository.countByAuditoriumId(id);
             if (ticketCount > 0) {
                 throw new AuditoriumInUseException(
                     "Không thể thay đổi cấu hình ghế. Phòng chiếu có " +
@@ -188,7 +190,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
         }
         
         // Check if auditorium has any tickets (direct relationship)
-        long ticketCount = ticketRepository.countByAuditoriumId(id);
+        long ticketCount = ticketRepository.countByAuditoriumId(id) + archivedTicketRepository.countByAuditoriumId(id);
         if (ticketCount > 0) {
             throw new AuditoriumInUseException(
                 "Không thể xóa phòng chiếu. Phòng chiếu đang được sử dụng bởi " + 
@@ -5,21 +5,30 @@ import com.example.movie.dto.auth.LoginRequest;
 import com.example.movie.dto.auth.RegisterRequest;
 import com.example.movie.dto.user.UserResponse;
 import com.example.movie.exception.AccountDisabledException;
+import com.example.movie.exception.AuthenticationRequiredException;
 import com.example.movie.exception.EmailAlreadyExistException;
 import com.example.movie.exception.InvalidCredentialException;
-import com.example.movie.exception.UserNotFoundException;
+import com.example.movie.exception.InvalidRefreshTokenException;
+import com.example.movie.exception.LoginThrottledException;
 import com.example.movie.exception.UsernameAlreadyExistException;
 import com.example.movie.model.InvalidatedToken;
 import com.example.movie.model.User;
 import com.example.movie.repository.InvalidatedTokenRepository;
 import com.example.movie.repository.UserRepository;
+import com.example.movie.security.AuthenticationCache;
+import com.example.movie.security.RefreshSessionStore;
 import com.example.movie.security.SecurityUtil;
+import com.example.movie.security.TokenRevocationList;
 import com.example.movie.service.AuthService;
+import com.example.movie.diagnostics.OperationTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import jakarta.transaction.Transactional;
 import lombok.*;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
@@ -31,6 +40,10 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtil securityUtil;
     private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final AuthenticationCache authenticationCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshSessionStore refreshSessionStore;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional
@@ -69,9 +82,29 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse login(LoginRequest loginRequest) {
+        return OperationTimer.record(meterRegistry, "auth.login", Tags.empty(), AuthServiceImpl::loginOutcome,
+                () -> authenticate(loginRequest));
+    }
+
+    private static String loginOutcome(RuntimeException e) {
+        if (e instanceof InvalidCredentialException) {
+            return "bad_credentials";
+        }
+        if (e instanceof AccountDisabledException) {
+            return "disabled";
+        }
+        return e instanceof LoginThrottledException ? "throttled" : "error";
+    }
+
+    private AuthResponse authenticate(LoginRequest loginRequest) {
         // 1.tìm user theo username
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new UserNotFoundException(loginRequest.getUsername()));
+        User user = userRepository.findByUsername(loginRequest.getUsername()).orElse(null);
+        if (user == null) {
+            // Vẫn băm với hash giả cùng cost để thời gian phản hồi không lộ username có tồn tại hay không
+            passwordEncoder.matches(loginRequest.getPassword(), null);
+            // Cùng lỗi với sai mật khẩu: response không cho biết username có tồn tại hay không
+            throw new InvalidCredentialException();
+        }
 
         // 2.kiểm tra password
         if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
@@ -83,9 +116,16 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountDisabledException("Account disabled");
         }
 
-        // 4. Sinh token
-        String accessToken = securityUtil.createAccessToken(user);
-        String refreshToken = securityUtil.createRefreshToken(user.getUsername());
+        // Hash cũ có cost thấp hơn cấu hình hiện tại: băm lại khi đang có mật khẩu gốc
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(loginRequest.getPassword()));
+            user = userRepository.save(user);
+        }
+
+        // 4. Mở phiên refresh mới và sinh token
+        RefreshSessionStore.Issued session = refreshSessionStore.open(user);
+        String accessToken = securityUtil.createAccessToken(user, session.familyId());
+        String refreshToken = securityUtil.createRefreshToken(user.getUsername(), session.familyId(), session.counter());
 
         return AuthResponse.builder()
                 .id(user.getId())
@@ -113,14 +153,24 @@ public class AuthServiceImpl implements AuthService {
             // Lấy thời gian hết hạn của token để lưu vào DB
             // (Giả sử SecurityUtil của bạn có hàm getExpirationDateFromToken)
             Date expiryDate = securityUtil.getExpirationDateFromToken(token);
+            String tokenId = securityUtil.getTokenId(token);
 
-            // Lưu token vào Blacklist
+            // Lưu jti vào Blacklist
             InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                    .id(token)
+                    .id(tokenId)
                     .expiryTime(expiryDate)
                     .build();
 
             invalidatedTokenRepository.save(invalidatedToken);
+            // Thu hồi trước rồi mới bỏ khỏi cache, để filter không kịp cache lại token này
+            tokenRevocationList.revoke(tokenId, expiryDate.toInstant());
+            authenticationCache.remove(AuthenticationCache.keyOf(token));
+
+            // Kết thúc luôn phiên refresh của token này
+            String sessionId = securityUtil.getSessionId(token);
+            if (sessionId != null) {
+                refreshSessionStore.revoke(sessionId);
+            }
 
         } catch (Exception e) {
             // Log lỗi nếu token không đúng định dạng...
@@ -128,33 +178,58 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    @Override
+    public int logoutAll(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new AuthenticationRequiredException("Authentication required");
+        }
+
+        String token = authHeader.substring(7);
+        String username;
+        try {
+            username = securityUtil.getJwtDecoder().decode(token).getSubject();
+        } catch (JwtException e) {
+            throw new AuthenticationRequiredException("Invalid access token");
+        }
+
+        int revoked = refreshSessionStore.revokeAll(username);
+        // Access token của các phiên khác mang sid đã thu hồi, filter sẽ từ chối khi không còn trong cache
+        authenticationCache.invalidateUser(username);
+        logout(authHeader);
+        return revoked;
+    }
+
     @Override
     public AuthResponse refreshToken(String refreshToken) {
+        Jwt jwt;
         try {
-            // Decode refresh token to get username
-            Jwt jwt = securityUtil.getJwtDecoder().decode(refreshToken);
-            String username = jwt.getSubject();
-
-            // Find user by username
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Generate new access token
-            String newAccessToken = securityUtil.createAccessToken(user);
-
-            return AuthResponse.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .phoneNumber(user.getPhoneNumber())
-                    .address(user.getAddress())
-                    .role(user.getRole().name())
-                    .accessToken(newAccessToken)
-                    .refreshToken(refreshToken) // Keep the same refresh token
-                    .build();
+            jwt = securityUtil.getJwtDecoder().decode(refreshToken);
+        } catch (JwtException e) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid refresh token");
+        // Token cũ chưa gắn phiên thì không xoay vòng được, bắt đăng nhập lại
+        String sessionId = jwt.getClaimAsString(SecurityUtil.SESSION_ID_KEY);
+        Object counter = jwt.getClaim(SecurityUtil.ROTATION_KEY);
+        if (sessionId == null || !(counter instanceof Number)) {
+            throw new InvalidRefreshTokenException("Refresh token is not bound to a session, please log in again");
         }
+
+        // Không đọc DB: thông tin user lấy từ snapshot của phiên
+        RefreshSessionStore.Rotation rotation = refreshSessionStore.rotate(sessionId, ((Number) counter).longValue());
+        User user = rotation.user();
+        String newAccessToken = securityUtil.createAccessToken(user, sessionId);
+        String newRefreshToken = securityUtil.createRefreshToken(user.getUsername(), sessionId, rotation.counter());
+
+        return AuthResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .address(user.getAddress())
+                .role(user.getRole().name())
+                .accessToken(newAccessToken)
+                .refreshToken(newRefreshToken)
+                .build();
     }
 }
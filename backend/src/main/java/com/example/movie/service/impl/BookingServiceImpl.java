@@ -4,29 +4,47 @@ import com.example.movie.dto.booking.BookingRequest;
 import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
 import com.example.movie.dto.booking.PatchBooking;
+import com.example.movie.dto.response.CursorPageResponse;
 import com.example.movie.exception.InvalidId;
 import com.example.movie.exception.AuthenticationRequiredException;
 import com.example.movie.exception.SeatNotFoundException;
 import com.example.movie.exception.SeatNotAvailableException;
+import com.example.movie.history.BookingChangedEvent;
+import com.example.movie.history.BookingCursor;
+import com.example.movie.history.UserBookingRow;
+import com.example.movie.ledger.SeatLedgerRecorder;
+import com.example.movie.logging.LogSampler;
 import com.example.movie.mapper.BookingMapper;
+import com.example.movie.mapper.UserBookingViewMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.*;
+import com.example.movie.schedule.SeatInventoryChangedEvent;
 import com.example.movie.service.BookingService;
+import com.example.movie.diagnostics.OperationTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Random;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final ScreeningRepository screeningRepository;
@@ -34,10 +52,24 @@ public class BookingServiceImpl implements BookingService {
     private final SeatRepository seatRepository;
     private final TicketRepository ticketRepository;
     private final PaymentRepository paymentRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final UserBookingViewRepository userBookingViewRepository;
+    private final UserBookingViewMapper userBookingViewMapper;
+    private final SeatLedgerRecorder seatLedgerRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
+    // Đo cả commit: transaction mở bên trong timer
     @Override
-    @Transactional
     public BookingResponse createBooking(CreateBookingRequest createBookingRequest) {
+        return OperationTimer.record(meterRegistry, "booking.create", Tags.empty(),
+                e -> e instanceof SeatNotAvailableException ? "seat_unavailable" : "error",
+                () -> transactionTemplate.execute(status -> create(createBookingRequest)));
+    }
+
+    private BookingResponse create(CreateBookingRequest createBookingRequest) {
         // Get current user from SecurityContext
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -46,17 +78,11 @@ public class BookingServiceImpl implements BookingService {
         
         // Get username from authentication
         String username = authentication.getName();
-        System.out.println("Creating booking for authenticated user: " + username);
-        
+
         // Find user by username
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
-        
-        // Log the request for debugging
-        System.out.println("Creating booking for userId: " + user.getId());
-        System.out.println("ScreeningId: " + createBookingRequest.getScreeningId());
-        System.out.println("SeatIds: " + createBookingRequest.getSeatIds());
-        
+
         // Validate screening exists
         Screening screening = screeningRepository.findById(createBookingRequest.getScreeningId())
                 .orElseThrow(() -> new InvalidId(createBookingRequest.getScreeningId()));
@@ -71,6 +97,7 @@ public class BookingServiceImpl implements BookingService {
         for (Seat seat : seats) {
             Ticket existingTicket = ticketRepository.findByScreeningIdAndSeatId(screening.getId(), seat.getId());
             if (existingTicket != null && existingTicket.getStatus() != Ticket.Status.AVAILABLE) {
+                meterRegistry.counter("booking.seat.conflicts", "stage", "check").increment();
                 throw new SeatNotAvailableException("Seat " + seat.getRowLabel() + seat.getNumber() + " is not available");
             }
         }
@@ -94,6 +121,8 @@ public class BookingServiceImpl implements BookingService {
             if (existingTicket != null) {
                 // Ticket already exists - update it
                 if (existingTicket.getStatus() != Ticket.Status.AVAILABLE) {
+                    // Ghế bị request khác giữ mất giữa lúc kiểm tra và lúc ghi
+                    meterRegistry.counter("booking.seat.conflicts", "stage", "claim").increment();
                     throw new SeatNotAvailableException("Seat " + seat.getRowLabel() + seat.getNumber() + " is not available");
                 }
                 
@@ -107,6 +136,7 @@ public class BookingServiceImpl implements BookingService {
                     existingTicket.setTicketCode(generateTicketCode());
                 }
                 ticketRepository.save(existingTicket);
+                seatLedgerRecorder.record(existingTicket, savedBooking.getId(), SeatLedgerEntry.Type.CLAIM);
             } else {
                 // Create new ticket
                 Ticket newTicket = new Ticket();
@@ -119,38 +149,59 @@ public class BookingServiceImpl implements BookingService {
                 // Generate ticketCode when creating ticket
                 newTicket.setTicketCode(generateTicketCode());
                 ticketRepository.save(newTicket);
+                seatLedgerRecorder.record(newTicket, savedBooking.getId(), SeatLedgerEntry.Type.CLAIM);
             }
         }
 
+        eventPublisher.publishEvent(new SeatInventoryChangedEvent(screening.getId()));
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking.getId()));
+        if (LogSampler.sample("booking")) {
+            log.atInfo().setMessage("booking.created")
+                    .addKeyValue("bookingId", savedBooking.getId())
+                    .addKeyValue("bookingCode", savedBooking.getBookingCode())
+                    .addKeyValue("userId", user.getId())
+                    .addKeyValue("screeningId", screening.getId())
+                    .addKeyValue("seats", seats.size())
+                    .log();
+        }
         return bookingMapper.toResponse(savedBooking);
     }
 
     private String generateBookingCode() {
-        String dateStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = bookingRepository.count() + 1;
-        return String.format("BK-%s-%03d", dateStr, count);
+        return bookingCode(LocalDateTime.now(), bookingRepository.count() + archivedBookingRepository.count() + 1);
     }
 
     private String generateTicketCode() {
-        // Generate unique ticket code (12 characters)
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder code = new StringBuilder();
         Random random = new Random();
         
         // Ensure uniqueness by checking against existing tickets
         String ticketCode;
         do {
-            code.setLength(0);
-            for (int i = 0; i < 12; i++) {
-                code.append(chars.charAt(random.nextInt(chars.length())));
-            }
-            ticketCode = code.toString();
-        } while (ticketRepository.existsByTicketCode(ticketCode));
+            ticketCode = randomTicketCode(random);
+        } while (ticketRepository.existsByTicketCode(ticketCode)
+                || archivedTicketRepository.existsByTicketCode(ticketCode));
         
         return ticketCode;
     }
 
+    // Tách phần không chạm DB ra để benchmark riêng (BookingCodeBenchmark)
+    static String bookingCode(LocalDateTime now, long sequence) {
+        String dateStr = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        return String.format("BK-%s-%03d", dateStr, sequence);
+    }
+
+    static String randomTicketCode(Random random) {
+        // Generate unique ticket code (12 characters)
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        StringBuilder code = new StringBuilder(12);
+        for (int i = 0; i < 12; i++) {
+            code.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return code.toString();
+    }
+
     @Override
+    @Transactional
     public BookingResponse updateBooking(Long id, PatchBooking patchBooking) {
         Booking booking =  bookingRepository.findById(id).orElseThrow(()->new InvalidId(id));
 
@@ -182,31 +233,55 @@ public class BookingServiceImpl implements BookingService {
             booking.setScreening(screening);
         }
         Booking updated = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(updated.getId()));
         return bookingMapper.toResponse(updated);
 
     }
 
     @Override
+    @Transactional
     public void deleteBooking(Long id){
         Booking booking = bookingRepository.findById(id).orElseThrow(()->new InvalidId(id));
         bookingRepository.deleteById(id);
+        eventPublisher.publishEvent(new BookingChangedEvent(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingResponse getBooking(Long id){
-        Booking booking = bookingRepository.findById(id).orElseThrow(()->new InvalidId(id));
+        // Booking của suất chiếu đã kết thúc lâu có thể đã được TicketArchiver chuyển sang booking_archive
+        Booking booking = bookingRepository.findById(id)
+                .or(() -> archivedBookingRepository.findByIdWithDetails(id).map(ArchivedBooking::toBooking))
+                .orElseThrow(()->new InvalidId(id));
         return bookingMapper.toResponse(booking);
     }
 
     @Override
-    public List<BookingResponse> getBookingsByUserId(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserIdWithDetails(userId);
-        return bookings.stream()
-                .map(bookingMapper::toResponse)
-                .collect(java.util.stream.Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookingResponse> getBookingsByUserId(Long userId, String cursor, int size) {
+        // Đọc từ user_booking_view: một dòng mỗi booking (kể cả booking đã archive), không join, không nạp entity
+        int pageSize = Math.clamp(size, 1, MAX_HISTORY_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<UserBookingRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userBookingViewRepository.findFirstPage(userId, limit);
+        } else {
+            BookingCursor after = BookingCursor.decode(cursor);
+            rows = userBookingViewRepository.findPageAfter(userId, after.createdOn(), after.bookingId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserBookingRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return CursorPageResponse.<BookingResponse>builder()
+                .content(page.stream().map(userBookingViewMapper::toResponse).toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).cursor().encode() : null)
+                .hasNext(hasNext)
+                .pageSize(pageSize)
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
         List<Booking> bookings = bookingRepository.findAllWithDetails();
         return bookings.stream()
@@ -246,6 +321,7 @@ public class BookingServiceImpl implements BookingService {
 
         paymentRepository.save(payment);
         Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking.getId()));
         return bookingMapper.toResponse(savedBooking);
     }
 
@@ -258,6 +334,8 @@ public class BookingServiceImpl implements BookingService {
             ticket.setMovie(booking.getScreening().getMovie());
             ticket.setAuditorium(booking.getScreening().getAuditorium());
             ticketRepository.save(ticket);
+            seatLedgerRecorder.record(ticket, booking.getId(), SeatLedgerEntry.Type.RELEASE);
         }
+        eventPublisher.publishEvent(new SeatInventoryChangedEvent(booking.getScreening().getId()));
     }
 }
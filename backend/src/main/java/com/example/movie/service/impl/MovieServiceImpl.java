@@ -1,21 +1,29 @@
 package com.example.movie.service.impl;
 
 import com.example.movie.mapper.MovieMapper;
+import com.example.movie.dto.movie.MovieFacetedSearchResponse;
 import com.example.movie.dto.movie.MovieRequest;
 import com.example.movie.dto.movie.MovieResponse;
 import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.movie.MovieSuggestionResponse;
 import com.example.movie.dto.movie.PatchMovie;
 import com.example.movie.dto.response.PageResponse;
 import com.example.movie.exception.InvalidId;
 import com.example.movie.model.Movie;
 import com.example.movie.repository.MovieRepository;
+import com.example.movie.search.MovieCatalogChangedEvent;
+import com.example.movie.search.MovieFacetIndex;
+import com.example.movie.search.MovieSearchCache;
+import com.example.movie.search.MovieSuggestionIndex;
 import com.example.movie.service.MovieService;
 import com.example.movie.specification.MovieSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,10 +32,15 @@ import java.util.stream.Collectors;
 public class MovieServiceImpl implements MovieService {
     private final MovieRepository movieRepository;
     private final MovieMapper movieMapper;
+    private final MovieSuggestionIndex movieSuggestionIndex;
+    private final MovieFacetIndex movieFacetIndex;
+    private final MovieSearchCache movieSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
     @Override
     public MovieResponse addMovie (MovieRequest movieRequest) {
         Movie movie = movieMapper.toEntity(movieRequest);
         Movie saved = movieRepository.save(movie);
+        eventPublisher.publishEvent(new MovieCatalogChangedEvent(saved.getId()));
         return movieMapper.toResponse(saved);
     }
 
@@ -67,6 +80,7 @@ public class MovieServiceImpl implements MovieService {
             existingMovie.setStatus(moviePatch.getStatus());
         }
         Movie saved = movieRepository.save(existingMovie);
+        eventPublisher.publishEvent(new MovieCatalogChangedEvent(saved.getId()));
         return movieMapper.toResponse(saved);
 
     }
@@ -77,9 +91,11 @@ public class MovieServiceImpl implements MovieService {
                 .orElseThrow(()-> new InvalidId(id));
 
         movieRepository.delete(movie);
+        eventPublisher.publishEvent(new MovieCatalogChangedEvent(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MovieResponse getMovieById(Long id) {
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(()-> new InvalidId(id));
@@ -87,7 +103,13 @@ public class MovieServiceImpl implements MovieService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResponse<MovieResponse> searchAndFilterMovies(MovieSearchRequest searchRequest, Pageable pageable) {
+        // Truy vấn giống nhau dùng chung kết quả (và chung một lần query khi cache miss đồng thời)
+        return movieSearchCache.get(searchRequest, pageable, () -> queryMovies(searchRequest, pageable));
+    }
+
+    private PageResponse<MovieResponse> queryMovies(MovieSearchRequest searchRequest, Pageable pageable) {
         // Build specifications
         Specification<Movie> spec = Specification.where(null);
         
@@ -106,6 +128,10 @@ public class MovieServiceImpl implements MovieService {
         if (searchRequest.getStatus() != null && !searchRequest.getStatus().trim().isEmpty()) {
             spec = spec.and(MovieSpecification.filterByStatus(searchRequest.getStatus()));
         }
+
+        if (searchRequest.getLanguage() != null && !searchRequest.getLanguage().trim().isEmpty()) {
+            spec = spec.and(MovieSpecification.filterByLanguage(searchRequest.getLanguage()));
+        }
         
         // Execute query with pagination
         Page<Movie> moviePage = movieRepository.findAll(spec, pageable);
@@ -127,5 +153,13 @@ public class MovieServiceImpl implements MovieService {
                 .build();
     }
 
+    @Override
+    public MovieFacetedSearchResponse searchMoviesWithFacets(MovieSearchRequest searchRequest, Pageable pageable) {
+        return movieFacetIndex.search(searchRequest, pageable);
+    }
 
+    @Override
+    public List<MovieSuggestionResponse> suggestMovies(String prefix, int limit) {
+        return movieSuggestionIndex.suggest(prefix, limit);
+    }
 }
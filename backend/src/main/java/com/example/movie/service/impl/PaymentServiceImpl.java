@@ -5,11 +5,20 @@ import com.example.movie.dto.payment.PaymentResponse;
 import com.example.movie.dto.payment.PaymentUpdateRequest;
 import com.example.movie.exception.AuthenticationRequiredException;
 import com.example.movie.exception.InvalidId;
+import com.example.movie.history.BookingChangedEvent;
+import com.example.movie.ledger.SeatLedgerRecorder;
+import com.example.movie.logging.LogSampler;
 import com.example.movie.mapper.PaymentMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.*;
+import com.example.movie.schedule.SeatInventoryChangedEvent;
 import com.example.movie.service.PaymentService;
+import com.example.movie.diagnostics.OperationTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,12 +26,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
@@ -30,17 +41,22 @@ public class PaymentServiceImpl implements PaymentService {
     private final BookingRepository bookingRepository;
     private final TicketRepository ticketRepository;
     private final PaymentMapper paymentMapper;
+    private final SeatLedgerRecorder seatLedgerRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
 
+    // Đo cả commit: transaction mở bên trong timer
     @Override
-    @Transactional
     public PaymentResponse confirmPayment(PaymentConfirmRequest request) {
-        System.out.println("PaymentServiceImpl.confirmPayment called with bookingId: " + request.getBookingId());
-        
+        return OperationTimer.record(meterRegistry, "payment.confirm",
+                () -> transactionTemplate.execute(status -> confirm(request)));
+    }
+
+    private PaymentResponse confirm(PaymentConfirmRequest request) {
         // Find booking
         Booking booking = bookingRepository.findById(request.getBookingId())
                 .orElseThrow(() -> new InvalidId(request.getBookingId()));
-        
-        System.out.println("Found booking: " + booking.getId() + ", status: " + booking.getBookingStatus());
 
         // Validate booking status
         if (booking.getBookingStatus() != Booking.BookingStatus.PENDING) {
@@ -49,11 +65,14 @@ public class PaymentServiceImpl implements PaymentService {
 
         // Check if seats are still available (race condition check)
         List<Ticket> tickets = ticketRepository.findByBookingId(booking.getId());
-        System.out.println("Found " + tickets.size() + " tickets for booking " + booking.getId());
-        
         for (Ticket ticket : tickets) {
-            System.out.println("Ticket " + ticket.getId() + " status: " + ticket.getStatus());
             if (ticket.getStatus() != Ticket.Status.BOOKED) {
+                meterRegistry.counter("booking.seat.conflicts", "stage", "payment").increment();
+                log.atWarn().setMessage("payment.seat-unavailable")
+                        .addKeyValue("bookingId", booking.getId())
+                        .addKeyValue("ticketId", ticket.getId())
+                        .addKeyValue("ticketStatus", ticket.getStatus())
+                        .log();
                 throw new RuntimeException("Some seats are no longer available");
             }
         }
@@ -80,6 +99,15 @@ public class PaymentServiceImpl implements PaymentService {
         // }
 
         Payment savedPayment = paymentRepository.save(payment);
+        if (LogSampler.sample("payment")) {
+            log.atInfo().setMessage("payment.created")
+                    .addKeyValue("bookingId", booking.getId())
+                    .addKeyValue("bookingCode", booking.getBookingCode())
+                    .addKeyValue("paymentId", savedPayment.getId())
+                    .addKeyValue("method", savedPayment.getPaymentMethod())
+                    .addKeyValue("tickets", tickets.size())
+                    .log();
+        }
 
         return paymentMapper.toResponse(savedPayment);
     }
@@ -98,8 +126,22 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public PaymentResponse completePayment(Long paymentId, String status) {
+        // Chỉ gắn tag status hợp lệ để số series không phụ thuộc input của client
+        return OperationTimer.record(meterRegistry, "payment.complete", Tags.of("status", statusTag(status)),
+                OperationTimer.ERROR, () -> transactionTemplate.execute(tx -> complete(paymentId, status)));
+    }
+
+    private static String statusTag(String status) {
+        for (Payment.PaymentStatus value : Payment.PaymentStatus.values()) {
+            if (value.name().equals(status)) {
+                return value.name();
+            }
+        }
+        return "INVALID";
+    }
+
+    private PaymentResponse complete(Long paymentId, String status) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new InvalidId(paymentId));
 
@@ -118,6 +160,7 @@ public class PaymentServiceImpl implements PaymentService {
                 ticket.setStatus(Ticket.Status.ISSUED);
                 ticket.setTicketCode(generateTicketCode());
                 ticketRepository.save(ticket);
+                seatLedgerRecorder.record(ticket, booking.getId(), SeatLedgerEntry.Type.ISSUE);
             }
         } else if (paymentStatus == Payment.PaymentStatus.FAILED || paymentStatus == Payment.PaymentStatus.CANCELLED) {
             // Update booking status to CANCELLED
@@ -135,10 +178,13 @@ public class PaymentServiceImpl implements PaymentService {
                 ticket.setMovie(booking.getScreening().getMovie());
                 ticket.setAuditorium(booking.getScreening().getAuditorium());
                 ticketRepository.save(ticket);
+                seatLedgerRecorder.record(ticket, booking.getId(), SeatLedgerEntry.Type.RELEASE);
             }
+            eventPublisher.publishEvent(new SeatInventoryChangedEvent(booking.getScreening().getId()));
         }
 
         Payment savedPayment = paymentRepository.save(payment);
+        eventPublisher.publishEvent(new BookingChangedEvent(payment.getBooking().getId()));
         return paymentMapper.toResponse(savedPayment);
     }
 
@@ -1,15 +1,18 @@
 package com.example.movie.service.impl;
 
 import com.example.movie.dto.report.*;
+import com.example.movie.model.ArchivedBooking;
 import com.example.movie.model.Booking;
 import com.example.movie.model.Movie;
 import com.example.movie.model.User;
+import com.example.movie.repository.ArchivedBookingRepository;
 import com.example.movie.repository.BookingRepository;
 import com.example.movie.repository.MovieRepository;
 import com.example.movie.repository.UserRepository;
 import com.example.movie.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,8 +22,10 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ReportServiceImpl implements ReportService {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
 
@@ -29,10 +34,10 @@ public class ReportServiceImpl implements ReportService {
         // Get basic counts
         long totalUsers = userRepository.count();
         long totalMovies = movieRepository.count();
-        long totalBookings = bookingRepository.count();
+        long totalBookings = bookingRepository.count() + archivedBookingRepository.count();
         
         // Calculate total revenue - only count PAID bookings
-        BigDecimal totalRevenue = bookingRepository.findAll().stream()
+        BigDecimal totalRevenue = allBookings().stream()
                 .filter(booking -> booking.getBookingStatus() == Booking.BookingStatus.PAID)
                 .map(booking -> BigDecimal.valueOf(booking.getTotalPrice()))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -43,7 +48,7 @@ public class ReportServiceImpl implements ReportService {
                 BigDecimal.ZERO;
         
         // Get recent bookings (last 5)
-        List<RecentBookingResponse> recentBookings = bookingRepository.findAll().stream()
+        List<RecentBookingResponse> recentBookings = allBookings().stream()
                 .sorted((a, b) -> b.getCreatedOn().compareTo(a.getCreatedOn()))
                 .limit(5)
                 .map(this::mapToRecentBookingResponse)
@@ -52,7 +57,7 @@ public class ReportServiceImpl implements ReportService {
         // Get top movies - calculate real revenue from PAID bookings
         Map<Long, MovieStats> movieStatsMap = new HashMap<>();
         
-        bookingRepository.findAll().stream()
+        allBookings().stream()
                 .filter(booking -> booking.getBookingStatus() == Booking.BookingStatus.PAID)
                 .forEach(booking -> {
                     Movie movie = booking.getScreening().getMovie();
@@ -86,7 +91,7 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public RevenueTrendResponse getRevenueTrend(String period) {
-        List<Booking> allBookings = bookingRepository.findAll();
+        List<Booking> allBookings = allBookings();
         List<RevenueTrendResponse.RevenueDataPoint> dataPoints = new ArrayList<>();
         
         LocalDateTime now = LocalDateTime.now();
@@ -190,7 +195,7 @@ public class ReportServiceImpl implements ReportService {
         // Calculate real revenue from PAID bookings
         Map<Long, MovieStats> movieStatsMap = new HashMap<>();
         
-        bookingRepository.findAll().stream()
+        allBookings().stream()
                 .filter(booking -> booking.getBookingStatus() == Booking.BookingStatus.PAID)
                 .forEach(booking -> {
                     Movie movie = booking.getScreening().getMovie();
@@ -217,7 +222,7 @@ public class ReportServiceImpl implements ReportService {
         Map<String, UserStats> userStats = new HashMap<>();
         
         // Only count PAID bookings for user stats
-        bookingRepository.findAll().stream()
+        allBookings().stream()
                 .filter(booking -> booking.getBookingStatus() == Booking.BookingStatus.PAID)
                 .forEach(booking -> {
                     String username = booking.getUser().getUsername();
@@ -240,6 +245,15 @@ public class ReportServiceImpl implements ReportService {
                 .collect(Collectors.toList());
     }
     
+    // Booking đang hoạt động cộng booking đã chuyển sang booking_archive, để số liệu không tụt sau mỗi lần archive
+    private List<Booking> allBookings() {
+        List<Booking> bookings = new ArrayList<>(bookingRepository.findAll());
+        for (ArchivedBooking archived : archivedBookingRepository.findAllForReports()) {
+            bookings.add(archived.toBooking());
+        }
+        return bookings;
+    }
+
     private RecentBookingResponse mapToRecentBookingResponse(Booking booking) {
         return RecentBookingResponse.builder()
                 .id(booking.getId())
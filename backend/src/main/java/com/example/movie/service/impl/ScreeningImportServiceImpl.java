@@ -0,0 +1,323 @@
+package com.example.movie.service.impl;
+
+import com.example.movie.dto.screening.ScreeningImportError;
+import com.example.movie.dto.screening.ScreeningImportResponse;
+import com.example.movie.dto.screening.ScreeningRequest;
+import com.example.movie.exception.ScreeningImportException;
+import com.example.movie.model.Auditorium;
+import com.example.movie.model.Movie;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.AuditoriumRepository;
+import com.example.movie.repository.MovieRepository;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.repository.SeatRepository;
+import com.example.movie.schedule.AuditoriumSchedule;
+import com.example.movie.schedule.ScreeningChangedEvent;
+import com.example.movie.schedule.ScreeningIntervalTree;
+import com.example.movie.service.ScreeningImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports a batch of screenings all-or-nothing: every row is validated (in parallel, against
+ * layouts loaded once and the in-memory auditorium schedule), overlaps inside the batch are
+ * detected, the schedule is re-checked against the database with the auditoriums locked, and
+ * only a fully valid batch is written, with tickets inserted through JDBC batches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScreeningImportServiceImpl implements ScreeningImportService {
+    // Ticket.status lưu dạng ORDINAL
+    private static final String INSERT_TICKET =
+            "INSERT INTO ticket (status, movie_id, auditorium_id, screening_id, seat_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final ScreeningRepository screeningRepository;
+    private final MovieRepository movieRepository;
+    private final AuditoriumRepository auditoriumRepository;
+    private final SeatRepository seatRepository;
+    private final AuditoriumSchedule auditoriumSchedule;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.schedule.import.max-rows:2000}")
+    private int maxRows;
+
+    @Value("${app.schedule.import.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public ScreeningImportResponse importScreenings(List<ScreeningRequest> rows) {
+        return importRows(rows, Map.of());
+    }
+
+    /**
+     * CSV columns: startTime,endTime,format,movieId,auditoriumId[,status], times in ISO format
+     * (2030-01-01T09:30). A header line is optional.
+     */
+    @Override
+    @Transactional
+    public ScreeningImportResponse importScreeningsCsv(InputStream csv) {
+        List<ScreeningRequest> rows = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (first && line.trim().toLowerCase().startsWith("starttime")) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                try {
+                    rows.add(parseCsvRow(line));
+                } catch (RuntimeException e) {
+                    rows.add(null);
+                    parseErrors.put(rows.size(), "Invalid CSV row: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new ScreeningImportException("Cannot read CSV file: " + e.getMessage());
+        }
+        return importRows(rows, parseErrors);
+    }
+
+    private ScreeningRequest parseCsvRow(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 5) {
+            throw new IllegalArgumentException("expected at least 5 columns but got " + columns.length);
+        }
+        ScreeningRequest request = new ScreeningRequest();
+        request.setStartTime(LocalDateTime.parse(columns[0].trim()));
+        request.setEndTime(LocalDateTime.parse(columns[1].trim()));
+        request.setFormat(parseFormat(columns[2].trim()));
+        request.setMovieId(Long.valueOf(columns[3].trim()));
+        request.setAuditoriumId(Long.valueOf(columns[4].trim()));
+        if (columns.length > 5 && !columns[5].isBlank()) {
+            request.setStatus(Screening.Status.valueOf(columns[5].trim().toUpperCase()));
+        }
+        return request;
+    }
+
+    // Chấp nhận cả "2D"/"3D" lẫn tên enum
+    private static Screening.Format parseFormat(String value) {
+        return switch (value.toUpperCase()) {
+            case "2D" -> Screening.Format.TwoD;
+            case "3D" -> Screening.Format.ThreeD;
+            default -> Screening.Format.valueOf(value);
+        };
+    }
+
+    private ScreeningImportResponse importRows(List<ScreeningRequest> rows, Map<Integer, String> parseErrors) {
+        long started = System.nanoTime();
+        if (rows == null || rows.isEmpty()) {
+            throw new ScreeningImportException("No screenings to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new ScreeningImportException("Too many rows: " + rows.size() + " (max " + maxRows + ")");
+        }
+
+        // Nạp phim, phòng và sơ đồ ghế một lần cho cả lô
+        Set<Long> movieIds = rows.stream().filter(Objects::nonNull)
+                .map(ScreeningRequest::getMovieId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> auditoriumIds = rows.stream().filter(Objects::nonNull)
+                .map(ScreeningRequest::getAuditoriumId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Movie> movies = movieRepository.findAllById(movieIds).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        Map<Long, Auditorium> auditoriums = auditoriumRepository.findAllById(auditoriumIds).stream()
+                .collect(Collectors.toMap(Auditorium::getId, Function.identity()));
+        Map<Long, List<Long>> seatIds = new HashMap<>();
+        if (!auditoriumIds.isEmpty()) {
+            for (Object[] row : seatRepository.findSeatIdsByAuditoriumIds(auditoriumIds)) {
+                seatIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+
+        // Các dòng độc lập nhau và chỉ đọc dữ liệu trong bộ nhớ nên kiểm tra song song
+        Map<Integer, String> errors = new ConcurrentHashMap<>(parseErrors);
+        IntStream.range(0, rows.size()).parallel().forEach(index -> {
+            ScreeningRequest row = rows.get(index);
+            if (row == null) {
+                // Phần tử null trong mảng JSON; dòng CSV lỗi đã có thông báo riêng
+                errors.putIfAbsent(index + 1, "Row is empty");
+                return;
+            }
+            String error = validateRow(row, movies.keySet(), auditoriums.keySet());
+            if (error != null) {
+                errors.put(index + 1, error);
+            }
+        });
+        detectOverlapsWithinBatch(rows, errors);
+        if (errors.isEmpty()) {
+            checkCommittedSchedules(rows, errors);
+        }
+
+        if (!errors.isEmpty()) {
+            List<ScreeningImportError> rowErrors = errors.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(e -> new ScreeningImportError(e.getKey(), e.getValue()))
+                    .toList();
+            return response(rows.size(), List.of(), 0, rowErrors, started);
+        }
+
+        List<Screening> screenings = new ArrayList<>(rows.size());
+        for (ScreeningRequest row : rows) {
+            Screening screening = new Screening();
+            screening.setStartTime(row.getStartTime());
+            screening.setEndTime(row.getEndTime());
+            screening.setFormat(row.getFormat());
+            screening.setStatus(statusOf(row));
+            screening.setMovie(movies.get(row.getMovieId()));
+            screening.setAuditorium(auditoriums.get(row.getAuditoriumId()));
+            screenings.add(screening);
+        }
+        List<Screening> saved = screeningRepository.saveAll(screenings);
+
+        // Vé tạo bằng JDBC batch thay vì cascade từng entity
+        List<Object[]> tickets = new ArrayList<>();
+        for (Screening screening : saved) {
+            Long auditoriumId = screening.getAuditorium().getId();
+            for (Long seatId : seatIds.getOrDefault(auditoriumId, List.of())) {
+                tickets.add(new Object[]{
+                        Ticket.Status.AVAILABLE.ordinal(),
+                        screening.getMovie().getId(),
+                        auditoriumId,
+                        screening.getId(),
+                        seatId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TICKET, tickets, batchSize, (ps, args) -> {
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+        });
+
+        eventPublisher.publishEvent(new ScreeningChangedEvent(null));
+        ScreeningImportResponse response = response(rows.size(),
+                saved.stream().map(Screening::getId).toList(), tickets.size(), List.of(), started);
+        log.info("Imported {} screenings and {} tickets in {} ms ({} rows/s)",
+                response.getImportedRows(), response.getTicketsCreated(), response.getElapsedMs(),
+                String.format("%.1f", response.getRowsPerSecond()));
+        return response;
+    }
+
+    private String validateRow(ScreeningRequest row, Set<Long> movieIds, Set<Long> auditoriumIds) {
+        Set<ConstraintViolation<ScreeningRequest>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!row.getEndTime().isAfter(row.getStartTime())) {
+            return "End time must be after start time";
+        }
+        if (!movieIds.contains(row.getMovieId())) {
+            return "Movie " + row.getMovieId() + " not found";
+        }
+        if (!auditoriumIds.contains(row.getAuditoriumId())) {
+            return "Auditorium " + row.getAuditoriumId() + " not found";
+        }
+        if (statusOf(row) != Screening.Status.CANCELLED) {
+            List<ScreeningIntervalTree.Slot> conflicts = auditoriumSchedule.findConflicts(
+                    auditoriumSchedule.treeFor(row.getAuditoriumId()), row.getStartTime(), row.getEndTime(), null);
+            if (!conflicts.isEmpty()) {
+                return auditoriumSchedule.conflictMessage(row.getAuditoriumId(), conflicts);
+            }
+        }
+        return null;
+    }
+
+    // Sắp xếp theo giờ bắt đầu trong từng phòng, dòng nào bắt đầu trước khi dòng trước đó dọn xong là trùng
+    private void detectOverlapsWithinBatch(List<ScreeningRequest> rows, Map<Integer, String> errors) {
+        Map<Long, List<Integer>> byAuditorium = new HashMap<>();
+        for (int index = 0; index < rows.size(); index++) {
+            ScreeningRequest row = rows.get(index);
+            if (row != null && !errors.containsKey(index + 1) && statusOf(row) != Screening.Status.CANCELLED) {
+                byAuditorium.computeIfAbsent(row.getAuditoriumId(), id -> new ArrayList<>()).add(index);
+            }
+        }
+        byAuditorium.forEach((auditoriumId, indexes) -> {
+            indexes.sort(Comparator.comparing(index -> rows.get(index).getStartTime()));
+            Integer previous = null;
+            LocalDateTime previousEnd = null;
+            for (Integer index : indexes) {
+                ScreeningRequest row = rows.get(index);
+                if (previousEnd != null && row.getStartTime().isBefore(previousEnd)) {
+                    errors.put(index + 1, "Overlaps row " + (previous + 1) + " in auditorium " + auditoriumId);
+                    continue;
+                }
+                previous = index;
+                previousEnd = row.getEndTime().plus(auditoriumSchedule.cleaningBuffer());
+            }
+        });
+    }
+
+    // Cây lịch chỉ cập nhật sau commit: khoá các phòng của lô rồi kiểm tra lại với DB để lô khác/suất tạo
+    // cùng lúc không lọt qua
+    private void checkCommittedSchedules(List<ScreeningRequest> rows, Map<Integer, String> errors) {
+        auditoriumSchedule.lock(rows.stream().map(ScreeningRequest::getAuditoriumId).toList());
+        for (int index = 0; index < rows.size(); index++) {
+            ScreeningRequest row = rows.get(index);
+            if (statusOf(row) == Screening.Status.CANCELLED) {
+                continue;
+            }
+            List<Long> conflicts = auditoriumSchedule.findConflictsInDatabase(
+                    row.getAuditoriumId(), row.getStartTime(), row.getEndTime(), null);
+            if (!conflicts.isEmpty()) {
+                errors.put(index + 1, auditoriumSchedule.conflictMessageForIds(row.getAuditoriumId(), conflicts));
+            }
+        }
+    }
+
+    private static Screening.Status statusOf(ScreeningRequest row) {
+        return row.getStatus() != null ? row.getStatus() : Screening.Status.ACTIVE;
+    }
+
+    private static ScreeningImportResponse response(int totalRows, List<Long> screeningIds, long ticketsCreated,
+                                                    List<ScreeningImportError> errors, long started) {
+        long elapsedNanos = System.nanoTime() - started;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return ScreeningImportResponse.builder()
+                .totalRows(totalRows)
+                .importedRows(screeningIds.size())
+                .ticketsCreated(ticketsCreated)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(seconds > 0 ? totalRows / seconds : 0)
+                .screeningIds(screeningIds)
+                .errors(errors)
+                .build();
+    }
+}
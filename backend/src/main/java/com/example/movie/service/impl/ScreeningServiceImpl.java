@@ -1,21 +1,32 @@
 package com.example.movie.service.impl;
 
+import com.example.movie.dto.screening.FreeSlotResponse;
+import com.example.movie.dto.screening.MovieShowtimesResponse;
 import com.example.movie.dto.screening.PatchScreening;
 import com.example.movie.dto.screening.ScreeningRequest;
 import com.example.movie.dto.screening.ScreeningResponse;
+import com.example.movie.dto.screening.ShowtimeResponse;
 import com.example.movie.exception.InvalidId;
+import com.example.movie.exception.InvalidScreeningTimeException;
 import com.example.movie.mapper.ScreeningMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.AuditoriumRepository;
 import com.example.movie.repository.MovieRepository;
 import com.example.movie.repository.ScreeningRepository;
 import com.example.movie.repository.SeatRepository;
+import com.example.movie.schedule.AuditoriumSchedule;
+import com.example.movie.schedule.ScreeningChangedEvent;
+import com.example.movie.schedule.ShowtimeTimetable;
 import com.example.movie.service.ScreeningService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,13 +38,21 @@ public class ScreeningServiceImpl implements ScreeningService {
     private final AuditoriumRepository auditoriumRepository;
     private final MovieRepository movieRepository;
     private final SeatRepository seatRepository;
+    private final ShowtimeTimetable showtimeTimetable;
+    private final AuditoriumSchedule auditoriumSchedule;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public ScreeningResponse createScreening (ScreeningRequest screeningRequest) {
 
         //Convert request -> entity
         Screening screening = screeningMapper.toEntity(screeningRequest);
 
+        // Kiểm tra trùng lịch phòng (tính cả thời gian dọn phòng), khoá phòng tới hết transaction
+        checkSchedule(screeningRequest.getAuditoriumId(), screening.getStartTime(), screening.getEndTime(),
+                screening.getStatus(), null);
+
         //Kiểm tra auditorium tồn tại
         Auditorium auditorium = auditoriumRepository.findById(screeningRequest.getAuditoriumId())
                 .orElseThrow(()-> new InvalidId(screeningRequest.getAuditoriumId()));
@@ -65,10 +84,12 @@ public class ScreeningServiceImpl implements ScreeningService {
         
         // Save screening - cascade will automatically save all tickets
         Screening saved = screeningRepository.save(screening);
+        eventPublisher.publishEvent(new ScreeningChangedEvent(saved.getId()));
         return screeningMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public ScreeningResponse updateScreening (Long id, PatchScreening  patchScreening) {
         // check screening hien tai co ton tai khong
         Screening existingScreening = screeningRepository.findById(id)
@@ -101,15 +122,34 @@ public class ScreeningServiceImpl implements ScreeningService {
                     .orElseThrow(()-> new InvalidId(patchScreening.getAuditoriumId()));
             existingScreening.setAuditorium(auditorium);
         }
+        // Đổi giờ/phòng/trạng thái thì kiểm tra lại lịch, bỏ qua chính suất chiếu này
+        if (patchScreening.getStartTime() != null || patchScreening.getEndTime() != null
+                || patchScreening.getAuditoriumId() != null || patchScreening.getStatus() != null) {
+            checkSchedule(existingScreening.getAuditorium().getId(), existingScreening.getStartTime(),
+                    existingScreening.getEndTime(), existingScreening.getStatus(), id);
+        }
         Screening updated =  screeningRepository.save(existingScreening);
+        eventPublisher.publishEvent(new ScreeningChangedEvent(updated.getId()));
         return screeningMapper.toResponse(updated);
     }
 
+    private void checkSchedule(Long auditoriumId, LocalDateTime start, LocalDateTime end,
+                               Screening.Status status, Long screeningId) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new InvalidScreeningTimeException("End time must be after start time");
+        }
+        if (status == Screening.Status.CANCELLED) {
+            return;
+        }
+        auditoriumSchedule.checkAvailable(auditoriumId, start, end, screeningId);
+    }
+
     @Override
     public void deleteScreening(Long id){
         Screening existingScreening = screeningRepository.findById(id)
                 .orElseThrow(()-> new InvalidId(id));
         screeningRepository.delete(existingScreening);
+        eventPublisher.publishEvent(new ScreeningChangedEvent(id));
     }
 
     @Override
@@ -135,4 +175,22 @@ public class ScreeningServiceImpl implements ScreeningService {
                 .map(screeningMapper::toResponse)
                 .toList();
     }
+
+    @Override
+    public List<MovieShowtimesResponse> getTodayShowtimes() {
+        return showtimeTimetable.today();
+    }
+
+    @Override
+    public List<ShowtimeResponse> getTimetable(LocalDate date, Long movieId, Long auditoriumId) {
+        return showtimeTimetable.showtimes(date, movieId, auditoriumId);
+    }
+
+    @Override
+    public List<FreeSlotResponse> findFreeSlots(int durationMinutes, LocalDate from, int days, Long auditoriumId) {
+        if (durationMinutes <= 0 || days <= 0) {
+            throw new InvalidScreeningTimeException("Duration and days must be positive");
+        }
+        return auditoriumSchedule.findFreeSlots(durationMinutes, from, days, auditoriumId);
+    }
 }
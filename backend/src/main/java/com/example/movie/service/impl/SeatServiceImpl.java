@@ -1,50 +1,54 @@
 package com.example.movie.service.impl;
 
 import com.example.movie.dto.seat.SeatResponse;
+import com.example.movie.ledger.SeatLedger;
 import com.example.movie.mapper.SeatMapper;
 import com.example.movie.model.Seat;
 import com.example.movie.model.Ticket;
 import com.example.movie.repository.SeatRepository;
 import com.example.movie.repository.TicketRepository;
 import com.example.movie.service.SeatService;
+import com.example.movie.diagnostics.OperationTimer;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class SeatServiceImpl implements SeatService {
     private final SeatRepository seatRepository;
     private final TicketRepository ticketRepository;
     private final SeatMapper seatMapper;
+    private final SeatLedger seatLedger;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public List<SeatResponse> getSeatsByScreeningId(Long screeningId) {
+        return OperationTimer.record(meterRegistry, "seat.map.load", () -> seatMap(screeningId));
+    }
+
+    private List<SeatResponse> seatMap(Long screeningId) {
         // Get all seats for the auditorium of this screening
         List<Seat> seats = seatRepository.findByAuditoriumId(
             ticketRepository.findAuditoriumIdByScreeningId(screeningId)
         );
         
-        // Get ticket statuses for this screening
-        List<Ticket> tickets = ticketRepository.findByScreeningId(screeningId);
-        
+        if (seats.isEmpty()) {
+            return List.of();
+        }
+
+        // Trạng thái ghế lấy từ sổ ghế trong bộ nhớ (khôi phục từ file tồn kho khi khởi động), không nạp lại vé
+        Map<Long, Ticket.Status> statuses = seatLedger.current(screeningId).seats();
+
         return seats.stream().map(seat -> {
             SeatResponse response = seatMapper.toResponse(seat);
-            
-            // Find ticket for this seat in this screening
-            Ticket ticket = tickets.stream()
-                .filter(t -> t.getSeat().getId().equals(seat.getId()))
-                .findFirst()
-                .orElse(null);
-            
-            if (ticket != null && ticket.getStatus() != Ticket.Status.AVAILABLE) {
-                response.setStatus(ticket.getStatus().toString());
-            } else {
-                response.setStatus("AVAILABLE");
-            }
-            
+            response.setStatus(statuses.getOrDefault(seat.getId(), Ticket.Status.AVAILABLE).toString());
             return response;
         }).collect(Collectors.toList());
     }
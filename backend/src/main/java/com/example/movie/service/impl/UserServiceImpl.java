@@ -8,6 +8,9 @@ import com.example.movie.exception.InvalidRoleException;
 import com.example.movie.exception.UserNotFoundException;
 import com.example.movie.model.User;
 import com.example.movie.repository.UserRepository;
+import com.example.movie.search.SearchNormalizer;
+import com.example.movie.security.AuthenticationCache;
+import com.example.movie.security.RefreshSessionStore;
 import com.example.movie.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -20,6 +23,8 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticationCache authenticationCache;
+    private final RefreshSessionStore refreshSessionStore;
     
     @Override
     public UserResponse createUser (CreateUserRequest userRequest){
@@ -47,7 +52,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Page<UserResponse> getAllUsers(Pageable pageable, String search) {
-        Page<User> users = userRepository.findAllWithSearch(search, pageable);
+        Page<User> users = userRepository.findAllWithSearch(
+                SearchNormalizer.normalize(search), SearchNormalizer.phoneKey(search), pageable);
         return users.map(this::mapToUserResponse);
     }
 
@@ -64,6 +70,14 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         user.setIsActive(isActive);
         User updatedUser = userRepository.save(user);
+        // Token đang dùng mang trạng thái cũ trong claim, buộc filter đọc lại từ DB
+        authenticationCache.invalidateUser(updatedUser.getUsername());
+        // Lần refresh sau cấp access token theo trạng thái mới
+        refreshSessionStore.updateUser(updatedUser);
+        if (!isActive) {
+            // Khóa tài khoản thì đóng luôn các phiên refresh đang mở
+            refreshSessionStore.revokeAll(updatedUser.getUsername());
+        }
         return mapToUserResponse(updatedUser);
     }
 
@@ -2,6 +2,10 @@ package com.example.movie.specification;
 
 import com.example.movie.model.Movie;
 import com.example.movie.model.MovieStatus;
+import com.example.movie.search.SearchNormalizer;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -9,36 +13,58 @@ import java.time.LocalDate;
 public class MovieSpecification {
 
     /**
-     * Search by keyword in title, description, genres, and actors
+     * Search by keyword on the normalized search keys (title, director, actors, genres).
+     * Keyword is accent-folded so "ke hoach" matches "Kế hoạch"; the predicate is a prefix LIKE
+     * on movie_search_key.search_key so it can use idx_movie_search_key.
      */
     public static Specification<Movie> searchByKeyword(String keyword) {
         return (root, query, criteriaBuilder) -> {
-            if (keyword == null || keyword.trim().isEmpty()) {
+            String normalized = SearchNormalizer.normalize(keyword);
+            if (normalized.isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            
-            String likePattern = "%" + keyword.toLowerCase() + "%";
-            
-            return criteriaBuilder.or(
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), likePattern),
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), likePattern),
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("genres")), likePattern),
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("actors")), likePattern)
-            );
+
+            // EXISTS (SELECT 1 FROM movie_search_key k WHERE k.movie_id = m.id AND k.search_key LIKE 'kw%')
+            Subquery<Integer> keyQuery = query.subquery(Integer.class);
+            Root<Movie> correlated = keyQuery.correlate(root);
+            Join<Movie, String> searchKey = correlated.join("searchKeys");
+            keyQuery.select(criteriaBuilder.literal(1))
+                    .where(criteriaBuilder.like(searchKey, normalized + "%"));
+
+            return criteriaBuilder.exists(keyQuery);
         };
     }
 
     /**
-     * Filter by genre (substring match)
+     * Filter by genre (exact match on the normalized movie_genre mapping)
      */
     public static Specification<Movie> filterByGenre(String genre) {
         return (root, query, criteriaBuilder) -> {
-            if (genre == null || genre.trim().isEmpty()) {
+            String normalized = SearchNormalizer.normalize(genre);
+            if (normalized.isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            
-            String likePattern = "%" + genre.toLowerCase() + "%";
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("genres")), likePattern);
+
+            Subquery<Integer> genreQuery = query.subquery(Integer.class);
+            Root<Movie> correlated = genreQuery.correlate(root);
+            Join<Movie, String> genreKey = correlated.join("genreKeys");
+            genreQuery.select(criteriaBuilder.literal(1))
+                    .where(criteriaBuilder.equal(genreKey, normalized));
+
+            return criteriaBuilder.exists(genreQuery);
+        };
+    }
+
+    /**
+     * Filter by language on the normalized column, folded the same way as the language facet
+     */
+    public static Specification<Movie> filterByLanguage(String language) {
+        return (root, query, criteriaBuilder) -> {
+            String normalized = SearchNormalizer.normalize(language);
+            if (normalized.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(root.get("languageNormalized"), normalized);
         };
     }
 
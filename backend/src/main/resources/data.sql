@@ -1,8 +1,10 @@
 -- Seed initial data for development (idempotent by clearing tables first)
--- Note: Hibernate creates/updates schema (ddl-auto=update). This runs after that.
+-- Note: Flyway creates the schema (db/migration). This runs after that.
 
 -- Clear existing data (development only)
 SET FOREIGN_KEY_CHECKS=0;
+DELETE FROM movie_search_key; -- Normalized search keys, rebuilt from movie on startup
+DELETE FROM movie_genre;      -- Normalized genre mapping, rebuilt from movie on startup
 DELETE FROM movie;
 DELETE FROM `users`;
 SET FOREIGN_KEY_CHECKS=1;
@@ -0,0 +1,122 @@
+-- Schema như Hibernate (ddl-auto=update) đã tạo trước khi chuyển sang Flyway, không hơn không kém: DB đã có sẵn bảng
+-- được baseline ở version 1 (spring.flyway.baseline-on-migrate) và chỉ nhận các thay đổi từ V2 trở đi.
+-- File này chỉ chạy trên DB trống. Bảng/cột thêm sau phải nằm ở migration mới, không sửa file này.
+-- Enum lưu dạng chuỗi dùng VARCHAR để thêm giá trị mới không cần ALTER; enum ORDINAL là TINYINT.
+
+CREATE TABLE users (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    username            VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    password            VARCHAR(255) NOT NULL,
+    phone_number        VARCHAR(255) NOT NULL,
+    role                VARCHAR(20)  NOT NULL,
+    is_active           BIT          NOT NULL,
+    address             VARCHAR(255) NOT NULL,
+    date_of_birth       DATE,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_phone_number UNIQUE (phone_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE movie (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    title        VARCHAR(255) NOT NULL,
+    director     VARCHAR(255) NOT NULL,
+    actors       VARCHAR(255) NOT NULL,
+    genres       VARCHAR(255) NOT NULL,
+    release_date DATE         NOT NULL,
+    duration     VARCHAR(255) NOT NULL,
+    language     VARCHAR(255) NOT NULL,
+    rated        VARCHAR(255) NOT NULL,
+    description  VARCHAR(255) NOT NULL,
+    status       VARCHAR(20),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE auditorium (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(255) NOT NULL,
+    capacity INT          NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE seat (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    row_label     VARCHAR(255) NOT NULL,
+    number        INT          NOT NULL,
+    seat_type     VARCHAR(20)  NOT NULL,
+    auditorium_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_seat_auditorium FOREIGN KEY (auditorium_id) REFERENCES auditorium (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE screening (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    start_time    DATETIME(6),
+    end_time      DATETIME(6),
+    format        VARCHAR(20),
+    status        VARCHAR(20),
+    movie_id      BIGINT      NOT NULL,
+    auditorium_id BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_screening_movie FOREIGN KEY (movie_id) REFERENCES movie (id),
+    CONSTRAINT fk_screening_auditorium FOREIGN KEY (auditorium_id) REFERENCES auditorium (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE booking (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    booking_code   VARCHAR(255) NOT NULL,
+    created_on     DATETIME(6)  NOT NULL,
+    booking_status TINYINT      NOT NULL,
+    total_price    FLOAT        NOT NULL,
+    user_id        BIGINT       NOT NULL,
+    screening_id   BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_booking_screening FOREIGN KEY (screening_id) REFERENCES screening (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ticket (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    status        TINYINT     NOT NULL,
+    ticket_code   VARCHAR(14),
+    movie_id      BIGINT      NOT NULL,
+    auditorium_id BIGINT      NOT NULL,
+    screening_id  BIGINT      NOT NULL,
+    seat_id       BIGINT      NOT NULL,
+    booking_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ticket_ticket_code UNIQUE (ticket_code),
+    CONSTRAINT uk_movie_auditorium_screening_seat UNIQUE (movie_id, auditorium_id, screening_id, seat_id),
+    -- Ticket.seat khi còn là @OneToOne; V3 bỏ
+    CONSTRAINT uk_ticket_seat UNIQUE (seat_id),
+    CONSTRAINT fk_ticket_movie FOREIGN KEY (movie_id) REFERENCES movie (id),
+    CONSTRAINT fk_ticket_auditorium FOREIGN KEY (auditorium_id) REFERENCES auditorium (id),
+    CONSTRAINT fk_ticket_screening FOREIGN KEY (screening_id) REFERENCES screening (id),
+    CONSTRAINT fk_ticket_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_ticket_booking FOREIGN KEY (booking_id) REFERENCES booking (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    transaction_id VARCHAR(255),
+    payment_date   DATETIME(6),
+    amount         FLOAT        NOT NULL,
+    payment_method VARCHAR(255),
+    note           VARCHAR(255),
+    status         VARCHAR(20),
+    booking_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    -- @OneToOne: mỗi booking một payment, unique này cũng là index cho payment theo booking_id
+    CONSTRAINT uk_payment_booking UNIQUE (booking_id),
+    CONSTRAINT fk_payment_booking FOREIGN KEY (booking_id) REFERENCES booking (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE invalidated_tokens (
+    id          VARCHAR(255) NOT NULL,
+    expiry_time DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
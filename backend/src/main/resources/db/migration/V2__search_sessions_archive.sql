@@ -0,0 +1,94 @@
+-- Bảng và cột thêm sau V1 cho tìm kiếm, phiên refresh token và archive. DB baseline từ ddl-auto=update nhận chúng ở
+-- đây; dữ liệu có sẵn được SearchKeyBackfill điền lúc khởi động (search key, thể loại, username/email chuẩn hoá).
+
+-- users: username/email đã chuẩn hoá (bỏ dấu, chữ thường) cho tìm kiếm theo tiền tố --------------------------------
+ALTER TABLE users
+    ADD COLUMN username_normalized VARCHAR(255) AFTER username,
+    ADD COLUMN email_normalized    VARCHAR(255) AFTER email,
+    ADD INDEX idx_users_username_normalized (username_normalized),
+    ADD INDEX idx_users_email_normalized (email_normalized);
+
+-- movie: khoá tìm kiếm theo ranh giới từ và bảng phim -> thể loại ----------------------------------------------------
+CREATE TABLE movie_search_key (
+    movie_id   BIGINT       NOT NULL,
+    search_key VARCHAR(100) NOT NULL,
+    PRIMARY KEY (movie_id, search_key),
+    INDEX idx_movie_search_key (search_key, movie_id),
+    CONSTRAINT fk_movie_search_key_movie FOREIGN KEY (movie_id) REFERENCES movie (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE movie_genre (
+    movie_id BIGINT       NOT NULL,
+    genre    VARCHAR(100) NOT NULL,
+    PRIMARY KEY (movie_id, genre),
+    INDEX idx_movie_genre_genre (genre, movie_id),
+    CONSTRAINT fk_movie_genre_movie FOREIGN KEY (movie_id) REFERENCES movie (id)
+) ENGINE = InnoDB;
+
+-- token: dọn token thu hồi đã hết hạn theo lô, phiên refresh token (family) ----------------------------------------
+CREATE INDEX idx_invalidated_tokens_expiry_time ON invalidated_tokens (expiry_time);
+
+CREATE TABLE refresh_sessions (
+    family_id        VARCHAR(36) NOT NULL,
+    user_id          BIGINT      NOT NULL,
+    rotation_counter BIGINT      NOT NULL,
+    expires_at       DATETIME(6) NOT NULL,
+    revoked          BIT         NOT NULL,
+    PRIMARY KEY (family_id),
+    INDEX idx_refresh_sessions_user_id (user_id),
+    INDEX idx_refresh_sessions_expires_at (expires_at)
+) ENGINE = InnoDB;
+
+-- archive: vé/booking/payment của suất chiếu đã kết thúc lâu được TicketArchiver chuyển sang *_archive -------------
+ALTER TABLE screening ADD COLUMN archived_at DATETIME(6) AFTER status;
+
+CREATE TABLE booking_archive (
+    id             BIGINT       NOT NULL,
+    booking_code   VARCHAR(255) NOT NULL,
+    created_on     DATETIME(6)  NOT NULL,
+    booking_status TINYINT      NOT NULL,
+    total_price    FLOAT        NOT NULL,
+    user_id        BIGINT       NOT NULL,
+    screening_id   BIGINT       NOT NULL,
+    archived_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_booking_archive_user (user_id),
+    INDEX idx_booking_archive_created_on (created_on),
+    CONSTRAINT fk_booking_archive_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_booking_archive_screening FOREIGN KEY (screening_id) REFERENCES screening (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ticket_archive (
+    id            BIGINT      NOT NULL,
+    status        TINYINT     NOT NULL,
+    ticket_code   VARCHAR(14),
+    movie_id      BIGINT      NOT NULL,
+    auditorium_id BIGINT      NOT NULL,
+    screening_id  BIGINT      NOT NULL,
+    seat_id       BIGINT      NOT NULL,
+    booking_id    BIGINT,
+    archived_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ticket_archive_ticket_code UNIQUE (ticket_code),
+    INDEX idx_ticket_archive_screening (screening_id),
+    INDEX idx_ticket_archive_auditorium (auditorium_id),
+    CONSTRAINT fk_ticket_archive_movie FOREIGN KEY (movie_id) REFERENCES movie (id),
+    CONSTRAINT fk_ticket_archive_auditorium FOREIGN KEY (auditorium_id) REFERENCES auditorium (id),
+    CONSTRAINT fk_ticket_archive_screening FOREIGN KEY (screening_id) REFERENCES screening (id),
+    CONSTRAINT fk_ticket_archive_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_ticket_archive_booking FOREIGN KEY (booking_id) REFERENCES booking_archive (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment_archive (
+    id             BIGINT       NOT NULL,
+    transaction_id VARCHAR(255),
+    payment_date   DATETIME(6),
+    amount         FLOAT        NOT NULL,
+    payment_method VARCHAR(255),
+    note           VARCHAR(255),
+    status         VARCHAR(20),
+    booking_id     BIGINT       NOT NULL,
+    archived_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_payment_archive_booking FOREIGN KEY (booking_id) REFERENCES booking_archive (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,53 @@
+-- Index theo các truy vấn trong repository/. Mỗi index ghi kèm truy vấn nó phục vụ;
+-- QueryPlanTest chạy EXPLAIN trên các truy vấn đó và fail khi có full scan.
+
+-- ticket ----------------------------------------------------------------------------------------
+-- Unique trên seat_id từ thời Ticket.seat còn là @OneToOne: DB baseline từ ddl-auto=update có tên Hibernate sinh
+-- ngẫu nhiên, DB tạo từ V1 là uk_ticket_seat, nên tìm trong information_schema. Thêm index thường trước vì FK seat_id
+-- cần một index; DB không còn unique này thì không làm gì.
+SET @uk_ticket_seat = (SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'ticket' AND non_unique = 0 AND index_name <> 'PRIMARY'
+    GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'seat_id' LIMIT 1);
+SET @drop_uk_ticket_seat = IF(@uk_ticket_seat IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE ticket ADD INDEX idx_ticket_seat (seat_id), DROP INDEX `', @uk_ticket_seat, '`'));
+PREPARE drop_uk_ticket_seat FROM @drop_uk_ticket_seat;
+EXECUTE drop_uk_ticket_seat;
+DEALLOCATE PREPARE drop_uk_ticket_seat;
+
+-- Unique cũ bắt đầu bằng movie_id nên không dùng được cho truy vấn theo suất chiếu. screening_id đã quyết định
+-- movie/auditorium, nên (screening_id, seat_id) giữ đúng ràng buộc và phục vụ
+-- findByScreeningId, findByScreeningIdAndSeatId, findByMovieIdAndAuditoriumIdAndScreeningIdAndSeatId.
+-- Thêm index bắt đầu bằng movie_id trước khi xoá unique cũ vì FK movie_id cần một index như vậy;
+-- index này phục vụ luôn countTicketsByMovie.
+CREATE INDEX idx_ticket_movie_status ON ticket (movie_id, status);
+ALTER TABLE ticket DROP INDEX uk_movie_auditorium_screening_seat;
+ALTER TABLE ticket ADD CONSTRAINT uk_ticket_screening_seat UNIQUE (screening_id, seat_id);
+-- countByScreeningIdAndStatus, countByScreeningIdsAndStatus và subquery ghế đã đặt của
+-- SeatRepository.findAvailableSeatsForScreening (sơ đồ ghế) đọc hết từ index, không chạm bảng
+CREATE INDEX idx_ticket_screening_status_seat ON ticket (screening_id, status, seat_id);
+
+-- booking ---------------------------------------------------------------------------------------
+-- findByUserIdOrderByCreatedOnDesc, findByUserIdWithDetails: lọc theo user và sắp xếp sẵn theo ngày
+CREATE INDEX idx_booking_user_created_on ON booking (user_id, created_on);
+-- Báo cáo theo khoảng thời gian và booking gần nhất
+CREATE INDEX idx_booking_created_on ON booking (created_on);
+-- Doanh thu: booking PAID trong một khoảng thời gian
+CREATE INDEX idx_booking_status_created_on ON booking (booking_status, created_on);
+
+-- payment ---------------------------------------------------------------------------------------
+-- findByBookingId dùng unique của @OneToOne trên booking_id; findByTransactionId (callback cổng thanh toán)
+CREATE INDEX idx_payment_transaction_id ON payment (transaction_id);
+
+-- screening -------------------------------------------------------------------------------------
+-- findByMovieIdAndStatusActive (lọc và sắp xếp theo start_time), findByMovieIdOrderByStartTime dùng tiền tố movie_id
+CREATE INDEX idx_screening_movie_status_start ON screening (movie_id, status, start_time);
+-- findActiveWithMovieAndAuditoriumBetween (lịch chiếu trong bộ nhớ)
+CREATE INDEX idx_screening_status_start ON screening (status, start_time);
+-- TicketArchiver: finishEndedBefore, findArchivableIds
+CREATE INDEX idx_screening_status_end ON screening (status, end_time);
+-- findScheduleWindowsEndingAfter (kiểm tra trùng lịch, status <> 'CANCELLED' không dùng được index)
+CREATE INDEX idx_screening_end_time ON screening (end_time);
+
+-- seat ------------------------------------------------------------------------------------------
+-- findByAuditoriumIdOrderByRowLabelAscNumberAsc, findByAuditoriumIdAndRowLabelAndNumber
+CREATE INDEX idx_seat_auditorium_row_number ON seat (auditorium_id, row_label, number);
@@ -0,0 +1,36 @@
+-- Lịch sử booking của user (CQRS read model): một dòng mỗi booking, ghi bởi UserBookingProjector trong cùng
+-- transaction với booking. Không có FK để dòng còn lại khi booking chuyển sang booking_archive.
+-- Dòng cho booking có sẵn được UserBookingViewBackfill ghi lúc khởi động.
+
+CREATE TABLE user_booking_view (
+    booking_id           BIGINT       NOT NULL,
+    user_id              BIGINT       NOT NULL,
+    username             VARCHAR(255) NOT NULL,
+    booking_code         VARCHAR(255) NOT NULL,
+    created_on           DATETIME(6)  NOT NULL,
+    booking_status       TINYINT      NOT NULL,
+    total_price          FLOAT        NOT NULL,
+    screening_id         BIGINT       NOT NULL,
+    screening_start_time DATETIME(6),
+    screening_end_time   DATETIME(6),
+    screening_format     VARCHAR(20),
+    screening_status     VARCHAR(20),
+    movie_id             BIGINT,
+    movie_title          VARCHAR(255),
+    movie_duration       VARCHAR(255),
+    movie_rated          VARCHAR(255),
+    movie_genres         VARCHAR(255),
+    auditorium_id        BIGINT,
+    auditorium_name      VARCHAR(255),
+    tickets_json         TEXT         NOT NULL,
+    updated_at           DATETIME(6)  NOT NULL,
+    PRIMARY KEY (booking_id),
+    -- findFirstPage, findPageAfter: range theo (user_id, created_on), khoá chính booking_id nằm cuối index
+    -- nên cursor (created_on, booking_id) và ORDER BY đọc thẳng từ index
+    INDEX idx_user_booking_view_user_created_on (user_id, created_on),
+    -- refreshScreening, refreshMovie khi admin sửa suất chiếu/phim
+    INDEX idx_user_booking_view_screening (screening_id),
+    INDEX idx_user_booking_view_movie (movie_id),
+    -- finishEndedBefore của TicketArchiver chỉ đọc các dòng ACTIVE đã kết thúc
+    INDEX idx_user_booking_view_status_end (screening_status, screening_end_time)
+) ENGINE = InnoDB;
@@ -0,0 +1,33 @@
+-- Sổ ghế append-only: mỗi lần vé đổi trạng thái (CLAIM/RELEASE/ISSUE/USE) ghi một dòng, seq liên tục theo
+-- suất chiếu, cấp từ seat_ledger_head (khoá dòng tới lúc commit nên seq theo thứ tự commit).
+-- seat_ledger_snapshot giữ trạng thái ghế mới nhất của suất chiếu; khôi phục = snapshot + các entry sau last_seq.
+-- Không có FK để ledger còn lại khi vé chuyển sang ticket_archive.
+
+CREATE TABLE seat_ledger (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    screening_id BIGINT      NOT NULL,
+    seq          BIGINT      NOT NULL,
+    seat_id      BIGINT      NOT NULL,
+    ticket_id    BIGINT      NOT NULL,
+    booking_id   BIGINT,
+    type         TINYINT     NOT NULL,
+    occurred_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    -- findTail: range theo (screening_id, seq > ?) và ORDER BY seq đọc thẳng từ index
+    CONSTRAINT uk_seat_ledger_screening_seq UNIQUE (screening_id, seq)
+) ENGINE = InnoDB;
+
+CREATE TABLE seat_ledger_head (
+    screening_id BIGINT NOT NULL,
+    last_seq     BIGINT NOT NULL,
+    PRIMARY KEY (screening_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE seat_ledger_snapshot (
+    screening_id BIGINT      NOT NULL,
+    last_seq     BIGINT      NOT NULL,
+    seat_count   INT         NOT NULL,
+    state        BLOB        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (screening_id)
+) ENGINE = InnoDB;
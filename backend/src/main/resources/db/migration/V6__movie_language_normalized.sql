@@ -0,0 +1,4 @@
+-- Ngôn ngữ đã chuẩn hoá (bỏ dấu, chữ thường) để lọc theo ngôn ngữ giống facet trong MovieFacetIndex:
+-- "tieng viet" khớp "Tiếng Việt". Dòng có sẵn được SearchKeyBackfill điền lúc khởi động.
+ALTER TABLE movie
+    ADD COLUMN language_normalized VARCHAR(255) AFTER language;
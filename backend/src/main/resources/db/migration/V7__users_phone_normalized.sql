@@ -0,0 +1,5 @@
+-- Số điện thoại chỉ còn chữ số cho tìm kiếm theo tiền tố: "+84 90" khớp "+84 901-234-567".
+-- Dòng có sẵn được SearchKeyBackfill điền lúc khởi động.
+ALTER TABLE users
+    ADD COLUMN phone_normalized VARCHAR(255) AFTER phone_number,
+    ADD INDEX idx_users_phone_normalized (phone_normalized);
@@ -0,0 +1,148 @@
+package com.example.movie.archive;
+
+import com.example.movie.dto.booking.BookingResponse;
+import com.example.movie.history.BookingChangedEvent;
+import com.example.movie.model.*;
+import com.example.movie.repository.*;
+import com.example.movie.service.BookingService;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.archive.pause-ms=0")
+@ActiveProfiles("test")
+class TicketArchiverIntegrationTest {
+
+    @Autowired
+    private TicketArchiver ticketArchiver;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void archive_ShouldMoveOldScreeningsAndKeepThemReadable() {
+        dataSeeder.seedUser("archive-user");
+        User user = userRepository.findByUsername("archive-user").orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        DataSeeder.ScreeningSeedResult old = endedScreening(720_000, now.minusDays(40));
+        DataSeeder.ScreeningSeedResult recent = endedScreening(720_001, now.minusDays(5));
+        Booking oldBooking = book(old, user, "ARCHIVE-OLD", "ARCHOLD00001");
+        Booking recentBooking = book(recent, user, "ARCHIVE-NEW", "ARCHNEW00001");
+
+        TicketArchiver.Result result = ticketArchiver.archive(now);
+
+        assertThat(result.screenings()).isGreaterThanOrEqualTo(1);
+        assertThat(bookingRepository.findById(oldBooking.getId())).isEmpty();
+        assertThat(ticketRepository.findByScreeningId(old.screening().getId())).isEmpty();
+        assertThat(paymentRepository.findByBookingId(oldBooking.getId())).isEmpty();
+        assertThat(archivedTicketRepository.findByScreeningId(old.screening().getId()))
+                .extracting(ArchivedTicket::getTicketCode)
+                .containsExactly("ARCHOLD00001");
+        assertThat(archivedPaymentRepository.findByBookingId(oldBooking.getId())).isPresent();
+
+        // Kết thúc chưa quá retention-days: chỉ đánh dấu FINISHED, vẫn ở bảng đang hoạt động
+        Screening recentScreening = screeningRepository.findById(recent.screening().getId()).orElseThrow();
+        assertThat(recentScreening.getStatus()).isEqualTo(Screening.Status.FINISHED);
+        assertThat(recentScreening.getArchivedAt()).isNull();
+        assertThat(bookingRepository.findById(recentBooking.getId())).isPresent();
+        assertThat(archivedBookingRepository.findById(recentBooking.getId())).isEmpty();
+
+        BookingResponse archived = bookingService.getBooking(oldBooking.getId());
+        assertThat(archived.getBookingCode()).isEqualTo("ARCHIVE-OLD");
+        assertThat(archived.getTickets()).hasSize(1);
+
+        // Lịch sử đọc từ user_booking_view, dòng của booking đã archive vẫn còn và đã được đánh dấu FINISHED
+        List<BookingResponse> history = bookingService.getBookingsByUserId(user.getId(), null, 20).getContent();
+        assertThat(history).extracting(BookingResponse::getBookingCode)
+                .containsExactly("ARCHIVE-NEW", "ARCHIVE-OLD");
+        assertThat(history).extracting(booking -> booking.getScreening().getStatus())
+                .containsOnly(Screening.Status.FINISHED);
+    }
+
+    private DataSeeder.ScreeningSeedResult endedScreening(int auditoriumId, LocalDateTime endTime) {
+        DataSeeder.ScreeningSeedResult seed = dataSeeder.seedScreeningWithSeats(auditoriumId);
+        Screening screening = seed.screening();
+        screening.setStartTime(endTime.minusHours(2));
+        screening.setEndTime(endTime);
+        screeningRepository.save(screening);
+        return seed;
+    }
+
+    private Booking book(DataSeeder.ScreeningSeedResult seed, User user, String bookingCode, String ticketCode) {
+        Screening screening = seed.screening();
+        return transactionTemplate.execute(status -> {
+            Booking booking = new Booking();
+            booking.setBookingCode(bookingCode);
+            booking.setCreatedOn(screening.getStartTime().minusDays(1));
+            booking.setBookingStatus(Booking.BookingStatus.PAID);
+            booking.setTotalPrice(100);
+            booking.setUser(user);
+            booking.setScreening(screening);
+            bookingRepository.save(booking);
+
+            Ticket ticket = new Ticket();
+            ticket.setStatus(Ticket.Status.ISSUED);
+            ticket.setTicketCode(ticketCode);
+            ticket.setMovie(screening.getMovie());
+            ticket.setAuditorium(screening.getAuditorium());
+            ticket.setScreening(screening);
+            ticket.setSeat(seed.targetSeat());
+            ticket.setBooking(booking);
+            ticketRepository.save(ticket);
+
+            Payment payment = new Payment();
+            payment.setTransactionId("TX-" + bookingCode);
+            payment.setPaymentDate(booking.getCreatedOn());
+            payment.setAmount(100);
+            payment.setPaymentMethod("CASH");
+            payment.setStatus(Payment.PaymentStatus.SUCCESS);
+            payment.setBooking(booking);
+            paymentRepository.save(payment);
+            eventPublisher.publishEvent(new BookingChangedEvent(booking.getId()));
+            return booking;
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.movie.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerformanceSettingsCheckTest {
+
+    private static StandardEnvironment environment(String... profiles) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(
+                new ResourcePropertySource(new ClassPathResource("application.properties")));
+        for (String profile : profiles) {
+            environment.getPropertySources().addFirst(
+                    new ResourcePropertySource(new ClassPathResource("application-" + profile + ".properties")));
+        }
+        environment.setActiveProfiles(profiles);
+        return environment;
+    }
+
+    @Test
+    void findSlowSettings_ShouldFlagDefaultDevelopmentSettings() throws IOException {
+        PerformanceSettingsCheck check = new PerformanceSettingsCheck(environment());
+
+        assertThat(check.findSlowSettings())
+                .anyMatch(finding -> finding.startsWith("spring.jpa.show-sql=true"))
+                .anyMatch(finding -> finding.startsWith("logging.level.org.springframework.security=DEBUG"))
+                .anyMatch(finding -> finding.contains("rewriteBatchedStatements"))
+                .anyMatch(finding -> finding.startsWith("hibernate.jdbc.batch_size"))
+                .noneMatch(finding -> finding.startsWith("app.diagnostics.query-count.headers"));
+    }
+
+    @Test
+    void findSlowSettings_ShouldFlagQueryCountHeaders_WhenEnabled() throws IOException {
+        StandardEnvironment environment = environment();
+        environment.getPropertySources().addFirst(new MapPropertySource("override",
+                Map.of("app.diagnostics.query-count.headers", "true")));
+        PerformanceSettingsCheck check = new PerformanceSettingsCheck(environment);
+
+        assertThat(check.findSlowSettings())
+                .anyMatch(finding -> finding.startsWith("app.diagnostics.query-count.headers=true"));
+    }
+
+    @Test
+    void findSlowSettings_ShouldBeEmpty_ForProdProfile() throws IOException {
+        PerformanceSettingsCheck check = new PerformanceSettingsCheck(environment("prod"));
+
+        assertThat(check.findSlowSettings()).isEmpty();
+    }
+}
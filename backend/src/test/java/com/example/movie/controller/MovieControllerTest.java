@@ -1,21 +1,27 @@
 package com.example.movie.controller;
 
+import com.example.movie.dto.movie.FacetCount;
+import com.example.movie.dto.movie.MovieFacetedSearchResponse;
 import com.example.movie.dto.movie.MovieResponse;
 import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.movie.MovieSuggestionResponse;
 import com.example.movie.dto.response.PageResponse;
 import com.example.movie.exception.InvalidId;
 import com.example.movie.service.MovieService;
+import com.example.movie.testutil.WebMvcSliceConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -23,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(MovieController.class)
+@Import(WebMvcSliceConfig.class)
 @AutoConfigureMockMvc(addFilters = false) // Disable security filters for simple controller test
 public class MovieControllerTest {
 
@@ -32,12 +39,6 @@ public class MovieControllerTest {
     @MockBean
     private MovieService movieService;
 
-    @MockBean
-    private org.springframework.security.oauth2.jwt.JwtDecoder jwtDecoder;
-
-    @MockBean
-    private com.example.movie.service.impl.CustomUserDetailsService customUserDetailsService;
-
     private MovieResponse movieResponse;
 
     @BeforeEach
@@ -89,4 +90,42 @@ public class MovieControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.content[0].title").value("Test Movie"));
     }
+
+    @Test
+    void suggestMovies_ShouldReturnSuggestions() throws Exception {
+        MovieSuggestionResponse suggestion = MovieSuggestionResponse.builder()
+                .text("Interstellar")
+                .type(MovieSuggestionResponse.SuggestionType.TITLE)
+                .movieId(5L)
+                .build();
+        when(movieService.suggestMovies("inter", 10)).thenReturn(List.of(suggestion));
+
+        mockMvc.perform(get("/api/v1/movies/suggest")
+                .param("q", "inter")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("Interstellar"))
+                .andExpect(jsonPath("$.data[0].type").value("TITLE"));
+    }
+
+    @Test
+    void searchMoviesWithFacets_ShouldReturnResultsAndFacets() throws Exception {
+        PageResponse<MovieResponse> page = new PageResponse<>();
+        page.setContent(Collections.emptyList());
+        MovieFacetedSearchResponse response = MovieFacetedSearchResponse.builder()
+                .results(page)
+                .genres(List.of(new FacetCount("Action", 3)))
+                .statuses(Collections.emptyList())
+                .years(Collections.emptyList())
+                .languages(Collections.emptyList())
+                .build();
+        when(movieService.searchMoviesWithFacets(any(MovieSearchRequest.class), any(Pageable.class))).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/movies/search")
+                .param("genre", "Action")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.genres[0].value").value("Action"))
+                .andExpect(jsonPath("$.data.genres[0].count").value(3));
+    }
 }
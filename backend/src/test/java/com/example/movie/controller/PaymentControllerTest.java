@@ -3,15 +3,15 @@ package com.example.movie.controller;
 import com.example.movie.dto.payment.PaymentConfirmRequest;
 import com.example.movie.dto.payment.PaymentResponse;
 import com.example.movie.service.PaymentService;
-import com.example.movie.service.impl.CustomUserDetailsService;
+import com.example.movie.testutil.WebMvcSliceConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,6 +22,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = PaymentController.class)
+@Import(WebMvcSliceConfig.class)
 @AutoConfigureMockMvc(addFilters = false)
 class PaymentControllerTest {
 
@@ -34,12 +35,6 @@ class PaymentControllerTest {
     @MockBean
     private PaymentService paymentService;
 
-    @MockBean
-    private JwtDecoder jwtDecoder;
-
-    @MockBean
-    private CustomUserDetailsService customUserDetailsService;
-
     @Test
     @WithMockUser(roles = "CUSTOMER")
     void confirmPayment_ShouldReturnApiResponse() throws Exception {
@@ -1,8 +1,14 @@
 package com.example.movie.controller;
 
+import com.example.movie.dto.screening.MovieShowtimesResponse;
+import com.example.movie.dto.screening.ScreeningImportError;
+import com.example.movie.dto.screening.ScreeningImportResponse;
 import com.example.movie.dto.screening.ScreeningResponse;
+import com.example.movie.dto.screening.ShowtimeResponse;
 import com.example.movie.model.Screening;
+import com.example.movie.service.ScreeningImportService;
 import com.example.movie.service.ScreeningService;
+import com.example.movie.testutil.WebMvcSliceConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -10,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -18,12 +25,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ScreeningController.class)
+@Import(WebMvcSliceConfig.class)
 @AutoConfigureMockMvc(addFilters = false) // Disable security for this test
 public class ScreeningControllerTest {
 
@@ -33,11 +43,8 @@ public class ScreeningControllerTest {
     @MockBean
     private ScreeningService screeningService;
 
-    // Mock beans for security dependencies usually required by @WebMvcTest
     @MockBean
-    private org.springframework.security.oauth2.jwt.JwtDecoder jwtDecoder;
-    @MockBean
-    private com.example.movie.service.impl.CustomUserDetailsService customUserDetailsService;
+    private ScreeningImportService screeningImportService;
 
     private ScreeningResponse screening1;
     private ScreeningResponse screening2;
@@ -98,4 +105,47 @@ public class ScreeningControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").isEmpty());
     }
+
+    @Test
+    void getTodayShowtimes_ShouldReturnShowtimesGroupedByMovie() throws Exception {
+        ShowtimeResponse showtime = ShowtimeResponse.builder()
+                .screeningId(7L)
+                .startTime(LocalDateTime.now().plusHours(2))
+                .movieId(1L)
+                .movieTitle("Avengers: Endgame")
+                .auditoriumId(3L)
+                .remainingSeats(42)
+                .build();
+        MovieShowtimesResponse movie = MovieShowtimesResponse.builder()
+                .movieId(1L)
+                .movieTitle("Avengers: Endgame")
+                .showtimes(List.of(showtime))
+                .build();
+        Mockito.when(screeningService.getTodayShowtimes()).thenReturn(List.of(movie));
+
+        mockMvc.perform(get("/api/v1/screenings/today")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].movieTitle").value("Avengers: Endgame"))
+                .andExpect(jsonPath("$.data[0].showtimes[0].screeningId").value(7))
+                .andExpect(jsonPath("$.data[0].showtimes[0].remainingSeats").value(42));
+    }
+
+    @Test
+    void importScreenings_ShouldReturnRowErrors_WhenBatchInvalid() throws Exception {
+        ScreeningImportResponse response = ScreeningImportResponse.builder()
+                .totalRows(2)
+                .importedRows(0)
+                .screeningIds(Collections.emptyList())
+                .errors(List.of(new ScreeningImportError(2, "Overlaps row 1 in auditorium 1")))
+                .build();
+        Mockito.when(screeningImportService.importScreenings(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/screenings/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"movieId\":1,\"auditoriumId\":1},{\"movieId\":1,\"auditoriumId\":1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_SCREENING_IMPORT"))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2));
+    }
 }
@@ -0,0 +1,176 @@
+package com.example.movie.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hai DB H2 độc lập đóng vai primary và replica, mỗi DB có một dòng đánh dấu để biết kết nối đi đâu.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica_AndWritesThePrimary() {
+        TransactionTemplates tx = routing(monitor("SELECT 0 AS Seconds_Behind_Source"));
+
+        assertThat(tx.read(true)).isEqualTo("replica");
+        assertThat(tx.read(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_RightAfterOwnWrite() {
+        TransactionTemplates tx = routing(monitor("SELECT 0 AS Seconds_Behind_Source"));
+
+        login("alice");
+        tx.write();
+        assertThat(tx.read(true)).isEqualTo("primary");
+
+        login("bob");
+        assertThat(tx.read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void indexRebuildAfterWrite_ShouldSeeTheWrite_OnItsOwnThread() throws Exception {
+        TransactionTemplates tx = routing(monitor("SELECT 0 AS Seconds_Behind_Source"));
+        login("admin");
+        tx.write();
+
+        // Thread rebuild không có SecurityContext của admin; replica ở đây không bao giờ nhận được thay đổi
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(rebuilder.submit(tx::readUpdated).get()).isZero();
+
+            AtomicInteger seen = new AtomicInteger(-1);
+            rebuilder.submit(() -> ReplicaRoutingDataSource.onPrimary(() -> seen.set(tx.readUpdated()))).get();
+            assertThat(seen).hasValue(1);
+            assertThat(rebuilder.submit(tx::readUpdated).get()).isZero();
+        } finally {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackWrite_ShouldNotPinUser() {
+        TransactionTemplates tx = routing(monitor("SELECT 0 AS Seconds_Behind_Source"));
+
+        login("alice");
+        tx.writeAndRollback();
+
+        assertThat(tx.read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldFallBackToPrimary_WhenReplicaLags() {
+        ReplicaLagMonitor monitor = monitor("SELECT 30 AS Seconds_Behind_Source");
+        TransactionTemplates tx = routing(monitor);
+
+        assertThat(monitor.isHealthy()).isFalse();
+        assertThat(monitor.lagSeconds()).isEqualTo(30);
+        assertThat(tx.read(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldFallBackToPrimary_WhenReplicationStoppedOrCheckFails() {
+        ReplicaLagMonitor stopped = monitor("SELECT CAST(NULL AS BIGINT) AS Seconds_Behind_Source");
+        ReplicaLagMonitor failing = monitor("SELECT missing_column FROM marker");
+
+        assertThat(stopped.isHealthy()).isFalse();
+        assertThat(routing(stopped).read(true)).isEqualTo("primary");
+        assertThat(failing.isHealthy()).isFalse();
+        assertThat(routing(failing).read(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica_WhenLagQueryReturnsNoRow() {
+        // SHOW REPLICA STATUS không trả dòng nào: DB đọc độc lập, coi như không trễ
+        ReplicaLagMonitor monitor = monitor("SELECT 0 AS Seconds_Behind_Source FROM marker WHERE 1 = 0");
+
+        assertThat(monitor.isHealthy()).isTrue();
+        assertThat(routing(monitor).read(true)).isEqualTo("replica");
+    }
+
+    private ReplicaLagMonitor monitor(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 2, lagQuery);
+        monitor.check();
+        return monitor;
+    }
+
+    private TransactionTemplates routing(ReplicaLagMonitor monitor) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, monitor, readYourWrites));
+        return new TransactionTemplates(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(username, null, "ROLE_USER"));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20), updated INT)");
+        jdbcTemplate.update("INSERT INTO marker (name, updated) VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private record TransactionTemplates(JdbcTemplate jdbcTemplate, DataSourceTransactionManager transactionManager) {
+
+        String read(boolean readOnly) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(readOnly);
+            return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        int readUpdated() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template.execute(status -> jdbcTemplate.queryForObject("SELECT updated FROM marker", Integer.class));
+        }
+
+        void write() {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> jdbcTemplate.update("UPDATE marker SET updated = updated + 1"));
+        }
+
+        void writeAndRollback() {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE marker SET updated = updated + 1");
+                status.setRollbackOnly();
+            });
+        }
+    }
+}
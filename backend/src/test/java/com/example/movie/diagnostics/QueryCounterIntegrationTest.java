@@ -0,0 +1,60 @@
+package com.example.movie.diagnostics;
+
+import com.example.movie.model.Screening;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.testutil.DataSeeder;
+import com.example.movie.testutil.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryCounterIntegrationTest {
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void fetchJoin_ShouldLoadScreeningsInOneStatement() {
+        IntStream.range(0, 3).forEach(i -> dataSeeder.seedScreeningWithSeats(700_000 + i));
+        LocalDateTime now = LocalDateTime.now();
+
+        QueryCounter.Stats stats = QueryBudget.assertStatementsAtMost(1, () -> transactionTemplate.executeWithoutResult(
+                status -> screeningRepository.findActiveWithMovieAndAuditoriumBetween(now, now.plusHours(2))
+                        .forEach(screening -> screening.getMovie().getTitle())));
+
+        assertThat(stats.entities()).isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    void lazyMovies_ShouldShowUpAsRepeatedStatement() {
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> dataSeeder.seedScreeningWithSeats(710_000 + i).screening().getId())
+                .toList();
+
+        // Mỗi screening kéo movie bằng một SELECT riêng: 1 + 3
+        QueryCounter.Stats stats = QueryBudget.measure(() -> transactionTemplate.executeWithoutResult(
+                status -> screeningRepository.findAllById(ids).stream()
+                        .map(Screening::getMovie)
+                        .forEach(movie -> movie.getTitle())));
+
+        assertThat(stats.statements()).isEqualTo(4);
+        assertThat(stats.maxRepeats()).isEqualTo(3);
+        assertThat(stats.mostRepeated()).containsIgnoringCase("movie");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.movie.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsTest {
+
+    private static QueryCounter.Stats run(String... statements) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            for (String sql : statements) {
+                QueryCounter.statementPrepared(sql);
+            }
+            return scope.stats();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void report_ShouldRankEndpointsByAverageStatements() {
+        QueryStats queryStats = new QueryStats(2);
+        queryStats.record("GET /api/v1/movies", run("select m"), false);
+        queryStats.record("GET /api/v1/screenings", run("select s", "select m", "select m", "select m"), true);
+        queryStats.record("GET /api/v1/screenings", run("select s", "select m"), false);
+        queryStats.record("GET /api/v1/seats/screening/{id}", run("select seat", "select t"), false);
+
+        Map<String, Object> report = queryStats.report();
+
+        assertThat(report.get("trackedEndpoints")).isEqualTo(3);
+        List<Map<String, Object>> worst = (List<Map<String, Object>>) report.get("worstEndpoints");
+        assertThat(worst).extracting(row -> row.get("endpoint"))
+                .containsExactly("GET /api/v1/screenings", "GET /api/v1/seats/screening/{id}");
+        assertThat(worst.get(0))
+                .containsEntry("requests", 2L)
+                .containsEntry("avgStatements", 3.0)
+                .containsEntry("maxStatements", 4L)
+                .containsEntry("nPlusOneSuspects", 1L)
+                .containsEntry("lastRepeatedSql", "select m");
+    }
+
+    @Test
+    void nestedScope_ShouldAddToOuterScope() {
+        try (QueryCounter.Scope outer = QueryCounter.open()) {
+            QueryCounter.statementPrepared("select m");
+            QueryCounter.Stats inner = run("select m", "select m");
+
+            assertThat(inner.statements()).isEqualTo(2);
+            assertThat(outer.stats().statements()).isEqualTo(3);
+            assertThat(outer.stats().maxRepeats()).isEqualTo(3);
+        }
+        // Ngoài scope thì không đếm
+        QueryCounter.statementPrepared("select m");
+    }
+}
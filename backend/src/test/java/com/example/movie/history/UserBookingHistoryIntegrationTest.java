@@ -0,0 +1,135 @@
+package com.example.movie.history;
+
+import com.example.movie.dto.booking.BookingResponse;
+import com.example.movie.dto.booking.CreateBookingRequest;
+import com.example.movie.dto.payment.PaymentConfirmRequest;
+import com.example.movie.dto.response.CursorPageResponse;
+import com.example.movie.dto.screening.PatchScreening;
+import com.example.movie.exception.InvalidCursorException;
+import com.example.movie.model.*;
+import com.example.movie.repository.SeatRepository;
+import com.example.movie.repository.UserRepository;
+import com.example.movie.service.BookingService;
+import com.example.movie.service.PaymentService;
+import com.example.movie.service.ScreeningService;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserBookingHistoryIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ScreeningService screeningService;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void history_ShouldFollowBookingPaymentAndScreeningChanges() {
+        User user = login("history-user");
+        Screening screening = dataSeeder.seedScreeningWithSeats(730_000).screening();
+        List<Seat> seats = seatRepository.findByAuditoriumId(screening.getAuditorium().getId());
+
+        BookingResponse paid = book(screening, seats.get(0));
+        BookingResponse cancelled = book(screening, seats.get(1));
+        BookingResponse pending = book(screening, seats.get(2));
+
+        Long paymentId = paymentService.confirmPayment(payment(paid.getId())).getId();
+        paymentService.completePayment(paymentId, "SUCCESS");
+        paymentService.confirmPayment(payment(cancelled.getId()));
+        bookingService.cancelBooking(cancelled.getId());
+
+        PatchScreening patch = new PatchScreening();
+        patch.setFormat(Screening.Format.IMAX);
+        screeningService.updateScreening(screening.getId(), patch);
+
+        CursorPageResponse<BookingResponse> first = bookingService.getBookingsByUserId(user.getId(), null, 2);
+        assertThat(first.isHasNext()).isTrue();
+        CursorPageResponse<BookingResponse> second =
+                bookingService.getBookingsByUserId(user.getId(), first.getNextCursor(), 2);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+
+        List<BookingResponse> history = new ArrayList<>(first.getContent());
+        history.addAll(second.getContent());
+        assertThat(history).extracting(BookingResponse::getId)
+                .containsExactly(pending.getId(), cancelled.getId(), paid.getId());
+        assertThat(history).extracting(booking -> booking.getScreening().getFormat())
+                .containsOnly(Screening.Format.IMAX);
+
+        BookingResponse paidRow = history.get(2);
+        assertThat(paidRow.getBookingStatus()).isEqualTo(Booking.BookingStatus.PAID);
+        assertThat(paidRow.getTickets()).singleElement()
+                .satisfies(ticket -> assertThat(ticket.getStatus()).isEqualTo(Ticket.Status.ISSUED));
+        assertThat(paidRow.getSeats()).singleElement()
+                .satisfies(seat -> assertThat(seat.getId()).isEqualTo(seats.get(0).getId()));
+
+        // Huỷ thì vé trả về kho, lịch sử không còn ghế
+        BookingResponse cancelledRow = history.get(1);
+        assertThat(cancelledRow.getBookingStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
+        assertThat(cancelledRow.getTickets()).isEmpty();
+
+        assertThat(history.get(0).getBookingStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(history.get(0).getScreening().getMovie().getTitle())
+                .isEqualTo(screening.getMovie().getTitle());
+    }
+
+    @Test
+    void history_ShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> bookingService.getBookingsByUserId(1L, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private User login(String username) {
+        dataSeeder.seedUser(username);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    private BookingResponse book(Screening screening, Seat seat) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setScreeningId(screening.getId());
+        request.setSeatIds(List.of(seat.getId()));
+        request.setTotalPrice(100f);
+        return bookingService.createBooking(request);
+    }
+
+    private static PaymentConfirmRequest payment(Long bookingId) {
+        PaymentConfirmRequest request = new PaymentConfirmRequest();
+        request.setBookingId(bookingId);
+        request.setPaymentMethod("CASH");
+        return request;
+    }
+}
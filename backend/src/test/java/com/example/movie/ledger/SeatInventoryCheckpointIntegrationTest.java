@@ -0,0 +1,135 @@
+package com.example.movie.ledger;
+
+import com.example.movie.dto.booking.CreateBookingRequest;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Seat;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.SeatRepository;
+import com.example.movie.service.BookingService;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Job nền không chạy trong lúc test để state khôi phục không bị maintain() bỏ hay file bị ghi đè
+@SpringBootTest(properties = {
+        "app.inventory.file.enabled=true",
+        "app.inventory.file.write-interval-ms=3600000",
+        "app.ledger.warmup-delay-ms=3600000"
+})
+@ActiveProfiles("test")
+class SeatInventoryCheckpointIntegrationTest {
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void inventoryFile(DynamicPropertyRegistry registry) {
+        registry.add("app.inventory.file.path", () -> dir.resolve("seat-inventory.bin").toString());
+    }
+
+    @Autowired
+    private SeatInventoryCheckpoint seatInventoryCheckpoint;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void restore_ShouldServeFileStateAndCatchUpWithTheLedger() {
+        login("inventory-user");
+        Screening screening = dataSeeder.seedScreeningWithSeats(750_000).screening();
+        List<Seat> seats = seatRepository.findByAuditoriumId(screening.getAuditorium().getId());
+
+        book(screening, seats.get(0));
+        assertThat(seatLedger.current(screening.getId()).lastSeq()).isEqualTo(1);
+        seatInventoryCheckpoint.write();
+
+        // Đặt thêm sau lần ghi file rồi "khởi động lại"
+        book(screening, seats.get(1));
+        seatLedger.clear();
+
+        List<ScreeningSeatState> behind = seatInventoryCheckpoint.restore();
+        ScreeningSeatState restored = seatLedger.state(screening.getId());
+        assertThat(behind).contains(restored);
+        assertThat(restored.lastSeq()).isEqualTo(1);
+        assertThat(restored.seats()).isEqualTo(Map.of(seats.get(0).getId(), Ticket.Status.BOOKED));
+
+        seatInventoryCheckpoint.reconcile(behind);
+        assertThat(seatLedger.state(screening.getId()).lastSeq()).isEqualTo(2);
+        assertThat(seatLedger.state(screening.getId()).seats()).isEqualTo(Map.of(
+                seats.get(0).getId(), Ticket.Status.BOOKED,
+                seats.get(1).getId(), Ticket.Status.BOOKED));
+    }
+
+    @Test
+    void file_ShouldRoundTripBitmapsAndRejectCorruptedBody() throws Exception {
+        Path file = dir.resolve("round-trip.bin");
+        Map<Long, Ticket.Status> seats = Map.of(
+                1_000L, Ticket.Status.BOOKED,
+                1_001L, Ticket.Status.ISSUED,
+                1_130L, Ticket.Status.USED,
+                1_131L, Ticket.Status.CANCELLED);
+        List<ScreeningSeatState.View> views = List.of(
+                new ScreeningSeatState.View(7L, 42, seats),
+                new ScreeningSeatState.View(8L, 0, Map.of()),
+                // Trải quá MAX_SPAN: không ghi
+                new ScreeningSeatState.View(9L, 3, Map.of(
+                        1L, Ticket.Status.BOOKED, 2L + SeatInventoryFile.MAX_SPAN, Ticket.Status.BOOKED)));
+
+        assertThat(SeatInventoryFile.write(file, views, 1L)).isEqualTo(2);
+        assertThat(SeatInventoryFile.read(file)).hasValueSatisfying(restored -> assertThat(restored).containsExactly(
+                new SeatInventoryFile.Restored(7L, 42, seats),
+                new SeatInventoryFile.Restored(8L, 0, Map.of())));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), SeatInventoryFile.HEADER_BYTES + 40);
+        }
+        assertThat(SeatInventoryFile.read(file)).isEmpty();
+        assertThat(SeatInventoryFile.read(dir.resolve("missing.bin"))).isEmpty();
+    }
+
+    private void login(String username) {
+        dataSeeder.seedUser(username);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+
+    private void book(Screening screening, Seat seat) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setScreeningId(screening.getId());
+        request.setSeatIds(List.of(seat.getId()));
+        request.setTotalPrice(100f);
+        bookingService.createBooking(request);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.movie.ledger;
+
+import com.example.movie.dto.booking.BookingResponse;
+import com.example.movie.dto.booking.CreateBookingRequest;
+import com.example.movie.dto.payment.PaymentConfirmRequest;
+import com.example.movie.model.*;
+import com.example.movie.repository.SeatLedgerEntryRepository;
+import com.example.movie.repository.SeatLedgerSnapshotRepository;
+import com.example.movie.repository.SeatRepository;
+import com.example.movie.repository.TicketRepository;
+import com.example.movie.service.BookingService;
+import com.example.movie.service.PaymentService;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class SeatLedgerIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private SeatLedger seatLedger;
+
+    @Autowired
+    private SeatLedgerEntryRepository seatLedgerEntryRepository;
+
+    @Autowired
+    private SeatLedgerSnapshotRepository seatLedgerSnapshotRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ledger_ShouldRecordSeatChangesInCommitOrderAndRecoverFromSnapshotPlusTail() {
+        login("ledger-user");
+        Screening screening = dataSeeder.seedScreeningWithSeats(740_000).screening();
+        List<Seat> seats = seatRepository.findByAuditoriumId(screening.getAuditorium().getId());
+
+        // Suất chiếu chưa có snapshot: dựng từ bảng ticket ở seq 0, chỉ đọc; snapshot do maintain() ghi
+        ScreeningSeatState state = seatLedger.state(screening.getId());
+        assertThat(state.lastSeq()).isZero();
+        assertThat(seatLedgerSnapshotRepository.findById(screening.getId())).isEmpty();
+        seatLedger.maintain();
+        assertThat(seatLedgerSnapshotRepository.findById(screening.getId()))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.getLastSeq()).isZero());
+
+        BookingResponse paid = book(screening, seats.get(0), seats.get(1));
+        BookingResponse cancelled = book(screening, seats.get(2));
+        Long paymentId = paymentService.confirmPayment(payment(paid.getId())).getId();
+        paymentService.completePayment(paymentId, "SUCCESS");
+        paymentService.confirmPayment(payment(cancelled.getId()));
+        bookingService.cancelBooking(cancelled.getId());
+
+        List<SeatLedgerEntry> entries = seatLedgerEntryRepository.findTail(screening.getId(), 0);
+        assertThat(entries).extracting(SeatLedgerEntry::getSeq).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(entries).extracting(SeatLedgerEntry::getType).containsExactly(
+                SeatLedgerEntry.Type.CLAIM, SeatLedgerEntry.Type.CLAIM, SeatLedgerEntry.Type.CLAIM,
+                SeatLedgerEntry.Type.ISSUE, SeatLedgerEntry.Type.ISSUE, SeatLedgerEntry.Type.RELEASE);
+        assertThat(entries.get(5).getBookingId()).isEqualTo(cancelled.getId());
+
+        Map<Long, Ticket.Status> expected = Map.of(
+                seats.get(0).getId(), Ticket.Status.ISSUED,
+                seats.get(1).getId(), Ticket.Status.ISSUED);
+        // Sau commit entry được áp vào state trong bộ nhớ (lấy lại phòng khi maintain() đã bỏ state khỏi map)
+        ScreeningSeatState current = seatLedger.state(screening.getId());
+        assertThat(current.lastSeq()).isEqualTo(6);
+        assertThat(current.seats()).isEqualTo(expected);
+
+        // Khởi động lại: snapshot seq 0 + 6 entry
+        ScreeningSeatState recovered = seatLedger.recover(screening.getId());
+        assertThat(recovered.lastSeq()).isEqualTo(6);
+        assertThat(recovered.seats()).isEqualTo(expected);
+    }
+
+    @Test
+    void current_ShouldRebuildFromTickets_WhenTicketChangedOutsideTheRecorder() {
+        login("ledger-bypass-user");
+        Screening screening = dataSeeder.seedScreeningWithSeats(740_001).screening();
+        Seat seat = seatRepository.findByAuditoriumId(screening.getAuditorium().getId()).get(0);
+        BookingResponse booking = book(screening, seat);
+        Long paymentId = paymentService.confirmPayment(payment(booking.getId())).getId();
+        paymentService.completePayment(paymentId, "SUCCESS");
+        assertThat(seatLedger.current(screening.getId()).status(seat.getId())).isEqualTo(Ticket.Status.ISSUED);
+
+        // Check-in ghi thẳng vào bảng ticket, không có entry trong ledger
+        Ticket ticket = ticketRepository.findByScreeningIdAndSeatId(screening.getId(), seat.getId());
+        ticket.setStatus(Ticket.Status.USED);
+        ticketRepository.save(ticket);
+
+        ReflectionTestUtils.setField(seatLedger, "verifyIntervalMs", 0L);
+        try {
+            ScreeningSeatState current = seatLedger.current(screening.getId());
+            assertThat(current.status(seat.getId())).isEqualTo(Ticket.Status.USED);
+            assertThat(seatLedger.state(screening.getId())).isSameAs(current);
+        } finally {
+            ReflectionTestUtils.setField(seatLedger, "verifyIntervalMs", 5000L);
+        }
+    }
+
+    @Test
+    void encode_ShouldRoundTripSeatStates() {
+        ScreeningSeatState state = new ScreeningSeatState(1L, 42, 42);
+        state.set(3L, Ticket.Status.BOOKED);
+        state.set(4L, Ticket.Status.ISSUED);
+        state.set(1_000_000L, Ticket.Status.USED);
+        state.set(5L, Ticket.Status.BOOKED);
+        state.set(5L, Ticket.Status.AVAILABLE);
+
+        ScreeningSeatState.Encoded encoded = state.encode();
+        ScreeningSeatState decoded = ScreeningSeatState.decode(1L, encoded.lastSeq(), encoded.state());
+
+        assertThat(encoded.seatCount()).isEqualTo(3);
+        assertThat(decoded.lastSeq()).isEqualTo(42);
+        assertThat(decoded.seats()).isEqualTo(state.seats());
+        assertThat(decoded.status(5L)).isEqualTo(Ticket.Status.AVAILABLE);
+    }
+
+    private void login(String username) {
+        dataSeeder.seedUser(username);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+
+    private BookingResponse book(Screening screening, Seat... seats) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setScreeningId(screening.getId());
+        request.setSeatIds(Arrays.stream(seats).map(Seat::getId).toList());
+        request.setTotalPrice(100f);
+        return bookingService.createBooking(request);
+    }
+
+    private static PaymentConfirmRequest payment(Long bookingId) {
+        PaymentConfirmRequest request = new PaymentConfirmRequest();
+        request.setBookingId(bookingId);
+        request.setPaymentMethod("CASH");
+        return request;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.movie.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void doFilter_ShouldReuseClientIdAndClearMdcAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/confirm");
+        request.addHeader(CorrelationIdFilter.HEADER, "checkout-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+            }
+        });
+
+        assertThat(seen.get()).isEqualTo("checkout-42");
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo("checkout-42");
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldGenerateId_WhenHeaderMissingOrUnsafe() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/movies");
+        request.addHeader(CorrelationIdFilter.HEADER, "bad id\nforged=1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER))
+                .isNotBlank()
+                .doesNotContain("forged");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.movie.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplerTest {
+
+    @AfterEach
+    void tearDown() {
+        LogSampler.configure(Map.of());
+        MDC.clear();
+    }
+
+    @Test
+    void sample_ShouldKeepEverything_ForUnconfiguredCategory() {
+        assertThat(IntStream.range(0, 1000).allMatch(i -> LogSampler.sample("booking"))).isTrue();
+    }
+
+    @Test
+    void sample_ShouldKeepRoughlyTheConfiguredRate() {
+        LogSampler.configure(Map.of("auth", 0.1, "off", 0.0));
+
+        long kept = IntStream.range(0, 100_000).filter(i -> LogSampler.sample("auth")).count();
+
+        assertThat(kept).isBetween(9_000L, 11_000L);
+        assertThat(LogSampler.sample("off")).isFalse();
+    }
+
+    @Test
+    void sample_ShouldDecideOncePerCorrelationId() {
+        LogSampler.configure(Map.of("auth", 0.5));
+        MDC.put(CorrelationIdFilter.MDC_KEY, "request-1");
+
+        boolean first = LogSampler.sample("auth");
+
+        assertThat(IntStream.range(0, 100).allMatch(i -> LogSampler.sample("auth") == first)).isTrue();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.movie.performance;
+
+import com.example.movie.model.User;
+import com.example.movie.repository.UserRepository;
+import com.example.movie.security.SecurityUtil;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test thay cho các script k6 trong {@code performance/}: khởi động app trên port ngẫu nhiên,
+ * seed dữ liệu, rồi bắn request với tốc độ cố định (open model) cho sơ đồ ghế, tìm kiếm, login và
+ * đặt vé. Fail khi tỉ lệ lỗi quá 1%, p99 vượt ngân sách, hoặc p99 tăng quá ngưỡng so với lần chạy trước.
+ *
+ * <pre>
+ * ./mvnw test -Dtest=LoadTest -Dloadtest=true
+ * ./mvnw test -Dtest=LoadTest -Dloadtest=true -Dloadtest.db=mysql -Dloadtest.duration-seconds=60
+ * ./mvnw test -Dtest=LoadTest -Dloadtest=true -Dloadtest.baseline=target/loadtest/summary.properties
+ * </pre>
+ *
+ * Mỗi kịch bản chỉnh được bằng {@code -Dloadtest.<tên>.rate} và {@code -Dloadtest.<tên>.p99-budget-ms}.
+ * Kết quả ghi ra {@code target/loadtest}: {@code summary.properties} (dùng làm baseline) và phân phối
+ * độ trễ đầy đủ dạng .hgrm cho từng kịch bản.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class LoadTest {
+    private static final Path OUTPUT = Path.of("target", "loadtest");
+    private static final String PASSWORD = "LoadTest@123";
+    private static final int LOGIN_USERS = 200;
+    private static final int SEAT_MAP_SCREENINGS = 10;
+    private static final List<String> SEARCH_TERMS =
+            List.of("Avengers", "Movie Title 1", "title 42", "age of", "movie", "Title 999");
+
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private final double maxRegression = Double.parseDouble(System.getProperty("loadtest.max-regression", "0.2"));
+
+    @Test
+    void openModelScenarios() throws Exception {
+        MySQLContainer<?> mysql = null;
+        if ("mysql".equals(System.getProperty("loadtest.db"))) {
+            mysql = new MySQLContainer<>("mysql:8.0");
+            mysql.start();
+        }
+
+        List<OpenModelLoad.Result> results = new ArrayList<>();
+        List<OpenModelLoad.Scenario> scenarios;
+        try (ConfigurableApplicationContext context = PerfApplication.start(properties(mysql), "test");
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+
+            scenarios = scenarios(context, baseUrl);
+            for (OpenModelLoad.Scenario scenario : scenarios) {
+                OpenModelLoad.run(client, scenario, 0, warmup);
+                results.add(OpenModelLoad.run(client, scenario, scenario.requests(warmup), duration));
+            }
+        } finally {
+            if (mysql != null) {
+                mysql.stop();
+            }
+        }
+
+        print(results);
+        Properties baseline = loadBaseline();
+        write(results);
+
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            OpenModelLoad.Result result = results.get(i);
+            double p99 = result.percentileMillis(99.0);
+            if (result.errorRate() > 0.01) {
+                failures.add(result.name() + ": " + result.errors() + "/" + result.requests() + " requests failed");
+            }
+            long budget = scenarios.get(i).p99BudgetMillis();
+            if (p99 > budget) {
+                failures.add(String.format("%s: p99 %.1f ms over budget %d ms", result.name(), p99, budget));
+            }
+            String previous = baseline.getProperty(result.name() + ".p99-ms");
+            if (previous != null && p99 > Double.parseDouble(previous) * (1 + maxRegression)) {
+                failures.add(String.format("%s: p99 %.1f ms regressed more than %.0f%% from baseline %s ms",
+                        result.name(), p99, maxRegression * 100, previous));
+            }
+        }
+        Assertions.assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private List<OpenModelLoad.Scenario> scenarios(ConfigurableApplicationContext context, String baseUrl) {
+        DataSeeder dataSeeder = context.getBean(DataSeeder.class);
+        dataSeeder.seedMovies(Integer.getInteger("loadtest.movies", 10_000));
+
+        dataSeeder.seedUser("load-booker");
+        User booker = context.getBean(UserRepository.class).findByUsername("load-booker").orElseThrow();
+        String token = context.getBean(SecurityUtil.class).createAccessToken(booker);
+
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        dataSeeder.seedUsers("load-user-", LOGIN_USERS, encodedPassword);
+
+        List<Long> seatMapScreenings = new ArrayList<>();
+        for (int i = 0; i < SEAT_MAP_SCREENINGS; i++) {
+            seatMapScreenings.add(dataSeeder.seedScreeningWithSeats(800_000 + i).screening().getId());
+        }
+
+        int bookingRate = rate("booking", 50);
+        // Mỗi request đặt một ghế riêng, kể cả trong lúc warmup
+        List<DataSeeder.BookableSeat> seats = dataSeeder.seedBookableSeats(
+                bookingRate * (int) (warmup.toSeconds() + duration.toSeconds()), 810_000);
+
+        return List.of(
+                new OpenModelLoad.Scenario("seat-map", rate("seat-map", 200), budget("seat-map", 200),
+                        i -> HttpRequest.newBuilder()
+                                .uri(URI.create(baseUrl + "/api/v1/seats/screening/"
+                                        + seatMapScreenings.get(i % seatMapScreenings.size())))
+                                .header("Authorization", "Bearer " + token)
+                                .GET()),
+                new OpenModelLoad.Scenario("search", rate("search", 200), budget("search", 200),
+                        i -> HttpRequest.newBuilder()
+                                .uri(URI.create(baseUrl + "/api/v1/movies?page=0&size=10&search="
+                                        + URLEncoder.encode(SEARCH_TERMS.get(i % SEARCH_TERMS.size()),
+                                        StandardCharsets.UTF_8)))
+                                .GET()),
+                // BCrypt chiếm phần lớn thời gian nên tốc độ thấp hơn các kịch bản khác
+                new OpenModelLoad.Scenario("login", rate("login", 20), budget("login", 1000),
+                        i -> HttpRequest.newBuilder()
+                                .uri(URI.create(baseUrl + "/api/v1/auth/login"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"load-user-" + (i % LOGIN_USERS)
+                                        + "\",\"password\":\"" + PASSWORD + "\"}"))),
+                new OpenModelLoad.Scenario("booking", bookingRate, budget("booking", 500),
+                        i -> {
+                            DataSeeder.BookableSeat seat = seats.get(i);
+                            return HttpRequest.newBuilder()
+                                    .uri(URI.create(baseUrl + "/api/v1/bookings"))
+                                    .header("Authorization", "Bearer " + token)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"screeningId\":" + seat.screeningId()
+                                            + ",\"seatIds\":[" + seat.seatId() + "],\"totalPrice\":100}"));
+                        }));
+    }
+
+    private static int rate(String scenario, int defaultRate) {
+        return Integer.getInteger("loadtest." + scenario + ".rate", defaultRate);
+    }
+
+    private static long budget(String scenario, long defaultMillis) {
+        return Long.getLong("loadtest." + scenario + ".p99-budget-ms", defaultMillis);
+    }
+
+    private static Map<String, String> properties(MySQLContainer<?> mysql) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        // Kịch bản login bắn nhiều request từ cùng một IP
+        properties.put("app.security.login.rate-limit.enabled", "false");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        if (mysql != null) {
+            properties.put("spring.datasource.url", mysql.getJdbcUrl());
+            properties.put("spring.datasource.driver-class-name", "com.mysql.cj.jdbc.Driver");
+            properties.put("spring.datasource.username", mysql.getUsername());
+            properties.put("spring.datasource.password", mysql.getPassword());
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL");
+        }
+        return properties;
+    }
+
+    private static void print(List<OpenModelLoad.Result> results) {
+        System.out.println("Open-model load test:");
+        System.out.printf("%-9s %8s %9s %9s %9s %9s %9s %7s%n",
+                "scenario", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "requests", "errors");
+        for (OpenModelLoad.Result result : results) {
+            System.out.printf("%-9s %8.1f %9.1f %9.1f %9.1f %9.1f %9d %7d%n",
+                    result.name(), result.achievedRate(), result.percentileMillis(50.0),
+                    result.percentileMillis(95.0), result.percentileMillis(99.0),
+                    result.latencyMicros().getMaxValue() / 1000.0, result.requests(), result.errors());
+        }
+    }
+
+    private Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        String path = System.getProperty("loadtest.baseline");
+        if (path != null) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                baseline.load(in);
+            }
+        }
+        return baseline;
+    }
+
+    private static void write(List<OpenModelLoad.Result> results) throws IOException {
+        Files.createDirectories(OUTPUT);
+        Properties summary = new Properties();
+        for (OpenModelLoad.Result result : results) {
+            summary.setProperty(result.name() + ".rate", String.format(Locale.ROOT, "%.1f", result.achievedRate()));
+            summary.setProperty(result.name() + ".p50-ms", String.format(Locale.ROOT, "%.3f", result.percentileMillis(50.0)));
+            summary.setProperty(result.name() + ".p99-ms", String.format(Locale.ROOT, "%.3f", result.percentileMillis(99.0)));
+            summary.setProperty(result.name() + ".errors", String.valueOf(result.errors()));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(OUTPUT.resolve(result.name() + ".hgrm")))) {
+                // Đơn vị ghi là micro giây, chia 1000 để file .hgrm hiển thị mili giây
+                result.latencyMicros().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (OutputStream out = Files.newOutputStream(OUTPUT.resolve("summary.properties"))) {
+            summary.store(out, "LoadTest results, usable as -Dloadtest.baseline");
+        }
+    }
+}
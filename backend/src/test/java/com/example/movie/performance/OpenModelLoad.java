@@ -0,0 +1,85 @@
+package com.example.movie.performance;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model load: requests start at a fixed rate whether or not earlier ones have finished,
+ * each on its own virtual thread. Latency is measured from the time a request was due, not from
+ * when it was actually sent, so a stalled server shows up in the percentiles instead of silently
+ * lowering the request rate (coordinated omission).
+ */
+final class OpenModelLoad {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private OpenModelLoad() {
+    }
+
+    /**
+     * @param request builds the {@code i}-th request; {@code i} counts from 0 across warmup and measurement
+     */
+    record Scenario(String name, int ratePerSecond, long p99BudgetMillis, IntFunction<HttpRequest.Builder> request) {
+
+        int requests(Duration duration) {
+            return (int) (ratePerSecond * duration.toSeconds());
+        }
+    }
+
+    record Result(String name, int requests, int errors, double achievedRate, Histogram latencyMicros) {
+
+        double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0.0 : (double) errors / requests;
+        }
+    }
+
+    static Result run(HttpClient client, Scenario scenario, int firstIndex, Duration duration) throws InterruptedException {
+        int requests = scenario.requests(duration);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+        Histogram latency = new ConcurrentHistogram(3);
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                HttpRequest request = scenario.request().apply(firstIndex + i).timeout(REQUEST_TIMEOUT).build();
+                senders.submit(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        errors.incrementAndGet();
+                        Thread.currentThread().interrupt();
+                    }
+                    latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(scenario.name(), requests, errors.get(), requests * 1e9 / elapsed, latency);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.movie.performance;
+
+import com.example.movie.MovieApplication;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Starts the app for load tests and benchmarks. Overrides are passed as command-line arguments:
+ * {@code SpringApplicationBuilder.properties(...)} only sets defaults, which application*.properties
+ * (the shared H2 of the test profile, the login rate limit...) silently win over.
+ */
+final class PerfApplication {
+
+    private PerfApplication() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, String> properties, String... profiles) {
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieApplication.class)
+                .profiles(profiles)
+                .run(args);
+        try {
+            assertDatabase(context, properties.get("spring.datasource.url"));
+        } catch (RuntimeException | Error e) {
+            context.close();
+            throw e;
+        }
+        return context;
+    }
+
+    // Số liệu chỉ có nghĩa khi app thật sự chạy trên DB đã chọn
+    private static void assertDatabase(ConfigurableApplicationContext context, String expectedUrl) {
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            Assertions.assertEquals(withoutParameters(expectedUrl), withoutParameters(connection.getMetaData().getURL()),
+                    "Application is not connected to the requested database");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the datasource URL", e);
+        }
+    }
+
+    private static String withoutParameters(String url) {
+        int end = url.length();
+        for (char separator : new char[]{';', '?'}) {
+            int index = url.indexOf(separator);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return url.substring(0, end);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.movie.performance;
+
+import com.example.movie.model.User;
+import com.example.movie.repository.UserRepository;
+import com.example.movie.security.SecurityUtil;
+import com.example.movie.testutil.DataSeeder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * So sánh platform thread (mặc định) và virtual thread (profile "virtual") trên sơ đồ ghế và đặt vé.
+ * Mỗi chế độ chạy một context riêng với cùng kích thước pool kết nối, chỉ khác mô hình thread.
+ *
+ * Mặc định mỗi chế độ dùng một H2 riêng nên độ trễ DB rất thấp và khác biệt nhỏ; chạy với
+ * -Dbenchmark.datasource.url=jdbc:mysql://... (kèm username/password) để có số liệu sát thực tế.
+ *
+ * <pre>
+ * ./mvnw test -Dtest=ThreadModeBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ThreadModeBenchmarkTest {
+
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int SEAT_MAP_REQUESTS = 10_000;
+    private static final int BOOKING_REQUESTS = 2_000;
+    private static final int POOL_SIZE = 40;
+
+    private record Result(double throughput, double p99Millis, int errors) {
+    }
+
+    @Test
+    void compareSeatMapAndBookingAcrossThreadModes() throws Exception {
+        Map<String, Result> platform = run(false);
+        Map<String, Result> virtual = run(true);
+
+        log.info("Thread mode benchmark ({} concurrent clients, pool {})", CONCURRENCY, POOL_SIZE);
+        for (String endpoint : platform.keySet()) {
+            report(endpoint, "platform", platform.get(endpoint));
+            report(endpoint, "virtual", virtual.get(endpoint));
+        }
+
+        for (Result result : platform.values()) {
+            Assertions.assertEquals(0, result.errors(), "Platform-thread run had failed requests");
+        }
+        for (Result result : virtual.values()) {
+            Assertions.assertEquals(0, result.errors(), "Virtual-thread run had failed requests");
+        }
+    }
+
+    private static void report(String endpoint, String mode, Result result) {
+        log.info(String.format("%-10s %-9s %8.0f req/s  p99 %8.1f ms  errors %d",
+                endpoint, mode, result.throughput(), result.p99Millis(), result.errors()));
+    }
+
+    private Map<String, Result> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String[] profiles = virtualThreads ? new String[]{"test", "virtual"} : new String[]{"test"};
+
+        try (ConfigurableApplicationContext context = PerfApplication.start(properties(mode, virtualThreads), profiles);
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            DataSeeder dataSeeder = context.getBean(DataSeeder.class);
+
+            String username = "bench-" + mode;
+            dataSeeder.seedUser(username);
+            User user = context.getBean(UserRepository.class).findByUsername(username).orElseThrow();
+            String token = context.getBean(SecurityUtil.class).createAccessToken(user);
+
+            long seatMapScreening = dataSeeder.seedScreeningWithSeats(900_000).screening().getId();
+            // Mỗi request đặt một ghế khác nhau nên không có xung đột giữa các request
+            List<DataSeeder.BookableSeat> seats = dataSeeder.seedBookableSeats(BOOKING_REQUESTS, 910_000);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+            IntFunction<HttpRequest> seatMap = i -> HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/api/v1/seats/screening/" + seatMapScreening))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            IntFunction<HttpRequest> booking = i -> {
+                DataSeeder.BookableSeat seat = seats.get(i);
+                String body = "{\"screeningId\":" + seat.screeningId()
+                        + ",\"seatIds\":[" + seat.seatId() + "],\"totalPrice\":100}";
+                return HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/api/v1/bookings"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            };
+
+            // Warm up JIT và pool kết nối trước khi đo
+            load(client, WARMUP_REQUESTS, seatMap);
+
+            Map<String, Result> results = new LinkedHashMap<>();
+            results.put("seat-map", load(client, SEAT_MAP_REQUESTS, seatMap));
+            results.put("booking", load(client, BOOKING_REQUESTS, booking));
+            return results;
+        }
+    }
+
+    private static Map<String, String> properties(String mode, boolean virtualThreads) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        properties.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(POOL_SIZE));
+        properties.put("spring.datasource.hikari.minimum-idle", String.valueOf(POOL_SIZE));
+        properties.put("spring.datasource.hikari.connection-timeout", "30000");
+        properties.put("app.security.login.rate-limit.enabled", "false");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url != null) {
+            properties.put("spring.datasource.url", url);
+            properties.put("spring.datasource.driver-class-name", "com.mysql.cj.jdbc.Driver");
+            properties.put("spring.datasource.username", System.getProperty("benchmark.datasource.username", "root"));
+            properties.put("spring.datasource.password", System.getProperty("benchmark.datasource.password", ""));
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+            properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        } else {
+            // H2 riêng cho từng chế độ, không đụng testdb dùng chung của các test khác
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        }
+        return properties;
+    }
+
+    private static Result load(HttpClient client, int requests, IntFunction<HttpRequest> request)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request.apply(i),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(requests * 0.99) - 1];
+        return new Result(requests * 1e9 / elapsed, p99 / 1e6, errors.get());
+    }
+}
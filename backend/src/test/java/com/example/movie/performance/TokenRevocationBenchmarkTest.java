@@ -0,0 +1,83 @@
+package com.example.movie.performance;
+
+import com.example.movie.repository.InvalidatedTokenRepository;
+import com.example.movie.security.AuthenticationCache;
+import com.example.movie.security.BloomFilter;
+import com.example.movie.security.TokenRevocationList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo chi phí kiểm tra thu hồi token trên mỗi request (không có DB).
+ */
+public class TokenRevocationBenchmarkTest {
+
+    private static final int REVOKED = 100_000;
+    private static final int LOOKUPS = 1_000_000;
+
+    @Test
+    void revocationCheckOverhead() {
+        TokenRevocationList revocationList = new TokenRevocationList(
+                Mockito.mock(InvalidatedTokenRepository.class), REVOKED, 0.01, 1000);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < REVOKED; i++) {
+            revocationList.revoke("revoked-" + i, expiresAt);
+        }
+        String[] live = new String[1024];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = UUID.randomUUID().toString();
+        }
+
+        // Warm up JIT
+        int hits = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            hits += revocationList.isRevoked(live[i & 1023]) ? 1 : 0;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            hits += revocationList.isRevoked(live[i & 1023]) ? 1 : 0;
+        }
+        long perLookupNs = (System.nanoTime() - start) / LOOKUPS;
+
+        String token = "eyJhbGciOiJIUzUxMiJ9." + UUID.randomUUID() + ".signature";
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            hits += AuthenticationCache.keyOf(token).isEmpty() ? 1 : 0;
+        }
+        long perHashNs = (System.nanoTime() - start) / (LOOKUPS / 10);
+
+        System.out.println("Revocation check: " + perLookupNs + " ns/request, token hash: " + perHashNs
+                + " ns/request, false positives: " + hits + "/" + (2 * LOOKUPS));
+
+        Assertions.assertEquals(0, hits, "Live tokens must never be reported as revoked");
+        // Ngưỡng rộng để không chập chờn trên máy CI chậm
+        Assertions.assertTrue(perLookupNs < TimeUnit.MICROSECONDS.toNanos(20),
+                "Revocation check took " + perLookupNs + "ns");
+    }
+
+    @Test
+    void bloomFilterFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(REVOKED, 0.01);
+        for (int i = 0; i < REVOKED; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            falsePositives += filter.mightContain("live-" + i) ? 1 : 0;
+        }
+        double rate = (double) falsePositives / LOOKUPS;
+        System.out.println("Bloom filter false positive rate: " + rate);
+
+        for (int i = 0; i < REVOKED; i++) {
+            Assertions.assertTrue(filter.mightContain("revoked-" + i));
+        }
+        Assertions.assertTrue(rate < 0.02, "False positive rate too high: " + rate);
+    }
+}
@@ -80,6 +80,33 @@ public class MovieRepositoryTest {
         assertThat(results.get(0).getTitle()).isEqualTo("The Hangover");
     }
 
+    @Test
+    void shouldFindMoviesIgnoringVietnameseDiacritics() {
+        // Given
+        Movie movie = new Movie();
+        movie.setTitle("Kế Hoạch Bí Mật");
+        movie.setDirector("Trấn Thành");
+        movie.setActors("Tuấn Trần, Lê Giang");
+        movie.setGenres("Drama");
+        movie.setReleaseDate(LocalDate.of(2024, 2, 10));
+        movie.setDuration("120 min");
+        movie.setLanguage("Vietnamese");
+        movie.setRated("T16");
+        movie.setDescription("Phim Việt");
+        movie.setStatus(MovieStatus.NOW_SHOWING);
+        movieRepository.save(movie);
+
+        // When
+        List<Movie> byTitle = movieRepository.findAll(MovieSpecification.searchByKeyword("ke hoach"));
+        List<Movie> byInnerWord = movieRepository.findAll(MovieSpecification.searchByKeyword("bi mat"));
+        List<Movie> byActor = movieRepository.findAll(MovieSpecification.searchByKeyword("LE GIANG"));
+
+        // Then
+        assertThat(byTitle).extracting(Movie::getTitle).containsExactly("Kế Hoạch Bí Mật");
+        assertThat(byInnerWord).hasSize(1);
+        assertThat(byActor).hasSize(1);
+    }
+
     @Test
     void shouldFilterByGenre_WhenGenreMatches() {
         // Given
@@ -93,6 +120,31 @@ public class MovieRepositoryTest {
         assertThat(results.get(0).getGenres()).contains("Action");
     }
 
+    @Test
+    void shouldFilterByLanguage_AccentFoldedLikeTheFacet() {
+        // Given
+        Movie movie = new Movie();
+        movie.setTitle("Mai");
+        movie.setDirector("Trấn Thành");
+        movie.setActors("Phương Anh Đào");
+        movie.setGenres("Drama");
+        movie.setReleaseDate(LocalDate.of(2024, 2, 10));
+        movie.setDuration("131 min");
+        movie.setLanguage("Tiếng Việt");
+        movie.setRated("T18");
+        movie.setDescription("Phim Việt");
+        movie.setStatus(MovieStatus.NOW_SHOWING);
+        movieRepository.save(movie);
+
+        // When
+        List<Movie> folded = movieRepository.findAll(MovieSpecification.filterByLanguage("tieng viet"));
+        List<Movie> english = movieRepository.findAll(MovieSpecification.filterByLanguage(" ENGLISH "));
+
+        // Then
+        assertThat(folded).extracting(Movie::getTitle).containsExactly("Mai");
+        assertThat(english).hasSize(2);
+    }
+
     @Test
     void shouldFilterByStatus_WhenStatusMatches() {
         // Given
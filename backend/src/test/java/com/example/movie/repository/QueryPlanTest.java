@@ -0,0 +1,262 @@
+package com.example.movie.repository;
+
+import com.example.movie.model.Screening;
+import com.example.movie.model.Seat;
+import com.example.movie.model.Ticket;
+import com.example.movie.testutil.StatementRecorder;
+import com.example.movie.testutil.TestContainersConfig;
+import com.example.movie.testutil.datagen.PerfDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every custom repository query against MySQL with the Flyway schema and a generated dataset,
+ * then replays the exact statements (with their parameters) under EXPLAIN. Fails when a query
+ * reads a large table with a full scan, i.e. a query was added or changed without a matching index
+ * in {@code db/migration}.
+ *
+ * Inherited CRUD methods, findAll-based reports and the movie search specifications are not listed here.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "app.archive.enabled=false"
+})
+class QueryPlanTest extends TestContainersConfig {
+
+    // Bảng nhỏ hơn ngưỡng này (auditorium, bảng trống) thì full scan vẫn rẻ hơn dùng index
+    private static final long MAX_SCANNED_ROWS = 500;
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserBookingViewRepository userBookingViewRepository;
+
+    @Autowired
+    private SeatLedgerEntryRepository seatLedgerEntryRepository;
+
+    @Test
+    void repositoryQueries_ShouldNotScanLargeTables() throws Exception {
+        // Phần lớn suất chiếu đã qua để truy vấn "sắp chiếu" chỉ chọn một phần nhỏ của bảng
+        PerfDataGenerator.Config config = new PerfDataGenerator.Config(42, 2_000, 200, 6, 1_200, 30, LocalDate.now());
+        try (Connection connection = dataSource.getConnection()) {
+            new PerfDataGenerator(config).generate(connection);
+        }
+        // Lịch sử booking dựng thẳng bằng SQL, UserBookingViewBackfill đi từng booking nên chậm với dataset này
+        jdbcTemplate.update("INSERT INTO user_booking_view (booking_id, user_id, username, booking_code, created_on, " +
+                "booking_status, total_price, screening_id, screening_start_time, screening_end_time, screening_format, " +
+                "screening_status, movie_id, movie_title, movie_duration, movie_rated, movie_genres, auditorium_id, " +
+                "auditorium_name, tickets_json, updated_at) " +
+                "SELECT b.id, b.user_id, u.username, b.booking_code, b.created_on, b.booking_status, b.total_price, " +
+                "s.id, s.start_time, s.end_time, s.format, s.status, m.id, m.title, m.duration, m.rated, m.genres, " +
+                "a.id, a.name, '[]', NOW(6) FROM booking b JOIN users u ON u.id = b.user_id " +
+                "JOIN screening s ON s.id = b.screening_id JOIN movie m ON m.id = s.movie_id " +
+                "JOIN auditorium a ON a.id = s.auditorium_id");
+        // Sổ ghế: một CLAIM cho mỗi vé đã đặt, seq theo thứ tự id trong suất chiếu
+        jdbcTemplate.update("INSERT INTO seat_ledger (screening_id, seq, seat_id, ticket_id, booking_id, type, occurred_at) " +
+                "SELECT screening_id, ROW_NUMBER() OVER (PARTITION BY screening_id ORDER BY id), seat_id, id, booking_id, " +
+                "0, NOW(6) FROM ticket WHERE booking_id IS NOT NULL");
+        for (String table : List.of("users", "movie", "auditorium", "seat", "screening", "booking", "ticket", "payment",
+                "user_booking_view", "seat_ledger")) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+        }
+
+        Map<String, Object> ticket = jdbcTemplate.queryForMap(
+                "SELECT t.screening_id, t.seat_id, t.movie_id, t.auditorium_id, t.booking_id, t.ticket_code, b.user_id " +
+                "FROM ticket t JOIN booking b ON b.id = t.booking_id ORDER BY t.id LIMIT 1");
+        long screeningId = ((Number) ticket.get("screening_id")).longValue();
+        long seatId = ((Number) ticket.get("seat_id")).longValue();
+        long movieId = ((Number) ticket.get("movie_id")).longValue();
+        long auditoriumId = ((Number) ticket.get("auditorium_id")).longValue();
+        long bookingId = ((Number) ticket.get("booking_id")).longValue();
+        long userId = ((Number) ticket.get("user_id")).longValue();
+        String ticketCode = (String) ticket.get("ticket_code");
+        LocalDateTime bookingCreatedOn = jdbcTemplate.queryForObject(
+                "SELECT created_on FROM booking WHERE id = ?", LocalDateTime.class, bookingId);
+        String transactionId = jdbcTemplate.queryForObject(
+                "SELECT transaction_id FROM payment WHERE transaction_id IS NOT NULL LIMIT 1", String.class);
+        Seat seat = seatRepository.findById(seatId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("TicketRepository.findByScreeningId", () -> ticketRepository.findByScreeningId(screeningId));
+        queries.put("TicketRepository.findByBookingId", () -> ticketRepository.findByBookingId(bookingId));
+        queries.put("TicketRepository.findBySeatId", () -> ticketRepository.findBySeatId(seatId));
+        queries.put("TicketRepository.findAuditoriumIdByScreeningId",
+                () -> ticketRepository.findAuditoriumIdByScreeningId(screeningId));
+        queries.put("TicketRepository.findByScreeningIdAndSeatId",
+                () -> ticketRepository.findByScreeningIdAndSeatId(screeningId, seatId));
+        queries.put("TicketRepository.findByMovieIdAndAuditoriumIdAndScreeningIdAndSeatId",
+                () -> ticketRepository.findByMovieIdAndAuditoriumIdAndScreeningIdAndSeatId(
+                        movieId, auditoriumId, screeningId, seatId));
+        queries.put("TicketRepository.countByScreeningIdAndStatus",
+                () -> ticketRepository.countByScreeningIdAndStatus(screeningId, Ticket.Status.ISSUED));
+        queries.put("TicketRepository.countByAuditoriumId", () -> ticketRepository.countByAuditoriumId(auditoriumId));
+        queries.put("TicketRepository.existsByTicketCode", () -> ticketRepository.existsByTicketCode(ticketCode));
+        queries.put("TicketRepository.countTicketsByMovie",
+                () -> ticketRepository.countTicketsByMovie(List.of(Ticket.Status.ISSUED, Ticket.Status.USED)));
+        queries.put("TicketRepository.countByScreeningIdsAndStatus",
+                () -> ticketRepository.countByScreeningIdsAndStatus(List.of(screeningId), Ticket.Status.BOOKED));
+        queries.put("TicketRepository.findSeatStatusesByScreeningIdAndStatusNot",
+                () -> ticketRepository.findSeatStatusesByScreeningIdAndStatusNot(screeningId, Ticket.Status.AVAILABLE));
+
+        queries.put("BookingRepository.findByUserIdOrderByCreatedOnDesc",
+                () -> bookingRepository.findByUserIdOrderByCreatedOnDesc(userId));
+        queries.put("BookingRepository.findByUserIdWithDetails", () -> bookingRepository.findByUserIdWithDetails(userId));
+
+        queries.put("PaymentRepository.findByBookingId", () -> paymentRepository.findByBookingId(bookingId));
+        queries.put("PaymentRepository.findByTransactionId", () -> paymentRepository.findByTransactionId(transactionId));
+        // Thứ tự xoá của TicketArchiver, booking chỉ xoá được sau payment và ticket
+        queries.put("TicketArchiver deletes", () -> {
+            paymentRepository.deleteByScreeningIds(List.of(screeningId));
+            ticketRepository.deleteByScreeningIds(List.of(screeningId));
+            bookingRepository.deleteByScreeningIds(List.of(screeningId));
+        });
+
+        queries.put("ScreeningRepository.findByMovieIdAndStatusActive",
+                () -> screeningRepository.findByMovieIdAndStatusActive(movieId));
+        queries.put("ScreeningRepository.findByMovieIdOrderByStartTime",
+                () -> screeningRepository.findByMovieIdOrderByStartTime(movieId));
+        queries.put("ScreeningRepository.findByAuditoriumId", () -> screeningRepository.findByAuditoriumId(auditoriumId));
+        queries.put("ScreeningRepository.findActiveWithMovieAndAuditoriumBetween",
+                () -> screeningRepository.findActiveWithMovieAndAuditoriumBetween(now, now.plusDays(2)));
+        queries.put("ScreeningRepository.findScheduleWindowsEndingAfter",
+                () -> screeningRepository.findScheduleWindowsEndingAfter(now));
+        queries.put("ScreeningRepository.findOverlappingIds",
+                () -> screeningRepository.findOverlappingIds(auditoriumId, now, now.plusHours(3)));
+        queries.put("ScreeningRepository.finishEndedBefore", () -> screeningRepository.finishEndedBefore(now));
+        queries.put("ScreeningRepository.findArchivableIds",
+                () -> screeningRepository.findArchivableIds(now.minusDays(28), PageRequest.of(0, 50)));
+
+        queries.put("SeatRepository.findByAuditoriumIdOrderByRowLabelAscNumberAsc",
+                () -> seatRepository.findByAuditoriumIdOrderByRowLabelAscNumberAsc(auditoriumId));
+        queries.put("SeatRepository.findByAuditoriumIdAndRowLabelAndNumber",
+                () -> seatRepository.findByAuditoriumIdAndRowLabelAndNumber(
+                        auditoriumId, seat.getRowLabel(), seat.getNumber()));
+        queries.put("SeatRepository.findAvailableSeatsForScreening",
+                () -> seatRepository.findAvailableSeatsForScreening(auditoriumId, screeningId));
+        queries.put("SeatRepository.countByAuditoriumIdAndSeatType",
+                () -> seatRepository.countByAuditoriumIdAndSeatType(auditoriumId, Seat.SeatType.SWEETBOX));
+        queries.put("SeatRepository.findSeatIdsByAuditoriumIds",
+                () -> seatRepository.findSeatIdsByAuditoriumIds(List.of(auditoriumId)));
+
+        queries.put("UserBookingViewRepository.findFirstPage",
+                () -> userBookingViewRepository.findFirstPage(userId, PageRequest.of(0, 21)));
+        queries.put("UserBookingViewRepository.findPageAfter",
+                () -> userBookingViewRepository.findPageAfter(userId, bookingCreatedOn, bookingId, PageRequest.of(0, 21)));
+        queries.put("UserBookingViewRepository.deleteByBookingId",
+                () -> userBookingViewRepository.deleteByBookingId(bookingId));
+        queries.put("UserBookingViewRepository.refreshScreening",
+                () -> userBookingViewRepository.refreshScreening(screeningId, now, now.plusHours(2),
+                        Screening.Format.IMAX, Screening.Status.ACTIVE, movieId, "Title", "120", "PG", "Drama",
+                        auditoriumId, "Hall", now));
+        queries.put("UserBookingViewRepository.refreshMovie",
+                () -> userBookingViewRepository.refreshMovie(movieId, "Title", "120", "PG", "Drama", now));
+        queries.put("UserBookingViewRepository.finishEndedBefore",
+                () -> userBookingViewRepository.finishEndedBefore(now));
+        queries.put("UserBookingViewRepository.findLiveBookingIdsWithoutView",
+                () -> userBookingViewRepository.findLiveBookingIdsWithoutView(0L, PageRequest.of(0, 500)));
+
+        queries.put("SeatLedgerEntryRepository.findTail", () -> seatLedgerEntryRepository.findTail(screeningId, 0));
+
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("perf_user_42"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("perf_user_42@perf.example.com"));
+
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            // Chạy trong transaction rồi rollback để các câu DELETE/UPDATE không đổi dữ liệu cho câu sau
+            List<StatementRecorder.Recorded> statements = StatementRecorder.record(
+                    () -> transactionTemplate.executeWithoutResult(status -> {
+                        query.getValue().run();
+                        status.setRollbackOnly();
+                    }));
+            assertThat(statements).as(query.getKey() + " ran no statement").isNotEmpty();
+            for (StatementRecorder.Recorded statement : statements) {
+                fullScans.addAll(explain(query.getKey(), statement));
+            }
+        }
+
+        assertThat(fullScans).as("Queries reading a large table without an index").isEmpty();
+    }
+
+    private List<String> explain(String query, StatementRecorder.Recorded statement) throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = statement.prepare(connection, "EXPLAIN ");
+             ResultSet plan = explain.executeQuery()) {
+            while (plan.next()) {
+                String table = plan.getString("table");
+                // <subqueryN>, <derivedN>: bảng tạm của chính MySQL
+                if (table == null || table.startsWith("<")) {
+                    continue;
+                }
+                if ("ALL".equals(plan.getString("type")) && plan.getLong("rows") > MAX_SCANNED_ROWS) {
+                    fullScans.add(query + ": full scan of " + table + " (~" + plan.getLong("rows") + " rows) in "
+                            + statement.sql());
+                }
+            }
+        }
+        return fullScans;
+    }
+}
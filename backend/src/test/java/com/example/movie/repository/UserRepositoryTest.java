@@ -1,10 +1,13 @@
 package com.example.movie.repository;
 
 import com.example.movie.model.User;
+import com.example.movie.search.SearchNormalizer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -56,4 +59,29 @@ class UserRepositoryTest {
         assertTrue(result.isEmpty(), "Hệ thống an toàn: Không tìm thấy user nào với payload độc hại");
     }
 
+    @Test
+    @DisplayName("Search: phone prefix matches regardless of punctuation in the stored number or the input")
+    void shouldFindUserByPhonePrefix_IgnoringPunctuation() {
+        User user = new User();
+        user.setUsername("lan");
+        user.setEmail("lan@example.com");
+        user.setPassword("encodedPass");
+        user.setRole(User.UserRole.CUSTOMER);
+        user.setPhoneNumber("+84 901-234-567");
+        user.setAddress("Da Nang");
+        user.setIsActive(true);
+        userRepository.save(user);
+
+        assertEquals(1, search("+84 90").getTotalElements());
+        assertEquals(1, search("84901234").getTotalElements());
+        assertEquals(0, search("8491").getTotalElements());
+        // Không có chữ số thì không lọc theo số điện thoại
+        assertEquals(0, search("zzz").getTotalElements());
+    }
+
+    private Page<User> search(String input) {
+        return userRepository.findAllWithSearch(
+                SearchNormalizer.normalize(input), SearchNormalizer.phoneKey(input), PageRequest.of(0, 10));
+    }
+
 }
\ No newline at end of file
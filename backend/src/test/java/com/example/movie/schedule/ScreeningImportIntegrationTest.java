@@ -0,0 +1,88 @@
+package com.example.movie.schedule;
+
+import com.example.movie.dto.screening.ScreeningImportError;
+import com.example.movie.dto.screening.ScreeningImportResponse;
+import com.example.movie.dto.screening.ScreeningRequest;
+import com.example.movie.model.Auditorium;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.repository.TicketRepository;
+import com.example.movie.service.ScreeningImportService;
+import com.example.movie.testutil.DataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// batch-size nhỏ hơn số vé để JDBC batch chạy nhiều lần
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.schedule.import.batch-size=64")
+@ActiveProfiles("test")
+class ScreeningImportIntegrationTest {
+
+    @Autowired
+    private ScreeningImportService screeningImportService;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Test
+    void importScreenings_ShouldCreateTicketsForEverySeatThroughJdbcBatches() {
+        Screening seeded = dataSeeder.seedScreeningWithSeats(760_000).screening();
+        Auditorium auditorium = seeded.getAuditorium();
+        LocalDate day = LocalDate.now().plusDays(10);
+
+        ScreeningImportResponse response = screeningImportService.importScreenings(List.of(
+                row(seeded, day.atTime(10, 0)),
+                row(seeded, day.atTime(14, 0))));
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(response.getTicketsCreated()).isEqualTo(200);
+        for (Long screeningId : response.getScreeningIds()) {
+            assertThat(screeningRepository.findById(screeningId))
+                    .hasValueSatisfying(screening -> assertThat(screening.getAuditorium().getId())
+                            .isEqualTo(auditorium.getId()));
+            assertThat(ticketRepository.countByScreeningIdAndStatus(screeningId, Ticket.Status.AVAILABLE))
+                    .isEqualTo(100);
+        }
+    }
+
+    @Test
+    void importScreenings_ShouldReportNullRowByIndex_AndWriteNothing() {
+        Screening seeded = dataSeeder.seedScreeningWithSeats(760_001).screening();
+        long screeningsBefore = screeningRepository.count();
+
+        ScreeningImportResponse response = screeningImportService.importScreenings(Arrays.asList(
+                row(seeded, LocalDate.now().plusDays(12).atTime(10, 0)),
+                null));
+
+        assertThat(response.getImportedRows()).isZero();
+        assertThat(response.getErrors()).extracting(ScreeningImportError::getRow).containsExactly(2);
+        assertThat(screeningRepository.count()).isEqualTo(screeningsBefore);
+    }
+
+    private static ScreeningRequest row(Screening seeded, LocalDateTime start) {
+        ScreeningRequest request = new ScreeningRequest();
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(2));
+        request.setFormat(Screening.Format.TwoD);
+        request.setMovieId(seeded.getMovie().getId());
+        request.setAuditoriumId(seeded.getAuditorium().getId());
+        return request;
+    }
+}
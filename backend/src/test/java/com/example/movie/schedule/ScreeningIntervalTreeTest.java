@@ -0,0 +1,69 @@
+package com.example.movie.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreeningIntervalTreeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapping_ShouldTreatIntervalsAsHalfOpen() {
+        ScreeningIntervalTree tree = ScreeningIntervalTree.of(List.of(
+                slot(1L, 10, 12),
+                slot(2L, 14, 16),
+                slot(3L, 18, 20)));
+
+        assertThat(ids(tree.overlapping(at(12), at(14)))).isEmpty();
+        assertThat(ids(tree.overlapping(at(11), at(15)))).containsExactly(1L, 2L);
+        assertThat(ids(tree.overlapping(at(19), at(23)))).containsExactly(3L);
+    }
+
+    @Test
+    void overlapping_ShouldFindLongSlotStartingEarlier() {
+        // Slot dài nằm ở nhánh trái vẫn phải được tìm thấy nhờ maxEnd
+        ScreeningIntervalTree tree = ScreeningIntervalTree.of(List.of(
+                slot(1L, 8, 22),
+                slot(2L, 9, 10),
+                slot(3L, 11, 12),
+                slot(4L, 13, 14)));
+
+        assertThat(ids(tree.overlapping(at(20), at(21)))).containsExactly(1L);
+    }
+
+    @Test
+    void overlapping_ShouldMatchBruteForce() {
+        List<ScreeningIntervalTree.Slot> slots = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            slots.add(new ScreeningIntervalTree.Slot(i, DAY.plusMinutes(i * 37 % 1440), DAY.plusMinutes(i * 37 % 1440 + 30 + i % 90)));
+        }
+        ScreeningIntervalTree tree = ScreeningIntervalTree.of(slots);
+
+        for (int start = 0; start < 1440; start += 45) {
+            LocalDateTime from = DAY.plusMinutes(start);
+            LocalDateTime to = from.plusMinutes(100);
+            List<Long> expected = slots.stream()
+                    .filter(slot -> slot.start().isBefore(to) && slot.end().isAfter(from))
+                    .map(ScreeningIntervalTree.Slot::screeningId)
+                    .toList();
+            assertThat(ids(tree.overlapping(from, to))).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static ScreeningIntervalTree.Slot slot(Long id, int startHour, int endHour) {
+        return new ScreeningIntervalTree.Slot(id, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    private static List<Long> ids(List<ScreeningIntervalTree.Slot> slots) {
+        return slots.stream().map(ScreeningIntervalTree.Slot::screeningId).toList();
+    }
+}
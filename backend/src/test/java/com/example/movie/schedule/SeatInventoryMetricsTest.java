@@ -0,0 +1,44 @@
+package com.example.movie.schedule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryMetricsTest {
+
+    @Mock
+    private ShowtimeTimetable showtimeTimetable;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SeatInventoryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new SeatInventoryMetrics(showtimeTimetable, meterRegistry);
+        ReflectionTestUtils.setField(metrics, "maxScreenings", 2);
+    }
+
+    @Test
+    void refresh_ShouldTrackOnlyUpcomingScreenings() {
+        when(showtimeTimetable.upcomingScreeningIds(2)).thenReturn(List.of(1L, 2L), List.of(2L, 3L));
+        when(showtimeTimetable.remainingSeats(2L)).thenReturn(40);
+
+        metrics.refresh();
+        metrics.refresh();
+
+        assertThat(metrics.size()).isEqualTo(2);
+        assertThat(meterRegistry.find("seat.inventory.available").tag("screening", "1").gauge()).isNull();
+        assertThat(meterRegistry.get("seat.inventory.available").tag("screening", "2").gauge().value()).isEqualTo(40.0);
+        assertThat(meterRegistry.find("seat.inventory.available").gauges()).hasSize(2);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.movie.schedule;
+
+import com.example.movie.dto.screening.ShowtimeResponse;
+import com.example.movie.model.Auditorium;
+import com.example.movie.model.Movie;
+import com.example.movie.model.Screening;
+import com.example.movie.model.Ticket;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShowtimeTimetableTest {
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private ShowtimeTimetable showtimeTimetable;
+
+    @Test
+    void showtimes_OutsideWindow_ShouldNotKeepRemainingSeats() {
+        LocalDate date = LocalDate.now().plusYears(1);
+        when(screeningRepository.findActiveWithMovieAndAuditoriumBetween(any(), any()))
+                .thenReturn(List.of(screening(7L, date)));
+        when(ticketRepository.countByScreeningIdsAndStatus(anyCollection(), eq(Ticket.Status.AVAILABLE)))
+                .thenReturn(List.<Object[]>of(new Object[] {7L, 42L}));
+
+        List<ShowtimeResponse> showtimes = showtimeTimetable.showtimes(date, null, null);
+
+        assertThat(showtimes).extracting(ShowtimeResponse::getRemainingSeats).containsExactly(42);
+        // Chỉ suất chiếu trong cửa sổ được giữ số ghế trống
+        assertThat(showtimeTimetable.remainingSeats(7L)).isZero();
+    }
+
+    private static Screening screening(Long id, LocalDate date) {
+        Movie movie = new Movie();
+        movie.setId(1L);
+        movie.setTitle("Inception");
+        Auditorium auditorium = new Auditorium();
+        auditorium.setId(2L);
+        auditorium.setName("Room 1");
+        Screening screening = new Screening();
+        screening.setId(id);
+        screening.setStartTime(date.atTime(20, 0));
+        screening.setEndTime(date.atTime(22, 30));
+        screening.setFormat(Screening.Format.values()[0]);
+        screening.setMovie(movie);
+        screening.setAuditorium(auditorium);
+        return screening;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.movie.search;
+
+import com.example.movie.dto.movie.MovieResponse;
+import com.example.movie.dto.movie.MovieSearchRequest;
+import com.example.movie.dto.response.PageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchCacheTest {
+
+    private final MovieSearchCache cache = new MovieSearchCache(new SimpleMeterRegistry(), 60_000, 100, 100);
+
+    @Test
+    void get_ShouldShareEntryBetweenEquivalentRequests() {
+        AtomicInteger loads = new AtomicInteger();
+        MovieSearchRequest first = MovieSearchRequest.builder().searchQuery("Kế Hoạch").status("now_showing").build();
+        MovieSearchRequest second = MovieSearchRequest.builder().searchQuery("  ke hoach ").status("NOW_SHOWING").build();
+
+        cache.get(first, PageRequest.of(0, 10), () -> load(loads));
+        cache.get(second, PageRequest.of(0, 10), () -> load(loads));
+        cache.get(second, PageRequest.of(1, 10), () -> load(loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_ShouldRunSingleQueryForConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        MovieSearchRequest request = MovieSearchRequest.builder().status("NOW_SHOWING").build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PageResponse<MovieResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(request, PageRequest.of(0, 10), () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return load(loads);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<PageResponse<MovieResponse>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getTotalElements()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void onCatalogChanged_ShouldDropCachedPages() {
+        AtomicInteger loads = new AtomicInteger();
+        MovieSearchRequest request = MovieSearchRequest.builder().genre("Action").build();
+
+        cache.get(request, PageRequest.of(0, 10), () -> load(loads));
+        cache.onCatalogChanged(new MovieCatalogChangedEvent(1L));
+        cache.get(request, PageRequest.of(0, 10), () -> load(loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotateStats_ShouldTrackKeysOfTheCurrentWindow() {
+        MovieSearchCache small = new MovieSearchCache(new SimpleMeterRegistry(), 60_000, 100, 1);
+        AtomicInteger loads = new AtomicInteger();
+        MovieSearchRequest old = MovieSearchRequest.builder().genre("Action").build();
+        MovieSearchRequest fresh = MovieSearchRequest.builder().genre("Drama").build();
+
+        small.get(old, PageRequest.of(0, 10), () -> load(loads));
+        small.get(fresh, PageRequest.of(0, 10), () -> load(loads));
+        assertThat((List<Map<String, Object>>) small.report().get("topKeys"))
+                .extracting(row -> (String) row.get("key")).noneMatch(key -> key.contains("drama"));
+
+        small.rotateStats();
+        small.get(fresh, PageRequest.of(0, 10), () -> load(loads));
+
+        Map<String, Object> report = small.report();
+        assertThat((List<Map<String, Object>>) report.get("topKeys"))
+                .extracting(row -> (String) row.get("key")).singleElement().asString().contains("drama");
+        assertThat((List<Map<String, Object>>) report.get("previousWindowTopKeys"))
+                .extracting(row -> (String) row.get("key")).singleElement().asString().contains("action");
+    }
+
+    private static PageResponse<MovieResponse> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return PageResponse.<MovieResponse>builder()
+                .content(List.of(new MovieResponse()))
+                .totalElements(1)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.movie.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchNormalizerTest {
+
+    @Test
+    void normalize_ShouldFoldVietnameseDiacriticsAndCase() {
+        assertThat(SearchNormalizer.normalize("Kế Hoạch")).isEqualTo("ke hoach");
+        assertThat(SearchNormalizer.normalize("Đường Về Nhà")).isEqualTo("duong ve nha");
+        assertThat(SearchNormalizer.normalize("Ngọc Trinh")).isEqualTo("ngoc trinh");
+    }
+
+    @Test
+    void normalize_ShouldCollapseWhitespaceAndPunctuation() {
+        assertThat(SearchNormalizer.normalize("  Avengers:   Endgame  ")).isEqualTo("avengers endgame");
+        assertThat(SearchNormalizer.normalize("johndoe@example.com")).isEqualTo("johndoe example com");
+        assertThat(SearchNormalizer.normalize(null)).isEmpty();
+        assertThat(SearchNormalizer.normalize("   ")).isEmpty();
+    }
+
+    @Test
+    void phoneKey_ShouldKeepDigitsOnly() {
+        assertThat(SearchNormalizer.phoneKey("+84 90-123.45")).isEqualTo("849012345");
+        assertThat(SearchNormalizer.phoneKey("alice")).isEmpty();
+        assertThat(SearchNormalizer.phoneKey(null)).isEmpty();
+    }
+
+    @Test
+    void wordStartKeys_ShouldStartAtEveryWordBoundary() {
+        assertThat(SearchNormalizer.wordStartKeys("Kế hoạch bí mật"))
+                .containsExactly("ke hoach bi mat", "hoach bi mat", "bi mat", "mat");
+    }
+
+    @Test
+    void listKeys_ShouldSplitOnCommas() {
+        assertThat(SearchNormalizer.listKeys("Tim Robbins, Morgan Freeman"))
+                .containsExactly("tim robbins", "robbins", "morgan freeman", "freeman");
+    }
+}
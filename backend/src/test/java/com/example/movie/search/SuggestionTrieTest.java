@@ -0,0 +1,35 @@
+package com.example.movie.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    @Test
+    void lookup_ShouldReturnTopKByScoreForPrefix() {
+        SuggestionTrie<String> trie = new SuggestionTrie.Builder<String>()
+                .add("inception", "Inception", 50)
+                .add("interstellar", "Interstellar", 200)
+                .add("inside out", "Inside Out", 10)
+                .add("out", "Inside Out", 10)
+                .add("oppenheimer", "Oppenheimer", 300)
+                .build(2);
+
+        assertThat(trie.lookup("in", 10)).containsExactly("Interstellar", "Inception");
+        assertThat(trie.lookup("ins", 10)).containsExactly("Inside Out");
+        assertThat(trie.lookup("o", 10)).containsExactly("Oppenheimer", "Inside Out");
+        assertThat(trie.lookup("in", 1)).containsExactly("Interstellar");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void lookup_ShouldReturnEmptyWhenPrefixUnknown() {
+        SuggestionTrie<String> trie = new SuggestionTrie.Builder<String>()
+                .add("dune", "Dune", 1)
+                .build(5);
+
+        assertThat(trie.lookup("x", 5)).isEmpty();
+        assertThat(SuggestionTrie.<String>empty().lookup("dune", 5)).isEmpty();
+    }
+}
@@ -10,10 +10,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -236,6 +239,63 @@ class AdminAccessTest {
 
             assertNotEquals(403, status, "Admin should be able to delete screenings");
         }
+
+        @Test
+        @DisplayName("Admin can bulk import screenings as JSON (POST /api/v1/screenings/bulk)")
+        void adminCanBulkImportScreenings() throws Exception {
+            // Dòng null bị báo lỗi theo index: 400 nghĩa là request đã tới controller
+            mockMvc.perform(post("/api/v1/screenings/bulk")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[null]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.data.errors[0].row").value(1));
+        }
+
+        @Test
+        @DisplayName("Admin can bulk import screenings as CSV (POST /api/v1/screenings/bulk)")
+        void adminCanBulkImportScreeningsCsv() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "screenings.csv", "text/csv",
+                    "not,a,valid,row\n".getBytes(StandardCharsets.UTF_8));
+
+            mockMvc.perform(multipart("/api/v1/screenings/bulk")
+                    .file(file)
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.data.errors[0].row").value(1));
+        }
+
+        @Test
+        @DisplayName("Admin can search free slots (GET /api/v1/screenings/free-slots)")
+        void adminCanFindFreeSlots() throws Exception {
+            mockMvc.perform(get("/api/v1/screenings/free-slots")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .param("durationMinutes", "120")
+                    .param("days", "1"))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Customer and anonymous cannot search free slots")
+        void nonAdminCannotFindFreeSlots() throws Exception {
+            mockMvc.perform(get("/api/v1/screenings/free-slots")
+                    .header("Authorization", "Bearer " + customerToken)
+                    .param("durationMinutes", "120"))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get("/api/v1/screenings/free-slots")
+                    .param("durationMinutes", "120"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("Customer cannot bulk import screenings → 403")
+        void customerCannotBulkImportScreenings() throws Exception {
+            mockMvc.perform(post("/api/v1/screenings/bulk")
+                    .header("Authorization", "Bearer " + customerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[null]"))
+                    .andExpect(status().isForbidden());
+        }
     }
 
     // ===================== TEST CASE 4: ADMIN MANAGES USERS =====================
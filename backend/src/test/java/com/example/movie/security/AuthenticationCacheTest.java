@@ -0,0 +1,72 @@
+package com.example.movie.security;
+
+import com.example.movie.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticationCacheTest {
+
+    private final AuthenticationCache cache = new AuthenticationCache(100, 28_800);
+
+    @Test
+    void get_ShouldReturnPrincipalUntilTokenExpires() {
+        String live = AuthenticationCache.keyOf("live-token");
+        String expired = AuthenticationCache.keyOf("expired-token");
+
+        cache.put(live, principal("alice"), Instant.now().plusSeconds(60));
+        cache.put(expired, principal("alice"), Instant.now().minusSeconds(1));
+
+        assertThat(cache.get(live).getUsername()).isEqualTo("alice");
+        assertThat(cache.get(expired)).isNull();
+    }
+
+    @Test
+    void remove_ShouldDropOnlyThatToken() {
+        String first = AuthenticationCache.keyOf("first-token");
+        String second = AuthenticationCache.keyOf("second-token");
+        cache.put(first, principal("alice"), Instant.now().plusSeconds(60));
+        cache.put(second, principal("alice"), Instant.now().plusSeconds(60));
+
+        cache.remove(first);
+
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.get(second)).isNotNull();
+    }
+
+    @Test
+    void invalidateUser_ShouldDropEntriesAndDistrustOlderTokens() {
+        String alice = AuthenticationCache.keyOf("alice-token");
+        String bob = AuthenticationCache.keyOf("bob-token");
+        cache.put(alice, principal("alice"), Instant.now().plusSeconds(60));
+        cache.put(bob, principal("bob"), Instant.now().plusSeconds(60));
+        Instant issuedBefore = Instant.now().minusSeconds(5);
+
+        cache.invalidateUser("alice");
+
+        assertThat(cache.get(alice)).isNull();
+        assertThat(cache.get(bob)).isNotNull();
+        assertThat(cache.changedSince("alice", issuedBefore)).isTrue();
+        assertThat(cache.changedSince("alice", Instant.now().plusSeconds(5))).isFalse();
+        assertThat(cache.changedSince("bob", issuedBefore)).isFalse();
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxEntries() {
+        AuthenticationCache small = new AuthenticationCache(10, 28_800);
+        for (int i = 0; i < 50; i++) {
+            small.put(AuthenticationCache.keyOf("token-" + i), principal("user" + i), Instant.now().plusSeconds(60));
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(10);
+    }
+
+    private UserPrincipal principal(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRole(User.UserRole.CUSTOMER);
+        return new UserPrincipal(user);
+    }
+}
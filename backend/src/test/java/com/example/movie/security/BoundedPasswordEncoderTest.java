@@ -0,0 +1,46 @@
+package com.example.movie.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(6, 1, 4, 5000, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void matches_ShouldVerifyHashesOnThePool() {
+        String hash = encoder.encode("Secret@123");
+
+        assertThat(hash).startsWith("$2a$06$");
+        assertThat(encoder.matches("Secret@123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.timer("auth.password.hash", "operation", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void matches_ShouldHashAgainstDummy_WhenEncodedPasswordMissing() {
+        assertThat(encoder.matches("Secret@123", null)).isFalse();
+        assertThat(encoder.matches("Secret@123", "")).isFalse();
+        assertThat(meterRegistry.timer("auth.password.hash", "operation", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void upgradeEncoding_ShouldOnlyFlagWeakerHashes() {
+        String weaker = new BCryptPasswordEncoder(4).encode("Secret@123");
+        String stronger = new BCryptPasswordEncoder(7).encode("Secret@123");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.movie.security;
+
+import com.example.movie.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, true, 3, 5, 1000);
+
+    @Test
+    void acquire_ShouldThrottleAccountAfterLimit_IgnoringCase() {
+        limiter.acquire("alice", "10.0.0.1");
+        limiter.acquire("Alice", "10.0.0.1");
+        limiter.acquire(" ALICE ", "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.acquire("alice", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        limiter.acquire("bob", "10.0.0.1");
+        assertThat(meterRegistry.counter("auth.login.throttled", "scope", "account").count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_ShouldNotLockAccountOutFromOtherAddresses() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+        assertThatThrownBy(() -> limiter.acquire("alice", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+
+        limiter.acquire("alice", "10.0.0.2");
+    }
+
+    @Test
+    void acquire_ShouldShareOverflowBucket_WhenTrackingIsFull() {
+        LoginRateLimiter small = new LoginRateLimiter(meterRegistry, true, 3, 2, 2);
+        small.acquire("a", "10.0.0.1");
+        small.acquire("b", "10.0.0.2");
+
+        // Hai IP mới dùng chung một bucket 2 lượt/phút
+        small.acquire("c", "10.0.0.3");
+        small.acquire("d", "10.0.0.4");
+        assertThatThrownBy(() -> small.acquire("e", "10.0.0.5"))
+                .isInstanceOf(LoginThrottledException.class);
+        small.acquire("a", "10.0.0.1");
+    }
+
+    @Test
+    void acquire_ShouldThrottleIpAcrossAccounts() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("someone", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class)
+                .extracting("retryAfterSeconds").isEqualTo(12L);
+        limiter.acquire("someone", "10.0.0.2");
+    }
+
+    @Test
+    void acquire_ShouldDoNothing_WhenDisabled() {
+        LoginRateLimiter disabled = new LoginRateLimiter(meterRegistry, false, 1, 1, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            disabled.acquire("alice", "10.0.0.1");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.movie.security;
+
+import com.example.movie.exception.InvalidRefreshTokenException;
+import com.example.movie.model.RefreshSession;
+import com.example.movie.model.User;
+import com.example.movie.repository.RefreshSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshSessionStoreTest {
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    private RefreshSessionStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        store = new RefreshSessionStore(refreshSessionRepository, 3600, 3600, 10_000);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setRole(User.UserRole.CUSTOMER);
+        user.setIsActive(true);
+    }
+
+    @Test
+    void rotate_ShouldAcceptEachCounterOnce() {
+        RefreshSessionStore.Issued issued = store.open(user);
+
+        RefreshSessionStore.Rotation first = store.rotate(issued.familyId(), issued.counter());
+        RefreshSessionStore.Rotation second = store.rotate(issued.familyId(), first.counter());
+
+        assertThat(first.counter()).isEqualTo(1);
+        assertThat(second.counter()).isEqualTo(2);
+        assertThat(second.user().getEmail()).isEqualTo("alice@example.com");
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenOldTokenIsReused() {
+        RefreshSessionStore.Issued issued = store.open(user);
+        store.rotate(issued.familyId(), 0);
+        RefreshSessionStore.Rotation rotated = store.rotate(issued.familyId(), 1);
+
+        assertThatThrownBy(() -> store.rotate(issued.familyId(), 0))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        // Token mới nhất cũng không dùng được nữa
+        assertThatThrownBy(() -> store.rotate(issued.familyId(), rotated.counter()))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(store.isRevoked(issued.familyId())).isTrue();
+    }
+
+    @Test
+    void rotate_ShouldAcceptJustRotatedToken_WithinGraceWindow() {
+        RefreshSessionStore.Issued issued = store.open(user);
+        RefreshSessionStore.Rotation first = store.rotate(issued.familyId(), 0);
+
+        // Request song song với cùng token nhận lại counter hiện tại, không thu hồi family
+        RefreshSessionStore.Rotation parallel = store.rotate(issued.familyId(), 0);
+
+        assertThat(parallel.counter()).isEqualTo(first.counter());
+        assertThat(store.isRevoked(issued.familyId())).isFalse();
+        assertThat(store.rotate(issued.familyId(), parallel.counter()).counter()).isEqualTo(2);
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenJustRotatedTokenIsReusedAfterGraceWindow() {
+        RefreshSessionStore strict = new RefreshSessionStore(refreshSessionRepository, 3600, 3600, 0);
+        RefreshSessionStore.Issued issued = strict.open(user);
+        strict.rotate(issued.familyId(), 0);
+
+        assertThatThrownBy(() -> strict.rotate(issued.familyId(), 0))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(strict.isRevoked(issued.familyId())).isTrue();
+    }
+
+    @Test
+    void revoke_ShouldDropSessionFromMemory_OnceWrittenButKeepItRevoked() {
+        RefreshSessionStore.Issued issued = store.open(user);
+        store.open(user);
+
+        store.revoke(issued.familyId());
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.isRevoked(issued.familyId())).isTrue();
+        assertThatThrownBy(() -> store.rotate(issued.familyId(), 0))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(store.revokeAll("alice")).isEqualTo(1);
+    }
+
+    @Test
+    void revokeAll_ShouldEndEverySessionOfTheUser() {
+        RefreshSessionStore.Issued phone = store.open(user);
+        RefreshSessionStore.Issued laptop = store.open(user);
+
+        assertThat(store.revokeAll("alice")).isEqualTo(2);
+
+        assertThatThrownBy(() -> store.rotate(phone.familyId(), 0)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> store.rotate(laptop.familyId(), 0)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void rotate_ShouldIssueFromUpdatedUser_AfterAccountChanged() {
+        RefreshSessionStore.Issued issued = store.open(user);
+        User promoted = new User();
+        promoted.setId(1L);
+        promoted.setUsername("alice");
+        promoted.setEmail("alice@example.com");
+        promoted.setRole(User.UserRole.ADMIN);
+        promoted.setIsActive(true);
+
+        store.updateUser(promoted);
+        promoted.setRole(User.UserRole.CUSTOMER);
+
+        RefreshSessionStore.Rotation rotation = store.rotate(issued.familyId(), issued.counter());
+        assertThat(rotation.user().getRole()).isEqualTo(User.UserRole.ADMIN);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteChangedSessionsInOneBatch() {
+        RefreshSessionStore.Issued issued = store.open(user);
+        store.rotate(issued.familyId(), 0);
+        store.open(user);
+
+        store.flush();
+
+        ArgumentCaptor<List<RefreshSession>> batch = ArgumentCaptor.forClass(List.class);
+        verify(refreshSessionRepository).saveAll(batch.capture());
+        assertThat(batch.getValue()).hasSize(2);
+        assertThat(batch.getValue())
+                .filteredOn(session -> session.getFamilyId().equals(issued.familyId()))
+                .singleElement()
+                .extracting(RefreshSession::getRotationCounter)
+                .isEqualTo(1L);
+    }
+}
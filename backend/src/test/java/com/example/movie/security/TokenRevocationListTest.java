@@ -0,0 +1,70 @@
+package com.example.movie.security;
+
+import com.example.movie.model.InvalidatedToken;
+import com.example.movie.repository.InvalidatedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(invalidatedTokenRepository, 1000, 0.01, 2);
+    }
+
+    @Test
+    void isRevoked_ShouldOnlyMatchRevokedIds() {
+        revocationList.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void onStartup_ShouldLoadTokensThatHaveNotExpired() {
+        when(invalidatedTokenRepository.findByExpiryTimeAfter(any(Date.class))).thenReturn(List.of(
+                new InvalidatedToken("jti-live", Date.from(Instant.now().plusSeconds(60)))));
+
+        revocationList.onStartup();
+
+        assertThat(revocationList.isRevoked("jti-live")).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteInBatchesAndForgetExpiredIds() {
+        revocationList.revoke("jti-old", Instant.now().minusSeconds(1));
+        revocationList.revoke("jti-live", Instant.now().plusSeconds(60));
+        when(invalidatedTokenRepository.findExpiredIds(any(Date.class), any(Pageable.class)))
+                .thenReturn(List.of("a", "b"), List.of("c"));
+
+        revocationList.purgeExpired();
+
+        verify(invalidatedTokenRepository, times(2)).findExpiredIds(any(Date.class), any(Pageable.class));
+        verify(invalidatedTokenRepository).deleteAllByIdInBatch(List.of("a", "b"));
+        verify(invalidatedTokenRepository).deleteAllByIdInBatch(List.of("c"));
+        assertThat(revocationList.isRevoked("jti-old")).isFalse();
+        assertThat(revocationList.isRevoked("jti-live")).isTrue();
+    }
+}
@@ -9,8 +9,12 @@ import com.example.movie.model.InvalidatedToken;
 import com.example.movie.model.User;
 import com.example.movie.repository.InvalidatedTokenRepository;
 import com.example.movie.repository.UserRepository;
+import com.example.movie.security.AuthenticationCache;
+import com.example.movie.security.RefreshSessionStore;
 import com.example.movie.security.SecurityUtil;
+import com.example.movie.security.TokenRevocationList;
 import com.example.movie.service.impl.AuthServiceImpl;
+import com.example.movie.testutil.ServiceMetricsFixture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,7 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-class AuthServiceTest {
+class AuthServiceTest extends ServiceMetricsFixture {
 
     @Mock
     private UserRepository userRepository;
@@ -41,10 +45,17 @@ class AuthServiceTest {
     @Mock
     private SecurityUtil securityUtil;
 
+
     @InjectMocks
     private AuthServiceImpl authService;
     @Mock
     private InvalidatedTokenRepository invalidatedTokenRepository;
+    @Mock
+    private AuthenticationCache authenticationCache;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @Mock
+    private RefreshSessionStore refreshSessionStore;
     private User user;
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
@@ -57,6 +68,8 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(refreshSessionStore.open(any())).thenReturn(new RefreshSessionStore.Issued("family-1", 0));
+
         user = new User();
         user.setId(1L);
         user.setUsername("testuser");
@@ -364,8 +377,8 @@ class AuthServiceTest {
         // Arrange
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
-        when(securityUtil.createAccessToken(user)).thenReturn("accessToken");
-        when(securityUtil.createRefreshToken("testuser")).thenReturn("refreshToken");
+        when(securityUtil.createAccessToken(user, "family-1")).thenReturn("accessToken");
+        when(securityUtil.createRefreshToken("testuser", "family-1", 0L)).thenReturn("refreshToken");
 
         // Act
         AuthResponse result = authService.login(loginRequest);
@@ -382,8 +395,8 @@ class AuthServiceTest {
         // Arrange
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
         when(passwordEncoder.matches("adminPassword", "encodedAdminPass")).thenReturn(true);
-        when(securityUtil.createAccessToken(adminUser)).thenReturn("admin-access-token");
-        when(securityUtil.createRefreshToken("admin")).thenReturn("admin-refresh-token");
+        when(securityUtil.createAccessToken(adminUser, "family-1")).thenReturn("admin-access-token");
+        when(securityUtil.createRefreshToken("admin", "family-1", 0L)).thenReturn("admin-refresh-token");
 
         // Act
         AuthResponse result = authService.login(adminLoginRequest);
@@ -394,7 +407,7 @@ class AuthServiceTest {
         assertEquals("admin-refresh-token", result.getRefreshToken());
 
         // Kiểm tra xem hàm tạo token có thực sự được gọi với object adminUser không
-        verify(securityUtil).createAccessToken(adminUser);
+        verify(securityUtil).createAccessToken(adminUser, "family-1");
     }
 
     @Test
@@ -413,7 +426,27 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(UserNotFoundException.class, () -> authService.login(loginRequest));
+        assertThrows(InvalidCredentialException.class, () -> authService.login(loginRequest));
+        // Vẫn phải băm mật khẩu (với hash giả) để không trả lời nhanh hơn user có thật
+        verify(passwordEncoder).matches("password", null);
+    }
+
+    @Test
+    @DisplayName("Should rehash password when stored hash uses a lower cost")
+    void login_ShouldUpgradeHash_WhenEncodingIsOutdated() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("strongerPassword");
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        authService.login(loginRequest);
+
+        // Assert
+        assertEquals("strongerPassword", user.getPassword());
+        verify(userRepository).save(user);
     }
 
     @Test
@@ -434,7 +467,7 @@ class AuthServiceTest {
         assertEquals("Account disabled", exception.getMessage());
 
         // Đảm bảo không có token nào được tạo ra
-        verify(securityUtil, never()).createAccessToken(any());
+        verify(securityUtil, never()).createAccessToken(any(), any());
     }
 
     // ===================== SESSION CREATION TEST CASES =====================
@@ -451,8 +484,8 @@ class AuthServiceTest {
         user.setIsActive(true);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
-        when(securityUtil.createAccessToken(user)).thenReturn("generated-access-token");
-        when(securityUtil.createRefreshToken("testuser")).thenReturn("generated-refresh-token");
+        when(securityUtil.createAccessToken(user, "family-1")).thenReturn("generated-access-token");
+        when(securityUtil.createRefreshToken("testuser", "family-1", 0L)).thenReturn("generated-refresh-token");
 
         // Act
         AuthResponse result = authService.login(loginRequest);
@@ -464,8 +497,8 @@ class AuthServiceTest {
         assertFalse(result.getRefreshToken().isEmpty(), "Refresh token không được rỗng");
 
         // Verify cả 2 method tạo token đều được gọi
-        verify(securityUtil).createAccessToken(user);
-        verify(securityUtil).createRefreshToken("testuser");
+        verify(securityUtil).createAccessToken(user, "family-1");
+        verify(securityUtil).createRefreshToken("testuser", "family-1", 0L);
     }
 
     /**
@@ -483,8 +516,8 @@ class AuthServiceTest {
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
-        when(securityUtil.createAccessToken(user)).thenReturn(accessToken);
-        when(securityUtil.createRefreshToken("testuser")).thenReturn(refreshToken);
+        when(securityUtil.createAccessToken(user, "family-1")).thenReturn(accessToken);
+        when(securityUtil.createRefreshToken("testuser", "family-1", 0L)).thenReturn(refreshToken);
 
         // Act
         AuthResponse result = authService.login(loginRequest);
@@ -505,8 +538,8 @@ class AuthServiceTest {
         user.setIsActive(true);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
-        when(securityUtil.createAccessToken(user)).thenReturn("access-token");
-        when(securityUtil.createRefreshToken("testuser")).thenReturn("refresh-token");
+        when(securityUtil.createAccessToken(user, "family-1")).thenReturn("access-token");
+        when(securityUtil.createRefreshToken("testuser", "family-1", 0L)).thenReturn("refresh-token");
 
         // Act
         AuthResponse result = authService.login(loginRequest);
@@ -537,20 +570,38 @@ class AuthServiceTest {
         org.springframework.security.oauth2.jwt.JwtDecoder mockDecoder = mock(
                 org.springframework.security.oauth2.jwt.JwtDecoder.class);
 
-        when(mockJwt.getSubject()).thenReturn("testuser");
+        when(mockJwt.getClaimAsString(SecurityUtil.SESSION_ID_KEY)).thenReturn("family-1");
+        when(mockJwt.getClaim(SecurityUtil.ROTATION_KEY)).thenReturn(3L);
         when(mockDecoder.decode(validRefreshToken)).thenReturn(mockJwt);
         when(securityUtil.getJwtDecoder()).thenReturn(mockDecoder);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(securityUtil.createAccessToken(user)).thenReturn(newAccessToken);
+        when(refreshSessionStore.rotate("family-1", 3L)).thenReturn(new RefreshSessionStore.Rotation(user, "family-1", 4L));
+        when(securityUtil.createAccessToken(user, "family-1")).thenReturn(newAccessToken);
+        when(securityUtil.createRefreshToken("testuser", "family-1", 4L)).thenReturn("rotated-refresh-token");
 
         // Act
         AuthResponse result = authService.refreshToken(validRefreshToken);
 
         // Assert
         assertEquals(newAccessToken, result.getAccessToken());
-        assertEquals(validRefreshToken, result.getRefreshToken()); // Refresh token giữ nguyên
-        verify(securityUtil).createAccessToken(user);
+        assertEquals("rotated-refresh-token", result.getRefreshToken()); // Refresh token được xoay vòng
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    @DisplayName("Token Refresh - Should reject refresh token that is not bound to a session")
+    void shouldRejectRefreshToken_WhenSessionClaimMissing() {
+        // Arrange
+        org.springframework.security.oauth2.jwt.Jwt mockJwt = mock(org.springframework.security.oauth2.jwt.Jwt.class);
+        org.springframework.security.oauth2.jwt.JwtDecoder mockDecoder = mock(
+                org.springframework.security.oauth2.jwt.JwtDecoder.class);
+        when(mockDecoder.decode("legacy-refresh-token")).thenReturn(mockJwt);
+        when(securityUtil.getJwtDecoder()).thenReturn(mockDecoder);
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> authService.refreshToken("legacy-refresh-token"));
+        verify(refreshSessionStore, never()).rotate(any(), anyLong());
     }
+
     @Test
     @DisplayName("Logout - Should invalidate token by saving to blacklist")
     void logout_ShouldInvalidateToken_WhenTokenIsValid() {
@@ -561,6 +612,7 @@ class AuthServiceTest {
         // Giả lập lấy được ngày hết hạn từ token
         Date mockExpiryDate = new Date();
         when(securityUtil.getExpirationDateFromToken(tokenValue)).thenReturn(mockExpiryDate);
+        when(securityUtil.getTokenId(tokenValue)).thenReturn("token-jti");
 
         // Act
         authService.logout(authHeader);
@@ -568,6 +620,8 @@ class AuthServiceTest {
         // Assert
         // Quan trọng: Kiểm tra xem hàm save của invalidatedTokenRepository có được gọi không?
         verify(invalidatedTokenRepository, times(1)).save(any(InvalidatedToken.class));
+        verify(tokenRevocationList).revoke("token-jti", mockExpiryDate.toInstant());
+        verify(authenticationCache).remove(AuthenticationCache.keyOf(tokenValue));
     }
 
     @Test
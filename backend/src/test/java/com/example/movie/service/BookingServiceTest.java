@@ -2,11 +2,17 @@ package com.example.movie.service;
 
 import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
+import com.example.movie.dto.response.CursorPageResponse;
 import com.example.movie.exception.AuthenticationRequiredException;
+import com.example.movie.history.BookingCursor;
+import com.example.movie.history.UserBookingRow;
+import com.example.movie.ledger.SeatLedgerRecorder;
 import com.example.movie.mapper.BookingMapper;
+import com.example.movie.mapper.UserBookingViewMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.*;
 import com.example.movie.service.impl.BookingServiceImpl;
+import com.example.movie.testutil.ServiceMetricsFixture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,19 +20,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-public class BookingServiceTest {
+public class BookingServiceTest extends ServiceMetricsFixture {
 
     @Mock
     private BookingRepository bookingRepository;
@@ -42,12 +53,25 @@ public class BookingServiceTest {
     private TicketRepository ticketRepository;
     @Mock
     private PaymentRepository paymentRepository;
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+    @Mock
+    private UserBookingViewRepository userBookingViewRepository;
+    @Mock
+    private UserBookingViewMapper userBookingViewMapper;
+    @Mock
+    private SeatLedgerRecorder seatLedgerRecorder;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
 
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -159,20 +183,46 @@ public class BookingServiceTest {
     @Test
     void shouldReturnUserBookings_WhenAuthenticated() {
         // Arrange
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setUser(user);
-
-        when(bookingRepository.findByUserIdWithDetails(user.getId())).thenReturn(List.of(booking));
-        when(bookingMapper.toResponse(any(Booking.class))).thenReturn(new BookingResponse());
+        UserBookingRow row = historyRow(1L, LocalDateTime.of(2025, 1, 10, 18, 0));
+        when(userBookingViewRepository.findFirstPage(eq(user.getId()), any(Pageable.class))).thenReturn(List.of(row));
+        when(userBookingViewMapper.toResponse(row)).thenReturn(new BookingResponse());
 
         // Act
-        List<BookingResponse> results = bookingService.getBookingsByUserId(user.getId());
+        CursorPageResponse<BookingResponse> results = bookingService.getBookingsByUserId(user.getId(), null, 20);
 
         // Assert
         assertNotNull(results);
-        assertEquals(1, results.size());
-        verify(bookingRepository, times(1)).findByUserIdWithDetails(user.getId());
+        assertEquals(1, results.getContent().size());
+        assertFalse(results.isHasNext());
+        assertNull(results.getNextCursor());
+        // Lấy thêm một dòng để biết còn trang sau hay không
+        verify(userBookingViewRepository, times(1)).findFirstPage(user.getId(), PageRequest.of(0, 21));
+        verify(bookingRepository, never()).findByUserIdWithDetails(any());
+    }
+
+    @Test
+    void shouldContinueAfterCursor_WhenHistoryHasMorePages() {
+        // Arrange
+        LocalDateTime createdOn = LocalDateTime.of(2025, 1, 10, 18, 0);
+        List<UserBookingRow> firstPage = List.of(historyRow(30L, createdOn), historyRow(20L, createdOn),
+                historyRow(10L, createdOn.minusDays(1)));
+        when(userBookingViewRepository.findFirstPage(eq(user.getId()), any(Pageable.class))).thenReturn(firstPage);
+        when(userBookingViewMapper.toResponse(any(UserBookingRow.class))).thenReturn(new BookingResponse());
+
+        // Act
+        CursorPageResponse<BookingResponse> page = bookingService.getBookingsByUserId(user.getId(), null, 2);
+        bookingService.getBookingsByUserId(user.getId(), page.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(new BookingCursor(createdOn, 20L), BookingCursor.decode(page.getNextCursor()));
+        verify(userBookingViewRepository).findPageAfter(user.getId(), createdOn, 20L, PageRequest.of(0, 3));
+    }
+
+    private static UserBookingRow historyRow(Long bookingId, LocalDateTime createdOn) {
+        return new UserBookingRow(bookingId, "BK" + bookingId, Booking.BookingStatus.PAID, createdOn, 100f,
+                "testuser", 1L, null, null, null, null, 1L, "Movie", null, null, null, 1L, "Room 1", "[]");
     }
 
     @Test
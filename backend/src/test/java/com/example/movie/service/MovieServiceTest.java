@@ -7,12 +7,15 @@ import com.example.movie.exception.InvalidId;
 import com.example.movie.mapper.MovieMapper;
 import com.example.movie.model.Movie;
 import com.example.movie.repository.MovieRepository;
+import com.example.movie.search.MovieSearchCache;
 import com.example.movie.service.impl.MovieServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,6 +39,9 @@ public class MovieServiceTest {
     @Mock
     private MovieMapper movieMapper;
 
+    @Spy
+    private MovieSearchCache movieSearchCache = new MovieSearchCache(new SimpleMeterRegistry(), 5000, 100, 100);
+
     @InjectMocks
     private MovieServiceImpl movieService;
 
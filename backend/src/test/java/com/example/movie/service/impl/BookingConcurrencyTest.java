@@ -3,13 +3,17 @@ package com.example.movie.service.impl;
 import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
 import com.example.movie.exception.SeatNotAvailableException;
+import com.example.movie.ledger.SeatLedgerRecorder;
 import com.example.movie.mapper.BookingMapper;
+import com.example.movie.mapper.UserBookingViewMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.*;
+import com.example.movie.testutil.ServiceMetricsFixture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -28,7 +32,7 @@ import static org.mockito.Mockito.*;
  * attempt to book the same seat simultaneously.
  */
 @org.junit.jupiter.api.extension.ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
-class BookingConcurrencyTest {
+class BookingConcurrencyTest extends ServiceMetricsFixture {
 
     @org.mockito.Mock
     private BookingRepository bookingRepository;
@@ -51,6 +55,25 @@ class BookingConcurrencyTest {
     @org.mockito.Mock
     private PaymentRepository paymentRepository;
 
+    @org.mockito.Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @org.mockito.Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @org.mockito.Mock
+    private UserBookingViewRepository userBookingViewRepository;
+
+    @org.mockito.Mock
+    private UserBookingViewMapper userBookingViewMapper;
+
+    @org.mockito.Mock
+    private SeatLedgerRecorder seatLedgerRecorder;
+
+    @org.mockito.Mock
+    private ApplicationEventPublisher eventPublisher;
+
+
     @org.mockito.InjectMocks
     private BookingServiceImpl bookingService;
 
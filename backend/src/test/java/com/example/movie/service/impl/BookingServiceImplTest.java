@@ -4,13 +4,17 @@ import com.example.movie.dto.booking.BookingResponse;
 import com.example.movie.dto.booking.CreateBookingRequest;
 import com.example.movie.exception.AuthenticationRequiredException;
 import com.example.movie.exception.SeatNotAvailableException;
+import com.example.movie.ledger.SeatLedgerRecorder;
 import com.example.movie.mapper.BookingMapper;
+import com.example.movie.mapper.UserBookingViewMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.*;
+import com.example.movie.testutil.ServiceMetricsFixture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,7 +29,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @org.junit.jupiter.api.extension.ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
-class BookingServiceImplTest {
+class BookingServiceImplTest extends ServiceMetricsFixture {
 
         @org.mockito.Mock
         private BookingRepository bookingRepository;
@@ -48,6 +52,25 @@ class BookingServiceImplTest {
         @org.mockito.Mock
         private PaymentRepository paymentRepository;
 
+        @org.mockito.Mock
+        private ArchivedBookingRepository archivedBookingRepository;
+
+        @org.mockito.Mock
+        private ArchivedTicketRepository archivedTicketRepository;
+
+        @org.mockito.Mock
+        private UserBookingViewRepository userBookingViewRepository;
+
+        @org.mockito.Mock
+        private UserBookingViewMapper userBookingViewMapper;
+
+        @org.mockito.Mock
+        private SeatLedgerRecorder seatLedgerRecorder;
+
+        @org.mockito.Mock
+        private ApplicationEventPublisher eventPublisher;
+
+
         @org.mockito.InjectMocks
         private BookingServiceImpl bookingService;
 
@@ -110,6 +133,7 @@ class BookingServiceImplTest {
                 assertEquals(99L, result.getId());
                 verify(bookingRepository).save(any(Booking.class));
                 verify(ticketRepository, times(2)).save(any(Ticket.class));
+                assertEquals(1L, meterRegistry.timer("booking.create", "outcome", "success").count());
         }
 
         @Test
@@ -143,6 +167,8 @@ class BookingServiceImplTest {
                 request.setTotalPrice(100f);
 
                 assertThrows(SeatNotAvailableException.class, () -> bookingService.createBooking(request));
+                assertEquals(1.0, meterRegistry.counter("booking.seat.conflicts", "stage", "check").count());
+                assertEquals(1L, meterRegistry.timer("booking.create", "outcome", "seat_unavailable").count());
         }
 
         @Test
@@ -6,6 +6,8 @@ import com.example.movie.dto.response.PageResponse;
 import com.example.movie.mapper.MovieMapper;
 import com.example.movie.model.Movie;
 import com.example.movie.repository.MovieRepository;
+import com.example.movie.search.MovieSearchCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -32,6 +34,9 @@ class MovieServiceImplTest {
     @org.mockito.Mock
     private MovieMapper movieMapper;
 
+    @org.mockito.Spy
+    private MovieSearchCache movieSearchCache = new MovieSearchCache(new SimpleMeterRegistry(), 5000, 100, 100);
+
     @org.mockito.InjectMocks
     private MovieServiceImpl movieService;
 
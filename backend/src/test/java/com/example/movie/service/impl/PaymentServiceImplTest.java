@@ -2,15 +2,18 @@ package com.example.movie.service.impl;
 
 import com.example.movie.dto.payment.PaymentResponse;
 import com.example.movie.dto.payment.PaymentUpdateRequest;
+import com.example.movie.ledger.SeatLedgerRecorder;
 import com.example.movie.mapper.PaymentMapper;
 import com.example.movie.model.*;
 import com.example.movie.repository.BookingRepository;
 import com.example.movie.repository.PaymentRepository;
 import com.example.movie.repository.TicketRepository;
+import com.example.movie.testutil.ServiceMetricsFixture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,7 +29,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @org.junit.jupiter.api.extension.ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
-class PaymentServiceImplTest {
+class PaymentServiceImplTest extends ServiceMetricsFixture {
 
     @org.mockito.Mock
     private PaymentRepository paymentRepository;
@@ -40,6 +43,13 @@ class PaymentServiceImplTest {
     @org.mockito.Mock
     private PaymentMapper paymentMapper;
 
+    @org.mockito.Mock
+    private SeatLedgerRecorder seatLedgerRecorder;
+
+    @org.mockito.Mock
+    private ApplicationEventPublisher eventPublisher;
+
+
     @org.mockito.InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -67,7 +67,7 @@ public class DataSeeder {
             user.setUsername(username);
             user.setPassword("password");
             user.setEmail(username + "@example.com");
-            user.setPhoneNumber("1234567890"); // Fixed
+            user.setPhoneNumber(phoneNumberFor(username));
             user.setAddress("123 Test St"); // Added required field
             user.setRole(User.UserRole.CUSTOMER); // Added required field
             // user.setFullName(...) removed as it does not exist
@@ -75,6 +75,11 @@ public class DataSeeder {
         }
     }
 
+    // phone_number là unique: suy ra từ username (cũng unique) để seed nhiều user trong cùng DB không đụng nhau
+    private static String phoneNumberFor(String username) {
+        return "tel-" + username;
+    }
+
     // Setup a screening with full seats for concurrency test
     @Transactional
     public ScreeningSeedResult seedScreeningWithSeats(int auditoriumId) {
@@ -89,8 +94,59 @@ public class DataSeeder {
                 });
 
         // Create movie
+        Movie movie = movieRepository.save(newMovie("Concurrency Test Movie"));
+
+        // Create screening
+        Screening screening = screeningRepository.save(newScreening(movie, auditorium));
+
+        // Create seats
+        List<Seat> seats = newSeats(auditorium, 100);
+        seatRepository.saveAll(seats);
+
+        // Return the first seat for testing
+        return new ScreeningSeedResult(screening, seats.get(0));
+    }
+
+    /**
+     * Seeds screenings of 100 seats (auditorium ids from {@code firstAuditoriumId}) until there
+     * are {@code count} seats, each free to book once without conflicting with another request.
+     */
+    public List<BookableSeat> seedBookableSeats(int count, int firstAuditoriumId) {
+        List<BookableSeat> seats = new ArrayList<>(count);
+        for (int i = 0; seats.size() < count; i++) {
+            Screening screening = seedScreeningWithSeats(firstAuditoriumId + i).screening();
+            for (Seat seat : seatRepository.findByAuditoriumId(screening.getAuditorium().getId())) {
+                if (seats.size() < count) {
+                    seats.add(new BookableSeat(screening.getId(), seat.getId()));
+                }
+            }
+        }
+        return seats;
+    }
+
+    // Mật khẩu đã mã hóa sẵn để login đi qua PasswordEncoder như thật
+    @Transactional
+    public List<User> seedUsers(String prefix, int count, String encodedPassword) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setPassword(encodedPassword);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPhoneNumber(phoneNumberFor(prefix + i));
+            user.setAddress("123 Test St");
+            user.setRole(User.UserRole.CUSTOMER);
+            user.setIsActive(true);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    // Các builder dưới đây không chạm DB, dùng chung cho seed và cho JMH benchmark (src/jmh)
+
+    public static Movie newMovie(String title) {
         Movie movie = new Movie();
-        movie.setTitle("Concurrency Test Movie");
+        movie.setTitle(title);
         movie.setDuration("120");
         movie.setReleaseDate(LocalDate.now());
         movie.setDirector("Director");
@@ -100,9 +156,10 @@ public class DataSeeder {
         movie.setRated("PG");
         movie.setDescription("Desc");
         movie.setStatus(MovieStatus.NOW_SHOWING);
-        movie = movieRepository.save(movie);
+        return movie;
+    }
 
-        // Create screening
+    public static Screening newScreening(Movie movie, Auditorium auditorium) {
         Screening screening = new Screening();
         screening.setMovie(movie);
         screening.setAuditorium(auditorium);
@@ -110,26 +167,26 @@ public class DataSeeder {
         screening.setEndTime(LocalDateTime.now().plusHours(3));
         screening.setFormat(Screening.Format.TwoD);
         screening.setStatus(Screening.Status.ACTIVE);
-        screening = screeningRepository.save(screening);
+        return screening;
+    }
 
-        // Create seats
-        List<Seat> seats = new ArrayList<>();
-        // Removed unused finalScreening
-        Auditorium finalAuditorium = auditorium;
-        IntStream.range(1, 101).forEach(i -> {
+    // Ghế hàng A, đánh số từ 1
+    public static List<Seat> newSeats(Auditorium auditorium, int count) {
+        List<Seat> seats = new ArrayList<>(count);
+        IntStream.rangeClosed(1, count).forEach(i -> {
             Seat seat = new Seat();
-            seat.setAuditorium(finalAuditorium);
+            seat.setAuditorium(auditorium);
             seat.setRowLabel("A");
             seat.setNumber(i);
             seat.setSeatType(Seat.SeatType.NORMAL);
             seats.add(seat);
         });
-        seatRepository.saveAll(seats);
-
-        // Return the first seat for testing
-        return new ScreeningSeedResult(screening, seats.get(0));
+        return seats;
     }
 
     public record ScreeningSeedResult(Screening screening, Seat targetSeat) {
     }
+
+    public record BookableSeat(long screeningId, long seatId) {
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.movie.testutil;
+
+import com.example.movie.diagnostics.QueryCounter;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Asserts how many SQL statements a block of code runs, so an N+1 fails the test instead of
+ * showing up under load. Needs a Spring context (the counting is wired into Hibernate there).
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static QueryCounter.Stats measure(Runnable action) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            action.run();
+            return scope.stats();
+        }
+    }
+
+    public static QueryCounter.Stats assertStatementsAtMost(int budget, Runnable action) {
+        QueryCounter.Stats stats = measure(action);
+        Assertions.assertTrue(stats.statements() <= budget,
+                () -> "Expected at most " + budget + " statements but got " + stats);
+        return stats;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.movie.testutil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base class for Mockito service tests: a real meter registry to assert timers on, and a
+ * TransactionTemplate that just runs the callback. @InjectMocks picks both up from here.
+ */
+public abstract class ServiceMetricsFixture {
+
+    @Spy
+    protected MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    protected TransactionTemplate transactionTemplate = new TransactionTemplate(new InlineTransactionManager());
+
+    private static final class InlineTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.movie.testutil;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the prepared statements a block of code executes, together with their bound parameters,
+ * so a test can run them again with a prefix (e.g. {@code EXPLAIN}). Wrap the application DataSource
+ * with {@link #wrap(DataSource)}; only statements executed inside {@link #record(Runnable)} on the
+ * same thread are kept.
+ */
+public final class StatementRecorder {
+
+    private static final ThreadLocal<List<Recorded>> RECORDING = new ThreadLocal<>();
+
+    private StatementRecorder() {
+    }
+
+    public record Recorded(String sql, List<Binding> bindings) {
+
+        /**
+         * Prepares {@code prefix + sql} on the given connection and binds the recorded parameters.
+         */
+        public PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Binding binding : bindings) {
+                invoke(binding.setter(), statement, binding.args());
+            }
+            return statement;
+        }
+    }
+
+    // Lời gọi setXxx(index, value...) của PreparedStatement, phát lại nguyên vẹn
+    public record Binding(Method setter, Object[] args) {
+    }
+
+    public static List<Recorded> record(Runnable action) {
+        List<Recorded> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+            return statements;
+        } finally {
+            RECORDING.remove();
+        }
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(method, dataSource, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return wrap(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (args == null && (name.equals("executeQuery") || name.equals("executeUpdate")
+                    || name.equals("execute") || name.equals("executeLargeUpdate"))) {
+                List<Recorded> statements = RECORDING.get();
+                if (statements != null) {
+                    statements.add(new Recorded(sql, List.copyOf(bindings)));
+                }
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.movie.testutil;
+
+import com.example.movie.diagnostics.QueryStats;
+import com.example.movie.security.AuthenticationCache;
+import com.example.movie.security.RefreshSessionStore;
+import com.example.movie.security.TokenRevocationList;
+import com.example.movie.service.impl.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Beans every {@code @WebMvcTest} slice needs besides the controller's own services:
+ * mocks for what the security filters depend on, and real meter registry / QueryStats
+ * because JwtAuthenticationFilter and QueryCountFilter write to them.
+ * Use with {@code @Import(WebMvcSliceConfig.class)}.
+ */
+@TestConfiguration
+@Import({SimpleMeterRegistry.class, QueryStats.class})
+public class WebMvcSliceConfig {
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @MockBean
+    private AuthenticationCache authenticationCache;
+
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
+    @MockBean
+    private RefreshSessionStore refreshSessionStore;
+}
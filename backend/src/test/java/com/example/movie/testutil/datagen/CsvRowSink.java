@@ -0,0 +1,84 @@
+package com.example.movie.testutil.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes one CSV file per table plus {@code load.sql} with the matching
+ * {@code LOAD DATA LOCAL INFILE} statements, in parent-first order:
+ * {@code mysql --local-infile=1 -u ... moviebooking < load.sql} from the output directory.
+ */
+final class CsvRowSink implements RowSink {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directory;
+    private final Map<String, Writer> writers = new LinkedHashMap<>();
+    private final Map<String, String[]> columns = new LinkedHashMap<>();
+
+    CsvRowSink(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public void table(String name, String... columns) throws IOException {
+        writers.put(name, new BufferedWriter(Files.newBufferedWriter(directory.resolve(name + ".csv"),
+                StandardCharsets.UTF_8), 1 << 16));
+        this.columns.put(name, columns);
+    }
+
+    @Override
+    public void row(String table, Object... values) throws IOException {
+        Writer writer = writers.get(table);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(format(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATE_TIME);
+        }
+        if (value instanceof LocalDate date) {
+            return date.toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        if (value instanceof String text) {
+            return "\"" + text.replace("\\", "\\\\").replace("\"", "\"\"") + "\"";
+        }
+        return value.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        StringBuilder script = new StringBuilder("SET FOREIGN_KEY_CHECKS=0;\nSET UNIQUE_CHECKS=0;\n");
+        for (Map.Entry<String, Writer> entry : writers.entrySet()) {
+            entry.getValue().close();
+            script.append("LOAD DATA LOCAL INFILE '").append(entry.getKey()).append(".csv' INTO TABLE ")
+                    .append(entry.getKey())
+                    .append(" CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"'")
+                    .append(" LINES TERMINATED BY '\\n' (")
+                    .append(String.join(", ", columns.get(entry.getKey())))
+                    .append(");\n");
+        }
+        script.append("SET UNIQUE_CHECKS=1;\nSET FOREIGN_KEY_CHECKS=1;\n");
+        Files.writeString(directory.resolve("load.sql"), script);
+    }
+}
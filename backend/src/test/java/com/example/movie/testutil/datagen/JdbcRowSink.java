@@ -0,0 +1,106 @@
+package com.example.movie.testutil.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inserts with JDBC batches, committing every {@code batchSize} rows. When one table's batch is
+ * full every pending batch is flushed in declaration order, so parent rows always land first.
+ * On MySQL the URL should carry {@code rewriteBatchedStatements=true} to turn each batch into
+ * multi-row INSERTs.
+ */
+final class JdbcRowSink implements RowSink {
+    private final Connection connection;
+    private final int batchSize;
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    JdbcRowSink(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+    }
+
+    @Override
+    public void table(String name, String... columns) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + name)) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("Table " + name + " is not empty; the generator assigns ids from 1");
+            }
+        }
+        String sql = "INSERT INTO " + name + " (" + String.join(", ", columns) + ") VALUES ("
+                + "?, ".repeat(columns.length - 1) + "?)";
+        tables.put(name, new Table(connection.prepareStatement(sql), columns[0].equals("id")));
+    }
+
+    @Override
+    public void row(String table, Object... values) throws SQLException {
+        Table target = tables.get(table);
+        for (int i = 0; i < values.length; i++) {
+            target.statement.setObject(i + 1, values[i]);
+        }
+        target.statement.addBatch();
+        if (++target.pending >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() throws SQLException {
+        for (Table table : tables.values()) {
+            if (table.pending > 0) {
+                table.statement.executeBatch();
+                table.pending = 0;
+            }
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            if (connection.getMetaData().getDatabaseProductName().equals("H2")) {
+                // H2 không tự đẩy bộ đếm IDENTITY khi insert id tường minh như MySQL
+                for (Map.Entry<String, Table> entry : tables.entrySet()) {
+                    if (entry.getValue().hasId) {
+                        restartIdentity(entry.getKey());
+                    }
+                }
+            }
+        } finally {
+            for (Table table : tables.values()) {
+                table.statement.close();
+            }
+        }
+    }
+
+    private void restartIdentity(String table) throws SQLException {
+        long next;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            next = rs.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+        connection.commit();
+    }
+
+    private static final class Table {
+        private final PreparedStatement statement;
+        private final boolean hasId;
+        private int pending;
+
+        private Table(PreparedStatement statement, boolean hasId) {
+            this.statement = statement;
+            this.hasId = hasId;
+        }
+    }
+}
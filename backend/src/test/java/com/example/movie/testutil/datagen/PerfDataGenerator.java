@@ -0,0 +1,386 @@
+package com.example.movie.testutil.datagen;
+
+import com.example.movie.search.SearchNormalizer;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Builds a perf dataset (users, movies, auditoriums, seats, screenings, bookings, tickets,
+ * payments) straight into the database with JDBC batches, or into CSV files for
+ * {@code LOAD DATA}. The same seed and start date always give the same rows.
+ *
+ * Distributions are skewed on purpose: a few movies get most screenings and sell out, evening
+ * and weekend screenings fill up more, central rows sell first, and a minority of users makes
+ * most bookings. Screenings before the start date are FINISHED with used tickets.
+ *
+ * The schema must exist (start the app once, or ddl-auto) and the tables must be empty; ids are
+ * assigned from 1. Run the app afterwards with {@code --spring.sql.init.mode=never}, otherwise
+ * data.sql clears the movie and users tables.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.movie.testutil.datagen.PerfDataGenerator \
+ *     -Dexec.args="--url=jdbc:mysql://localhost:3306/moviebooking --username=root --password=secret"
+ * # CSV + load.sql thay vì JDBC
+ *     -Dexec.args="--csv=target/perf-data --seed=7 --users=200000"
+ * </pre>
+ */
+public final class PerfDataGenerator {
+    public static final String PASSWORD = "Password@123";
+
+    private static final String[] TITLE_WORDS = {"Last", "Night", "Kingdom", "Shadow", "River", "Dragon", "Storm",
+            "Secret", "Summer", "City", "Ghost", "Star", "Heart", "Return", "Legend", "Silent", "Hà Nội", "Mùa Hè",
+            "Ánh Sáng", "Bí Mật"};
+    private static final String[] GENRES = {"Action", "Drama", "Comedy", "Horror", "Romance", "Sci-Fi",
+            "Animation", "Thriller", "Adventure", "Family"};
+    private static final String[] LANGUAGES = {"English", "Vietnamese", "Korean", "Japanese"};
+    private static final String[] RATINGS = {"P", "T13", "T16", "T18"};
+    private static final int ROW_COUNT = 12;
+    private static final int SEATS_PER_ROW = 20;
+    private static final int CLEANING_MINUTES = 15;
+    private static final float NORMAL_PRICE = 75_000f;
+    private static final float SWEETBOX_PRICE = 150_000f;
+    private static final DateTimeFormatter CODE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * Dataset size. {@link #perf()} is the full perf environment, {@link #small()} is for tests.
+     */
+    public record Config(long seed, int users, int movies, int auditoriums, int screenings, int pastDays,
+                         LocalDate startDate) {
+
+        public static Config perf() {
+            return new Config(42, 100_000, 2_000, 40, 5_000, 14, LocalDate.now());
+        }
+
+        public static Config small() {
+            return new Config(42, 200, 40, 3, 60, 2, LocalDate.now());
+        }
+
+        Config with(String key, String value) {
+            return switch (key) {
+                case "seed" -> new Config(Long.parseLong(value), users, movies, auditoriums, screenings, pastDays, startDate);
+                case "users" -> new Config(seed, Integer.parseInt(value), movies, auditoriums, screenings, pastDays, startDate);
+                case "movies" -> new Config(seed, users, Integer.parseInt(value), auditoriums, screenings, pastDays, startDate);
+                case "auditoriums" -> new Config(seed, users, movies, Integer.parseInt(value), screenings, pastDays, startDate);
+                case "screenings" -> new Config(seed, users, movies, auditoriums, Integer.parseInt(value), pastDays, startDate);
+                case "past-days" -> new Config(seed, users, movies, auditoriums, screenings, Integer.parseInt(value), startDate);
+                case "start-date" -> new Config(seed, users, movies, auditoriums, screenings, pastDays, LocalDate.parse(value));
+                default -> throw new IllegalArgumentException("Unknown option --" + key);
+            };
+        }
+    }
+
+    /**
+     * Row counts written per table.
+     */
+    public record Summary(Map<String, Long> rows, long elapsedMillis) {
+    }
+
+    private final Config config;
+    private final SplittableRandom random;
+    private final Map<String, Long> counts = new HashMap<>();
+
+    // Trạng thái dùng khi sinh booking
+    private List<Integer> showingMovies;
+    private int[] movieDuration;
+    private List<int[]> seatPreference;
+
+    public PerfDataGenerator(Config config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.perf();
+        Map<String, String> connection = new HashMap<>();
+        String csv = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "url", "username", "password" -> connection.put(key, value);
+                case "csv" -> csv = value;
+                default -> config = config.with(key, value);
+            }
+        }
+
+        PerfDataGenerator generator = new PerfDataGenerator(config);
+        Summary summary;
+        if (csv != null) {
+            try (RowSink sink = new CsvRowSink(Path.of(csv))) {
+                summary = generator.generate(sink);
+            }
+        } else {
+            String url = connection.get("url");
+            if (url == null) {
+                throw new IllegalArgumentException("Either --url or --csv is required");
+            }
+            if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+                url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+            }
+            try (Connection jdbc = DriverManager.getConnection(url, connection.get("username"), connection.get("password"))) {
+                summary = generator.generate(jdbc);
+            }
+        }
+        System.out.println("Generated " + summary.rows() + " in " + summary.elapsedMillis() + " ms with " + config);
+    }
+
+    public Summary generate(Connection connection) throws Exception {
+        try (RowSink sink = new JdbcRowSink(connection, 5_000)) {
+            return generate(sink);
+        }
+    }
+
+    Summary generate(RowSink sink) throws Exception {
+        long start = System.nanoTime();
+        sink.table("users", "id", "username", "username_normalized", "email", "email_normalized", "password",
+                "phone_number", "role", "is_active", "address", "date_of_birth", "created_at", "updated_at");
+        sink.table("movie", "id", "title", "director", "actors", "genres", "release_date", "duration",
+                "language", "rated", "description", "status");
+        sink.table("movie_search_key", "movie_id", "search_key");
+        sink.table("movie_genre", "movie_id", "genre");
+        sink.table("auditorium", "id", "name", "capacity");
+        sink.table("seat", "id", "row_label", "number", "seat_type", "auditorium_id");
+        sink.table("screening", "id", "start_time", "end_time", "format", "status", "movie_id", "auditorium_id");
+        sink.table("booking", "id", "booking_code", "created_on", "booking_status", "total_price", "user_id",
+                "screening_id");
+        sink.table("ticket", "id", "status", "ticket_code", "movie_id", "auditorium_id", "screening_id", "seat_id",
+                "booking_id");
+        sink.table("payment", "id", "transaction_id", "payment_date", "amount", "payment_method", "note", "status",
+                "booking_id");
+
+        users(sink);
+        movies(sink);
+        auditoriums(sink);
+        screeningsAndBookings(sink);
+        return new Summary(Map.copyOf(counts), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void write(RowSink sink, String table, Object... values) throws Exception {
+        sink.row(table, values);
+        counts.merge(table, 1L, Long::sum);
+    }
+
+    private void users(RowSink sink) throws Exception {
+        // Một hash cho mọi user; salt lấy từ seed để dữ liệu lặp lại được
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10, new SecureRandom() {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                random.nextBytes(bytes);
+            }
+        }));
+        LocalDateTime registeredFrom = config.startDate().atStartOfDay().minusYears(2);
+        for (int id = 1; id <= config.users(); id++) {
+            String username = id == 1 ? "perf_admin" : "perf_user_" + id;
+            String email = username + "@perf.example.com";
+            LocalDateTime createdAt = registeredFrom.plusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            write(sink, "users", (long) id, username, SearchNormalizer.normalize(username), email,
+                    SearchNormalizer.normalize(email), hash, String.format("09%08d", id),
+                    id == 1 ? "ADMIN" : "CUSTOMER", true, "So " + id + " Duong Perf, Quan " + (1 + id % 12),
+                    LocalDate.of(1970 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    createdAt, createdAt);
+        }
+    }
+
+    private void movies(RowSink sink) throws Exception {
+        showingMovies = new ArrayList<>();
+        movieDuration = new int[config.movies() + 1];
+        for (int id = 1; id <= config.movies(); id++) {
+            String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                    + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + id;
+            String director = "Director " + (1 + random.nextInt(Math.max(1, config.movies() / 4)));
+            String actors = "Actor " + (1 + random.nextInt(1000)) + ", Actor " + (1 + random.nextInt(1000));
+            String first = GENRES[random.nextInt(GENRES.length)];
+            String second = GENRES[random.nextInt(GENRES.length)];
+            String genres = first.equals(second) ? first : first + ", " + second;
+            // Phim id nhỏ là phim hot (xếp hạng Zipf theo id); một phần mười là phim sắp chiếu
+            boolean comingSoon = id % 10 == 0;
+            int duration = 85 + random.nextInt(90);
+            movieDuration[id] = duration;
+            if (!comingSoon) {
+                showingMovies.add(id);
+            }
+            write(sink, "movie", (long) id, title, director, actors, genres,
+                    config.startDate().minusDays(comingSoon ? -30 - random.nextInt(60) : random.nextInt(120)),
+                    String.valueOf(duration), LANGUAGES[random.nextInt(LANGUAGES.length)],
+                    RATINGS[random.nextInt(RATINGS.length)], "Perf dataset movie " + id,
+                    comingSoon ? "COMING_SOON" : "NOW_SHOWING");
+
+            // Giống Movie.refreshSearchKeys để SearchKeyBackfill không phải tính lại
+            TreeSet<String> keys = new TreeSet<>(SearchNormalizer.wordStartKeys(title));
+            keys.addAll(SearchNormalizer.listKeys(director));
+            keys.addAll(SearchNormalizer.listKeys(actors));
+            keys.addAll(SearchNormalizer.listKeys(genres));
+            for (String key : keys) {
+                write(sink, "movie_search_key", (long) id, key);
+            }
+            for (String genre : new TreeSet<>(SearchNormalizer.listValues(genres))) {
+                write(sink, "movie_genre", (long) id, genre);
+            }
+        }
+    }
+
+    private void auditoriums(RowSink sink) throws Exception {
+        long seatId = 1;
+        for (int id = 1; id <= config.auditoriums(); id++) {
+            write(sink, "auditorium", (long) id, "Perf Hall " + id, ROW_COUNT * SEATS_PER_ROW);
+            for (int row = 0; row < ROW_COUNT; row++) {
+                for (int number = 1; number <= SEATS_PER_ROW; number++) {
+                    write(sink, "seat", seatId++, String.valueOf((char) ('A' + row)), number,
+                            row == ROW_COUNT - 1 ? "SWEETBOX" : "NORMAL", (long) id);
+                }
+            }
+        }
+
+        // Thứ tự khách chọn ghế: hàng ở khoảng 2/3 phòng trước, trong hàng thì ghế giữa trước
+        seatPreference = new ArrayList<>();
+        for (int row = 0; row < ROW_COUNT; row++) {
+            for (int index = 0; index < SEATS_PER_ROW; index++) {
+                seatPreference.add(new int[]{row, index});
+            }
+        }
+        double bestRow = ROW_COUNT * 2 / 3.0;
+        double middle = (SEATS_PER_ROW - 1) / 2.0;
+        seatPreference.sort((a, b) -> Double.compare(
+                Math.abs(a[0] - bestRow) * 2 + Math.abs(a[1] - middle) / 3,
+                Math.abs(b[0] - bestRow) * 2 + Math.abs(b[1] - middle) / 3));
+    }
+
+    private void screeningsAndBookings(RowSink sink) throws Exception {
+        Zipf moviePopularity = new Zipf(showingMovies.size(), 1.1);
+        // perf_admin (id 1) không đặt vé
+        Zipf userActivity = new Zipf(config.users() - 1, 0.8);
+        LocalDateTime now = config.startDate().atTime(LocalTime.NOON);
+        LocalDate day = config.startDate().minusDays(config.pastDays());
+
+        long screeningId = 1;
+        long[] ids = {1, 1, 1}; // booking, ticket, payment
+        while (screeningId <= config.screenings()) {
+            for (int auditorium = 1; auditorium <= config.auditoriums() && screeningId <= config.screenings(); auditorium++) {
+                LocalDateTime start = day.atTime(9, 0).plusMinutes(5L * random.nextInt(6));
+                while (start.toLocalTime().isBefore(LocalTime.of(23, 0)) && screeningId <= config.screenings()) {
+                    int rank = moviePopularity.sample(random);
+                    int movieId = showingMovies.get(rank);
+                    LocalDateTime end = start.plusMinutes(movieDuration[movieId]);
+                    boolean cancelled = random.nextInt(100) == 0;
+                    boolean finished = end.isBefore(now);
+                    write(sink, "screening", screeningId, start, end, random.nextInt(5) == 0 ? "IMAX" : "TwoD",
+                            cancelled ? "CANCELLED" : finished ? "FINISHED" : "ACTIVE", (long) movieId,
+                            (long) auditorium);
+                    if (!cancelled) {
+                        bookings(sink, ids, screeningId, movieId, auditorium, rank, start, now, userActivity);
+                    }
+                    screeningId++;
+                    // Làm tròn lên 5 phút sau giờ dọn phòng
+                    long gap = CLEANING_MINUTES + (5 - (end.getMinute() + CLEANING_MINUTES) % 5) % 5;
+                    start = end.plusMinutes(gap);
+                }
+            }
+            day = day.plusDays(1);
+        }
+    }
+
+    private void bookings(RowSink sink, long[] ids, long screeningId, int movieId, int auditorium, int rank,
+                          LocalDateTime start, LocalDateTime now, Zipf userActivity) throws Exception {
+        double occupancy = (0.15 + 0.8 / (1 + rank / 10.0)) * hourFactor(start) * (0.8 + 0.4 * random.nextDouble());
+        if (start.getDayOfWeek() == DayOfWeek.SATURDAY || start.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            occupancy *= 1.25;
+        }
+        if (start.isAfter(now)) {
+            // Suất càng xa càng ít vé đã bán
+            long daysAhead = Duration.between(now, start).toDays();
+            occupancy *= Math.max(0.2, 1 - daysAhead / 10.0);
+        }
+        int target = (int) (Math.min(1.0, occupancy) * seatPreference.size());
+        boolean past = start.isBefore(now);
+        long firstSeatId = (long) (auditorium - 1) * ROW_COUNT * SEATS_PER_ROW + 1;
+
+        int next = 0;
+        while (next < target) {
+            int groupSize = groupSize();
+            long bookingId = ids[0]++;
+            long userId = userActivity.sample(random) + 2;
+            LocalDateTime createdOn = start.minusMinutes(30 + (long) (-Math.log(1 - random.nextDouble()) * 48 * 60));
+            if (createdOn.isAfter(now)) {
+                createdOn = now.minusMinutes(1 + random.nextInt(600));
+            }
+            int roll = random.nextInt(100);
+            // 0 PENDING, 1 PAID, 2 CANCELLED (ordinal của Booking.BookingStatus)
+            int status = past ? (roll < 92 ? 1 : 2) : (roll < 80 ? 1 : roll < 92 ? 0 : 2);
+
+            float total = 0;
+            List<Object[]> tickets = new ArrayList<>(groupSize);
+            for (int i = 0; i < groupSize && next < seatPreference.size(); i++, next++) {
+                int[] seat = seatPreference.get(next);
+                long seatId = firstSeatId + (long) seat[0] * SEATS_PER_ROW + seat[1];
+                total += seat[0] == ROW_COUNT - 1 ? SWEETBOX_PRICE : NORMAL_PRICE;
+                long ticketId = ids[1]++;
+                // 1 BOOKED, 2 ISSUED, 3 USED, 4 CANCELLED (ordinal của Ticket.Status)
+                int ticketStatus = status == 2 ? 4 : status == 0 ? 1 : past ? (random.nextInt(10) < 8 ? 3 : 2) : 2;
+                tickets.add(new Object[]{ticketId, ticketStatus, ticketCode(ticketId), (long) movieId,
+                        (long) auditorium, screeningId, seatId, bookingId});
+            }
+            write(sink, "booking", bookingId, "BK-" + createdOn.format(CODE_DATE) + "-" + bookingId, createdOn,
+                    status, total, userId, screeningId);
+            for (Object[] ticket : tickets) {
+                write(sink, "ticket", ticket);
+            }
+            long paymentId = ids[2]++;
+            write(sink, "payment", paymentId, String.format("TXN%010d", paymentId),
+                    status == 1 ? createdOn.plusMinutes(1 + random.nextInt(15)) : null, total,
+                    random.nextInt(10) < 7 ? "BANK_TRANSFER" : "CASH", null,
+                    status == 1 ? "SUCCESS" : status == 0 ? "PENDING" : "CANCELLED", bookingId);
+
+            // Chừa vài ghế trống xen kẽ
+            if (random.nextInt(10) == 0) {
+                next++;
+            }
+        }
+    }
+
+    private static double hourFactor(LocalDateTime start) {
+        int hour = start.getHour();
+        if (hour < 12) {
+            return 0.4;
+        }
+        if (hour < 17) {
+            return 0.7;
+        }
+        if (hour < 22) {
+            return hour >= 18 && hour <= 20 ? 1.2 : 1.0;
+        }
+        return 0.6;
+    }
+
+    // Phần lớn đi theo cặp
+    private int groupSize() {
+        int roll = random.nextInt(100);
+        return roll < 25 ? 1 : roll < 70 ? 2 : roll < 85 ? 3 : 4;
+    }
+
+    // Nhân với số lẻ không chia hết cho 3 nên không trùng, trông như mã ngẫu nhiên 12 ký tự
+    private static String ticketCode(long ticketId) {
+        String code = Long.toString(ticketId * 2_654_435_761L, 36).toUpperCase(Locale.ROOT);
+        return "0".repeat(Math.max(0, 12 - code.length())) + code;
+    }
+}
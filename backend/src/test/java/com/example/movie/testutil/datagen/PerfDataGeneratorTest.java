@@ -0,0 +1,95 @@
+package com.example.movie.testutil.datagen;
+
+import com.example.movie.dto.seat.SeatResponse;
+import com.example.movie.repository.MovieRepository;
+import com.example.movie.repository.ScreeningRepository;
+import com.example.movie.repository.TicketRepository;
+import com.example.movie.repository.UserRepository;
+import com.example.movie.service.SeatService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// DB riêng: generator cần bảng rỗng
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class PerfDataGeneratorTest {
+    private static final PerfDataGenerator.Config CONFIG =
+            PerfDataGenerator.Config.small().with("start-date", "2026-03-02");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Test
+    void csv_ShouldBeIdenticalForTheSameSeed(@TempDir Path dir) throws Exception {
+        generateCsv(CONFIG, dir.resolve("first"));
+        generateCsv(CONFIG, dir.resolve("second"));
+        generateCsv(CONFIG.with("seed", "7"), dir.resolve("other"));
+
+        for (String table : List.of("users", "movie", "screening", "booking", "ticket", "payment")) {
+            byte[] first = Files.readAllBytes(dir.resolve("first").resolve(table + ".csv"));
+            assertThat(first).as(table).isEqualTo(Files.readAllBytes(dir.resolve("second").resolve(table + ".csv")));
+        }
+        assertThat(Files.readAllBytes(dir.resolve("first").resolve("ticket.csv")))
+                .isNotEqualTo(Files.readAllBytes(dir.resolve("other").resolve("ticket.csv")));
+        assertThat(Files.readString(dir.resolve("first").resolve("load.sql")))
+                .contains("LOAD DATA LOCAL INFILE 'ticket.csv' INTO TABLE ticket");
+    }
+
+    @Test
+    void jdbc_ShouldLoadADatasetTheAppCanRead() throws Exception {
+        PerfDataGenerator.Summary summary;
+        try (Connection connection = dataSource.getConnection()) {
+            summary = new PerfDataGenerator(CONFIG).generate(connection);
+        }
+
+        assertThat(userRepository.count()).isEqualTo(CONFIG.users());
+        assertThat(movieRepository.count()).isEqualTo(CONFIG.movies());
+        assertThat(screeningRepository.count()).isEqualTo(CONFIG.screenings());
+        assertThat(ticketRepository.count()).isEqualTo(summary.rows().get("ticket")).isPositive();
+        assertThat(new BCryptPasswordEncoder().matches(PerfDataGenerator.PASSWORD,
+                userRepository.findByUsername("perf_user_2").orElseThrow().getPassword())).isTrue();
+
+        // Phim hot nhất (id 1) phải có nhiều suất hơn phim xếp hạng thấp
+        assertThat(screeningRepository.findByMovieIdOrderByStartTime(1L).size())
+                .isGreaterThan(screeningRepository.findByMovieIdOrderByStartTime((long) CONFIG.movies() - 1).size());
+
+        Long soldScreening = ticketRepository.findAll().get(0).getScreening().getId();
+        List<SeatResponse> seats = seatService.getSeatsByScreeningId(soldScreening);
+        assertThat(seats).hasSize(240).anyMatch(seat -> !seat.getStatus().equals("AVAILABLE"));
+    }
+
+    private static void generateCsv(PerfDataGenerator.Config config, Path dir) throws Exception {
+        try (RowSink sink = new CsvRowSink(dir)) {
+            new PerfDataGenerator(config).generate(sink);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.movie.testutil.datagen;
+
+/**
+ * Destination of generated rows. Tables are declared parents first; a sink may hold rows of
+ * several tables at once but must write them out in that order so foreign keys resolve.
+ */
+interface RowSink extends AutoCloseable {
+
+    void table(String name, String... columns) throws Exception;
+
+    void row(String table, Object... values) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
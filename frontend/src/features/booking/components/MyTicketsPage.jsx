@@ -1,6 +1,6 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useMemo } from 'react'
 import { Link, useNavigate } from 'react-router-dom'
-import { useQuery } from '@tanstack/react-query'
+import { useQuery, useInfiniteQuery } from '@tanstack/react-query'
 import { useAuth } from '@/features/auth/hooks/useAuth'
 import Header from '@/components/common/Header'
 import Breadcrumb from '@/components/ui/Breadcrumb'
@@ -10,6 +10,8 @@ import { cancelBooking as cancelBookingApi } from '@/services/bookingApi'
 import { updatePaymentMethod as updatePaymentMethodApi } from '@/services/paymentApi'
 import useWebSocket from '@/hooks/useWebSocket'
 
+const BOOKINGS_PAGE_SIZE = 20
+
 export default function MyTicketsPage() {
   const navigate = useNavigate()
   const { user, isAuthenticated } = useAuth()
@@ -24,21 +26,31 @@ export default function MyTicketsPage() {
     note: ''
   })
 
-  // Fetch user's bookings
+  // Fetch user's bookings, newest first, one cursor page at a time
   const {
-    data: bookings,
+    data: bookingPages,
     isLoading,
     error,
-    refetch
-  } = useQuery({
+    refetch,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage
+  } = useInfiniteQuery({
     queryKey: ['bookings', user?.id],
-    queryFn: async () => {
-      if (!user?.id) return []
-      const response = await apiClient.get(`/v1/bookings?userId=${user.id}`)
-      return response.data.data || []
+    queryFn: async ({ pageParam }) => {
+      const params = { userId: user.id, size: BOOKINGS_PAGE_SIZE }
+      if (pageParam) params.cursor = pageParam
+      const response = await apiClient.get('/v1/bookings', { params })
+      return response.data.data
     },
+    initialPageParam: null,
+    getNextPageParam: (lastPage) => (lastPage?.hasNext ? lastPage.nextCursor : undefined),
     enabled: !!user?.id
   })
+  const bookings = useMemo(
+    () => bookingPages?.pages.flatMap((page) => page?.content || []),
+    [bookingPages]
+  )
 
   // Fetch payment for selected booking
   const {
@@ -330,6 +342,17 @@ export default function MyTicketsPage() {
                       </div>
                     </div>
                   ))}
+
+                  {hasNextPage && (
+                    <button
+                      type="button"
+                      onClick={() => fetchNextPage()}
+                      disabled={isFetchingNextPage}
+                      className="w-full py-2 text-sm font-medium text-blue-600 border border-blue-200 rounded-lg hover:bg-blue-50 disabled:opacity-50"
+                    >
+                      {isFetchingNextPage ? 'Đang tải...' : 'Xem thêm'}
+                    </button>
+                  )}
                 </div>
               </div>
             </div>
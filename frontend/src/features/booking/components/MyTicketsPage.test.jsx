@@ -40,6 +40,9 @@ describe('MyTicketsPage', () => {
         email: 'test@example.com'
     };
 
+    // GET /v1/bookings?userId= trả về một trang theo cursor
+    const bookingPage = (content) => ({ content, nextCursor: null, hasNext: false, pageSize: 20 });
+
     const mockBookings = [
         {
             id: 101,
@@ -91,7 +94,7 @@ describe('MyTicketsPage', () => {
     });
 
     it('renders empty state when no bookings found', async () => {
-        apiClient.get.mockResolvedValue({ data: { data: [] } });
+        apiClient.get.mockResolvedValue({ data: { data: bookingPage([]) } });
 
         renderWithQuery(
             <MemoryRouter>
@@ -107,13 +110,13 @@ describe('MyTicketsPage', () => {
     });
 
     it('renders list of user bookings', async () => {
-        apiClient.get.mockResolvedValue({ data: { data: mockBookings } });
+        apiClient.get.mockResolvedValue({ data: { data: bookingPage(mockBookings) } });
         // Mock payment details for the first booking (selected by default)
         apiClient.get.mockImplementation((url) => {
             if (url.includes('/payments/booking/101')) {
                 return Promise.resolve({ data: { data: { paymentMethod: 'BANK_TRANSFER', status: 'PENDING', amount: 150000 } } });
             }
-            return Promise.resolve({ data: { data: mockBookings } });
+            return Promise.resolve({ data: { data: bookingPage(mockBookings) } });
         });
 
         renderWithQuery(
@@ -133,13 +136,13 @@ describe('MyTicketsPage', () => {
     });
 
     it('displays detailed view of selected booking', async () => {
-        apiClient.get.mockResolvedValue({ data: { data: mockBookings } });
+        apiClient.get.mockResolvedValue({ data: { data: bookingPage(mockBookings) } });
         // Mock payment call
         apiClient.get.mockImplementation((url) => {
             if (url.includes('/payments/booking/')) {
                 return Promise.resolve({ data: { data: { paymentMethod: 'BANK_TRANSFER', status: 'PENDING', amount: 150000 } } });
             }
-            return Promise.resolve({ data: { data: mockBookings } });
+            return Promise.resolve({ data: { data: bookingPage(mockBookings) } });
         });
 
         renderWithQuery(
@@ -1,6 +1,7 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useRef } from 'react'
 import { useParams, Link, useNavigate } from 'react-router-dom'
 import { useScreening, useSeats } from '@/features/screenings/hooks/useScreenings'
+import useWebSocket from '@/hooks/useWebSocket'
 import Header from '@/components/common/Header'
 import Breadcrumb from '@/components/ui/Breadcrumb'
 import './SeatSelectionPage.css'
@@ -42,8 +43,34 @@ export default function SeatSelectionPage() {
     data: seatsData,
     isLoading: seatsLoading,
     error: seatsError,
+    refetch: refetchSeats,
   } = useSeats(screeningIdNum)
 
+  // Seat changes from the seat ledger, applied without reloading the seat map
+  const { subscribe, isConnected } = useWebSocket()
+  const lastSeqRef = useRef(null)
+
+  useEffect(() => {
+    if (!isConnected || !screeningIdNum) return
+
+    const sub = subscribe(`/topic/screening/${screeningIdNum}/seats`, (delta) => {
+      // Missed a delta (seq gap): reload the whole seat map
+      if (lastSeqRef.current !== null && delta.fromSeq > lastSeqRef.current + 1) {
+        lastSeqRef.current = delta.toSeq
+        refetchSeats()
+        return
+      }
+      lastSeqRef.current = delta.toSeq
+      const changes = new Map(delta.seats.map((change) => [change.seatId, change.status]))
+      setSeats((prev) => prev.map((seat) => (changes.has(seat.id) ? { ...seat, status: changes.get(seat.id) } : seat)))
+      setSelectedSeats((prev) => prev.filter((seat) => !changes.has(seat.id) || changes.get(seat.id) === 'AVAILABLE'))
+    })
+
+    return () => {
+      if (sub) sub.unsubscribe()
+    }
+  }, [isConnected, screeningIdNum, subscribe, refetchSeats])
+
   useEffect(() => {
     if (screeningData) {
       // Transform API data to match our interface
@@ -1,11 +1,13 @@
-import { render, screen, fireEvent, waitFor } from '@testing-library/react';
+import { render, screen, fireEvent, waitFor, act } from '@testing-library/react';
 import { MemoryRouter, Route, Routes } from 'react-router-dom';
 import { vi, describe, it, expect, beforeEach } from 'vitest';
 import SeatSelectionPage from './SeatSelectionPage';
 import { useScreening, useSeats } from '@/features/screenings/hooks/useScreenings';
+import useWebSocket from '@/hooks/useWebSocket';
 
 // Mock Dependencies
 vi.mock('@/features/screenings/hooks/useScreenings');
+vi.mock('@/hooks/useWebSocket');
 vi.mock('@/components/common/Header', () => ({
     default: () => <div data-testid="header">Header</div>
 }));
@@ -41,8 +43,11 @@ describe('SeatSelectionPage', () => {
         { id: 4, rowLabel: 'B', number: 1, seatType: 'SWEETBOX', status: 'AVAILABLE' },
     ];
 
+    const mockSubscribe = vi.fn(() => ({ unsubscribe: vi.fn() }));
+
     beforeEach(() => {
         vi.clearAllMocks();
+        useWebSocket.mockReturnValue({ isConnected: true, subscribe: mockSubscribe });
         useScreening.mockReturnValue({
             data: mockScreening,
             isLoading: false,
@@ -78,6 +83,36 @@ describe('SeatSelectionPage', () => {
         expect(screen.getAllByText(/0\s*₫/)[0]).toBeInTheDocument();
     });
 
+    it('applies seat deltas from the websocket and drops taken seats from the selection', async () => {
+        render(
+            <MemoryRouter>
+                <SeatSelectionPage />
+            </MemoryRouter>
+        );
+
+        await waitFor(() => screen.getByTitle(/A1/));
+        fireEvent.click(screen.getByTitle(/A1/));
+        expect(screen.getByTitle(/A1/)).toHaveClass('selected');
+
+        expect(mockSubscribe).toHaveBeenCalledWith('/topic/screening/101/seats', expect.any(Function));
+        const onDelta = mockSubscribe.mock.calls[0][1];
+        act(() => {
+            onDelta({
+                screeningId: 101,
+                fromSeq: 7,
+                toSeq: 8,
+                seats: [
+                    { seatId: 1, status: 'BOOKED' },
+                    { seatId: 2, status: 'AVAILABLE' },
+                ],
+            });
+        });
+
+        expect(screen.getByTitle(/A1/)).toHaveClass('booked');
+        expect(screen.getByTitle(/A1/)).not.toHaveClass('selected');
+        expect(screen.getByTitle(/A2/)).not.toBeDisabled();
+    });
+
     it('prevents selecting booked seats and shows 0 price', async () => {
         render(
             <MemoryRouter>
@@ -110,10 +110,14 @@ apiClient.interceptors.response.use(
           const refreshResponse = await refreshClient.post('/v1/auth/refresh', {
             refreshToken,
           });
-          const { accessToken } = refreshResponse.data.data;
+          const { accessToken, refreshToken: rotatedRefreshToken } = refreshResponse.data.data;
 
           // Save new token to localStorage
           localStorage.setItem('access_token', accessToken);
+          // Refresh token chỉ dùng được một lần, phải lưu token mới
+          if (rotatedRefreshToken) {
+            localStorage.setItem('refresh_token', rotatedRefreshToken);
+          }
 
           // Update ONLY the original request header (not global defaults)
           originalRequest.headers['Authorization'] = `Bearer ${accessToken}`;
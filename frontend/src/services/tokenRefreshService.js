@@ -128,11 +128,15 @@ class TokenRefreshService {
         refreshToken,
       });
 
-      const { accessToken } = response.data.data;
+      const { accessToken, refreshToken: rotatedRefreshToken } = response.data.data;
 
       if (accessToken) {
         // Update token in localStorage
         localStorage.setItem('access_token', accessToken);
+        // Refresh token chỉ dùng được một lần, phải lưu token mới
+        if (rotatedRefreshToken) {
+          localStorage.setItem('refresh_token', rotatedRefreshToken);
+        }
 
         // Dispatch event to notify other components
         window.dispatchEvent(new CustomEvent('tokenRefreshed', {